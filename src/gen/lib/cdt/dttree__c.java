@@ -130,12 +130,21 @@ public class dttree__c {
 
 
 
-static class no_root extends RuntimeException {}
-static class has_root extends RuntimeException {}
-static class do_search extends RuntimeException {}
-static class dt_delete extends RuntimeException {}
-static class dt_insert extends RuntimeException {}
-static class dt_next extends RuntimeException {}
+// The labels of the C code are thrown on each call of dttree, so they do not fill in a stack trace
+static class Goto extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return this;
+	}
+}
+static class no_root extends Goto {}
+static class has_root extends Goto {}
+static class do_search extends Goto {}
+static class dt_delete extends Goto {}
+static class dt_insert extends Goto {}
+static class dt_next extends Goto {}
 //3 abqfzg1d1vkzk51225tcdlik5
 //static void* dttree(Dt_t* dt, void* obj, int type)       
 public static Object dttree(ST_dt_s dt, __ptr__ obj, int type) {
@@ -333,8 +333,8 @@ private static ST_pointf pointfof_w_(double x, double y) {
 ENTERING("c1s4k85p1cdfn176o3uryeros","pointfof");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", x);
-    r.setDouble("y", y);
+    r.x = x;
+    r.y = y;
     return r;
 } finally {
 LEAVING("c1s4k85p1cdfn176o3uryeros","pointfof");
@@ -392,8 +392,8 @@ private static ST_pointf add_pointf_w_(final ST_pointf p, final ST_pointf q) {
 ENTERING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", p.x + q.x);
-    r.setDouble("y", p.y + q.y);
+    r.x = p.x + q.x;
+    r.y = p.y + q.y;
     return r;
 } finally {
 LEAVING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
@@ -715,7 +715,7 @@ static {
 private final static __struct__ create_arrowname_t(String name, int type) {
 	final __struct__<arrowname_t> result = JUtils.from(arrowname_t.class);
 	result.setCString("name", name==null?null:new CString(name));
-	result.setInt("type", type);
+	result.type = type;
 	return result;
 }*/
 //1 dnirq5m2r8c2mep5o1m3cdn6d
@@ -734,7 +734,7 @@ static {
 }
 private final static __struct__ createArrowtypes(int type, double lenfact, CFunction function) {
 	final __struct__<arrowtype_t> result = JUtils.from(arrowtype_t.class);
-	result.setInt("type", type);
+	result.type = type;
 	result.setDouble("lenfact", lenfact);
 	result.setPtr("gen", function);
 	return result;
@@ -915,7 +915,7 @@ try {
     MutableDouble elen2 = new MutableDouble(0);
     elen = arrow_length(e, eflag);
     elen2.setValue(elen * elen);
-    spl.setInt("eflag", eflag);
+    spl.eflag = eflag;
     spl.setStruct("ep", ps.plus(endp + 3).getStruct());
     if (endp > startp && DIST2(ps.get(endp), ps.get(endp + 3)) < elen2.getValue()) {
 	endp -= 3;
@@ -952,7 +952,7 @@ try {
     MutableDouble slen2 = new MutableDouble(0);
     slen = arrow_length(e, sflag);
     slen2.setValue(slen * slen);
-    spl.setInt("sflag", sflag);
+    spl.sflag = sflag;
     spl.setStruct("sp", ps.plus(startp).getStruct());
     if (endp > startp && DIST2(ps.get(startp), ps.get(startp + 3)) < slen2.getValue()) {
     	startp += 3;
@@ -324,8 +324,8 @@ private static ST_pointf pointfof_w_(double x, double y) {
 ENTERING("c1s4k85p1cdfn176o3uryeros","pointfof");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", x);
-    r.setDouble("y", y);
+    r.x = x;
+    r.y = y;
     return r;
 } finally {
 LEAVING("c1s4k85p1cdfn176o3uryeros","pointfof");
@@ -383,8 +383,8 @@ private static ST_pointf add_pointf_w_(final ST_pointf p, final ST_pointf q) {
 ENTERING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", p.x + q.x);
-    r.setDouble("y", p.y + q.y);
+    r.x = p.x + q.x;
+    r.y = p.y + q.y;
     return r;
 } finally {
 LEAVING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
@@ -1412,13 +1412,13 @@ try {
             /* expand the bounding box */
             for (i = 0; i < 4; i++) {
                 if (cp.get(i).x > bb.UR.x)
-                    bb.UR.setDouble("x", cp.get(i).x);
+                    bb.UR.x = cp.get(i).x;
                 else if (cp.get(i).x < bb.LL.x)
-                    bb.LL.setDouble("x", cp.get(i).x);
+                    bb.LL.x = cp.get(i).x;
                 if (cp.get(i).y > bb.UR.y)
-                    bb.UR.setDouble("y", cp.get(i).y);
+                    bb.UR.y = cp.get(i).y;
                 else if (cp.get(i).y < bb.LL.y)
-                    bb.LL.setDouble("y", cp.get(i).y);
+                    bb.LL.y = cp.get(i).y;
             }
         }
         else { /* else refine the segment */
@@ -79,8 +79,8 @@ private static ST_pointf pointfof_w_(double x, double y) {
 ENTERING("c1s4k85p1cdfn176o3uryeros","pointfof");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", x);
-    r.setDouble("y", y);
+    r.x = x;
+    r.y = y;
     return r;
 } finally {
 LEAVING("c1s4k85p1cdfn176o3uryeros","pointfof");
@@ -138,8 +138,8 @@ private static ST_pointf add_pointf_w_(final ST_pointf p, final ST_pointf q) {
 ENTERING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", p.x + q.x);
-    r.setDouble("y", p.y + q.y);
+    r.x = p.x + q.x;
+    r.y = p.y + q.y;
     return r;
 } finally {
 LEAVING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
@@ -716,16 +716,16 @@ try {
     case 0:
 	break;
     case 90:
-	p.setDouble("x", y);
-	p.setDouble("y", -x);
+	p.x = y;
+	p.y = -x;
 	break;
     case 180:
-	p.setDouble("x", x);
-	p.setDouble("y", -y);
+	p.x = x;
+	p.y = -y;
 	break;
     case 270:
-	p.setDouble("x", y);
-	p.setDouble("y", x);
+	p.x = y;
+	p.y = x;
 	break;
     default:
 	if (cwrot < 0)
@@ -794,16 +794,16 @@ try {
     case 0:
 	break;
     case 90:
-	p.setDouble("x", -y);
-	p.setDouble("y", x);
+	p.x = -y;
+	p.y = x;
 	break;
     case 180:
-	p.setDouble("x", x);
-	p.setDouble("y", -y);
+	p.x = x;
+	p.y = -y;
 	break;
     case 270:
-	p.setDouble("x", y);
-	p.setDouble("y", x);
+	p.x = y;
+	p.y = x;
 	break;
     default:
 	if (ccwrot < 0)
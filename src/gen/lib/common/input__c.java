@@ -358,8 +358,8 @@ private static ST_pointf pointfof_w_(double x, double y) {
 ENTERING("c1s4k85p1cdfn176o3uryeros","pointfof");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", x);
-    r.setDouble("y", y);
+    r.x = x;
+    r.y = y;
     return r;
 } finally {
 LEAVING("c1s4k85p1cdfn176o3uryeros","pointfof");
@@ -417,8 +417,8 @@ private static ST_pointf add_pointf_w_(final ST_pointf p, final ST_pointf q) {
 ENTERING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", p.x + q.x);
-    r.setDouble("y", p.y + q.y);
+    r.x = p.x + q.x;
+    r.y = p.y + q.y;
     return r;
 } finally {
 LEAVING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
@@ -1387,10 +1387,10 @@ UNSUPPORTED("dhhbmqv6n01j1eeyy7fpus1xw"); // 		xf = 0.02;
     Z.z().Concentrate = mapbool(p);
     Z.z().State = 0;
     Z.z().EdgeLabelsDone = 0;
-    GD_drawing(g).setDouble("dpi", 0.0);
+    GD_drawing(g).dpi = 0.0;
     if (((p = agget(g, new CString("dpi")))!=null && p.charAt(0)!='\0')
 	|| ((p = agget(g, new CString("resolution")))!=null && p.charAt(0)!='\0'))
-	GD_drawing(g).setDouble("dpi", atof(p));
+	GD_drawing(g).dpi = atof(p);
     do_graph_label(g);
     Z.z().Initial_dist = (1.0e+37);
     Z.z().G_ordering = (agattr(g,AGRAPH,new CString("ordering"),null));
@@ -1574,8 +1574,8 @@ UNSUPPORTED("evu9w6pw3kkh7z8w7t4rx4qxc"); // 		pos_flag |= 4;
 	/* Set border information for cluster labels to allow space
 	 */
 	dimen.___(GD_label(sg).dimen);
-	dimen.setDouble("x", dimen.x + 4*4);
-	dimen.setDouble("y", dimen.y + 2*4);
+	dimen.x = dimen.x + 4*4;
+	dimen.y = dimen.y + 2*4;
 	if (N(GD_flip(agroot(sg)))) {
 	    if ((GD_label_pos(sg) & 1)!=0)
 		pos_ix = 2;
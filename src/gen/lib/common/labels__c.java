@@ -353,8 +353,8 @@ private static ST_pointf pointfof_w_(double x, double y) {
 ENTERING("c1s4k85p1cdfn176o3uryeros","pointfof");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", x);
-    r.setDouble("y", y);
+    r.x = x;
+    r.y = y;
     return r;
 } finally {
 LEAVING("c1s4k85p1cdfn176o3uryeros","pointfof");
@@ -412,8 +412,8 @@ private static ST_pointf add_pointf_w_(final ST_pointf p, final ST_pointf q) {
 ENTERING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", p.x + q.x);
-    r.setDouble("y", p.y + q.y);
+    r.x = p.x + q.x;
+    r.y = p.y + q.y;
     return r;
 } finally {
 LEAVING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
@@ -848,16 +848,16 @@ try {
     }
     rv.setPtr("fontname", fontname);
     rv.setPtr("fontcolor", fontcolor);
-    rv.setDouble("fontsize", fontsize);
+    rv.fontsize = fontsize;
     rv.charset = ((ST_Agraphinfo_t)g.castTo_ST_Agobj_s().data.castTo(ST_Agraphinfo_t.class)).charset;
     if ((kind & (2 << 1))!=0) {
-	rv.setPtr("text", str.strdup());
+	rv.text = str.strdup();
         if ((kind & (1 << 1))!=0) {
 	    rv.html = (N(0));
 	}
     }
     else if (kind == (1 << 1)) {
-	rv.setPtr("text", str.strdup());
+	rv.text = str.strdup();
 	rv.html = N(0);
 	if (make_html_label(obj, rv)!=0) {
 	    switch (agobjkind(obj)) {
@@ -879,7 +879,7 @@ try {
 	/* This call just processes the graph object based escape sequences. The formatting escape
          * sequences (\n, \l, \r) are processed in make_simple_label. That call also replaces \\ with \.
          */
-	rv.setPtr("text", strdup_and_subst_obj0(str, obj, 0));
+	rv.text = strdup_and_subst_obj0(str, obj, 0);
         switch (rv.charset) {
     case 1:
 	    UNSUPPORTED("s = latin1ToUTF8(rv->text);");
@@ -889,7 +889,7 @@ try {
 	    break;
 	}
         Memory.free(rv.text);
-        rv.setPtr("text", s);
+        rv.text = s;
 	make_simple_label(g.castTo_ST_Agobj_s().data.castTo_ST_Agraphinfo_t().gvc, rv);
     }
     return rv;
@@ -363,8 +363,8 @@ private static ST_pointf pointfof_w_(double x, double y) {
 ENTERING("c1s4k85p1cdfn176o3uryeros","pointfof");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", x);
-    r.setDouble("y", y);
+    r.x = x;
+    r.y = y;
     return r;
 } finally {
 LEAVING("c1s4k85p1cdfn176o3uryeros","pointfof");
@@ -421,8 +421,8 @@ private static ST_pointf add_pointf_w_(final ST_pointf p, final ST_pointf q) {
 ENTERING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", p.x + q.x);
-    r.setDouble("y", p.y + q.y);
+    r.x = p.x + q.x;
+    r.y = p.y + q.y;
     return r;
 } finally {
 LEAVING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
@@ -1417,7 +1417,7 @@ try {
     }
     Z.z().Tree_node.reallocEmpty(Z.z().N_nodes);
     Z.z().Tree_node.size =  0;
-    // Z.z().Tree_edge.setPtr("list", ALLOC_empty(Z.z().N_nodes, Z.z().Tree_edge.getPtr("list"), Agedge_s.class));
+    // Z.z().Tree_edge.list = (Array) (ALLOC_empty(Z.z().N_nodes, Z.z().Tree_edge.getPtr("list"), Agedge_s.class));
     Z.z().Tree_edge.realloc(Z.z().N_nodes);
     Z.z().Tree_edge.size = 0;
     feasible = 1;
@@ -1435,7 +1435,7 @@ try {
 	ND_tree_in(n).mallocEmpty(i+1);
 	ND_tree_in(n).size = 0;
 	for (i = 0; (e = (ST_Agedge_s) ND_out(n).getFromList(i))!=null; i++);
-	// ND_tree_out(n).setPtr("list", zmalloc(sizeof(Agedge_s.class, i+1)));
+	// ND_tree_out(n).list = (Array) (zmalloc(sizeof(Agedge_s.class, i+1)));
 	ND_tree_out(n).mallocEmpty(i+1);
 	ND_tree_out(n).size = 0;
     }
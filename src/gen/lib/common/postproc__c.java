@@ -106,6 +106,7 @@ import h.ST_xlabel_t;
 import smetana.core.CString;
 import smetana.core.Memory;
 import smetana.core.Z;
+import smetana.core.__struct__;
 
 public class postproc__c {
 //1 2digov3edok6d5srhgtlmrycs
@@ -373,8 +374,8 @@ private static ST_pointf pointfof_w_(double x, double y) {
 ENTERING("c1s4k85p1cdfn176o3uryeros","pointfof");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", x);
-    r.setDouble("y", y);
+    r.x = x;
+    r.y = y;
     return r;
 } finally {
 LEAVING("c1s4k85p1cdfn176o3uryeros","pointfof");
@@ -431,8 +432,8 @@ private static ST_pointf add_pointf_w_(final ST_pointf p, final ST_pointf q) {
 ENTERING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", p.x + q.x);
-    r.setDouble("y", p.y + q.y);
+    r.x = p.x + q.x;
+    r.y = p.y + q.y;
     return r;
 } finally {
 LEAVING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
@@ -749,8 +750,8 @@ private static ST_pointf map_point_w_(final ST_pointf p) {
 ENTERING("dajapw16wus3rwimkrk5ihi2b","map_point");
 try {
     p.___(ccwrotatepf(p, Z.z().Rankdir * 90));
-    p.setDouble("x", p.x - Z.z().Offset.x);
-    p.setDouble("y", p.y - Z.z().Offset.y);
+    p.x = p.x - Z.z().Offset.x;
+    p.y = p.y - Z.z().Offset.y;
     return p;
 } finally {
 LEAVING("dajapw16wus3rwimkrk5ihi2b","map_point");
@@ -894,8 +895,8 @@ ENTERING("2i713kmewjct2igf3lwm80462","centerPt");
 try {
    final ST_pointf p = new ST_pointf();
    p.___(xlp.getStruct().pos);
-   p.setDouble("x", p.x + xlp.getStruct().sz.x/2);
-   p.setDouble("y", p.y + xlp.getStruct().sz.y/2);
+   p.x = p.x + xlp.getStruct().sz.x/2;
+   p.y = p.y + xlp.getStruct().sz.y/2;
    return p;
 } finally {
 LEAVING("2i713kmewjct2igf3lwm80462","centerPt");
@@ -1018,12 +1019,12 @@ LEAVING("1ca6fh8ns5bgzfzcz8al4eh4k","adjustBB");
 private static ST_boxf adjustBB_(ST_object_t.Array objp, ST_boxf bb) {
 	final ST_pointf ur = new ST_pointf();
 	/* Adjust bounding box */
-	bb.LL.setDouble("x", MIN(bb.LL.x, objp.getStruct().pos.x));
-	bb.LL.setDouble("y", MIN(bb.LL.y, objp.getStruct().pos.y));
-	ur.setDouble("x", objp.getStruct().pos.x + objp.getStruct().sz.x);
-	ur.setDouble("y", objp.getStruct().pos.y + objp.getStruct().sz.y);
-	bb.UR.setDouble("x", MAX(bb.UR.x, ur.x));
-	bb.UR.setDouble("y", MAX(bb.UR.y, ur.y));
+	bb.LL.x = MIN(bb.LL.x, objp.getStruct().pos.x);
+	bb.LL.y = MIN(bb.LL.y, objp.getStruct().pos.y);
+	ur.x = objp.getStruct().pos.x + objp.getStruct().sz.x;
+	ur.y = objp.getStruct().pos.y + objp.getStruct().sz.y;
+	bb.UR.x = MAX(bb.UR.x, ur.x);
+	bb.UR.y = MAX(bb.UR.y, ur.y);
 	return bb;
 }
 
@@ -1042,8 +1043,8 @@ LEAVING("3mefe722uemyoa0czmkkw6hjb","addXLabel");
 }
 private static void addXLabel_(ST_textlabel_t lp, ST_object_t.Array objp, ST_xlabel_t.Array xlp, int initObj, ST_pointf pos) {
 if (initObj!=0) {
-	objp.getStruct().sz.setDouble("x", 0);
-	objp.getStruct().sz.setDouble("y", 0);
+	objp.getStruct().sz.x = 0;
+	objp.getStruct().sz.y = 0;
 	objp.setStruct("pos", pos);
 }
 if (Z.z().Flip) {
@@ -1075,12 +1076,12 @@ UNSUPPORTED("6z2yrwq81gtsk3q9c5pofow1x"); // 	objp->sz.x = lp->dimen.y;
 UNSUPPORTED("8xsm9kavrekjrsydqe1wh1pu"); // 	objp->sz.y = lp->dimen.x;
 		}
 		else {
-			objp.getStruct().sz.setDouble("x", lp.dimen.x);
-			objp.getStruct().sz.setDouble("y", lp.dimen.y);
+			objp.getStruct().sz.x = lp.dimen.x;
+			objp.getStruct().sz.y = lp.dimen.y;
 		}
 	objp.setStruct("pos", lp.pos);
-	objp.getStruct().pos.setDouble("x", objp.getStruct().pos.x - (objp.getStruct().sz.x / 2.0 )); 
-	objp.getStruct().pos.setDouble("y", objp.getStruct().pos.y - (objp.getStruct().sz.y / 2.0 )); 
+	objp.getStruct().pos.x = objp.getStruct().pos.x - (objp.getStruct().sz.x / 2.0 ); 
+	objp.getStruct().pos.y = objp.getStruct().pos.y - (objp.getStruct().sz.y / 2.0 ); 
 	return adjustBB(objp, bb);
 		} finally {
 			LEAVING("dwxd5kvlanbcxqfuncjg0ea54","addLabelObj");
@@ -1104,12 +1105,12 @@ try {
 	UNSUPPORTED("6r5gwwhz3sjxrssh8yo3v5c3v"); // 	objp->sz.y = ((ND_width(np))*(double)72);
 	}
 	else {
-		  objp.getStruct().sz.setDouble("x", ((ND_width(np))*(double)72));
-		  objp.getStruct().sz.setDouble("y", ((ND_height(np))*(double)72));
+		  objp.getStruct().sz.x = ((ND_width(np))*(double)72);
+		  objp.getStruct().sz.y = ((ND_height(np))*(double)72);
 	}
 	objp.setPtr("pos", ND_coord(np));
-	objp.getStruct().pos.setDouble("x", objp.getStruct().pos.x - objp.getStruct().sz.x / 2.0);
-	objp.getStruct().pos.setDouble("y", objp.getStruct().pos.y - objp.getStruct().sz.y / 2.0);
+	objp.getStruct().pos.x = objp.getStruct().pos.x - objp.getStruct().sz.x / 2.0;
+	objp.getStruct().pos.y = objp.getStruct().pos.y - objp.getStruct().sz.y / 2.0;
 	return adjustBB(objp, bb);
 } finally {
 	LEAVING("dajapw16wus3rwimkrk5ihi2b","map_point");
@@ -1242,8 +1243,8 @@ UNSUPPORTED("q3t8uxncrxc4n8rtuabtzxya"); // 		    n_elbls++;
 	objp = objs;
 	lbls = new ST_xlabel_t.Array(n_lbls);
 	xlp = lbls;
-	bb.setStruct("LL", pointfof(INT_MAX, INT_MAX));
-	bb.setStruct("UR", pointfof(-INT_MAX, -INT_MAX));
+	bb.LL.setStruct((pointfof(INT_MAX, INT_MAX)));
+	bb.UR.setStruct((pointfof(-INT_MAX, -INT_MAX)));
 	for (np = agfstnode(gp); np!=null; np = agnxtnode(gp, np)) {
 		bb.___(addNodeObj (np, objp, bb));
 		lp = ND_xlabel(np);
@@ -1334,7 +1335,7 @@ if (n_clbls!=0) {
 }
 force = (agattr(gp,AGRAPH,new CString("forcelabels"),null));
 params.force = late_bool(gp, force, 1);
-params.setStruct("bb", bb);
+params.bb.copyDataFrom((__struct__) bb);
 placeLabels(objs, n_objs, lbls, n_lbls, params);
 //     if (Verbose)
 // 	printData(objs, n_objs, lbls, n_lbls, &params);
@@ -1344,7 +1345,7 @@ placeLabels(objs, n_objs, lbls, n_lbls, params);
  	if (xlp.get(0).set!=0) {
  	    cnt++;
  	    lp = xlp.getStruct().lbl;
- 	    lp.setInt("set", 1);
+ 	    lp.set = 1;
  	    lp.setStruct("pos", centerPt(xlp));
  	    updateBB (gp, lp);
  	}
@@ -1513,7 +1514,7 @@ try {
     if (NEQ(g, agroot(g)) && (GD_label(g)!=null) && N(GD_label(g).set)) {
 	if ((GD_label_pos(g) & 1)!=0) {
 	    d.___(GD_border(g)[2].getStruct());
-	    p.setDouble("y", GD_bb(g).UR.y - d.y / 2);
+	    p.y = GD_bb(g).UR.y - d.y / 2;
 	} else {
 UNSUPPORTED("1w38no4welthbwa0i10hei16b"); // 	    d = GD_border(g)[0];
 UNSUPPORTED("2xa4n9ca16xpf1kahaycmkl4r"); // 	    p.y = GD_bb(g).LL.y + d.y / 2;
@@ -1523,7 +1524,7 @@ UNSUPPORTED("cgv3bcg9c274cdwxi1y0sja3p"); // 	    p.x = GD_bb(g).UR.x - d.x / 2;
 	} else if ((GD_label_pos(g) & 2)!=0) {
 UNSUPPORTED("7ictv9eqmjvxjii5lqlyw8nu"); // 	    p.x = GD_bb(g).LL.x + d.x / 2;
 	} else {
-	    p.setDouble("x", (GD_bb(g).LL.x + GD_bb(g).UR.x) / 2);
+	    p.x = (GD_bb(g).LL.x + GD_bb(g).UR.x) / 2;
 	}
 	GD_label(g).setStruct("pos", p);
 	GD_label(g).set= NOTI(false);
@@ -73,6 +73,7 @@ import h.ST_pointf;
 import smetana.core.Memory;
 import smetana.core.Z;
 import smetana.core.__ptr__;
+import smetana.core.__struct__;
 
 public class routespl__c {
 //1 2digov3edok6d5srhgtlmrycs
@@ -340,8 +341,8 @@ private static ST_pointf pointfof_w_(double x, double y) {
 ENTERING("c1s4k85p1cdfn176o3uryeros","pointfof");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", x);
-    r.setDouble("y", y);
+    r.x = x;
+    r.y = y;
     return r;
 } finally {
 LEAVING("c1s4k85p1cdfn176o3uryeros","pointfof");
@@ -399,8 +400,8 @@ private static ST_pointf add_pointf_w_(final ST_pointf p, final ST_pointf q) {
 ENTERING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", p.x + q.x);
-    r.setDouble("y", p.y + q.y);
+    r.x = p.x + q.x;
+    r.y = p.y + q.y;
     return r;
 } finally {
 LEAVING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
@@ -740,10 +741,10 @@ try {
     final ST_pointf.Array eps = new ST_pointf.Array( 2);
     final ST_pointf.Array evs = new ST_pointf.Array( 2);
     int i;
-    eps.plus(0).setDouble("x", tp.x);
-    eps.plus(0).setDouble("y", tp.y);
-    eps.plus(1).setDouble("x", hp.x);
-    eps.plus(1).setDouble("y", hp.y);
+    eps.get(0).x = tp.x;
+    eps.get(0).y = tp.y;
+    eps.get(1).x = hp.x;
+    eps.get(1).y = hp.y;
     if (Pshortestpath(poly, eps, pl) < 0)
         return null;
     if (polyline)
@@ -754,13 +755,13 @@ try {
 	    Z.z().edgen = poly.pn;
 	}
 	for (i = 0; i < poly.pn; i++) {
-	    Z.z().edges.plus(i).setStruct("a", poly.ps.plus(i).getStruct());
-	    Z.z().edges.plus(i).setStruct("b", poly.ps.plus((i + 1) % poly.pn).getStruct());
+	    Z.z().edges.get(i).a.copyDataFrom((__struct__) poly.ps.plus(i).getStruct());
+	    Z.z().edges.get(i).b.copyDataFrom((__struct__) poly.ps.plus((i + 1) % poly.pn).getStruct());
 	}
-	    evs.plus(0).setDouble("x", 0);
-	    evs.plus(0).setDouble("y", 0);
-	    evs.plus(1).setDouble("x", 0);
-	    evs.plus(1).setDouble("y", 0);
+	    evs.get(0).x = 0;
+	    evs.get(0).y = 0;
+	    evs.get(1).x = 0;
+	    evs.get(1).y = 0;
 	if (Proutespline(Z.z().edges, poly.pn, pl, evs.asPtr(), spl) < 0)
             return null;
     }
@@ -838,26 +839,26 @@ try {
 	    sp.plus(1).getStruct().___(pps.plus(splinepi+1).getStruct());
 	    sp.plus(2).getStruct().___(pps.plus(splinepi+2).getStruct());
 	    sp.plus(3).getStruct().___(pps.plus(splinepi+3).getStruct());
-	    sp.plus(0).setDouble("x", sp.get(0).x + t * (sp.get(1).x - sp.get(0).x));
-	    sp.plus(0).setDouble("y", sp.get(0).y + t * (sp.get(1).y - sp.get(0).y));
-	    sp.plus(1).setDouble("x", sp.get(1).x + t * (sp.get(2).x - sp.get(1).x));
-	    sp.plus(1).setDouble("y", sp.get(1).y + t * (sp.get(2).y - sp.get(1).y));
-	    sp.plus(2).setDouble("x", sp.get(2).x + t * (sp.get(3).x - sp.get(2).x));
-	    sp.plus(2).setDouble("y", sp.get(2).y + t * (sp.get(3).y - sp.get(2).y));
- 	    sp.plus(0).setDouble("x", sp.get(0).x + t * (sp.get(1).x - sp.get(0).x));
-	    sp.plus(0).setDouble("y", sp.get(0).y + t * (sp.get(1).y - sp.get(0).y));
-	    sp.plus(1).setDouble("x", sp.get(1).x + t * (sp.get(2).x - sp.get(1).x));
-	    sp.plus(1).setDouble("y", sp.get(1).y + t * (sp.get(2).y - sp.get(1).y));
-	    sp.plus(0).setDouble("x", sp.get(0).x + t * (sp.get(1).x - sp.get(0).x));
-	    sp.plus(0).setDouble("y", sp.get(0).y + t * (sp.get(1).y - sp.get(0).y));
+	    sp.get(0).x = sp.get(0).x + t * (sp.get(1).x - sp.get(0).x);
+	    sp.get(0).y = sp.get(0).y + t * (sp.get(1).y - sp.get(0).y);
+	    sp.get(1).x = sp.get(1).x + t * (sp.get(2).x - sp.get(1).x);
+	    sp.get(1).y = sp.get(1).y + t * (sp.get(2).y - sp.get(1).y);
+	    sp.get(2).x = sp.get(2).x + t * (sp.get(3).x - sp.get(2).x);
+	    sp.get(2).y = sp.get(2).y + t * (sp.get(3).y - sp.get(2).y);
+ 	    sp.get(0).x = sp.get(0).x + t * (sp.get(1).x - sp.get(0).x);
+	    sp.get(0).y = sp.get(0).y + t * (sp.get(1).y - sp.get(0).y);
+	    sp.get(1).x = sp.get(1).x + t * (sp.get(2).x - sp.get(1).x);
+	    sp.get(1).y = sp.get(1).y + t * (sp.get(2).y - sp.get(1).y);
+	    sp.get(0).x = sp.get(0).x + t * (sp.get(1).x - sp.get(0).x);
+	    sp.get(0).y = sp.get(0).y + t * (sp.get(1).y - sp.get(0).y);
 	    for (bi = 0; bi < boxn; bi++) {
 /* this tested ok on 64bit machines, but on 32bit we need this FUDGE
  *     or graphs/directed/records.gv fails */
 		if (sp.get(0).y <= boxes[bi].UR.y+.0001 && sp.get(0).y >= boxes[bi].LL.y-.0001) {
 		    if (boxes[bi].LL.x > sp.get(0).x)
-			boxes[bi].LL.setDouble("x", sp.get(0).x);
+			boxes[bi].LL.x = sp.get(0).x;
 		    if (boxes[bi].UR.x < sp.get(0).x)
-			boxes[bi].UR.setDouble("x", sp.get(0).x);
+			boxes[bi].UR.x = sp.get(0).x;
 		}
 	    }
 	}
@@ -925,15 +926,15 @@ try {
 		next = (((ST_boxf)boxes[bi+1]).LL.y > ((ST_boxf)boxes[bi]).LL.y) ? 1 : -1;
 	    if (prev != next) {
 		if (next == -1 || prev == 1) {
-		    Z.z().polypoints.plus(pi).setDouble("x", ((ST_boxf)boxes[bi]).LL.x);
-		    Z.z().polypoints.plus(pi++).setDouble("y", ((ST_boxf)boxes[bi]).UR.y);
-		    Z.z().polypoints.plus(pi).setDouble("x", ((ST_boxf)boxes[bi]).LL.x);
-		    Z.z().polypoints.plus(pi++).setDouble("y", ((ST_boxf)boxes[bi]).LL.y);
+		    Z.z().polypoints.get(pi).x = ((ST_boxf)boxes[bi]).LL.x;
+		    Z.z().polypoints.get(pi++).y = ((ST_boxf)boxes[bi]).UR.y;
+		    Z.z().polypoints.get(pi).x = ((ST_boxf)boxes[bi]).LL.x;
+		    Z.z().polypoints.get(pi++).y = ((ST_boxf)boxes[bi]).LL.y;
 		} else {
-		    Z.z().polypoints.plus(pi).setDouble("x", ((ST_boxf)boxes[bi]).UR.x);
-		    Z.z().polypoints.plus(pi++).setDouble("y", ((ST_boxf)boxes[bi]).LL.y);
-		    Z.z().polypoints.plus(pi).setDouble("x", ((ST_boxf)boxes[bi]).UR.x);
-		    Z.z().polypoints.plus(pi++).setDouble("y", ((ST_boxf)boxes[bi]).UR.y);
+		    Z.z().polypoints.get(pi).x = ((ST_boxf)boxes[bi]).UR.x;
+		    Z.z().polypoints.get(pi++).y = ((ST_boxf)boxes[bi]).LL.y;
+		    Z.z().polypoints.get(pi).x = ((ST_boxf)boxes[bi]).UR.x;
+		    Z.z().polypoints.get(pi++).y = ((ST_boxf)boxes[bi]).UR.y;
 		}
 	    }
 	    else if (prev == 0) { /* single box */
@@ -957,15 +958,15 @@ UNSUPPORTED("9idk92zg2ysz316lfwzvvvde6"); // 		    return NULL;
 		next = (((ST_boxf)boxes[bi-1]).LL.y > ((ST_boxf)boxes[bi]).LL.y) ? 1 : -1;
 	    if (prev != next) {
 		if (next == -1 || prev == 1 ) {
-		    Z.z().polypoints.plus(pi).setDouble("x", ((ST_boxf)boxes[bi]).LL.x);
-		    Z.z().polypoints.plus(pi++).setDouble("y", ((ST_boxf)boxes[bi]).UR.y);
-		    Z.z().polypoints.plus(pi).setDouble("x", ((ST_boxf)boxes[bi]).LL.x);
-		    Z.z().polypoints.plus(pi++).setDouble("y", ((ST_boxf)boxes[bi]).LL.y);
+		    Z.z().polypoints.get(pi).x = ((ST_boxf)boxes[bi]).LL.x;
+		    Z.z().polypoints.get(pi++).y = ((ST_boxf)boxes[bi]).UR.y;
+		    Z.z().polypoints.get(pi).x = ((ST_boxf)boxes[bi]).LL.x;
+		    Z.z().polypoints.get(pi++).y = ((ST_boxf)boxes[bi]).LL.y;
 		} else {
-		    Z.z().polypoints.plus(pi).setDouble("x", ((ST_boxf)boxes[bi]).UR.x);
-		    Z.z().polypoints.plus(pi++).setDouble("y", ((ST_boxf)boxes[bi]).LL.y);
-		    Z.z().polypoints.plus(pi).setDouble("x", ((ST_boxf)boxes[bi]).UR.x);
-		    Z.z().polypoints.plus(pi++).setDouble("y", ((ST_boxf)boxes[bi]).UR.y);
+		    Z.z().polypoints.get(pi).x = ((ST_boxf)boxes[bi]).UR.x;
+		    Z.z().polypoints.get(pi++).y = ((ST_boxf)boxes[bi]).LL.y;
+		    Z.z().polypoints.get(pi).x = ((ST_boxf)boxes[bi]).UR.x;
+		    Z.z().polypoints.get(pi++).y = ((ST_boxf)boxes[bi]).UR.y;
 		}
 	    } 
 	    else if (prev == 0) { /* single box */
@@ -980,14 +981,14 @@ UNSUPPORTED("87y5d0ts6xdjyx905bha50f3s"); // 		    /* it went badly, e.g. degene
 UNSUPPORTED("1qt7hixteu3pt64wk1sqw352a"); // 		    agerr(AGERR, "in routesplines, illegal values of prev %d and next %d, line %d\n", prev, next, 476);
 UNSUPPORTED("35untdbpd42pt4c74gjbxqx7q"); // 		    return NULL; /* for correctness sake, it's best to just stop */
 		}
-		Z.z().polypoints.plus(pi).setDouble("x", ((ST_boxf)boxes[bi]).UR.x);
-		Z.z().polypoints.plus(pi++).setDouble("y", ((ST_boxf)boxes[bi]).LL.y);
-		Z.z().polypoints.plus(pi).setDouble("x", ((ST_boxf)boxes[bi]).UR.x);
-		Z.z().polypoints.plus(pi++).setDouble("y", ((ST_boxf)boxes[bi]).UR.y);
-		Z.z().polypoints.plus(pi).setDouble("x", ((ST_boxf)boxes[bi]).LL.x);
-		Z.z().polypoints.plus(pi++).setDouble("y", ((ST_boxf)boxes[bi]).UR.y);
-		Z.z().polypoints.plus(pi).setDouble("x", ((ST_boxf)boxes[bi]).LL.x);
-		Z.z().polypoints.plus(pi++).setDouble("y", ((ST_boxf)boxes[bi]).LL.y);
+		Z.z().polypoints.get(pi).x = ((ST_boxf)boxes[bi]).UR.x;
+		Z.z().polypoints.get(pi++).y = ((ST_boxf)boxes[bi]).LL.y;
+		Z.z().polypoints.get(pi).x = ((ST_boxf)boxes[bi]).UR.x;
+		Z.z().polypoints.get(pi++).y = ((ST_boxf)boxes[bi]).UR.y;
+		Z.z().polypoints.get(pi).x = ((ST_boxf)boxes[bi]).LL.x;
+		Z.z().polypoints.get(pi++).y = ((ST_boxf)boxes[bi]).UR.y;
+		Z.z().polypoints.get(pi).x = ((ST_boxf)boxes[bi]).LL.x;
+		Z.z().polypoints.get(pi++).y = ((ST_boxf)boxes[bi]).LL.y;
 	    }
 	}
     }
@@ -1003,7 +1004,7 @@ UNSUPPORTED("11hwqop4xebvtcskop4uhpp01"); // 	return NULL;
 	    ((ST_boxf)boxes[bi]).LL.y = -v;
 	}
 	for (i = 0; i < pi; i++)
-	    Z.z().polypoints.plus(i).setDouble("y", -1 * Z.z().polypoints.get(i).y);
+	    Z.z().polypoints.get(i).y = -1 * Z.z().polypoints.get(i).y;
     }
     for (bi = 0; bi < boxn; bi++) {
 	((ST_boxf)boxes[bi]).LL.x = INT_MAX;
@@ -1011,10 +1012,10 @@ UNSUPPORTED("11hwqop4xebvtcskop4uhpp01"); // 	return NULL;
 	}
     poly.ps = Z.z().polypoints;
     poly.pn = pi;
-    eps.plus(0).getStruct().setDouble("x", pp.start.p.x);
-    eps.plus(0).getStruct().setDouble("y", pp.start.p.y);
-    eps.plus(1).getStruct().setDouble("x", pp.end.p.x);
-    eps.plus(1).getStruct().setDouble("y", pp.end.p.y);
+    eps.plus(0).getStruct().x = pp.start.p.x;
+    eps.plus(0).getStruct().y = pp.start.p.y;
+    eps.plus(1).getStruct().x = pp.end.p.x;
+    eps.plus(1).getStruct().y = pp.end.p.y;
     if (Pshortestpath(poly, eps, pl) < 0) {
 		System.err.println("in routesplines, Pshortestpath failed\n");
 		return null;
@@ -1028,24 +1029,24 @@ UNSUPPORTED("48veztc3k9dfw8tqolu7jsktk"); // 	make_polyline (pl, &spl);
 	    Z.z().edgen = poly.pn;
 	}
 	for (edgei = 0; edgei < poly.pn; edgei++) {
-	    Z.z().edges.plus(edgei).setStruct("a", Z.z().polypoints.plus(edgei).getStruct());
-	    Z.z().edges.plus(edgei).setStruct("b", Z.z().polypoints.plus((edgei + 1) % poly.pn).getStruct());
+	    Z.z().edges.get(edgei).a.copyDataFrom((__struct__) Z.z().polypoints.plus(edgei).getStruct());
+	    Z.z().edges.get(edgei).b.copyDataFrom((__struct__) Z.z().polypoints.plus((edgei + 1) % poly.pn).getStruct());
 	}
 	if (pp.start.constrained!=0) {
- 	    evs.plus(0).getStruct().setDouble("x", cos(pp.start.theta));
- 	    evs.plus(0).getStruct().setDouble("y", sin(pp.start.theta));
+ 	    evs.plus(0).getStruct().x = cos(pp.start.theta);
+ 	    evs.plus(0).getStruct().y = sin(pp.start.theta);
 	} else
 	{
-	    evs.plus(0).getStruct().setDouble("x", 0);
-	    evs.plus(0).getStruct().setDouble("y", 0);
+	    evs.plus(0).getStruct().x = 0;
+	    evs.plus(0).getStruct().y = 0;
     }
 	if (pp.end.constrained!=0) {
- 	    evs.plus(1).getStruct().setDouble("x", -cos(pp.end.theta));
- 	    evs.plus(1).getStruct().setDouble("y", -sin(pp.end.theta));
+ 	    evs.plus(1).getStruct().x = -cos(pp.end.theta);
+ 	    evs.plus(1).getStruct().y = -sin(pp.end.theta);
 	} else
 	{
-	    evs.plus(1).getStruct().setDouble("x", 0);
-	    evs.plus(1).getStruct().setDouble("y", 0);
+	    evs.plus(1).getStruct().x = 0;
+	    evs.plus(1).getStruct().y = 0;
 	}
 	if (Proutespline(Z.z().edges, poly.pn, pl, evs.asPtr(), spl) < 0) {
 UNSUPPORTED("elkeyywrfd4hq75w7toc94rzs"); // 	    agerr(AGERR, "in routesplines, Proutespline failed\n");
@@ -1055,8 +1056,8 @@ UNSUPPORTED("7t3fvwp9cv90qu5bdjdglcgtk"); // 	    return NULL;
     if (mkspacep(spl.pn))
 UNSUPPORTED("7x5kpcbvg4va887hky7ufm45y"); // 	return NULL;  /* Bailout if no memory left */
     for (bi = 0; bi < boxn; bi++) {
-    	boxes[bi].LL.setDouble("x", INT_MAX);
-    	boxes[bi].UR.setDouble("x", INT_MIN);
+    	boxes[bi].LL.x = INT_MAX;
+    	boxes[bi].UR.x = INT_MIN;
     }
     unbounded = NOT(false);
     for (splinepi = 0; splinepi < spl.pn; splinepi++) {
@@ -1211,20 +1212,20 @@ UNSUPPORTED("btmwubugs9vkexo4yb7a5nqel"); // 	    return 1;
 	    if (l == 1)
 	    {
 		xy = (int) ba.UR.x;
-		ba.UR.setDouble("x", bb.LL.x);
-		bb.LL.setDouble("x", xy);
+		ba.UR.x = bb.LL.x;
+		bb.LL.x = xy;
 		l = 0;
 		}
 	    else if (r == 1) {
 	    	xy = (int)(ba.LL.x);
-	    	ba.LL.setDouble("x", bb.UR.x);
-	    	bb.UR.setDouble("x", xy);
+	    	ba.LL.x = bb.UR.x;
+	    	bb.UR.x = xy;
 	    	r = 0;
 	    }
 	    else if (d == 1) {
 	    	xy = (int)(ba.UR.y);
-	    	ba.UR.setDouble("y", bb.LL.y);
-	    	bb.LL.setDouble("y", xy);
+	    	ba.UR.y = bb.LL.y;
+	    	bb.LL.y = xy;
 	    	d = 0;
 	    }
 	    else if (u == 1)
@@ -1258,23 +1259,23 @@ UNSUPPORTED("5r6ck8hfb1cxywn9go61se9kx"); // 			ba.LL.x = bb.UR.x;
  	    	} else {
  	    		/* take space from bb */
  	    		if (ba.UR.x < bb.UR.x)
- 	    			bb.LL.setDouble("x", ba.UR.x);
+ 	    			bb.LL.x = ba.UR.x;
  	    		else
- 	    			bb.UR.setDouble("x", ba.LL.x);
+ 	    			bb.UR.x = ba.LL.x;
  	    	}
  	    } else {		/* symmetric for y coords */
  	    	if (ba.UR.y - ba.LL.y > bb.UR.y - bb.LL.y) {
  	    		/* take space from ba */
  	    		if (ba.UR.y < bb.UR.y)
- 	    			ba.UR.setDouble("y", bb.LL.y);
+ 	    			ba.UR.y = bb.LL.y;
  	    		else
- 	    			ba.LL.setDouble("y", bb.UR.y);
+ 	    			ba.LL.y = bb.UR.y;
  	    	} else {
  	    		/* take space from bb */
  	    		if (ba.UR.y < bb.UR.y)
- 	    			bb.LL.setDouble("y", ba.UR.y);
+ 	    			bb.LL.y = ba.UR.y;
  	    		else
- 	    			bb.UR.setDouble("y", ba.LL.y);
+ 	    			bb.UR.y = ba.LL.y;
  	    	}
 	    }
 	}
@@ -1288,13 +1289,13 @@ UNSUPPORTED("5r6ck8hfb1cxywn9go61se9kx"); // 			ba.LL.x = bb.UR.x;
 	    printpath(thepath);
 	}*/
 	if (thepath.start.p.x < ((ST_boxf)boxes[0]).LL.x)
-	    thepath.start.p.setDouble("x", ((ST_boxf)boxes[0]).LL.x);
+	    thepath.start.p.x = ((ST_boxf)boxes[0]).LL.x;
 	if (thepath.start.p.x > ((ST_boxf)boxes[0]).UR.x)
-	    thepath.start.p.setDouble("x", ((ST_boxf)boxes[0]).UR.x);
+	    thepath.start.p.x = ((ST_boxf)boxes[0]).UR.x;
 	if (thepath.start.p.y < ((ST_boxf)boxes[0]).LL.y)
-	    thepath.start.p.setDouble("y", ((ST_boxf)boxes[0]).LL.y);
+	    thepath.start.p.y = ((ST_boxf)boxes[0]).LL.y;
 	if (thepath.start.p.y > ((ST_boxf)boxes[0]).UR.y)
-	    thepath.start.p.setDouble("y", ((ST_boxf)boxes[0]).UR.y);
+	    thepath.start.p.y = ((ST_boxf)boxes[0]).UR.y;
     }
     if (thepath.end.p.x < ((ST_boxf)boxes[boxn - 1]).LL.x
 	|| thepath.end.p.x > ((ST_boxf)boxes[boxn - 1]).UR.x
@@ -1305,13 +1306,13 @@ UNSUPPORTED("5r6ck8hfb1cxywn9go61se9kx"); // 			ba.LL.x = bb.UR.x;
 	    printpath(thepath);
 	}*/
 	if (thepath.end.p.x < ((ST_boxf)boxes[boxn - 1]).LL.x)
-	    thepath.end.p.setDouble("x", ((ST_boxf)boxes[boxn - 1]).LL.x);
+	    thepath.end.p.x = ((ST_boxf)boxes[boxn - 1]).LL.x;
 	if (thepath.end.p.x > ((ST_boxf)boxes[boxn - 1]).UR.x)
-	    thepath.end.p.setDouble("x", ((ST_boxf)boxes[boxn - 1]).UR.x);
+	    thepath.end.p.x = ((ST_boxf)boxes[boxn - 1]).UR.x;
 	if (thepath.end.p.y < ((ST_boxf)boxes[boxn - 1]).LL.y)
-	    thepath.end.p.setDouble("y", ((ST_boxf)boxes[boxn - 1]).LL.y);
+	    thepath.end.p.y = ((ST_boxf)boxes[boxn - 1]).LL.y;
 	if (thepath.end.p.y > ((ST_boxf)boxes[boxn - 1]).UR.y)
-	    thepath.end.p.setDouble("y", ((ST_boxf)boxes[boxn - 1]).UR.y);
+	    thepath.end.p.y = ((ST_boxf)boxes[boxn - 1]).UR.y;
     }
     return 0;
 } finally {
@@ -368,8 +368,8 @@ private static ST_pointf pointfof_w_(double x, double y) {
 ENTERING("c1s4k85p1cdfn176o3uryeros","pointfof");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", x);
-    r.setDouble("y", y);
+    r.x = x;
+    r.y = y;
     return r;
 } finally {
 LEAVING("c1s4k85p1cdfn176o3uryeros","pointfof");
@@ -426,8 +426,8 @@ private static ST_pointf add_pointf_w_(final ST_pointf p, final ST_pointf q) {
 ENTERING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", p.x + q.x);
-    r.setDouble("y", p.y + q.y);
+    r.x = p.x + q.x;
+    r.y = p.y + q.y;
     return r;
 } finally {
 LEAVING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
@@ -724,15 +724,15 @@ throw new UnsupportedOperationException();
 // static port Center = 
 /*private final static __struct__<port> Center = JUtils.from(port.class);
 static {
-Center.p.setDouble("x", 0);
-Center.p.setDouble("y", 0);
-Center.setDouble("theta", -1);
+Center.p.x = 0;
+Center.p.y = 0;
+Center.theta = -1;
 Center.setPtr("bp", null);
 Center.setInt("defined", 0);
-Center.setInt("constrained", 0);
+Center.constrained = 0;
 Center.setInt("clip", 1);
 Center.setInt("dyna", 0);
-Center.setInt("order", 0);
+Center.order = 0;
 Center.setInt("side", 0);
 }*/
 
@@ -752,12 +752,12 @@ Center.setInt("side", 0);
 // static polygon_t p_ellipse = 
 /*public static final __struct__<polygon_t> p_ellipse = JUtils.from(polygon_t.class);
 static {
-p_ellipse.setInt("regular", 0);
-p_ellipse.setInt("peripheries", 1);
-p_ellipse.setInt("sides", 1);
-p_ellipse.setDouble("orientation", 0.);
-p_ellipse.setDouble("distortion", 0.);
-p_ellipse.setDouble("skew", 0.);
+p_ellipse.regular = 0;
+p_ellipse.peripheries = 1;
+p_ellipse.sides = 1;
+p_ellipse.orientation = 0.;
+p_ellipse.distortion = 0.;
+p_ellipse.skew = 0.;
 }*/
 
 //1 7tbw5besp7yern6vgsh7q9kop
@@ -776,12 +776,12 @@ p_ellipse.setDouble("skew", 0.);
 // static polygon_t p_box = 
 /*public final static __struct__<polygon_t> p_box = JUtils.from(polygon_t.class);
 static {
-p_box.setInt("regular", 0);
-p_box.setInt("peripheries", 1);
-p_box.setInt("sides", 4);
-p_box.setDouble("orientation", 0.);
-p_box.setDouble("distortion", 0.);
-p_box.setDouble("skew", 0.);
+p_box.regular = 0;
+p_box.peripheries = 1;
+p_box.sides = 4;
+p_box.orientation = 0.;
+p_box.distortion = 0.;
+p_box.skew = 0.;
 }*/
 
 //1 8y2jx4eiuwgzz2taa1yvgkxrr
@@ -972,12 +972,12 @@ p_box.setDouble("skew", 0.);
 // static shape_functions poly_fns = 
 /*public final static __struct__<shape_functions> poly_fns =  JUtils.from(shape_functions.class);
 static {
-poly_fns.setPtr("initfn", function(shapes__c.class, "poly_init"));
-poly_fns.setPtr("freefn", function(shapes__c.class, "poly_free"));
-poly_fns.setPtr("portfn", function(shapes__c.class, "poly_port"));
-poly_fns.setPtr("insidefn", function(shapes__c.class, "poly_inside"));
-poly_fns.setPtr("pboxfn", function(shapes__c.class, "poly_path"));
-poly_fns.setPtr("codefn", function(shapes__c.class, "poly_gencode"));
+poly_fns.initfn = (CFunction) (function(shapes__c.class, "poly_init"));
+poly_fns.freefn = (CFunction) (function(shapes__c.class, "poly_free"));
+poly_fns.portfn = (CFunction) (function(shapes__c.class, "poly_port"));
+poly_fns.insidefn = (CFunction) (function(shapes__c.class, "poly_inside"));
+poly_fns.pboxfn = (CFunction) (function(shapes__c.class, "poly_path"));
+poly_fns.codefn = (CFunction) (function(shapes__c.class, "poly_gencode"));
 }*/
 
 //1 10ii4j68l49hzbm38qspv8azn
@@ -1005,9 +1005,9 @@ __Shapes__(null, null, null)
 };
 private static shape_desc __Shapes__(String s, shape_functions shape_functions, polygon_t polygon) {
 	shape_desc result = (shape_desc) Memory.malloc(shape_desc.class);
-	result.setPtr("name", s==null?null:new CString(s));
-	result.setPtr("fns", shape_functions);
-	result.setPtr("polygon", polygon);
+	result.name = (CString) (s==null?null:new CString(s));
+	result.fns = (ST_shape_functions) shape_functions;
+	result.polygon = (ST_polygon_t) polygon;
 	return result;
 }*/
 
@@ -2624,8 +2624,8 @@ UNSUPPORTED("3nqb0s5rkwj3igt71vooj8asd"); // 	temp = ((((temp)*72>=0)?(int)((tem
 UNSUPPORTED("5fxtqwy8liyvnx1yvsou5hb4o"); // 	dimen.x = quant(dimen.x, temp);
 UNSUPPORTED("et885f1jcqpske6ip856arouv"); // 	dimen.y = quant(dimen.y, temp);
     }
-    imagesize.setInt("x", 0);
-    imagesize.setInt("y", 0);
+    imagesize.x = 0;
+    imagesize.y = 0;
     if (ND_shape(n).usershape) {
 	/* custom requires a shapefile
 	 * not custom is an adaptable user shape such as a postscript
@@ -2669,9 +2669,9 @@ UNSUPPORTED("flupwh3kosf3fkhkxllllt1"); // 	}
     /* extra sizing depends on if label is centered vertically */
     p = agget(n, new CString("labelloc"));
     if (p!=null && (p.charAt(0) == 't' || p.charAt(0) == 'b'))
-    n.castTo_ST_Agobj_s().data.castTo_ST_Agnodeinfo_t().label.setInt("valign", p.charAt(0));
+    n.castTo_ST_Agobj_s().data.castTo_ST_Agnodeinfo_t().label.valign = p.charAt(0);
     else
-    n.castTo_ST_Agobj_s().data.castTo_ST_Agnodeinfo_t().label.setInt("valign", 'c');
+    n.castTo_ST_Agobj_s().data.castTo_ST_Agnodeinfo_t().label.valign = 'c';
     isBox = (sides == 4 && (((orientation>=0)?(int)(orientation + .5):(int)(orientation - .5)) % 90) == 0
 	     && distortion == 0. && skew == 0.);
     if (isBox) {
@@ -2689,15 +2689,15 @@ UNSUPPORTED("1fjwgzo5xkijo98ycmzhal8yv"); // 	bb = pd->size_gen(bb);
 	    /* if there is height to spare
 	     * and the label is centered vertically
 	     * then just pad x in proportion to the spare height */
-	    bb.setDouble("x", bb.x * sqrt(1. / (1. - ((bb.y / height) * (bb.y / height)))));
+	    bb.x = bb.x * sqrt(1. / (1. - ((bb.y / height) * (bb.y / height))));
 	} else {
-	    bb.setDouble("x", bb.x * 1.41421356237309504880);
-	    bb.setDouble("y", temp);
+	    bb.x = bb.x * 1.41421356237309504880;
+	    bb.y = temp;
 	}
 	if (sides > 2) {
 	    temp = cos(3.14159265358979323846 / sides);
-	    bb.setDouble("x", bb.x / temp);
-	    bb.setDouble("y", bb.y / temp);
+	    bb.x = bb.x / temp;
+	    bb.y = bb.y / temp;
 	    /* FIXME - for odd-sided polygons, e.g. triangles, there
 	       would be a better fit with some vertical adjustment of the shape */
 	}
@@ -2707,8 +2707,8 @@ UNSUPPORTED("1fjwgzo5xkijo98ycmzhal8yv"); // 	bb = pd->size_gen(bb);
     /* increase node size to width/height if needed */
     fxd = late_string(n, Z.z().N_fixed, new CString("false"));
     if ((fxd.charAt(0) == 's') && (N(strcmp(fxd,new CString("shape"))))) {
-	bb.setDouble("x", width);
-	bb.setDouble("y", height);
+	bb.x = width;
+	bb.y = height;
 	poly.setInt("option", poly.option | (1 << 11));
     } else if (mapbool(fxd)) {
 	/* check only label, as images we can scale to fit */
@@ -2717,8 +2717,8 @@ UNSUPPORTED("1fjwgzo5xkijo98ycmzhal8yv"); // 	bb = pd->size_gen(bb);
 	    System.err.println(
 		  "node '%s', graph '%s' size too small for label\n");
 		  //agnameof(n), agnameof(agraphof(n)));
-	bb.setDouble("x",  width);
-	bb.setDouble("y", height);
+	bb.x =  width;
+	bb.y = height;
     } else {
 	width = MAX(width, bb.x);
 	((ST_pointf) bb).x = width;
@@ -2741,12 +2741,12 @@ UNSUPPORTED("1fjwgzo5xkijo98ycmzhal8yv"); // 	bb = pd->size_gen(bb);
 	}
 	else if (dimen.y < bb.y) {
 	    temp = bb.x * sqrt(1.0 - SQR(dimen.y) / SQR(bb.y));
-	    ND_label(n).space.setDouble("x", MAX(dimen.x,temp) - spacex);
+	    ND_label(n).space.x = MAX(dimen.x,temp) - spacex;
         }
 	else
-	    ND_label(n).space.setDouble("x", dimen.x - spacex);
+	    ND_label(n).space.x = dimen.x - spacex;
     } else {
-	    ND_label(n).space.setDouble("x", dimen.x - spacex);
+	    ND_label(n).space.x = dimen.x - spacex;
     }
     if ((poly.option & (1 << 11)) == 0) {
 	temp = bb.y - min_bb.y;
@@ -2760,12 +2760,12 @@ UNSUPPORTED("1fjwgzo5xkijo98ycmzhal8yv"); // 	bb = pd->size_gen(bb);
     if (sides < 3) {		/* ellipses */
 	sides = 2;
 	vertices = new ST_pointf.Array(outp * sides);
-	P.setDouble("x", bb.x / 2.);
-	P.setDouble("y", bb.y / 2.);
+	P.x = bb.x / 2.;
+	P.y = bb.y / 2.;
 	vertices.setDouble("x", -P.x);
 	vertices.setDouble("y", -P.y);
-	vertices.plus(1).setDouble("x", P.x);
-	vertices.plus(1).setDouble("y", P.y);
+	vertices.get(1).x = P.x;
+	vertices.get(1).y = P.y;
 	if (peripheries > 1) {
 UNSUPPORTED("4ofenmfgj7cgyf624qmugcx77"); // 	    for (j = 1, i = 2; j < peripheries; j++) {
 UNSUPPORTED("458w3r6n3nidn2j2b154phpzt"); // 		P.x += 4;
@@ -2893,12 +2893,12 @@ UNSUPPORTED("lklvdmn7xiqbxhpgdeufcvjj"); // 		bb.y = ((2. * fabs(P.y))>(bb.y)?(2
 UNSUPPORTED("6t98dcecgbvbvtpycwiq2ynnj"); // 	    }
 	}
     }
-    poly.setInt("regular", regular?1:0);
-    poly.setInt("peripheries", peripheries);
-    poly.setInt("sides", sides);
-    poly.setDouble("orientation", orientation);
-    poly.setDouble("skew", skew);
-    poly.setDouble("distortion", distortion);
+    poly.regular = regular?1:0;
+    poly.peripheries = peripheries;
+    poly.sides = sides;
+    poly.orientation = orientation;
+    poly.skew = skew;
+    poly.distortion = distortion;
     poly.vertices = vertices;
     if ((poly.option & (1 << 11))!=0) {
 	/* set width and height to reflect label and shape */
@@ -3007,8 +3007,8 @@ UNSUPPORTED("8t3g4d9acruono62leh5a8hxh"); // 		xsize = ND_ht(n);
 	Z.z().lastn = (ST_Agnode_s) n;
     }
     /* scale */
-    P.setDouble("x", P.x * Z.z().scalex);
-    P.setDouble("y", P.y * Z.z().scaley);
+    P.x = P.x * Z.z().scalex;
+    P.y = P.y * Z.z().scaley;
     /* inside bounding box? */
     if ((fabs(P.x) > Z.z().box_URx) || (fabs(P.y) > Z.z().box_URy))
 	return false;
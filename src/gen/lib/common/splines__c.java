@@ -97,6 +97,7 @@ import h.ST_textlabel_t;
 import smetana.core.CFunction;
 import smetana.core.MutableDouble;
 import smetana.core.__ptr__;
+import smetana.core.__struct__;
 
 public class splines__c {
 //1 2digov3edok6d5srhgtlmrycs
@@ -364,8 +365,8 @@ private static ST_pointf pointfof_w_(double x, double y) {
 ENTERING("c1s4k85p1cdfn176o3uryeros","pointfof");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", x);
-    r.setDouble("y", y);
+    r.x = x;
+    r.y = y;
     return r;
 } finally {
 LEAVING("c1s4k85p1cdfn176o3uryeros","pointfof");
@@ -423,8 +424,8 @@ private static ST_pointf add_pointf_w_(final ST_pointf p, final ST_pointf q) {
 ENTERING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", p.x + q.x);
-    r.setDouble("y", p.y + q.y);
+    r.x = p.x + q.x;
+    r.y = p.y + q.y;
     return r;
 } finally {
 LEAVING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
@@ -832,14 +833,14 @@ try {
     final ST_pointf.Array c = new ST_pointf.Array( 4);
     save_real_size = ND_rw(n);
     for (i = 0; i < 4; i++) {
-	c.plus(i).setDouble("x", curve.get(i).x - ND_coord(n).x);
-	c.plus(i).setDouble("y", curve.get(i).y - ND_coord(n).y);
+	c.get(i).x = curve.get(i).x - ND_coord(n).x;
+	c.get(i).y = curve.get(i).y - ND_coord(n).y;
     }
     bezier_clip(inside_context, ND_shape(n).fns.insidefn, c,
 		left_inside);
     for (i = 0; i < 4; i++) {
-	curve.plus(i).setDouble("x", c.get(i).x + ND_coord(n).x);
-	curve.plus(i).setDouble("y", c.get(i).y + ND_coord(n).y);
+	curve.get(i).x = c.get(i).x + ND_coord(n).x;
+	curve.get(i).y = c.get(i).y + ND_coord(n).y;
     }
     ND_rw(n, save_real_size);
 } finally {
@@ -889,15 +890,15 @@ try {
 	ED_spl(e, new ST_splines());
     ED_spl(e).list = ALLOC_ST_bezier(ED_spl(e).size + 1, ED_spl(e).list);
     rv = (ST_bezier) ED_spl(e).list.plus(ED_spl(e).size).getPtr();
-    ED_spl(e).setInt("size", ED_spl(e).size+1);
+    ED_spl(e).size = ED_spl(e).size+1;
     rv.list = new ST_pointf.Array(sz);
-    rv.setInt("size", sz);
-    rv.setInt("sflag", 0);
-    rv.setInt("eflag", 0);
-    rv.sp.setDouble("x", 0);
-    rv.sp.setDouble("y", 0);
-    rv.ep.setDouble("x", 0);
-    rv.ep.setDouble("y", 0);
+    rv.size = sz;
+    rv.sflag = 0;
+    rv.eflag = 0;
+    rv.sp.x = 0;
+    rv.sp.y = 0;
+    rv.ep.x = 0;
+    rv.ep.y = 0;
     return rv;
 } finally {
 LEAVING("bdirexg1qdtophlh0ofjvsmj7","new_spline");
@@ -950,8 +951,8 @@ try {
 	inside_context.setPtr("s.n", tn);
 	inside_context.setPtr("s.bp", tbox);
 	for (start[0] = 0; start[0] < pn - 4; start[0] += 3) {
-	    p2.setDouble("x", ps.get(start[0] + 3).x - ND_coord(tn).x);
-	    p2.setDouble("y", ps.get(start[0] + 3).y - ND_coord(tn).y);
+	    p2.x = ps.get(start[0] + 3).x - ND_coord(tn).x;
+	    p2.y = ps.get(start[0] + 3).y - ND_coord(tn).y;
 	    if (((Boolean)ND_shape(tn).fns.insidefn.exe(inside_context, p2)) == false)
 		break;
 	}
@@ -962,8 +963,8 @@ try {
 	inside_context.setPtr("s.n", hn);
 	inside_context.setPtr("s.bp", hbox);
 	for (end[0] = pn - 4; end[0] > 0; end[0] -= 3) {
-	    p2.setDouble("x", ps.get(end[0]).x - ND_coord(hn).x);
-	    p2.setDouble("y", ps.get(end[0]).y - ND_coord(hn).y);
+	    p2.x = ps.get(end[0]).x - ND_coord(hn).x;
+	    p2.y = ps.get(end[0]).y - ND_coord(hn).y;
 	    if (((Boolean)ND_shape(hn).fns.insidefn.exe(inside_context, p2)) == false)
 		break;
 	}
@@ -993,7 +994,7 @@ try {
 	cp.plus(3).setStruct(ps.plus(i).getStruct());
 	update_bb_bz(GD_bb(g), cp);
     }
-    newspl.setInt("size", end[0] - start[0] + 4);
+    newspl.size = end[0] - start[0] + 4;
 } finally {
 LEAVING("duednxyuvf6xrff752uuv620f","clip_and_install");
 }
@@ -1074,21 +1075,21 @@ try {
 	pboxfn = (CFunction) ND_shape(n).fns.pboxfn;
     else
 	pboxfn = null;
-    P.start.setStruct("p", add_pointf(ND_coord(n), (ST_pointf) ED_tail_port(e).p));
+    P.start.p.copyDataFrom((__struct__) add_pointf(ND_coord(n), (ST_pointf) ED_tail_port(e).p));
     if (merge) {
 	/*P->start.theta = - M_PI / 2; */
-	P.start.setDouble("theta", conc_slope(agtail(e)));
+	P.start.theta = conc_slope(agtail(e));
 	P.start.constrained= NOTI(false);
     } else {
 	if (ED_tail_port(e).constrained!=0) {
-	    P.start.setDouble("theta", ED_tail_port(e).theta);
+	    P.start.theta = ED_tail_port(e).theta;
 	    P.start.constrained= NOTI(false);
 	} else
 	    P.start.constrained= 0;
     }
     P.nbox = 0;
-    P.setPtr("data", e);
-    endp.setStruct("np", P.start.p);
+    P.data = e;
+    endp.np.___(P.start.p);
     if ((et == 1) && (ND_node_type(n) == 0) && ((side = ED_tail_port(e).side)!=0)) {
 UNSUPPORTED("a7lrhlfwr0y475aqjk6abhb3b"); // 	edge_t* orig;
 UNSUPPORTED("ew7nyfe712nsiphifeztwxfop"); // 	boxf b0, b = endp->nb;
@@ -1228,7 +1229,7 @@ UNSUPPORTED("a7fgam0j0jm7bar0mblsv3no4"); // 	return;
 UNSUPPORTED("ex9kjvshm19zbu9vqonk1avd8"); // 	endp->sidemask = mask;
     else {
     endp.boxes[0].setStruct(endp.nb);
-	endp.setInt("boxn", 1);
+	endp.boxn = 1;
 	switch (et) {
 	case 8:
 	/* moving the box UR.y by + 1 avoids colinearity between
@@ -1246,8 +1247,8 @@ UNSUPPORTED("auefgwb39x5hzqqc9b1zgl239"); // 	    endp->sidemask = (1<<0);
 	    break;
 	case 1:
 	    ((ST_boxf)(endp).boxes[0]).UR.y = P.start.p.y;
-	    endp.setInt("sidemask", (1<<0));
-	    P.start.p.setDouble("y", P.start.p.y - 1);
+	    endp.sidemask = (1<<0);
+	    P.start.p.y = P.start.p.y - 1;
 	    break;
 	}    
     }    
@@ -1274,7 +1275,7 @@ UNSUPPORTED("9brhx94sjudx3jtzrnwa60x8"); // 	ED_head_port(e) = resolvePort(aghea
 	pboxfn = (CFunction) ND_shape(n).fns.pboxfn;
     else
 	pboxfn = null;
-    P.end.setStruct("p", add_pointf(ND_coord(n), (ST_pointf) ED_head_port(e).p));
+    P.end.p.copyDataFrom((__struct__) add_pointf(ND_coord(n), (ST_pointf) ED_head_port(e).p));
     if (merge) {
 UNSUPPORTED("cproejwusj67kuugolh6tbkwz"); // 	/*P->end.theta = M_PI / 2; */
 UNSUPPORTED("65vhfvz1d1tub3f85tdsgg2g5"); // 	P->end.theta = conc_slope(aghead(e)) + M_PI;
@@ -1282,12 +1283,12 @@ UNSUPPORTED("du4hwt6pjf3bmkvowssm7b0uo"); // 	assert(P->end.theta < 2 * M_PI);
 UNSUPPORTED("2w0c22i5xgcch77xd9jg104nw"); // 	P->end.constrained = NOT(0);
     } else {
 	if (ED_head_port(e).constrained!=0) {
-	    P.end.setDouble("theta", ED_head_port(e).theta);
-	    P.end.setInt("constrained", 1);
+	    P.end.theta = ED_head_port(e).theta;
+	    P.end.constrained = 1;
 	} else
-	    P.end.setInt("constrained", 0);
+	    P.end.constrained = 0;
     }
-    endp.setStruct("np", P.end.p);
+    endp.np.___(P.end.p);
     if ((et == 1) && (ND_node_type(n) == 0) && ((side = ED_head_port(e).side)!=0)) {
 UNSUPPORTED("a7lrhlfwr0y475aqjk6abhb3b"); // 	edge_t* orig;
 UNSUPPORTED("ew7nyfe712nsiphifeztwxfop"); // 	boxf b0, b = endp->nb;
@@ -1425,10 +1426,10 @@ UNSUPPORTED("a7fgam0j0jm7bar0mblsv3no4"); // 	return;
     else side = endp.sidemask;  /* for flat edges */
     if (pboxfn!=null
 	&& (mask = (Integer) pboxfn.exe(n, ED_head_port(e), side, endp.boxes[0], endp.boxn))!=0)
-	endp.setInt("sidemask", mask);
+	endp.sidemask = mask;
     else {
     	endp.boxes[0].setStruct(endp.nb);
-	endp.setInt("boxn", 1);
+	endp.boxn = 1;
 	switch (et) {
 	case 8:
 	    /* offset of -1 is symmetric w.r.t. beginpath() 
@@ -1446,8 +1447,8 @@ UNSUPPORTED("ai3czg6gaaxspsmndknpyvuiu"); // 	    break;
 	    break;
 	case 1:
 		endp.boxes[0].LL.y = P.end.p.y;
-	    endp.setInt("sidemask", (1<<2));
-	    P.end.p.setDouble("y", P.end.p.y +1);
+	    endp.sidemask = (1<<2);
+	    P.end.p.y = P.end.p.y +1;
 	    break;
 	}
     }
@@ -1702,11 +1703,11 @@ try {
     pointn = 0;
     np.___(ND_coord(n));
     tp.___(ED_tail_port(e).p);
-    tp.setDouble("x", tp.x + np.x);
-    tp.setDouble("y", tp.y + np.y);
+    tp.x = tp.x + np.x;
+    tp.y = tp.y + np.y;
     hp.___(ED_head_port(e).p);
-    hp.setDouble("x", hp.x + np.x);
-    hp.setDouble("y", hp.y + np.y);
+    hp.x = hp.x + np.x;
+    hp.y = hp.y + np.y;
     if (tp.y >= hp.y) sgn = 1;
     else sgn = -1;
     dx = ND_rw(n);
@@ -1743,8 +1744,8 @@ try {
 		width = ED_label(e).dimen.x;
 		height = ED_label(e).dimen.y;
 	    }
-	    ED_label(e).pos.setDouble("x", ND_coord(n).x + dx + width / 2.0);
-	    ED_label(e).pos.setDouble("y", ND_coord(n).y);
+	    ED_label(e).pos.x = ND_coord(n).x + dx + width / 2.0;
+	    ED_label(e).pos.y = ND_coord(n).y;
 	    ED_label(e).set= NOTI(false);
 	    if (width > stepx)
 		dx += width - stepx;
@@ -318,8 +318,8 @@ private static ST_pointf pointfof_w_(double x, double y) {
 ENTERING("c1s4k85p1cdfn176o3uryeros","pointfof");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", x);
-    r.setDouble("y", y);
+    r.x = x;
+    r.y = y;
     return r;
 } finally {
 LEAVING("c1s4k85p1cdfn176o3uryeros","pointfof");
@@ -376,8 +376,8 @@ private static ST_pointf add_pointf_w_(final ST_pointf p, final ST_pointf q) {
 ENTERING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", p.x + q.x);
-    r.setDouble("y", p.y + q.y);
+    r.x = p.x + q.x;
+    r.y = p.y + q.y;
     return r;
 } finally {
 LEAVING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
@@ -781,8 +781,8 @@ private static ST_pointf textspan_size_w_(ST_GVC_s gvc, ST_textspan_t span) {
 ENTERING("n8tcl06mifdn779rzenam44z","textspan_size");
 try {
 	System.err.println("Warning:textspan_size "+span);
-	span.size.setDouble("x", 30);
-	span.size.setDouble("y", 20);
+	span.size.x = 30;
+	span.size.y = 20;
     return span.size.copy();
 } finally {
 LEAVING("n8tcl06mifdn779rzenam44z","textspan_size");
@@ -377,8 +377,8 @@ private static ST_pointf pointfof_w_(double x, double y) {
 ENTERING("c1s4k85p1cdfn176o3uryeros","pointfof");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", x);
-    r.setDouble("y", y);
+    r.x = x;
+    r.y = y;
     return r;
 } finally {
 LEAVING("c1s4k85p1cdfn176o3uryeros","pointfof");
@@ -436,8 +436,8 @@ private static ST_pointf add_pointf_w_(final ST_pointf p, final ST_pointf q) {
 ENTERING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", p.x + q.x);
-    r.setDouble("y", p.y + q.y);
+    r.x = p.x + q.x;
+    r.y = p.y + q.y;
     return r;
 } finally {
 LEAVING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
@@ -741,10 +741,10 @@ try {
     if (sz <= 1)
 	sz = 2;
 	final ST_Agnode_s.ArrayOfStar tmp__ = new ST_Agnode_s.ArrayOfStar(sz);
-	q.setPtr("store", tmp__);
-	q.setPtr("tail", tmp__);
-	q.setPtr("head", tmp__);
-	q.setPtr("limit", tmp__.plus(sz));
+	q.store = tmp__;
+	q.tail = tmp__;
+	q.head = tmp__;
+	q.limit = tmp__.plus(sz);
     return q;
 } finally {
 LEAVING("c7cptalfn8k75wyfirbnptnav","new_queue");
@@ -775,9 +775,9 @@ public static void enqueue(ST_nodequeue q, ST_Agnode_s n) {
 ENTERING("20pwd6i141q3o25lfvrdqytot","enqueue");
 try {
     q.tail.plus(0).setPtr(n);
-    q.setPtr("tail", q.tail.plus(1));
+    q.tail = q.tail.plus(1);
     if (q.tail.comparePointer(q.limit) >= 0)
-	q.setPtr("tail", q.store);
+	q.tail = q.store;
 } finally {
 LEAVING("20pwd6i141q3o25lfvrdqytot","enqueue");
 }
@@ -796,9 +796,9 @@ try {
 	n = null;
     else {
 	n = (ST_Agnode_s) q.head.get(0);
-	q.setPtr("head", q.head.plus(1));
+	q.head = q.head.plus(1);
 	if (q.head.comparePointer(q.limit) >= 0)
-	    q.setPtr("head", q.store);
+	    q.head = q.store;
     }
     return n;
 } finally {
@@ -1296,8 +1296,8 @@ private static ST_pointf dotneato_closest_(ST_splines spl, final ST_pointf pt) {
  	bestj--;
      j = 3*(bestj / 3);
      for (k = 0; k < 4; k++) {
- 	  	c.plus(k).setDouble("x", bz.list.get(j + k).x);
- 	  	c.plus(k).setDouble("y", bz.list.get(j + k).y);
+ 	  	c.get(k).x = bz.list.get(j + k).x;
+ 	  	c.get(k).y = bz.list.get(j + k).y;
      }
      low = 0.0;
      high = 1.0;
@@ -1449,7 +1449,7 @@ try {
     ND_shape(n,
 	bind_shape(late_nnstring(n, Z.z().N_shape, new CString("ellipse")), n));
     str = agxget(n, Z.z().N_label);
-    fi.setDouble("fontsize", late_double(n, Z.z().N_fontsize, 14.0, 1.0));
+    fi.fontsize = late_double(n, Z.z().N_fontsize, 14.0, 1.0);
     fi.setPtr("fontname", late_nnstring(n, Z.z().N_fontname, new CString("Times-Roman")));
     fi.setPtr("fontcolor", late_nnstring(n, Z.z().N_fontcolor, new CString("black")));
     ND_label(n, make_label(n, str,
@@ -1475,7 +1475,7 @@ LEAVING("cr81drt18h5feqzxyh3jb0u49","common_init_node");
 public static void initFontEdgeAttr(ST_Agedge_s e, ST_fontinfo fi) {
 ENTERING("d2v8l80y27ue2fag5c0qplah8","initFontEdgeAttr");
 try {
-    fi.setDouble("fontsize", late_double(e, Z.z().E_fontsize, 14.0, 1.0));
+    fi.fontsize = late_double(e, Z.z().E_fontsize, 14.0, 1.0);
     fi.setPtr("fontname", late_nnstring(e, Z.z().E_fontname, new CString("Times-Roman")));
     fi.setPtr("fontcolor", late_nnstring(e, Z.z().E_fontcolor, new CString("black")));
 } finally {
@@ -1492,7 +1492,7 @@ public static void initFontLabelEdgeAttr(ST_Agedge_s e, ST_fontinfo fi, ST_fonti
 ENTERING("ak3pxrdrq900wymudwnjmbito","initFontLabelEdgeAttr");
 try {
 	if (N(fi.fontname)) initFontEdgeAttr(e, fi);
-    lfi.setDouble("fontsize", late_double(e, Z.z().E_labelfontsize, fi.fontsize, 1.0));
+    lfi.fontsize = late_double(e, Z.z().E_labelfontsize, fi.fontsize, 1.0);
     lfi.setPtr("fontname", late_nnstring(e, Z.z().E_labelfontname, fi.fontname));
     lfi.setPtr("fontcolor", late_nnstring(e, Z.z().E_labelfontcolor, fi.fontcolor));
 } finally {
@@ -320,8 +320,8 @@ private static ST_pointf pointfof_w_(double x, double y) {
 ENTERING("c1s4k85p1cdfn176o3uryeros","pointfof");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", x);
-    r.setDouble("y", y);
+    r.x = x;
+    r.y = y;
     return r;
 } finally {
 LEAVING("c1s4k85p1cdfn176o3uryeros","pointfof");
@@ -379,8 +379,8 @@ private static ST_pointf add_pointf_w_(final ST_pointf p, final ST_pointf q) {
 ENTERING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", p.x + q.x);
-    r.setDouble("y", p.y + q.y);
+    r.x = p.x + q.x;
+    r.y = p.y + q.y;
     return r;
 } finally {
 LEAVING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
@@ -1220,8 +1220,8 @@ try {
     int r, passes = 5;
     p = agget (g, new CString("aspect"));
     if (N(p) || UNSUPPORTED("(r = sscanf (p, %lf,%d, &rv, &passes)) <= 0)")==null) {
-	adata.setInt("nextIter", 0);
-	adata.setInt("badGraph", 0);
+	adata.nextIter = 0;
+	adata.badGraph = 0;
 	return null;
     }
 UNSUPPORTED("bq1l9wqiw8bcls8ptb8o9rhqi"); //     agerr (AGWARN, "the aspect attribute has been disabled due to implementation flaws - attribute ignored.\n");
@@ -380,8 +380,8 @@ private static ST_pointf pointfof_w_(double x, double y) {
 ENTERING("c1s4k85p1cdfn176o3uryeros","pointfof");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", x);
-    r.setDouble("y", y);
+    r.x = x;
+    r.y = y;
     return r;
 } finally {
 LEAVING("c1s4k85p1cdfn176o3uryeros","pointfof");
@@ -438,8 +438,8 @@ private static ST_pointf add_pointf_w_(final ST_pointf p, final ST_pointf q) {
 ENTERING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", p.x + q.x);
-    r.setDouble("y", p.y + q.y);
+    r.x = p.x + q.x;
+    r.y = p.y + q.y;
     return r;
 } finally {
 LEAVING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
@@ -780,7 +780,7 @@ try {
 	for (i = pos + 1; i < pos + d; i++)
 	    vlist.plus(i).setPtr(null);
     }
-    GD_rank(root).get(r).setInt("n", GD_rank(root).get(r).n + d - 1);
+    GD_rank(root).get(r).n = GD_rank(root).get(r).n + d - 1;
 } finally {
 LEAVING("5ib4nnt2ah5fdd22zs0xds29r","make_slots");
 }
@@ -992,7 +992,7 @@ try {
     ST_Agraph_s root;
     root = dot_root(subg);
     if (GD_minrank(subg) > 0)
-	GD_rank(root).plus(GD_minrank(subg) - 1).getPtr().setInt("valid", 0);
+	GD_rank(root).plus(GD_minrank(subg) - 1).getPtr().valid = 0;
     for (r = GD_minrank(subg); r <= GD_maxrank(subg); r++) {
 	d = GD_rank(subg).get(r).n;
 	ipos = pos = ND_order(GD_rankleader(subg).get(r));
@@ -1003,16 +1003,16 @@ try {
 	    ND_order(v, pos++);
 	/* real nodes automatically have v->root = root graph */
 	    if (ND_node_type(v) == 1)
-		v.setPtr("root", agroot(root));
+		v.root = agroot(root);
 	    delete_fast_node(subg, v);
 	    fast_node(root, v);
 	    GD_n_nodes(root, GD_n_nodes(root)+1);
 	}
-	GD_rank(subg).get(r).setPtr("v", GD_rank(root).get(r).v.plus(ipos));
-	GD_rank(root).get(r).setInt("valid", 0);
+	GD_rank(subg).get(r).v = GD_rank(root).get(r).v.plus(ipos);
+	GD_rank(root).get(r).valid = 0;
     }
     if (r < GD_maxrank(root))
-	GD_rank(root).get(r).setInt("valid", 0);
+	GD_rank(root).get(r).valid = 0;
     GD_expanded(subg, NOT(false));
 } finally {
 LEAVING("85nhs7tnmwunw0fsjj1kxao7l","merge_ranks");
@@ -141,6 +141,7 @@ import h.attr_state_t;
 import smetana.core.Memory;
 import smetana.core.Z;
 import smetana.core.__ptr__;
+import smetana.core.__struct__;
 
 public class dotsplines__c {
 //1 2digov3edok6d5srhgtlmrycs
@@ -408,8 +409,8 @@ private static ST_pointf pointfof_w_(double x, double y) {
 ENTERING("c1s4k85p1cdfn176o3uryeros","pointfof");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", x);
-    r.setDouble("y", y);
+    r.x = x;
+    r.y = y;
     return r;
 } finally {
 LEAVING("c1s4k85p1cdfn176o3uryeros","pointfof");
@@ -486,8 +487,8 @@ private static ST_pointf add_pointf_w_(final ST_pointf p, final ST_pointf q) {
 ENTERING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", p.x + q.x);
-    r.setDouble("y", p.y + q.y);
+    r.x = p.x + q.x;
+    r.y = p.y + q.y;
     return r;
 } finally {
 LEAVING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
@@ -844,8 +845,8 @@ LEAVING("36ofw2qfqlh5ci8gc8cfkqgg3","swap_ends_p");
 // static splineInfo sinfo = 
 /*static final __struct__<splineInfo> sinfo = JUtils.from(splineInfo.class);
 static {
-	sinfo.setPtr("swapEnds", function(dotsplines__c.class, "swap_ends_p"));
-	sinfo.setPtr("splineMerge", function(dotsplines__c.class, "spline_merge"));
+	sinfo.swapEnds = (CFunction) (function(dotsplines__c.class, "swap_ends_p"));
+	sinfo.splineMerge = (CFunction) (function(dotsplines__c.class, "spline_merge"));
 }*/
 
 
@@ -1048,21 +1049,21 @@ UNSUPPORTED("46btiag50nczzur103eqhjcup"); // 	goto finish;
     if (routesplinesinit()!=0) return;
     P = (ST_path) zmalloc(sizeof(ST_path.class));
     /* FlatHeight = 2 * GD_nodesep(g); */
-    sd.setInt("Splinesep", GD_nodesep(g) / 4);
-    sd.setInt("Multisep", GD_nodesep(g));
+    sd.Splinesep = GD_nodesep(g) / 4;
+    sd.Multisep = GD_nodesep(g);
     edges = new ST_Agedge_s.ArrayOfStar(128);
     /* compute boundaries and list of splines */
-    sd.setInt("RightBound", 0);
-    sd.setInt("LeftBound", 0);
+    sd.RightBound = 0;
+    sd.LeftBound = 0;
     n_edges = n_nodes = 0;
     for (i = GD_minrank(g); i <= GD_maxrank(g); i++) {
 	n_nodes += GD_rank(g).get(i).n;
 	if ((n = (ST_Agnode_s) GD_rank(g).get(i).v.get(0))!=null)
-	    sd.setInt("LeftBound", (int)MIN(sd.LeftBound, (ND_coord(n).x - ND_lw(n))));
+	    sd.LeftBound = (int)MIN(sd.LeftBound, (ND_coord(n).x - ND_lw(n)));
 	if (GD_rank(g).get(i).n!=0 && (n = (ST_Agnode_s) GD_rank(g).get(i).v.plus(GD_rank(g).get(i).n - 1).getPtr())!=null)
-	    sd.setInt("RightBound", (int)MAX(sd.RightBound, (ND_coord(n).x + ND_rw(n))));
-	sd.setInt("LeftBound", sd.LeftBound - 16);
-	sd.setInt("RightBound", sd.RightBound + 16);
+	    sd.RightBound = (int)MAX(sd.RightBound, (ND_coord(n).x + ND_rw(n)));
+	sd.LeftBound = sd.LeftBound - 16;
+	sd.RightBound = sd.RightBound + 16;
 	for (j = 0; j < GD_rank(g).get(i).n; j++) {
 	    n = (ST_Agnode_s) GD_rank(g).get(i).v.get(j);
 		/* if n is the label of a flat edge, copy its position to
@@ -1071,7 +1072,7 @@ UNSUPPORTED("46btiag50nczzur103eqhjcup"); // 	goto finish;
 	    if (ND_alg(n)!=null) {
 		ST_Agedge_s fe = (ST_Agedge_s) ND_alg(n);
 		assert (ED_label(fe)!=null);
-		ED_label(fe).setStruct("pos", ND_coord(n));
+		ED_label(fe).pos.copyDataFrom((__struct__) ND_coord(n));
 		ED_label(fe).set= NOTI(false);
 	    }
 	    if ((ND_node_type(n) != 0) &&
@@ -1286,8 +1287,8 @@ try {
 	 e = ED_to_orig(e));
     dimen.___(ED_label(e).dimen);
     width = GD_flip(agraphof(n))!=0 ? dimen.y : dimen.x;
-    ED_label(e).pos.setDouble("x", ND_coord(n).x + width / 2.0);
-    ED_label(e).pos.setDouble("y", ND_coord(n).y);
+    ED_label(e).pos.x = ND_coord(n).x + width / 2.0;
+    ED_label(e).pos.y = ND_coord(n).y;
     ED_label(e).set= NOTI(false);
 } finally {
 LEAVING("8jja9ukzsq8tlb9yy7uzavg91","place_vnlabel");
@@ -1737,8 +1738,8 @@ try {
     points.plus(pointn++).setStruct(hp);
     points.plus(pointn++).setStruct(hp);
     clip_and_install(e, aghead(e), points.asPtr(), pointn, Z.z().sinfo);
-    ED_label(e).pos.setDouble("x", ctrx);
-    ED_label(e).pos.setDouble("y", tp.y + (ED_label(e).dimen.y+6)/2.0);
+    ED_label(e).pos.x = ctrx;
+    ED_label(e).pos.y = tp.y + (ED_label(e).dimen.y+6)/2.0;
     ED_label(e).set= NOTI(false);
     miny = tp.y + 6/2.0;
     maxy = miny + ED_label(e).dimen.y;
@@ -1753,19 +1754,19 @@ try {
 		}
 	    miny -= 6 + ED_label(e).dimen.y;
 	    points.plus(0).setStruct(tp);
-	    points.plus(1).setDouble("x", tp.x);
-	    points.plus(1).setDouble("y", miny - 6);
-	    points.plus(2).setDouble("x", hp.x);
-	    points.plus(2).setDouble("y", points.get(1).y);
+	    points.get(1).x = tp.x;
+	    points.get(1).y = miny - 6;
+	    points.get(2).x = hp.x;
+	    points.get(2).y = points.get(1).y;
 	    points.plus(3).setStruct(hp);
-	    points.plus(4).setDouble("x", lmaxx);
-	    points.plus(4).setDouble("y", hp.y);
-	    points.plus(5).setDouble("x", lmaxx);
-	    points.plus(5).setDouble("y", miny);
-	    points.plus(6).setDouble("x", lminx);
-	    points.plus(6).setDouble("y", miny);
-	    points.plus(7).setDouble("x", lminx);
-	    points.plus(7).setDouble("y", tp.y);
+	    points.get(4).x = lmaxx;
+	    points.get(4).y = hp.y;
+	    points.get(5).x = lmaxx;
+	    points.get(5).y = miny;
+	    points.get(6).x = lminx;
+	    points.get(6).y = miny;
+	    points.get(7).x = lminx;
+	    points.get(7).y = tp.y;
 	    ctry = miny + (ED_label(e).dimen.y)/2.0;
 	}
 	else {   /* up */
@@ -1791,8 +1792,8 @@ UNSUPPORTED("e2zgxycgqefryde9nbv6cqz1u"); // 	    maxy += ED_label(e)->dimen.y +
 	poly.ps = points;
 	ps = simpleSplineRoute (tp, hp, poly, pn, et == (3 << 1));
 	if (pn[0] == 0) return;
-	ED_label(e).pos.setDouble("x", ctrx);
-	ED_label(e).pos.setDouble("y", ctry);
+	ED_label(e).pos.x = ctrx;
+	ED_label(e).pos.y = ctry;
 	ED_label(e).set= NOTI(false);
 	clip_and_install(e, aghead(e), ps, pn[0], Z.z().sinfo);
     }
@@ -1806,19 +1807,19 @@ UNSUPPORTED("e2zgxycgqefryde9nbv6cqz1u"); // 	    maxy += ED_label(e)->dimen.y +
 	    }
 	    miny -= 6;
 	    points.plus(0).setStruct(tp);
-	    points.plus(1).setDouble("x", tp.x);
-	    points.plus(1).setDouble("y", miny - 6);
-	    points.plus(2).setDouble("x", hp.x);
-	    points.plus(2).setDouble("y", points.get(1).y);
+	    points.get(1).x = tp.x;
+	    points.get(1).y = miny - 6;
+	    points.get(2).x = hp.x;
+	    points.get(2).y = points.get(1).y;
 	    points.plus(3).setStruct(hp);
-	    points.plus(4).setDouble("x", lmaxx);
-	    points.plus(4).setDouble("y", hp.y);
-	    points.plus(5).setDouble("x", lmaxx);
-	    points.plus(5).setDouble("y", miny);
-	    points.plus(6).setDouble("x", lminx);
-	    points.plus(6).setDouble("y", miny);
-	    points.plus(7).setDouble("x", lminx);
-	    points.plus(7).setDouble("y", tp.y);
+	    points.get(4).x = lmaxx;
+	    points.get(4).y = hp.y;
+	    points.get(5).x = lmaxx;
+	    points.get(5).y = miny;
+	    points.get(6).x = lminx;
+	    points.get(6).y = miny;
+	    points.get(7).x = lminx;
+	    points.get(7).y = tp.y;
 	}
 	else {   /* up */
 UNSUPPORTED("7owdudualx55z2cnm9x3iio0w"); // 	    points[0] = tp;
@@ -2049,8 +2050,8 @@ ENTERING("fybar4mljnmkh3kure5k1eod","makeFlatEnd");
 try {
     final ST_boxf b = new ST_boxf();
     b.___(maximal_bbox(g, sp, n, null, e));
-    endp.setStruct("nb", b);
-    endp.setInt("sidemask", 1<<2);
+    endp.nb.___(b);
+    endp.sidemask = 1<<2;
     if (isBegin) beginpath(P, e, 2, endp, false);
     else endpath(P, e, 2, endp, false);
     b.UR.y = endp.boxes[endp.boxn - 1].UR.y;
@@ -2108,7 +2109,7 @@ try {
     hn = aghead(e);
     for (f = ED_to_virt(e); ED_to_virt(f)!=null; f = ED_to_virt(f));
     ln = agtail(f);
-    ED_label(e).setStruct("pos", ND_coord(ln));
+    ED_label(e).pos.copyDataFrom((__struct__) ND_coord(ln));
     ED_label(e).set= NOTI(false);
     if (et == (1 << 1)) {
 UNSUPPORTED("ataaqkehwb736ts2x6olzqokx"); // 	pointf startp, endp, lp;
@@ -2519,7 +2520,7 @@ UNSUPPORTED("bxkpl0bp0qhtxaj6rspd19d1k"); // 	hackflag = NOT(0);
 	if (b.LL.x < b.UR.x && b.LL.y < b.UR.y)
 	{
 	    tend.boxes[tend.boxn].___(b);
-	    tend.setInt("boxn", tend.boxn + 1);
+	    tend.boxn = tend.boxn + 1;
 	}
 	longedge = 0;
 	smode = false; si = -1;
@@ -2540,13 +2541,13 @@ UNSUPPORTED("bxkpl0bp0qhtxaj6rspd19d1k"); // 	hackflag = NOT(0);
 	        hn = aghead(e);
 	        continue;
 	    }
-	    hend.setStruct("nb", maximal_bbox(g, sp, hn, e, (ST_Agedge_s) ND_out(hn).getFromList(0)));
+	    hend.nb.___((maximal_bbox(g, sp, hn, e, (ST_Agedge_s) ND_out(hn).getFromList(0))));
 	    endpath(P, e, 1, hend, spline_merge(aghead(e)));
 	    b.___(makeregularend((hend).boxes[hend.boxn - 1], (1<<2),
 	    	       ND_coord(hn).y + GD_rank(g).get(ND_rank(hn)).ht2));
 	    if (b.LL.x < b.UR.x && b.LL.y < b.UR.y)
 UNSUPPORTED("1crhubfzekx1qi2ti9ajqsfoc"); // 	        hend.boxes[hend.boxn++] = b;
-	    P.end.setDouble("theta", M_PI / 2);
+	    P.end.theta = M_PI / 2;
 	    P.end.constrained= NOTI(false);
 	    completeregularpath(P, segfirst, e, tend, hend, Z.z().boxes, boxn, 1);
 	    if (splines) ps = routesplines(P, pn);
@@ -2576,13 +2577,13 @@ UNSUPPORTED("8kbxhk7qirj3tr7hn1ukwar3h"); // 		pointfs = RALLOC(numpts, pointfs,
 	    tn = agtail(e);
 	    hn = aghead(e);
 	    boxn = 0;
-	    tend.setStruct("nb", maximal_bbox(g, sp, tn, (ST_Agedge_s) ND_in(tn).getFromList(0), e));
+	    tend.nb.___((maximal_bbox(g, sp, tn, (ST_Agedge_s) ND_in(tn).getFromList(0), e)));
 	    beginpath(P, e, 1, tend, spline_merge(tn));
 	    b.___(makeregularend((tend).boxes[tend.boxn - 1], (1<<0),
 	    	       ND_coord(tn).y - GD_rank(g).get(ND_rank(tn)).ht1));
 	    if (b.LL.x < b.UR.x && b.LL.y < b.UR.y)
 UNSUPPORTED("cjx6tldge3otk1pk6ks1pkn2w"); // 	        tend.boxes[tend.boxn++] = b;
-	    P.start.setDouble("theta", -M_PI / 2);
+	    P.start.theta = -M_PI / 2;
 	    P.start.constrained= NOTI(false);
 	    smode = false;
 	}
@@ -2597,7 +2598,7 @@ UNSUPPORTED("cjx6tldge3otk1pk6ks1pkn2w"); // 	        tend.boxes[tend.boxn++] =
 	if (b.LL.x < b.UR.x && b.LL.y < b.UR.y)
 	    {
 	    hend.boxes[hend.boxn].___(b);
-	    hend.setInt("boxn", hend.boxn+1);
+	    hend.boxn = hend.boxn+1;
 	    }
 	completeregularpath(P, segfirst, e, tend, hend, Z.z().boxes, boxn,
 	    		longedge);
@@ -2632,7 +2633,7 @@ UNSUPPORTED("bedaqcn9h03q6ia6zbezuee1m"); // 	    pointfs = RALLOC(numpts, point
     }
     dx = sp.Multisep * (cnt - 1) / 2;
     for (i = 1; i < pointn[0] - 1; i++)
-	Z.z().pointfs.plus(i).setDouble("x", Z.z().pointfs.get(i).x - dx);
+	Z.z().pointfs.get(i).x = Z.z().pointfs.get(i).x - dx;
     if (Z.z().numpts > Z.z().numpts2) {
 UNSUPPORTED("9ubr4m7bdv5f5ldk2ta6yw3up"); // 	numpts2 = numpts; 
 UNSUPPORTED("8qwp7ddy5ztgam63fzfjmu890"); // 	pointfs2 = RALLOC(numpts2, pointfs2, pointf);
@@ -2647,7 +2648,7 @@ UNSUPPORTED("8qwp7ddy5ztgam63fzfjmu890"); // 	pointfs2 = RALLOC(numpts2, pointfs
 	    e = (ST_Agedge_s) fwdedge.out;
 	}
 	for (i = 1; i < pointn[0] - 1; i++)
-	    Z.z().pointfs.plus(i).setDouble("x", Z.z().pointfs.get(i).x + sp.Multisep);
+	    Z.z().pointfs.get(i).x = Z.z().pointfs.get(i).x + sp.Multisep;
 	for (i = 0; i < pointn[0]; i++)
 	    Z.z().pointfs2.plus(i).setStruct(Z.z().pointfs.plus(i).getStruct());
 	clip_and_install(e, aghead(e), Z.z().pointfs2, pointn[0], Z.z().sinfo);
@@ -2753,14 +2754,14 @@ try {
 	if ((i - fb) % 2 == 0) {
 	    if (bp1.LL.x >= bp1.UR.x) {
 		x = (int)((bp1.LL.x + bp1.UR.x) / 2);
-		bp1.LL.setDouble("x", x - 8);
-		bp1.UR.setDouble("x", x + 8);
+		bp1.LL.x = x - 8;
+		bp1.UR.x = x + 8;
 	    }
 	} else {
 	    if (bp1.LL.x + 16 > bp1.UR.x) {
 		x = (int)((bp1.LL.x + bp1.UR.x) / 2);
-		bp1.LL.setDouble("x", x - 8);
-		bp1.UR.setDouble("x", x + 8);
+		bp1.LL.x = x - 8;
+		bp1.UR.x = x + 8;
 	    }
 	}
     }
@@ -2769,14 +2770,14 @@ try {
 	bp2 = (ST_boxf) P.boxes[i+1];
 	if (i >= fb && i <= lb && (i - fb) % 2 == 0) {
 	    if (bp1.LL.x + 16 > bp2.UR.x)
-		bp2.UR.setDouble("x", bp1.LL.x + 16);
+		bp2.UR.x = bp1.LL.x + 16;
 	    if (bp1.UR.x - 16 < bp2.LL.x)
-		bp2.LL.setDouble("x", bp1.UR.x - 16);
+		bp2.LL.x = bp1.UR.x - 16;
 	} else if (i + 1 >= fb && i < lb && (i + 1 - fb) % 2 == 0) {
 	    if (bp1.LL.x + 16 > bp2.UR.x)
-		bp1.LL.setDouble("x", bp2.UR.x - 16);
+		bp1.LL.x = bp2.UR.x - 16;
 	    if (bp1.UR.x - 16 < bp2.LL.x)
-		bp1.UR.setDouble("x", bp2.LL.x + 16);
+		bp1.UR.x = bp2.LL.x + 16;
 	} 
     }
 } finally {
@@ -2905,7 +2906,7 @@ LEAVING("4ilkzqtegd5uffawb4qcjthu1","recover_slack");
 public static void resize_vn(ST_Agnode_s vn, int lx, int cx, int rx) {
 ENTERING("3vmg1q1r0eb14etvjdk4cukpd","resize_vn");
 try {
-    ND_coord(vn).setDouble("x", cx);
+    ND_coord(vn).x = cx;
     ND_lw(vn, cx - lx);
     ND_rw(vn, rx - cx);
 } finally {
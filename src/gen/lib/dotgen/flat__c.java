@@ -362,8 +362,8 @@ private static ST_pointf pointfof_w_(double x, double y) {
 ENTERING("c1s4k85p1cdfn176o3uryeros","pointfof");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", x);
-    r.setDouble("y", y);
+    r.x = x;
+    r.y = y;
     return r;
 } finally {
 LEAVING("c1s4k85p1cdfn176o3uryeros","pointfof");
@@ -419,8 +419,8 @@ private static ST_pointf add_pointf_w_(final ST_pointf p, final ST_pointf q) {
 ENTERING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", p.x + q.x);
-    r.setDouble("y", p.y + q.y);
+    r.x = p.x + q.x;
+    r.y = p.y + q.y;
     return r;
 } finally {
 LEAVING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
@@ -724,7 +724,7 @@ try {
     ST_Agnode_s.ArrayOfStar v;
     ST_Agnode_s n;
 	v = ALLOC_Agnode_s(GD_rank(g).get(r).n + 2, (ST_Agnode_s.ArrayOfStar) GD_rank(g).get(r).v);
-    GD_rank(g).plus(r).setPtr("v", v);
+    GD_rank(g).get(r).v = v;
     for (i = GD_rank(g).get(r).n; i > pos; i--) {
 	v.plus(i).setPtr(v.plus(i - 1).getPtr());
 	ND_order(v.get(i), ND_order(v.get(i))+1);
@@ -733,7 +733,7 @@ try {
     v.plus(pos).setPtr(n);
     ND_order(n, pos);
     ND_rank(n, r);
-    GD_rank(g).plus(r).setInt("n", GD_rank(g).get(r).n+1);
+    GD_rank(g).get(r).n = GD_rank(g).get(r).n+1;
     v.plus(GD_rank(g).get(r).n).setPtr(null);
     return (ST_Agnode_s) v.get(pos);
 } finally {
@@ -886,28 +886,28 @@ try {
     dimen.___(ED_label(e).dimen);
     if (GD_flip(g)!=0) {
 	double f = dimen.x;
-	dimen.setDouble("x", dimen.y);
-	dimen.setDouble("y", f);
+	dimen.x = dimen.y;
+	dimen.y = f;
     }
     ND_ht(vn, dimen.y);
     h2 = (int)(ND_ht(vn) / 2);
     ND_rw(vn, dimen.x / 2);
     ND_lw(vn, ND_rw(vn));
     ND_label(vn, ED_label(e));
-    ND_coord(vn).setDouble("y", ypos + h2);
+    ND_coord(vn).y = ypos + h2;
     ve = virtual_edge(vn, agtail(e), e);	/* was NULL? */
-    ED_tail_port(ve).p.setDouble("x", -ND_lw(vn));
-    ED_head_port(ve).p.setDouble("x", ND_rw(agtail(e)));
+    ED_tail_port(ve).p.x = -ND_lw(vn);
+    ED_head_port(ve).p.x = ND_rw(agtail(e));
     ED_edge_type(ve, 4);
     ve = virtual_edge(vn, aghead(e), e);
-    ED_tail_port(ve).p.setDouble("x", ND_rw(vn));
-    ED_head_port(ve).p.setDouble("x", ND_lw(aghead(e)));
+    ED_tail_port(ve).p.x = ND_rw(vn);
+    ED_head_port(ve).p.x = ND_lw(aghead(e));
     ED_edge_type(ve, 4);
     /* another assumed symmetry of ht1/ht2 of a label node */
     if (GD_rank(g).get(r - 1).ht1 < h2)
-	GD_rank(g).plus(r - 1).setDouble("ht1", h2);
+	GD_rank(g).get(r - 1).ht1 = h2;
     if (GD_rank(g).get(r - 1).ht2 < h2)
-	GD_rank(g).plus(r - 1).setDouble("ht2", h2);
+	GD_rank(g).get(r - 1).ht2 = h2;
     ND_alg(vn, e);
 } finally {
 LEAVING("4cw9yo9ap8ze1r873v6jat4yc","flat_node");
@@ -931,15 +931,15 @@ try {
     GD_rank(g, rptr.plus(1));
     for (r = GD_maxrank(g); r >= 0; r--)
 	GD_rank(g).get(r).setStruct(GD_rank(g).get(r - 1).getStruct());
-    GD_rank(g).plus(r).setInt("n", 0);
-    GD_rank(g).plus(r).setInt("an", 0);
-    GD_rank(g).plus(r).setPtr("v", new ST_Agnode_s.ArrayOfStar(2));
-    GD_rank(g).plus(r).setPtr("av", GD_rank(g).get(r).v);
-    GD_rank(g).plus(r).setPtr("flat", null);
-    GD_rank(g).plus(r).setDouble("ht1", 1);
-    GD_rank(g).plus(r).setDouble("ht2", 1);
-    GD_rank(g).plus(r).setDouble("pht1", 1);
-    GD_rank(g).plus(r).setDouble("pht2", 1);
+    GD_rank(g).get(r).n = 0;
+    GD_rank(g).get(r).an = 0;
+    GD_rank(g).get(r).v = new ST_Agnode_s.ArrayOfStar(2);
+    GD_rank(g).get(r).av = GD_rank(g).get(r).v;
+    GD_rank(g).get(r).flat = null;
+    GD_rank(g).get(r).ht1 = 1;
+    GD_rank(g).get(r).ht2 = 1;
+    GD_rank(g).get(r).pht1 = 1;
+    GD_rank(g).get(r).pht2 = 1;
     GD_minrank(g, GD_minrank(g)-1);
 } finally {
 LEAVING("1lopavodoru6ee52snd5l6swd","abomination");
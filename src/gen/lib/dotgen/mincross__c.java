@@ -406,8 +406,8 @@ private static ST_pointf pointfof_w_(double x, double y) {
 ENTERING("c1s4k85p1cdfn176o3uryeros","pointfof");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", x);
-    r.setDouble("y", y);
+    r.x = x;
+    r.y = y;
     return r;
 } finally {
 LEAVING("c1s4k85p1cdfn176o3uryeros","pointfof");
@@ -464,8 +464,8 @@ private static ST_pointf add_pointf_w_(final ST_pointf p, final ST_pointf q) {
 ENTERING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", p.x + q.x);
-    r.setDouble("y", p.y + q.y);
+    r.x = p.x + q.x;
+    r.y = p.y + q.y;
     return r;
 } finally {
 LEAVING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
@@ -909,8 +909,8 @@ try {
     GD_nlist(g, GD_comp(g).getFromList(c));
     if (c > 0) {
 	for (r = GD_minrank(g); r <= GD_maxrank(g); r++) {
-	    GD_rank(g).plus(r).setPtr("v", GD_rank(g).get(r).v.plus(GD_rank(g).get(r).n));
-	    GD_rank(g).plus(r).setInt("n", 0);
+	    GD_rank(g).get(r).v = GD_rank(g).get(r).v.plus(GD_rank(g).get(r).n);
+	    GD_rank(g).get(r).n = 0;
 	}
     }
 } finally {
@@ -1562,8 +1562,8 @@ try {
     merge_components(g);
     /* install complete ranks */
     for (r = GD_minrank(g); r <= GD_maxrank(g); r++) {
-	GD_rank(g).plus(r).setInt("n", GD_rank(g).get(r).an);
-	GD_rank(g).plus(r).setPtr("v", GD_rank(g).get(r).av);
+	GD_rank(g).get(r).n = GD_rank(g).get(r).an;
+	GD_rank(g).get(r).v = GD_rank(g).get(r).av;
 	for (i = 0; i < GD_rank(g).get(r).n; i++) {
 	    v = (ST_Agnode_s) GD_rank(g).get(r).v.get(i);
 	    if (v == null) {
@@ -1571,7 +1571,7 @@ try {
 		    fprintf(stderr,
 			    "merge2: graph %s, rank %d has only %d < %d nodes\n",
 			    agnameof(g), r, i, GD_rank(g)[r].n);*/
-		GD_rank(g).plus(r).setInt("n",  i);
+		GD_rank(g).get(r).n =  i;
 		break;
 	    }
 	    ND_order(v, i);
@@ -1778,8 +1778,8 @@ try {
 	    u = furthestnode(g, v, -1);
 	    w = furthestnode(g, v, 1);
 	    GD_rankleader(g).plus(r).setPtr(u);
-	    GD_rank(g).plus(r).setPtr("v", GD_rank(dot_root(g)).get(r).v.plus(ND_order(u)));
-	    GD_rank(g).plus(r).setInt("n", ND_order(w) - ND_order(u) + 1);
+	    GD_rank(g).get(r).v = GD_rank(dot_root(g)).get(r).v.plus(ND_order(u));
+	    GD_rank(g).get(r).n = ND_order(w) - ND_order(u) + 1;
 	}
 } finally {
 LEAVING("f3b4wat4uxn5oil720i5mwq4v","rec_reset_vlists");
@@ -2039,11 +2039,11 @@ try {
     }
     GD_rank(g, new ST_rank_t.Array2(GD_maxrank(g) + 2));
     for (r = GD_minrank(g); r <= GD_maxrank(g); r++) {
-	GD_rank(g).plus(r).setInt("n", cn.plus(r).getInt());
-	GD_rank(g).plus(r).setInt("an", cn.plus(r).getInt());
+	GD_rank(g).get(r).n = cn.plus(r).getInt();
+	GD_rank(g).get(r).an = cn.plus(r).getInt();
 	ST_Agnode_s.ArrayOfStar tmp = new ST_Agnode_s.ArrayOfStar(cn.plus(r).getInt() + 1);
-	GD_rank(g).plus(r).setPtr("v", tmp);
-	GD_rank(g).plus(r).setPtr("av", tmp);
+	GD_rank(g).get(r).v = tmp;
+	GD_rank(g).get(r).av = tmp;
     }
     Memory.free(cn);
 } finally {
@@ -2069,7 +2069,7 @@ UNSUPPORTED("53h8d82ax23hys2k21hjswp72"); // 	      1034, agnameof(g), agnameof(
     }
     GD_rank(g).get(r).v.plus(i).setPtr(n);
     ND_order(n, i);
-    GD_rank(g).plus(r).setInt("n", 1+GD_rank(g).get(r).n);
+    GD_rank(g).get(r).n = 1+GD_rank(g).get(r).n;
     // assert(GD_rank(g)[r].n <= GD_rank(g)[r].an);
     if (ND_order(n) > GD_rank(Z.z().Root).get(r).an) {
 UNSUPPORTED("399szcw1txekt1xssyw7s2x07"); // 	agerr(AGERR, "install_in_rank, line %d: ND_order(%s) [%d] > GD_rank(Root)[%d].an [%d]\n",
@@ -2108,7 +2108,7 @@ try {
     for (n = GD_nlist(g); n!=null; n = ND_next(n))
 	ND_mark(n, 0);
     for (i = GD_minrank(g); i <= GD_maxrank(g); i++)
-	GD_rank(g).plus(i).setInt("n", 0);
+	GD_rank(g).get(i).n = 0;
     for (n = GD_nlist(g); n!=null; n = ND_next(n)) {
 	otheredges = ((pass == 0) ? ND_in(n).list : ND_out(n).list);
 	if (otheredges.get(0)!= null)
@@ -2129,7 +2129,7 @@ try {
     if (dequeue(q)!=null)
 UNSUPPORTED("1b3hbd5artrq77i58q2o9kgz3"); // 	agerr(AGERR, "surprise\n");
     for (i = GD_minrank(g); i <= GD_maxrank(g); i++) {
-	GD_rank(Z.z().Root).plus(i).setInt("valid", 0);
+	GD_rank(Z.z().Root).get(i).valid = 0;
 	if (GD_flip(g)!=0 && (GD_rank(g).get(i).n > 0)) {
 	    int nn, ndiv2;
 	    ST_Agnode_s.ArrayOfStar vlist = GD_rank(g).get(i).v;
@@ -2302,7 +2302,7 @@ try {
 	    /* postprocess to restore intended order */
 	}
 	/* else do no harm! */
-	GD_rank(Z.z().Root).plus(r).setInt("valid", 0);
+	GD_rank(Z.z().Root).get(r).valid = 0;
     }
     if (temprank!=null)
 	Memory.free(temprank);
@@ -2531,7 +2531,7 @@ try {
 	    nc = rcross(g, r);
 	    GD_rank(g).get(r).cache_nc = nc;
 	    count += nc;
-	    GD_rank(g).plus(r).setInt("valid", 1);
+	    GD_rank(g).get(r).valid = 1;
 	}
     }
     return count;
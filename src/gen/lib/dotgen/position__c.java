@@ -411,8 +411,8 @@ private static ST_pointf pointfof_w_(double x, double y) {
 ENTERING("c1s4k85p1cdfn176o3uryeros","pointfof");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", x);
-    r.setDouble("y", y);
+    r.x = x;
+    r.y = y;
     return r;
 } finally {
 LEAVING("c1s4k85p1cdfn176o3uryeros","pointfof");
@@ -470,8 +470,8 @@ private static ST_pointf add_pointf_w_(final ST_pointf p, final ST_pointf q) {
 ENTERING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
 try {
     final ST_pointf r = new ST_pointf();
-    r.setDouble("x", p.x + q.x);
-    r.setDouble("y", p.y + q.y);
+    r.x = p.x + q.x;
+    r.y = p.y + q.y;
     return r;
 } finally {
 LEAVING("arrsbik9b5tnfcbzsm8gr2chx","add_pointf");
@@ -1549,8 +1549,8 @@ try {
     GD_ht2(g, ht2);
     /* update the global ranks */
     if (NEQ(g, dot_root(g))) {
-	rank.plus(GD_minrank(g)).setDouble("ht2", MAX(rank.get(GD_minrank(g)).ht2, ht2));
-	rank.plus(GD_maxrank(g)).setDouble("ht1", MAX(rank.get(GD_maxrank(g)).ht1, ht1));
+	rank.get(GD_minrank(g)).ht2 = MAX(rank.get(GD_minrank(g)).ht2, ht2);
+	rank.get(GD_maxrank(g)).ht1 = MAX(rank.get(GD_maxrank(g)).ht1, ht1);
     }
     return haveClustLabel;
 } finally {
@@ -1590,12 +1590,12 @@ try {
 		}
 	    /* update global rank ht */
 	    if (rank.get(r).pht2 < ht2) {
-		rank.plus(r).setDouble("ht2", ht2);
-		rank.plus(r).setDouble("pht2", ht2);
+		rank.get(r).ht2 = ht2;
+		rank.get(r).pht2 = ht2;
 		}
 	    if (rank.get(r).pht1 < ht2) {
-		rank.plus(r).setDouble("ht1", ht2);
-		rank.plus(r).setDouble("pht1", ht2);
+		rank.get(r).ht1 = ht2;
+		rank.get(r).pht1 = ht2;
 		}
 	    /* update nearest enclosing cluster rank ht */
 	    if ((clust = ND_clust(n))!=null) {
@@ -1612,13 +1612,13 @@ try {
     /* make the initial assignment of ycoords to leftmost nodes by ranks */
     maxht = 0;
     r = GD_maxrank(g);
-    (ND_coord(rank.get(r).v.get(0))).setDouble("y", rank.get(r).ht1);
+    (ND_coord(rank.get(r).v.get(0))).y = rank.get(r).ht1;
     while (--r >= GD_minrank(g)) {
 	d0 = rank.get(r + 1).pht2 + rank.get(r).pht1 + GD_ranksep(g);	/* prim node sep */
 	d1 = rank.get(r + 1).ht2 + rank.get(r).ht1 + 8;	/* cluster sep */
 	delta = MAX(d0, d1);
 	if (rank.get(r).n > 0)	/* this may reflect some problem */
-		(ND_coord(rank.get(r).v.get(0))).setDouble("y", (ND_coord(rank.plus(r + 1).getPtr().v.get(0))).y + delta);
+		(ND_coord(rank.get(r).v.get(0))).y = (ND_coord(rank.plus(r + 1).getPtr().v.get(0))).y + delta;
 	maxht = MAX(maxht, delta);
     }
     /* If there are cluster labels and the drawing is rotated, we need special processing to
@@ -1681,7 +1681,7 @@ try {
 		v = (ST_Agnode_s) GD_rank(g).get(r).v.get(c);
 	    if (ND_node_type(v) == 0) {
 		x = ND_coord(v).x - ND_lw(v);
-		LL.setDouble("x", MIN(LL.x, x));
+		LL.x = MIN(LL.x, x);
 	    }
 	    else continue;
 		/* At this point, we know the rank contains a NORMAL node */
@@ -1704,8 +1704,8 @@ try {
  }
  LL.y = ND_coord(GD_rank(root).plus(GD_maxrank(g)).getPtr().v.get(0)).y - GD_ht1(g);
  UR.y = ND_coord(GD_rank(root).plus(GD_minrank(g)).getPtr().v.get(0)).y + GD_ht2(g);
- GD_bb(g).setStruct("LL", LL);
- GD_bb(g).setStruct("UR", UR);
+ GD_bb(g).LL.setStruct(LL);
+ GD_bb(g).UR.setStruct(UR);
 } finally {
 LEAVING("9ay2xnnmh407i32pfokujfda5","dot_compute_bb");
 }
@@ -1930,12 +1930,12 @@ try {
 	}
 	if (j <= GD_rank(g).get(r).n)
 	    continue;
-	GD_rank(g).plus(r).setPtr("v", ALLOC_allocated_ST_Agnode_s((ST_Agnode_s.ArrayOfStar) GD_rank(g).get(r).v, j + 1));
+	GD_rank(g).get(r).v = ALLOC_allocated_ST_Agnode_s((ST_Agnode_s.ArrayOfStar) GD_rank(g).get(r).v, j + 1);
 	for (i = GD_rank(g).get(r).n - 1; i >= 0; i--) {
 	    v = (ST_Agnode_s) GD_rank(g).get(r).v.get(i);
 	    GD_rank(g).get(r).v.plus(ND_order(v)).setPtr(v);
 	}
-	GD_rank(g).plus(r).setInt("n", j);
+	GD_rank(g).get(r).n = j;
 	GD_rank(g).get(r).v.plus(j).setPtr(null);
     }
 } finally {
@@ -109,7 +109,7 @@ UNSUPPORTED("8d9xfgejx5vgd6shva5wk5k06"); // 	return -1;
     Z.z().opl++;
     if (reallyroutespline(edges, edgen, inps, inpn, (ST_pointf)evs.plus(0).getStruct(), (ST_pointf)evs.plus(1).getStruct()) == -1)
 	return -1;
-    output.setInt("pn", Z.z().opl);
+    output.pn = Z.z().opl;
     output.ps = Z.z().ops_route;
     return 0;
 } finally {
@@ -145,11 +145,11 @@ try {
 	}
 	Z.z().tnan = inpn;
     }
-    Z.z().tnas.plus(0).getStruct().setDouble("t", 0);
+    Z.z().tnas.plus(0).getStruct().t = 0;
     for (i = 1; i < inpn; i++)
-	Z.z().tnas.plus(i).getStruct().setDouble("t", Z.z().tnas.plus(i-1).getStruct().t + dist((ST_pointf)inps.plus(i).getStruct(), (ST_pointf)inps.plus(i-1).getStruct()));
+	Z.z().tnas.plus(i).getStruct().t = Z.z().tnas.plus(i-1).getStruct().t + dist((ST_pointf)inps.plus(i).getStruct(), (ST_pointf)inps.plus(i-1).getStruct());
     for (i = 1; i < inpn; i++)
-	Z.z().tnas.plus(i).getStruct().setDouble("t", Z.z().tnas.plus(i).getStruct().t / Z.z().tnas.plus(inpn - 1).getStruct().t);
+	Z.z().tnas.plus(i).getStruct().t = Z.z().tnas.plus(i).getStruct().t / Z.z().tnas.plus(inpn - 1).getStruct().t;
     for (i = 0; i < inpn; i++) {
 	((ST_tna_t)Z.z().tnas.plus(i).getStruct()).a[0].____(scale(ev0, B1(Z.z().tnas.plus(i).getStruct().t)));
 	((ST_tna_t)Z.z().tnas.plus(i).getStruct()).a[1].____(scale(ev1, B2(Z.z().tnas.plus(i).getStruct().t)));
@@ -162,8 +162,8 @@ try {
     cp2.___(sub(p2, scale(v2, 1 / 3.0)));
     for (maxd = -1, maxi = -1, i = 1; i < inpn - 1; i++) {
 	t = Z.z().tnas.get(i).t;
-	p.setDouble("x", B0(t) * p1.x + B1(t) * cp1.x + B2(t) * cp2.x + B3(t) * p2.x);
-	p.setDouble("y", B0(t) * p1.y + B1(t) * cp1.y + B2(t) * cp2.y + B3(t) * p2.y);
+	p.x = B0(t) * p1.x + B1(t) * cp1.x + B2(t) * cp2.x + B3(t) * p2.x;
+	p.y = B0(t) * p1.y + B1(t) * cp1.y + B2(t) * cp2.y + B3(t) * p2.y;
 	if ((d = dist(p, (ST_pointf) inps.plus(i).getStruct())) > maxd)
 	    {maxd = d; maxi = i;}
     }
@@ -275,14 +275,14 @@ try {
     forceflag = (inpn == 2 ? 1 : 0);
     a = b = 4;
     for (;;) {
-	sps.plus(0).getStruct().setDouble("x", pa.x);
-	sps.plus(0).getStruct().setDouble("y", pa.y);
-	sps.plus(1).getStruct().setDouble("x", pa.x + a * va.x / 3.0);
-	sps.plus(1).getStruct().setDouble("y", pa.y + a * va.y / 3.0);
-	sps.plus(2).getStruct().setDouble("x", pb.x - b * vb.x / 3.0);
-	sps.plus(2).getStruct().setDouble("y", pb.y - b * vb.y / 3.0);
-	sps.plus(3).getStruct().setDouble("x", pb.x);
-	sps.plus(3).getStruct().setDouble("y", pb.y);
+	sps.plus(0).getStruct().x = pa.x;
+	sps.plus(0).getStruct().y = pa.y;
+	sps.plus(1).getStruct().x = pa.x + a * va.x / 3.0;
+	sps.plus(1).getStruct().y = pa.y + a * va.y / 3.0;
+	sps.plus(2).getStruct().x = pb.x - b * vb.x / 3.0;
+	sps.plus(2).getStruct().y = pb.y - b * vb.y / 3.0;
+	sps.plus(3).getStruct().x = pb.x;
+	sps.plus(3).getStruct().y = pb.y;
 	/* shortcuts (paths shorter than the shortest path) not allowed -
 	 * they must be outside the constraint polygon.  this can happen
 	 * if the candidate spline intersects the constraint polygon exactly
@@ -296,8 +296,8 @@ try {
 	if (splineisinside(edges, edgen, sps)) {
 	    growops(Z.z().opl + 4);
 	    for (pi = 1; pi < 4; pi++) {
-		Z.z().ops_route.plus(Z.z().opl).setDouble("x", sps.plus(pi).getStruct().x);
-		Z.z().ops_route.plus(Z.z().opl).setDouble("y", sps.plus(pi).getStruct().y);
+		Z.z().ops_route.get(Z.z().opl).x = sps.plus(pi).getStruct().x;
+		Z.z().ops_route.get(Z.z().opl).y = sps.plus(pi).getStruct().y;
 		Z.z().opl++;
 		}
 	    return 1;
@@ -307,8 +307,8 @@ try {
 		growops(Z.z().opl + 4);
 		for (pi = 1; pi < 4; pi++)
 		{
-			Z.z().ops_route.plus(Z.z().opl).setDouble("x", sps.plus(pi).getStruct().x);
-			Z.z().ops_route.plus(Z.z().opl).setDouble("y", sps.plus(pi).getStruct().y);
+			Z.z().ops_route.get(Z.z().opl).x = sps.plus(pi).getStruct().x;
+			Z.z().ops_route.get(Z.z().opl).y = sps.plus(pi).getStruct().y;
 		    Z.z().opl++;
 		}
 		return 1;
@@ -516,8 +516,8 @@ try {
     d = v.x * v.x + v.y * v.y;
     if (d > 1e-6) {
 	d = sqrt(d);
-	v.setDouble("x", v.x / d);
-	v.setDouble("y", v.y / d);
+	v.x = v.x / d;
+	v.y = v.y / d;
     }
     return v;
 } finally {
@@ -564,8 +564,8 @@ return add_w_(p1.copy(), p2.copy()).copy();
 private static ST_pointf add_w_(final ST_pointf p1, final ST_pointf p2) {
 ENTERING("f4a7nt247bokdwr2owda050of","add");
 try {
-    p1.setDouble("x", p1.x + p2.x);
-    p1.setDouble("y", p1.y + p2.y);
+    p1.x = p1.x + p2.x;
+    p1.y = p1.y + p2.y;
     return p1;
 } finally {
 LEAVING("f4a7nt247bokdwr2owda050of","add");
@@ -584,8 +584,8 @@ return sub_w_(p1.copy(), p2.copy()).copy();
 private static ST_pointf sub_w_(final ST_pointf p1, final  ST_pointf p2) {
 ENTERING("c4l1gvlkv2s4mi6os7r9dh89f","sub");
 try {
-    p1.setDouble("x", p1.x - p2.x);
-    p1.setDouble("y", p1.y - p2.y);
+    p1.x = p1.x - p2.x;
+    p1.y = p1.y - p2.y;
     return p1;
 } finally {
 LEAVING("c4l1gvlkv2s4mi6os7r9dh89f","sub");
@@ -625,8 +625,8 @@ return scale_w_(p.copy(), c).copy();
 private static ST_pointf scale_w_(final ST_pointf p, double c) {
 ENTERING("19149pdllzhplvew0bsh5v6hy","scale");
 try {
-    p.setDouble("x", p.x * c);
-    p.setDouble("y", p.y * c);
+    p.x = p.x * c;
+    p.y = p.y * c;
     return p;
 } finally {
 LEAVING("19149pdllzhplvew0bsh5v6hy","scale");
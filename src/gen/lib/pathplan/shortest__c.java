@@ -569,10 +569,10 @@ public static boolean between(ST_pointf pap, ST_pointf pbp, ST_pointf pcp) {
 ENTERING("uh5n18rzyevtb4cwpni70qpc","between");
 try {
     final ST_pointf p1 = new ST_pointf(), p2 = new ST_pointf();
-    p1.setDouble("x", pbp.x - pap.x);
-    p1.setDouble("y", pbp.y - pap.y);
-    p2.setDouble("x", pcp.x - pap.x);
-    p2.setDouble("y", pcp.y - pap.y);
+    p1.x = pbp.x - pap.x;
+    p1.y = pbp.y - pap.y;
+    p2.x = pcp.x - pap.x;
+    p2.y = pcp.y - pap.y;
     if (ccw(pap, pbp, pcp) != 3)
 	return false;
     return (p2.x * p1.x + p2.y * p1.y >= 0) &&
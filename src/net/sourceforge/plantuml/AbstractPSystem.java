@@ -52,7 +52,9 @@ import net.sourceforge.plantuml.core.UmlSource;
 import net.sourceforge.plantuml.cucadiagram.Display;
 import net.sourceforge.plantuml.cucadiagram.DisplayPositionned;
 import net.sourceforge.plantuml.graphic.HorizontalAlignment;
+import net.sourceforge.plantuml.graphic.StringBounderCache;
 import net.sourceforge.plantuml.graphic.VerticalAlignment;
+import net.sourceforge.plantuml.stats.StageStats;
 import net.sourceforge.plantuml.stats.StatsUtilsIncrement;
 import net.sourceforge.plantuml.version.License;
 import net.sourceforge.plantuml.version.Version;
@@ -61,6 +63,7 @@ public abstract class AbstractPSystem implements Diagram {
 
 	private UmlSource source;
 	private Scale scale;
+	private Boolean useStyles;
 
 	private String getVersion() {
 		final StringBuilder toAppend = new StringBuilder();
@@ -135,16 +138,30 @@ public abstract class AbstractPSystem implements Diagram {
 	final public ImageData exportDiagram(OutputStream os, int index, FileFormatOption fileFormatOption)
 			throws IOException {
 		final long now = System.currentTimeMillis();
+		if (useStyles != null) {
+			SkinParam.setUseStyles(useStyles);
+		}
+		final Object stage = StageStats.startExport(getClass(), fileFormatOption.getFileFormat());
 		try {
 			return exportDiagramNow(os, index, fileFormatOption, seed());
 		} finally {
+			StageStats.endExport(stage);
 			if (OptionFlags.getInstance().isEnableStats()) {
 				StatsUtilsIncrement.onceMoreGenerate(System.currentTimeMillis() - now, getClass(),
 						fileFormatOption.getFileFormat());
 			}
+			StringBounderCache.printCacheInfo();
 		}
 	}
 
+	/**
+	 * Keeps the style mode left by the parsing of this diagram. The thread exporting the diagram may have parsed other
+	 * diagrams since, or may not be the thread that parsed it.
+	 */
+	final void rememberUseStyles() {
+		this.useStyles = SkinParam.USE_STYLES();
+	}
+
 	final public void setScale(Scale scale) {
 		this.scale = scale;
 	}
@@ -44,7 +44,9 @@ import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import net.sourceforge.plantuml.code.AsciiEncoder;
 import net.sourceforge.plantuml.code.Transcoder;
@@ -53,6 +55,7 @@ import net.sourceforge.plantuml.command.regex.Matcher2;
 import net.sourceforge.plantuml.core.Diagram;
 import net.sourceforge.plantuml.error.PSystemErrorPreprocessor;
 import net.sourceforge.plantuml.preproc.Defines;
+import net.sourceforge.plantuml.preproc.FileWithSuffix;
 import net.sourceforge.plantuml.preproc2.PreprocessorMode;
 import net.sourceforge.plantuml.preproc2.PreprocessorModeSet;
 import net.sourceforge.plantuml.tim.TimLoader;
@@ -66,6 +69,7 @@ public class BlockUml {
 	private Diagram system;
 	private final Defines localDefines;
 	private final ISkinSimple skinParam;
+	private final Set<FileWithSuffix> included = new HashSet<FileWithSuffix>();
 
 	BlockUml(String... strings) {
 		this(convert(strings), Defines.createEmpty(), null, null);
@@ -120,6 +124,7 @@ public class BlockUml {
 			this.data = timLoader.getResultList();
 			this.debug = timLoader.getDebug();
 			this.preprocessorError = timLoader.isPreprocessorError();
+			this.included.addAll(timLoader.getFilesUsed());
 		} else {
 			this.data = new ArrayList<StringLocated>(strings);
 		}
@@ -173,6 +178,7 @@ public class BlockUml {
 			final MessageDigest msgDigest = MessageDigest.getInstance("MD5");
 			for (StringLocated s : data) {
 				msgDigest.update(s.getString().getBytes("UTF-8"));
+				msgDigest.update((byte) '\n');
 			}
 			final byte[] digest = msgDigest.digest();
 			return coder.encode(digest);
@@ -217,6 +223,10 @@ public class BlockUml {
 		return Collections.unmodifiableList(data2.subList(1, data2.size() - 1));
 	}
 
+	public Set<FileWithSuffix> getIncluded() {
+		return Collections.unmodifiableSet(included);
+	}
+
 	public Defines getLocalDefines() {
 		return localDefines;
 	}
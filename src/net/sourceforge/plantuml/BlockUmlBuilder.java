@@ -57,6 +57,7 @@ import net.sourceforge.plantuml.preproc.ReadLineReader;
 import net.sourceforge.plantuml.preproc.UncommentReadLine;
 import net.sourceforge.plantuml.preproc2.Preprocessor;
 import net.sourceforge.plantuml.preproc2.PreprocessorMode;
+import net.sourceforge.plantuml.stats.StageStats;
 import net.sourceforge.plantuml.utils.StartUtils;
 
 public final class BlockUmlBuilder implements DefinitionsContainer {
@@ -98,6 +99,7 @@ public final class BlockUmlBuilder implements DefinitionsContainer {
 		StringLocated s = null;
 		List<StringLocated> current2 = null;
 		boolean paused = false;
+		long start = System.nanoTime();
 
 		while ((s = includer.readLine()) != null) {
 			if (StartUtils.isArobaseStartDiagram(s.getString())) {
@@ -130,6 +132,8 @@ public final class BlockUmlBuilder implements DefinitionsContainer {
 					current2.add(s);
 				}
 				blocks.add(new BlockUml(current2, defines.cloneMe(), null, this));
+				StageStats.recordPreprocessing(start);
+				start = System.nanoTime();
 				current2 = null;
 				reader2.setPaused(false);
 			}
@@ -141,7 +145,11 @@ public final class BlockUmlBuilder implements DefinitionsContainer {
 	}
 
 	public final Set<FileWithSuffix> getIncludedFiles() {
-		return Collections.unmodifiableSet(usedFiles);
+		final Set<FileWithSuffix> result = new HashSet<FileWithSuffix>(usedFiles);
+		for (BlockUml block : blocks) {
+			result.addAll(block.getIncluded());
+		}
+		return Collections.unmodifiableSet(result);
 	}
 
 	public List<String> getDefinition1(String name) {
@@ -67,6 +67,17 @@ public class ErrorStatus {
 		this.noData = false;
 	}
 
+	/**
+	 * Adds the status of one part of the work, such as a single file, to this global status.
+	 */
+	public void merge(ErrorStatus other) {
+		if (other.hasError()) {
+			goWithError();
+		} else if (other.isNoData() == false) {
+			goOk();
+		}
+	}
+
 	public synchronized boolean hasError() {
 		return hasErrors;
 	}
@@ -0,0 +1,141 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import net.sourceforge.plantuml.activitydiagram.ActivityDiagramFactory;
+import net.sourceforge.plantuml.activitydiagram3.ActivityDiagramFactory3;
+import net.sourceforge.plantuml.api.PSystemFactory;
+import net.sourceforge.plantuml.classdiagram.ClassDiagramFactory;
+import net.sourceforge.plantuml.command.regex.Matcher2;
+import net.sourceforge.plantuml.command.regex.MyPattern;
+import net.sourceforge.plantuml.command.regex.Pattern2;
+import net.sourceforge.plantuml.core.UmlSource;
+import net.sourceforge.plantuml.descdiagram.DescriptionDiagramFactory;
+import net.sourceforge.plantuml.sequencediagram.SequenceDiagramFactory;
+import net.sourceforge.plantuml.statediagram.StateDiagramFactory;
+import net.sourceforge.plantuml.version.IteratorCounter2;
+
+/**
+ * Guesses the factory of an <code>@startuml</code> diagram from keywords found in its first lines.
+ *
+ * The guess is only a hint used by {@link PSystemBuilder}: the factories are still tried in their usual order, but
+ * the ones that come before the predicted factory are first checked without executing any command.
+ */
+final class FactoryClassifier {
+
+	private static final int MAX_LINES = 30;
+
+	private static final List<Pattern2> patterns = new ArrayList<Pattern2>();
+	private static final List<Class<? extends PSystemFactory>> factories = new ArrayList<Class<? extends PSystemFactory>>();
+
+	private static final AtomicLong nbDiagrams = new AtomicLong();
+	private static final AtomicLong nbAttempts = new AtomicLong();
+	private static final AtomicLong nbPredicted = new AtomicLong();
+
+	static {
+		add("^(\\(\\*(top)?\\)|else[%s]+when\\b)", ActivityDiagramFactory.class);
+		add("^(state[%s]|\\[\\*\\])", StateDiagramFactory.class);
+		add("^(start|stop|detach|kill|endif|endwhile|end[%s]?fork|fork([%s]again)?)$",
+				ActivityDiagramFactory3.class);
+		add("^(:.*;|\\|.+\\||(if|while|repeat[%s]while)[%s]*\\(|elseif[%s]*\\(|repeat$)",
+				ActivityDiagramFactory3.class);
+		add("^(participant|boundary|control|entity|collections|queue|autonumber|activate|deactivate|destroy|create|newpage|alt|loop|ref[%s]+over|box)\\b",
+				SequenceDiagramFactory.class);
+		add("^(==.*==|\\.\\.\\..*|\\|\\|\\|)$", SequenceDiagramFactory.class);
+		add("^((abstract[%s]+)?class|interface|enum|annotation|abstract|object|map|json)[%s]",
+				ClassDiagramFactory.class);
+		add("<\\|--|--\\|>|<\\|\\.\\.|\\.\\.\\|>", ClassDiagramFactory.class);
+		add("^(usecase|component|node|artifact|cloud|folder|frame|rectangle|storage|agent|stack|file|card|label|port|portin|portout)[%s]",
+				DescriptionDiagramFactory.class);
+		add("^(\\[[^*\\]]+\\]|\\([^*)]+\\))", DescriptionDiagramFactory.class);
+	}
+
+	private static void add(String regex, Class<? extends PSystemFactory> factory) {
+		patterns.add(MyPattern.cmpile(regex, Pattern.CASE_INSENSITIVE));
+		factories.add(factory);
+	}
+
+	private FactoryClassifier() {
+	}
+
+	/**
+	 * @return the class of the factory that most likely accepts this source, or <code>null</code>.
+	 */
+	static Class<? extends PSystemFactory> guess(UmlSource source) {
+		final IteratorCounter2 it = source.iterator2();
+		if (it.hasNext()) {
+			it.next();
+		}
+		int nb = 0;
+		while (it.hasNext() && nb < MAX_LINES) {
+			final String line = it.next().getTrimmed().getString();
+			if (line.length() == 0 || line.startsWith("'")) {
+				continue;
+			}
+			nb++;
+			for (int i = 0; i < patterns.size(); i++) {
+				final Matcher2 m = patterns.get(i).matcher(line);
+				if (m.find()) {
+					return factories.get(i);
+				}
+			}
+		}
+		return null;
+	}
+
+	static void record(int attempts, boolean predicted) {
+		nbDiagrams.incrementAndGet();
+		nbAttempts.addAndGet(attempts);
+		if (predicted) {
+			nbPredicted.incrementAndGet();
+		}
+	}
+
+	static void printCacheInfo() {
+		Log.info("Factory attempts " + nbAttempts.get() + " for " + nbDiagrams.get() + " diagrams, "
+				+ nbPredicted.get() + " correctly predicted");
+	}
+
+}
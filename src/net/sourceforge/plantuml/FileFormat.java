@@ -47,10 +47,13 @@ import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import net.sourceforge.plantuml.braille.BrailleCharFactory;
 import net.sourceforge.plantuml.braille.UGraphicBraille;
 import net.sourceforge.plantuml.graphic.StringBounder;
+import net.sourceforge.plantuml.graphic.StringBounderCache;
 import net.sourceforge.plantuml.png.MetadataTag;
 import net.sourceforge.plantuml.svg.SvgGraphics;
 import net.sourceforge.plantuml.ugraphic.UFont;
@@ -94,15 +97,43 @@ public enum FileFormat {
 	final static private BufferedImage imDummy = new BufferedImage(800, 100, BufferedImage.TYPE_INT_RGB);
 	final static private Graphics2D gg = imDummy.createGraphics();
 
+	final static private StringBounderCache.Store normalMeasures = new StringBounderCache.Store();
+	final static private StringBounderCache.Store brailleMeasures = new StringBounderCache.Store();
+	final static private ConcurrentMap<String, StringBounderCache.Store> tikzMeasures = new ConcurrentHashMap<String, StringBounderCache.Store>();
+
 	public StringBounder getDefaultStringBounder(TikzFontDistortion tikzFontDistortion) {
 		if (this == LATEX || this == LATEX_NO_PREAMBLE) {
-			return getTikzStringBounder(tikzFontDistortion);
+			return new StringBounderCache(getTikzStringBounder(tikzFontDistortion), getTikzMeasures(tikzFontDistortion));
 		}
 		if (this == BRAILLE_PNG) {
-			return getBrailleStringBounder();
+			return new StringBounderCache(getBrailleStringBounder(), brailleMeasures);
+
+		}
+		return new StringBounderCache(getNormalStringBounder(), normalMeasures);
+	}
 
+	/**
+	 * Formats returning the same object measure texts the same way, so a layout computed for one of them can be
+	 * drawn by the others.
+	 */
+	public Object getStringBounderKey(TikzFontDistortion tikzFontDistortion) {
+		if (this == LATEX || this == LATEX_NO_PREAMBLE) {
+			return getTikzMeasures(tikzFontDistortion);
 		}
-		return getNormalStringBounder();
+		if (this == BRAILLE_PNG) {
+			return brailleMeasures;
+		}
+		return normalMeasures;
+	}
+
+	private static StringBounderCache.Store getTikzMeasures(TikzFontDistortion tikzFontDistortion) {
+		final String key = tikzFontDistortion.toString();
+		StringBounderCache.Store result = tikzMeasures.get(key);
+		if (result == null) {
+			tikzMeasures.putIfAbsent(key, new StringBounderCache.Store());
+			result = tikzMeasures.get(key);
+		}
+		return result;
 	}
 
 	private StringBounder getNormalStringBounder() {
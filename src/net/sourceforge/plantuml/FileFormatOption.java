@@ -61,19 +61,24 @@ public final class FileFormatOption implements Serializable {
 	private final String hoverColor;
 	private final TikzFontDistortion tikzFontDistortion;
 	private final double scale;
+	private final boolean svgStreaming;
 
 	public double getScaleCoef() {
 		return scale;
 	}
 
 	public FileFormatOption(FileFormat fileFormat) {
-		this(fileFormat, null, true, false, "_top", false, null, TikzFontDistortion.getDefault(), 1.0);
+		this(fileFormat, null, true, false, "_top", false, null, TikzFontDistortion.getDefault(), 1.0, true);
 	}
 
 	public StringBounder getDefaultStringBounder() {
 		return fileFormat.getDefaultStringBounder(tikzFontDistortion);
 	}
 
+	public Object getStringBounderKey() {
+		return fileFormat.getStringBounderKey(tikzFontDistortion);
+	}
+
 	public String getSvgLinkTarget() {
 		return svgLinkTarget;
 	}
@@ -83,12 +88,12 @@ public final class FileFormatOption implements Serializable {
 	}
 
 	public FileFormatOption(FileFormat fileFormat, boolean withMetadata) {
-		this(fileFormat, null, false, false, "_top", false, null, TikzFontDistortion.getDefault(), 1.0);
+		this(fileFormat, null, false, false, "_top", false, null, TikzFontDistortion.getDefault(), 1.0, true);
 	}
 
 	private FileFormatOption(FileFormat fileFormat, AffineTransform at, boolean withMetadata, boolean useRedForError,
 			String svgLinkTarget, boolean debugsvek, String hoverColor, TikzFontDistortion tikzFontDistortion,
-			double scale) {
+			double scale, boolean svgStreaming) {
 		this.hoverColor = hoverColor;
 		this.fileFormat = fileFormat;
 		this.affineTransform = at;
@@ -98,6 +103,7 @@ public final class FileFormatOption implements Serializable {
 		this.debugsvek = debugsvek;
 		this.tikzFontDistortion = tikzFontDistortion;
 		this.scale = scale;
+		this.svgStreaming = svgStreaming;
 		if (tikzFontDistortion == null) {
 			throw new IllegalArgumentException();
 		}
@@ -105,27 +111,41 @@ public final class FileFormatOption implements Serializable {
 
 	public FileFormatOption withUseRedForError() {
 		return new FileFormatOption(fileFormat, affineTransform, withMetadata, true, svgLinkTarget, debugsvek,
-				hoverColor, tikzFontDistortion, scale);
+				hoverColor, tikzFontDistortion, scale, svgStreaming);
 	}
 
 	public FileFormatOption withTikzFontDistortion(TikzFontDistortion tikzFontDistortion) {
 		return new FileFormatOption(fileFormat, affineTransform, withMetadata, true, svgLinkTarget, debugsvek,
-				hoverColor, tikzFontDistortion, scale);
+				hoverColor, tikzFontDistortion, scale, svgStreaming);
 	}
 
 	public FileFormatOption withSvgLinkTarget(String svgLinkTarget) {
 		return new FileFormatOption(fileFormat, affineTransform, withMetadata, useRedForError, svgLinkTarget,
-				debugsvek, hoverColor, tikzFontDistortion, scale);
+				debugsvek, hoverColor, tikzFontDistortion, scale, svgStreaming);
 	}
 
 	public FileFormatOption withHoverColor(String hoverColor) {
 		return new FileFormatOption(fileFormat, affineTransform, withMetadata, useRedForError, svgLinkTarget,
-				debugsvek, hoverColor, tikzFontDistortion, scale);
+				debugsvek, hoverColor, tikzFontDistortion, scale, svgStreaming);
 	}
 
 	public FileFormatOption withScale(double scale) {
 		return new FileFormatOption(fileFormat, affineTransform, withMetadata, useRedForError, svgLinkTarget,
-				debugsvek, hoverColor, tikzFontDistortion, scale);
+				debugsvek, hoverColor, tikzFontDistortion, scale, svgStreaming);
+	}
+
+	/**
+	 * @param svgStreaming
+	 *            <code>false</code> to build the whole DOM document of a SVG image before writing it, as PlantUML
+	 *            used to do.
+	 */
+	public FileFormatOption withSvgStreaming(boolean svgStreaming) {
+		return new FileFormatOption(fileFormat, affineTransform, withMetadata, useRedForError, svgLinkTarget,
+				debugsvek, hoverColor, tikzFontDistortion, scale, svgStreaming);
+	}
+
+	public final boolean isSvgStreaming() {
+		return svgStreaming;
 	}
 
 	@Override
@@ -167,4 +187,14 @@ public final class FileFormatOption implements Serializable {
 		return tikzFontDistortion;
 	}
 
+	/**
+	 * @return a text covering every setting that changes the generated files, so that two options with the same
+	 *         signature give the same output.
+	 */
+	public String getSignature() {
+		return fileFormat.name() + "|" + withMetadata + "|" + useRedForError + "|" + scale + "|" + svgLinkTarget
+				+ "|" + hoverColor + "|" + tikzFontDistortion + "|" + affineTransform + "|" + debugsvek + "|"
+				+ svgStreaming;
+	}
+
 }
@@ -0,0 +1,193 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.sourceforge.plantuml.json.Json;
+import net.sourceforge.plantuml.json.JsonArray;
+import net.sourceforge.plantuml.json.JsonObject;
+import net.sourceforge.plantuml.json.JsonValue;
+import net.sourceforge.plantuml.version.Version;
+
+/**
+ * Processing time of each file, used to schedule the biggest files first when several threads are used.
+ *
+ * With <code>-timings "file"</code>, the durations of the previous run are read from this file and a JSON summary
+ * of the current run (per file timings, thread utilisation) is written back to it. Without history, the size of the
+ * file is used as an estimation of its cost.
+ */
+public class FileTimings {
+
+	private final File timingsFile;
+	private final Map<String, Long> previousDurations = new HashMap<String, Long>();
+	private final List<JsonObject> records = new ArrayList<JsonObject>();
+	private double previousMsPerByte;
+	private long busyMs;
+
+	public FileTimings(File timingsFile) {
+		this.timingsFile = timingsFile;
+		if (timingsFile != null && timingsFile.exists()) {
+			try {
+				load();
+			} catch (IOException e) {
+				Log.error("Cannot read timings " + timingsFile + ": " + e);
+			} catch (RuntimeException e) {
+				Log.error("Cannot read timings " + timingsFile + ": " + e);
+			}
+		}
+	}
+
+	private void load() throws IOException {
+		final Reader reader = new InputStreamReader(new FileInputStream(timingsFile), "UTF-8");
+		final JsonValue json;
+		try {
+			json = Json.parse(reader);
+		} finally {
+			reader.close();
+		}
+		long totalMs = 0;
+		long totalBytes = 0;
+		for (JsonValue value : json.asObject().get("files").asArray()) {
+			final JsonObject file = value.asObject();
+			final long duration = file.getLong("durationMs", 0);
+			final long size = file.getLong("size", 0);
+			previousDurations.put(file.getString("file", ""), duration);
+			totalMs += duration;
+			totalBytes += size;
+		}
+		if (totalBytes > 0) {
+			previousMsPerByte = 1.0 * totalMs / totalBytes;
+		}
+		Log.info("Timings loaded: " + previousDurations.size() + " files");
+	}
+
+	/**
+	 * Estimated processing time: the previous duration if known, otherwise a value proportional to the file size.
+	 */
+	public double getCost(File f) {
+		final Long previous = previousDurations.get(f.getAbsolutePath());
+		if (previous != null) {
+			return previous;
+		}
+		if (previousMsPerByte > 0) {
+			return previousMsPerByte * f.length();
+		}
+		return f.length();
+	}
+
+	public void sortLargestFirst(List<File> files) {
+		final Map<File, Double> costs = new HashMap<File, Double>();
+		for (File f : files) {
+			costs.put(f, getCost(f));
+		}
+		Collections.sort(files, new Comparator<File>() {
+			public int compare(File f1, File f2) {
+				return costs.get(f2).compareTo(costs.get(f1));
+			}
+		});
+	}
+
+	public synchronized void record(File f, long queuedMs, long durationMs, boolean error) {
+		busyMs += durationMs;
+		final JsonObject record = Json.object();
+		record.add("file", f.getAbsolutePath());
+		record.add("size", f.length());
+		record.add("queuedMs", queuedMs);
+		record.add("durationMs", durationMs);
+		record.add("error", error);
+		records.add(record);
+	}
+
+	/**
+	 * Keeps the duration of the previous run for a file skipped by <code>-incremental</code>, so that the time of a
+	 * skipped file is not taken as its cost.
+	 */
+	public synchronized void recordSkipped(File f) {
+		final Long previous = previousDurations.get(f.getAbsolutePath());
+		if (previous == null) {
+			return;
+		}
+		final JsonObject record = Json.object();
+		record.add("file", f.getAbsolutePath());
+		record.add("size", f.length());
+		record.add("durationMs", previous.longValue());
+		record.add("skipped", true);
+		records.add(record);
+	}
+
+	public synchronized void save(int nbThreads, long wallMs) throws IOException {
+		Log.info("Busy time " + busyMs + " ms on " + nbThreads + " thread(s) during " + wallMs + " ms");
+		if (timingsFile == null) {
+			return;
+		}
+		final JsonArray files = Json.array();
+		for (JsonObject record : records) {
+			files.add(record);
+		}
+		final JsonObject result = Json.object();
+		result.add("version", Version.versionString());
+		result.add("threads", nbThreads);
+		result.add("wallMs", wallMs);
+		result.add("busyMs", busyMs);
+		result.add("utilisation", wallMs == 0 ? 0 : 1.0 * busyMs / nbThreads / wallMs);
+		result.add("files", files);
+		final Writer writer = new OutputStreamWriter(new FileOutputStream(timingsFile), "UTF-8");
+		try {
+			result.writeTo(writer);
+		} finally {
+			writer.close();
+		}
+	}
+
+}
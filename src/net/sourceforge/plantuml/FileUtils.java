@@ -44,6 +44,7 @@ import java.awt.image.BufferedImage;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -122,6 +123,12 @@ public class FileUtils {
 		fos.close();
 	}
 
+	static public byte[] readBytes(File src) throws IOException {
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream((int) src.length());
+		copyInternal(new BufferedInputStream(new FileInputStream(src)), baos);
+		return baos.toByteArray();
+	}
+
 	static public String readSvg(File svgFile) throws IOException {
 		final BufferedReader br = new BufferedReader(new FileReader(svgFile));
 		return readSvg(br, false, true);
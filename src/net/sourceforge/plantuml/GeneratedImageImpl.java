@@ -50,16 +50,22 @@ public class GeneratedImageImpl implements GeneratedImage {
 	private final String description;
 	private final BlockUml blockUml;
 	private final int status;
+	private final Integer knownLineError;
 
 	public final int getStatus() {
 		return status;
 	}
 
 	public GeneratedImageImpl(File pngFile, String description, BlockUml blockUml, int status) {
+		this(pngFile, description, blockUml, status, null);
+	}
+
+	GeneratedImageImpl(File pngFile, String description, BlockUml blockUml, int status, Integer knownLineError) {
 		this.blockUml = blockUml;
 		this.pngFile = pngFile;
 		this.description = description;
 		this.status = status;
+		this.knownLineError = knownLineError;
 	}
 
 	public File getPngFile() {
@@ -71,6 +77,9 @@ public class GeneratedImageImpl implements GeneratedImage {
 	}
 
 	public int lineErrorRaw() {
+		if (knownLineError != null) {
+			return knownLineError;
+		}
 		final Diagram system = blockUml.getDiagram();
 		if (system instanceof PSystemError) {
 			return ((PSystemError) system).getLineLocation().getPosition();
@@ -183,6 +183,8 @@ public interface ISkinParam extends ISkinSimple {
 
 	public void muteStyle(Style modifiedStyle);
 
+	public void muteStyles(Collection<Style> modifiedStyles);
+
 	public Collection<String> getAllSpriteNames();
 	
 	public String getDefaultSkin();
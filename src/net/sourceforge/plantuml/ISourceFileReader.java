@@ -41,6 +41,10 @@ package net.sourceforge.plantuml;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import net.sourceforge.plantuml.preproc.FileWithSuffix;
 
 public interface ISourceFileReader {
 
@@ -54,4 +58,11 @@ public interface ISourceFileReader {
 
 	public void setCheckMetadata(boolean checkMetadata);
 
+	/**
+	 * Allows the blocks of the file to be processed in parallel, using this executor.
+	 */
+	public void setExecutor(Executor executor);
+
+	public Set<FileWithSuffix> getIncludedFiles();
+
 }
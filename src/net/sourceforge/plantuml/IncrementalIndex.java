@@ -0,0 +1,204 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.sourceforge.plantuml.preproc.FileWithSuffix;
+
+/**
+ * Persisted dependency index used by <code>-incremental</code>.
+ *
+ * For each source file, it records the hash of the source, of every file pulled by <code>!include</code>,
+ * <code>!includesub</code> or <code>!import</code> (transitively) and of every generated image. A source is
+ * rendered again only if one of those hashes changed or if one of those files is missing.
+ */
+public class IncrementalIndex {
+
+	private static final String HEADER = "#plantuml-incremental ";
+
+	private final File indexFile;
+	private final String signature;
+	private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>();
+	private final Map<String, String> hashCache = new HashMap<String, String>();
+
+	static class Entry {
+		private final String sourceHash;
+		private final Map<String, String> includes = new LinkedHashMap<String, String>();
+		private final Map<String, String> outputs = new LinkedHashMap<String, String>();
+
+		Entry(String sourceHash) {
+			this.sourceHash = sourceHash;
+		}
+	}
+
+	/**
+	 * @param signature
+	 *            describes the options used for the run (format, config, version...). If it differs from the one
+	 *            stored in the file, the stored index is ignored.
+	 */
+	public IncrementalIndex(File indexFile, String signature) throws IOException {
+		this.indexFile = indexFile;
+		this.signature = signature;
+		if (indexFile.exists()) {
+			load();
+		}
+	}
+
+	private void load() throws IOException {
+		final BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(indexFile), "UTF-8"));
+		try {
+			final String header = br.readLine();
+			if (header == null || header.equals(HEADER + signature) == false) {
+				Log.info("Incremental index " + indexFile + " was built with other options, ignoring it");
+				return;
+			}
+			Entry current = null;
+			String s;
+			while ((s = br.readLine()) != null) {
+				final String[] parts = s.split("\t", 3);
+				if (parts.length != 3) {
+					continue;
+				}
+				if (parts[0].equals("S")) {
+					current = new Entry(parts[1]);
+					entries.put(parts[2], current);
+				} else if (parts[0].equals("I") && current != null) {
+					current.includes.put(parts[2], parts[1]);
+				} else if (parts[0].equals("O") && current != null) {
+					current.outputs.put(parts[2], parts[1]);
+				}
+			}
+		} finally {
+			br.close();
+		}
+		Log.info("Incremental index loaded: " + entries.size() + " sources");
+	}
+
+	public synchronized void save() throws IOException {
+		final PrintWriter pw = new PrintWriter(new OutputStreamWriter(new FileOutputStream(indexFile), "UTF-8"));
+		try {
+			pw.println(HEADER + signature);
+			for (Map.Entry<String, Entry> ent : entries.entrySet()) {
+				final Entry entry = ent.getValue();
+				pw.println("S\t" + entry.sourceHash + "\t" + ent.getKey());
+				for (Map.Entry<String, String> inc : entry.includes.entrySet()) {
+					pw.println("I\t" + inc.getValue() + "\t" + inc.getKey());
+				}
+				for (Map.Entry<String, String> out : entry.outputs.entrySet()) {
+					pw.println("O\t" + out.getValue() + "\t" + out.getKey());
+				}
+			}
+		} finally {
+			pw.close();
+		}
+	}
+
+	public synchronized boolean isUpToDate(File source) throws IOException {
+		final Entry entry = entries.get(getKey(source));
+		if (entry == null || entry.sourceHash.equals(hash(source, false)) == false) {
+			return false;
+		}
+		for (Map.Entry<String, String> inc : entry.includes.entrySet()) {
+			if (inc.getValue().equals(hash(new File(inc.getKey()), true)) == false) {
+				return false;
+			}
+		}
+		for (Map.Entry<String, String> out : entry.outputs.entrySet()) {
+			if (out.getValue().equals(hash(new File(out.getKey()), false)) == false) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public synchronized void record(File source, Set<FileWithSuffix> included, List<GeneratedImage> images)
+			throws IOException {
+		final Entry entry = new Entry(hash(source, false));
+		for (File f : FileWithSuffix.convert(included)) {
+			if (f != null) {
+				entry.includes.put(getKey(f), hash(f, true));
+			}
+		}
+		for (GeneratedImage image : images) {
+			final File f = image.getPngFile();
+			entry.outputs.put(getKey(f), hash(f, false));
+		}
+		entries.put(getKey(source), entry);
+	}
+
+	public synchronized void forget(File source) {
+		entries.remove(getKey(source));
+	}
+
+	private static String getKey(File f) {
+		return f.getAbsolutePath();
+	}
+
+	// Included files are shared by many sources: their hash is computed only once per run.
+	private String hash(File f, boolean shared) throws IOException {
+		if (f.exists() == false || f.isFile() == false) {
+			return "-";
+		}
+		if (shared == false) {
+			return SignatureUtils.getSignature(f);
+		}
+		final String key = getKey(f);
+		String result = hashCache.get(key);
+		if (result == null) {
+			result = SignatureUtils.getSignature(f);
+			hashCache.put(key, result);
+		}
+		return result;
+	}
+
+}
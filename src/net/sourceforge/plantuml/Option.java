@@ -51,15 +51,22 @@ import java.util.List;
 import java.util.Map;
 
 import net.sourceforge.plantuml.api.ApiWarning;
+import net.sourceforge.plantuml.cache.RenderCacheDirectory;
+import net.sourceforge.plantuml.cache.RenderCacheLayered;
+import net.sourceforge.plantuml.cache.RenderCacheMemory;
 import net.sourceforge.plantuml.command.regex.Matcher2;
 import net.sourceforge.plantuml.command.regex.MyPattern;
 import net.sourceforge.plantuml.command.regex.Pattern2;
 import net.sourceforge.plantuml.cucadiagram.dot.GraphvizUtils;
 import net.sourceforge.plantuml.preproc.Defines;
 import net.sourceforge.plantuml.stats.StatsUtils;
+import net.sourceforge.plantuml.version.Version;
 
 public class Option {
 
+	private static final long DEFAULT_CACHE_MEMORY_SIZE = 64L * 1024 * 1024;
+	private static final long DEFAULT_CACHE_DIRECTORY_SIZE = 512L * 1024 * 1024;
+
 	private final List<String> excludes = new ArrayList<String>();
 	private final List<String> config = new ArrayList<String>();
 	private final Map<String, String> defines = new LinkedHashMap<String, String>();
@@ -82,6 +89,9 @@ public class Option {
 	private boolean textProgressBar = false;
 	private int nbThreads = 0;
 	private int ftpPort = -1;
+	private int serverPort = -1;
+	private int benchmarkSize = -1;
+	private int serverQueueSize = -1;
 	private boolean hideMetadata = false;
 	private boolean checkMetadata = false;
 	private int stdrpt = 0;
@@ -89,6 +99,8 @@ public class Option {
 
 	private File outputDir = null;
 	private File outputFile = null;
+	private File incrementalIndex = null;
+	private File timingsFile = null;
 	private String filename;
 
 	private final List<String> result = new ArrayList<String>();
@@ -97,6 +109,7 @@ public class Option {
 	}
 
 	private FileFormatOption fileFormatOption = new FileFormatOption(FileFormat.PNG);
+	private final List<FileFormatOption> otherFileFormatOptions = new ArrayList<FileFormatOption>();
 
 	@Deprecated
 	@ApiWarning(willBeRemoved = "in next major release")
@@ -105,7 +118,103 @@ public class Option {
 	}
 
 	final public void setFileFormatOption(FileFormatOption newFormat) {
-		this.fileFormatOption = newFormat;
+		this.fileFormatOption = withOutputFlags(newFormat);
+		this.otherFileFormatOptions.clear();
+	}
+
+	private void setFileFormats(String list) throws InterruptedException {
+		final List<FileFormatOption> formats = new ArrayList<FileFormatOption>();
+		final List<FileFormat> seen = new ArrayList<FileFormat>();
+		boolean cmapx = false;
+		for (String name : list.split(",")) {
+			final FileFormatOption format = getFileFormatOption("-t" + name.trim());
+			if (name.trim().equalsIgnoreCase("cmapx")) {
+				// The image map is written along with the PNG image
+				cmapx = true;
+			} else if (format == null) {
+				Log.error("Unknown format " + name);
+			} else if (seen.contains(format.getFileFormat()) == false) {
+				seen.add(format.getFileFormat());
+				formats.add(format);
+			}
+		}
+		if (cmapx && seen.contains(FileFormat.PNG) == false) {
+			OptionPrint.printUsageError("cmapx is only written along with PNG output: use -tpng,cmapx");
+		}
+		if (formats.size() == 0) {
+			return;
+		}
+		setFileFormatOption(formats.get(0));
+		for (int i = 1; i < formats.size(); i++) {
+			otherFileFormatOptions.add(withOutputFlags(formats.get(i)));
+		}
+	}
+
+	/**
+	 * @return the format of a <code>-tXXX</code> (or <code>-XXX</code>) flag, or <code>null</code> if it is not a
+	 *         format flag.
+	 */
+	private static FileFormatOption getFileFormatOption(String flag) {
+		final String name = StringUtils.goLowerCase(flag);
+		FileFormatOption result = null;
+		if (name.startsWith("-")) {
+			result = getFileFormatOptionByName(name.substring(1));
+		}
+		if (result == null && name.startsWith("-t")) {
+			result = getFileFormatOptionByName(name.substring(2));
+		}
+		return result;
+	}
+
+	private static FileFormatOption getFileFormatOptionByName(String name) {
+		if (name.equals("svg") || name.equals("svg:nornd")) {
+			return new FileFormatOption(FileFormat.SVG);
+		} else if (name.equals("svg:dom")) {
+			return new FileFormatOption(FileFormat.SVG).withSvgStreaming(false);
+		} else if (name.equals("png")) {
+			return new FileFormatOption(FileFormat.PNG);
+		} else if (name.equals("html")) {
+			return new FileFormatOption(FileFormat.HTML);
+		} else if (name.equals("scxml")) {
+			return new FileFormatOption(FileFormat.SCXML);
+		} else if (name.equals("xmi")) {
+			return new FileFormatOption(FileFormat.XMI_STANDARD);
+		} else if (name.equals("xmi:argo")) {
+			return new FileFormatOption(FileFormat.XMI_ARGO);
+		} else if (name.equals("xmi:star")) {
+			return new FileFormatOption(FileFormat.XMI_STAR);
+		} else if (name.equals("eps")) {
+			return new FileFormatOption(FileFormat.EPS);
+		} else if (name.equals("eps:text")) {
+			return new FileFormatOption(FileFormat.EPS_TEXT);
+		} else if (name.equals("txt")) {
+			return new FileFormatOption(FileFormat.ATXT);
+		} else if (name.equals("utxt")) {
+			return new FileFormatOption(FileFormat.UTXT);
+		} else if (name.equals("braille")) {
+			return new FileFormatOption(FileFormat.BRAILLE_PNG);
+		} else if (name.equals("vdx")) {
+			return new FileFormatOption(FileFormat.VDX);
+		} else if (name.equals("latex")) {
+			return new FileFormatOption(FileFormat.LATEX);
+		} else if (name.equals("latex:nopreamble")) {
+			return new FileFormatOption(FileFormat.LATEX_NO_PREAMBLE);
+		} else if (name.equals("base64")) {
+			return new FileFormatOption(FileFormat.BASE64);
+		} else if (name.equals("pdf")) {
+			return new FileFormatOption(FileFormat.PDF);
+		}
+		return null;
+	}
+
+	private FileFormatOption withOutputFlags(FileFormatOption option) {
+		if (debugsvek) {
+			option.setDebugSvek(true);
+		}
+		if (hideMetadata) {
+			option.hideMetadata();
+		}
+		return option;
 	}
 
 	public Option(String... arg) throws InterruptedException, IOException {
@@ -121,42 +230,12 @@ public class Option {
 					Log.error("Warning: -headless flag must be the first one in the command line");
 				}
 				System.setProperty("java.awt.headless", "true");
-			} else if (s.equalsIgnoreCase("-tsvg") || s.equalsIgnoreCase("-svg")) {
-				setFileFormatOption(new FileFormatOption(FileFormat.SVG));
-			} else if (s.equalsIgnoreCase("-tsvg:nornd") || s.equalsIgnoreCase("-svg:nornd")) {
-				setFileFormatOption(new FileFormatOption(FileFormat.SVG));
-			} else if (s.equalsIgnoreCase("-thtml") || s.equalsIgnoreCase("-html")) {
-				setFileFormatOption(new FileFormatOption(FileFormat.HTML));
-			} else if (s.equalsIgnoreCase("-tscxml") || s.equalsIgnoreCase("-scxml")) {
-				setFileFormatOption(new FileFormatOption(FileFormat.SCXML));
-			} else if (s.equalsIgnoreCase("-txmi") || s.equalsIgnoreCase("-xmi")) {
-				setFileFormatOption(new FileFormatOption(FileFormat.XMI_STANDARD));
-			} else if (s.equalsIgnoreCase("-txmi:argo") || s.equalsIgnoreCase("-xmi:argo")) {
-				setFileFormatOption(new FileFormatOption(FileFormat.XMI_ARGO));
-			} else if (s.equalsIgnoreCase("-txmi:star") || s.equalsIgnoreCase("-xmi:star")) {
-				setFileFormatOption(new FileFormatOption(FileFormat.XMI_STAR));
-			} else if (s.equalsIgnoreCase("-teps") || s.equalsIgnoreCase("-eps")) {
-				setFileFormatOption(new FileFormatOption(FileFormat.EPS));
-			} else if (s.equalsIgnoreCase("-teps:text") || s.equalsIgnoreCase("-eps:text")) {
-				setFileFormatOption(new FileFormatOption(FileFormat.EPS_TEXT));
-			} else if (s.equalsIgnoreCase("-ttxt") || s.equalsIgnoreCase("-txt")) {
-				setFileFormatOption(new FileFormatOption(FileFormat.ATXT));
-			} else if (s.equalsIgnoreCase("-tutxt") || s.equalsIgnoreCase("-utxt")) {
-				setFileFormatOption(new FileFormatOption(FileFormat.UTXT));
-			} else if (s.equalsIgnoreCase("-braille") || s.equalsIgnoreCase("-tbraille")) {
-				setFileFormatOption(new FileFormatOption(FileFormat.BRAILLE_PNG));
-			} else if (s.equalsIgnoreCase("-png") || s.equalsIgnoreCase("-tpng")) {
-				setFileFormatOption(new FileFormatOption(FileFormat.PNG));
-			} else if (s.equalsIgnoreCase("-vdx") || s.equalsIgnoreCase("-tvdx")) {
-				setFileFormatOption(new FileFormatOption(FileFormat.VDX));
-			} else if (s.equalsIgnoreCase("-latex") || s.equalsIgnoreCase("-tlatex")) {
-				setFileFormatOption(new FileFormatOption(FileFormat.LATEX));
-			} else if (s.equalsIgnoreCase("-latex:nopreamble") || s.equalsIgnoreCase("-tlatex:nopreamble")) {
-				setFileFormatOption(new FileFormatOption(FileFormat.LATEX_NO_PREAMBLE));
-			} else if (s.equalsIgnoreCase("-base64") || s.equalsIgnoreCase("-tbase64")) {
-				setFileFormatOption(new FileFormatOption(FileFormat.BASE64));
-			} else if (s.equalsIgnoreCase("-pdf") || s.equalsIgnoreCase("-tpdf")) {
-				setFileFormatOption(new FileFormatOption(FileFormat.PDF));
+			} else if (getFileFormatOption(s) != null) {
+				setFileFormatOption(getFileFormatOption(s));
+			} else if (s.equalsIgnoreCase("-tcmapx")) {
+				setFileFormats(s.substring(2));
+			} else if (s.startsWith("-t") && s.indexOf(',') != -1) {
+				setFileFormats(s.substring(2));
 			} else if (s.equalsIgnoreCase("-overwrite")) {
 				OptionFlags.getInstance().setOverwrite(true);
 			} else if (s.equalsIgnoreCase("-output") || s.equalsIgnoreCase("-o")) {
@@ -334,6 +413,8 @@ public class Option {
 				StatsUtils.setHtmlStats(true);
 			} else if (s.equalsIgnoreCase("-xmlstats")) {
 				StatsUtils.setXmlStats(true);
+			} else if (s.equalsIgnoreCase("-prometheusstats")) {
+				StatsUtils.setPrometheusStats(true);
 			} else if (s.equalsIgnoreCase("-realtimestats")) {
 				StatsUtils.setRealTimeStats(true);
 			} else if (s.equalsIgnoreCase("-useseparatorminus")) {
@@ -370,6 +451,70 @@ public class Option {
 				} else {
 					this.ftpPort = Integer.parseInt(s.substring(x + 1));
 				}
+			} else if (s.equalsIgnoreCase("-incremental")) {
+				i++;
+				if (i == arg.length) {
+					continue;
+				}
+				incrementalIndex = new File(StringUtils.eventuallyRemoveStartingAndEndingDoubleQuote(arg[i]));
+			} else if (s.equalsIgnoreCase("-timings")) {
+				i++;
+				if (i == arg.length) {
+					continue;
+				}
+				timingsFile = new File(StringUtils.eventuallyRemoveStartingAndEndingDoubleQuote(arg[i]));
+			} else if (s.equalsIgnoreCase("-cache")) {
+				OptionFlags.getInstance().setRenderCache(new RenderCacheMemory(DEFAULT_CACHE_MEMORY_SIZE));
+			} else if (s.equalsIgnoreCase("-cachedir")) {
+				i++;
+				if (i == arg.length) {
+					continue;
+				}
+				final File dir = new File(StringUtils.eventuallyRemoveStartingAndEndingDoubleQuote(arg[i]));
+				OptionFlags.getInstance().setRenderCache(
+						new RenderCacheLayered(new RenderCacheMemory(DEFAULT_CACHE_MEMORY_SIZE),
+								new RenderCacheDirectory(dir, DEFAULT_CACHE_DIRECTORY_SIZE)));
+			} else if (s.equalsIgnoreCase("-dotpool")) {
+				i++;
+				if (i == arg.length) {
+					continue;
+				}
+				final String nb = arg[i];
+				if (nb.matches("\\d+")) {
+					OptionFlags.getInstance().setDotPoolSize(Integer.parseInt(nb));
+				}
+			} else if (s.equalsIgnoreCase("-serverqueue")) {
+				i++;
+				if (i == arg.length) {
+					continue;
+				}
+				final String nb = arg[i];
+				if (nb.matches("\\d+") == false) {
+					OptionPrint.printUsageError("Invalid -serverqueue value: " + nb);
+				}
+				this.serverQueueSize = Integer.parseInt(nb);
+			} else if (s.equalsIgnoreCase("-benchmark") || StringUtils.goLowerCase(s).startsWith("-benchmark:")) {
+				final int x = s.indexOf(':');
+				if (x == -1) {
+					this.benchmarkSize = 50;
+				} else {
+					final String size = s.substring(x + 1);
+					if (size.matches("[1-9]\\d{0,5}") == false) {
+						OptionPrint.printUsageError("Invalid -benchmark size: " + size);
+					}
+					this.benchmarkSize = Integer.parseInt(size);
+				}
+			} else if (s.equalsIgnoreCase("-server") || StringUtils.goLowerCase(s).startsWith("-server:")) {
+				final int x = s.indexOf(':');
+				if (x == -1) {
+					this.serverPort = 8080;
+				} else {
+					final String port = s.substring(x + 1);
+					if (port.matches("\\d+") == false) {
+						OptionPrint.printUsageError("Invalid -server port: " + port);
+					}
+					this.serverPort = Integer.parseInt(port);
+				}
 			} else if (s.startsWith("-c")) {
 				s = s.substring(2);
 				config.add(StringUtils.eventuallyRemoveStartingAndEndingDoubleQuote(s));
@@ -377,6 +522,13 @@ public class Option {
 				result.add(s);
 			}
 		}
+		// -debugsvek or -nometadata may come after the formats
+		for (FileFormatOption option : getFileFormatOptions()) {
+			withOutputFlags(option);
+		}
+		if (otherFileFormatOptions.size() > 0 && (outputFile != null || pipe || pipeMap)) {
+			OptionPrint.printUsageError("Several output formats cannot be used with -ofile or -pipe");
+		}
 	}
 
 	public Stdrpt getStdrpt() {
@@ -394,6 +546,18 @@ public class Option {
 		return ftpPort;
 	}
 
+	public int getServerPort() {
+		return serverPort;
+	}
+
+	public int getBenchmarkSize() {
+		return benchmarkSize;
+	}
+
+	public int getServerQueueSize() {
+		return serverQueueSize;
+	}
+
 	private void addInConfig(final FileReader source) throws IOException {
 		BufferedReader br = null;
 		try {
@@ -534,15 +698,20 @@ public class Option {
 	}
 
 	public FileFormatOption getFileFormatOption() {
-		if (debugsvek) {
-			fileFormatOption.setDebugSvek(true);
-		}
-		if (hideMetadata) {
-			fileFormatOption.hideMetadata();
-		}
 		return fileFormatOption;
 	}
 
+	/**
+	 * @return the format given by {@link #getFileFormatOption()}, followed by the other formats of a list like
+	 *         <code>-tpng,svg</code>. Each diagram is parsed and laid out once, then exported to all these formats.
+	 */
+	public List<FileFormatOption> getFileFormatOptions() {
+		final List<FileFormatOption> result = new ArrayList<FileFormatOption>();
+		result.add(fileFormatOption);
+		result.addAll(otherFileFormatOptions);
+		return result;
+	}
+
 	public final boolean isDuration() {
 		return duration;
 	}
@@ -587,8 +756,29 @@ public class Option {
 		return outputFile;
 	}
 
+	public final File getIncrementalIndex() {
+		return incrementalIndex;
+	}
+
+	public final File getTimingsFile() {
+		return timingsFile;
+	}
+
+	public String getIncrementalSignature() {
+		final StringBuilder formats = new StringBuilder();
+		for (FileFormatOption option : getFileFormatOptions()) {
+			formats.append(option.getSignature());
+			formats.append(' ');
+		}
+		return formats + "" + debugsvek + " " + checkMetadata + " " + outputDir + " "
+				+ outputFile + " " + charset + " " + config + " " + defines + " " + Version.versionString();
+	}
+
 	public final void setDebugSvek(boolean debugsvek) {
 		this.debugsvek = debugsvek;
+		for (FileFormatOption option : getFileFormatOptions()) {
+			withOutputFlags(option);
+		}
 	}
 
 	boolean isDebugSvek() {
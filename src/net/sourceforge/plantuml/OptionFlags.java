@@ -45,6 +45,7 @@ import java.io.FileOutputStream;
 import java.io.PrintStream;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import net.sourceforge.plantuml.cache.RenderCache;
 import net.sourceforge.plantuml.core.Diagram;
 import net.sourceforge.plantuml.cucadiagram.dot.GraphvizUtils;
 import net.sourceforge.plantuml.ugraphic.ImageBuilder;
@@ -130,6 +131,8 @@ public class OptionFlags {
 	private String fileSeparator = "_";
 	private long timeoutMs = 15 * 60 * 1000L; // 15 minutes
 	private File logData;
+	private RenderCache renderCache;
+	private int dotPoolSize;
 
 	public static OptionFlags getInstance() {
 		return singleton;
@@ -369,4 +372,20 @@ public class OptionFlags {
 	public final void setSilentlyCompletelyIgnoreErrors(boolean silentlyCompletelyIgnoreErrors) {
 		this.silentlyCompletelyIgnoreErrors = silentlyCompletelyIgnoreErrors;
 	}
+
+	public final RenderCache getRenderCache() {
+		return renderCache;
+	}
+
+	public final void setRenderCache(RenderCache renderCache) {
+		this.renderCache = renderCache;
+	}
+
+	public final int getDotPoolSize() {
+		return dotPoolSize;
+	}
+
+	public final void setDotPoolSize(int dotPoolSize) {
+		this.dotPoolSize = dotPoolSize;
+	}
 }
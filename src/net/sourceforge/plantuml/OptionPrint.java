@@ -100,6 +100,7 @@ public class OptionPrint {
 		System.out.println("    -tutxt\t\tTo generate images with ASCII art using Unicode characters");
 		System.out.println("    -tlatex\t\tTo generate images using LaTeX/Tikz format");
 		System.out.println("    -tlatex:nopreamble\tTo generate images using LaTeX/Tikz format without preamble");
+		System.out.println("    -tpng,svg,cmapx\tTo generate images in several formats, parsing each diagram only once (cmapx needs png)");
 		System.out.println("    -o[utput] \"dir\"\tTo generate images in the specified directory");
 		System.out.println("    -DVAR1=value\tTo set a preprocessing variable as if '!define VAR1 value' were used");
 		System.out.println("    -Sparam1=value\tTo set a skin parameter as if 'skinparam param1 value' were used");
@@ -140,6 +141,14 @@ public class OptionPrint {
 		System.out.println("    -nbthread auto\tTo use " + Option.defaultNbThreads() + " threads for processing");
 		System.out
 				.println("    -timeout N\t\tProcessing timeout in (N) seconds. Defaults to 15 minutes (900 seconds).");
+		System.out.println("    -incremental \"file\"\tTo only process files changed since the previous run (index in file)");
+		System.out.println("    -timings \"file\"\tTo schedule the slowest files first and write timings in JSON to file");
+		System.out.println("    -cache\t\tTo keep rendered images in memory and skip unchanged diagrams");
+		System.out.println("    -cachedir \"dir\"\tTo also store rendered images in a directory shared between runs");
+		System.out.println("    -dotpool N\t\tTo reuse up to (N) running Graphviz dot processes");
+		System.out.println("    -server[:port]\tTo start a local HTTP render server (default port 8080)");
+		System.out.println("    -serverqueue N\tTo accept at most (N) waiting requests in server mode");
+		System.out.println("    -benchmark[:size]\tTo measure PlantUML on generated diagrams (default size 50)");
 		System.out.println("    -author[s]\t\tTo print information about PlantUML authors");
 		System.out.println("    -overwrite\t\tTo allow to overwrite read only files");
 		System.out.println("    -printfonts\t\tTo print fonts available on your system");
@@ -147,6 +156,7 @@ public class OptionPrint {
 		System.out.println("    -disablestats\tTo disable statistics computation (default)");
 		System.out.println("    -htmlstats\t\tTo output general statistics in file plantuml-stats.html");
 		System.out.println("    -xmlstats\t\tTo output general statistics in file plantuml-stats.xml");
+		System.out.println("    -prometheusstats\tTo output general statistics in file plantuml-stats.prom");
 		System.out.println("    -realtimestats\tTo generate statistics on the fly rather than at the end");
 		System.out.println("    -loopstats\t\tTo continuously print statistics about usage");
 		System.out.println("    -splash\t\tTo display a splash screen with some progress bar");
@@ -162,6 +172,12 @@ public class OptionPrint {
 		exit(0);
 	}
 
+	static public void printUsageError(String message) throws InterruptedException {
+		System.err.println(message);
+		System.err.println("Use -help to see the available options");
+		exit(1);
+	}
+
 	static private void exit(int errorCode) throws InterruptedException {
 		if (OptionFlags.getInstance().isSystemExit() || errorCode != 0) {
 			System.exit(errorCode);
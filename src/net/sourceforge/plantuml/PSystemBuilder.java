@@ -41,13 +41,17 @@ package net.sourceforge.plantuml;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import net.sourceforge.plantuml.activitydiagram.ActivityDiagramFactory;
 import net.sourceforge.plantuml.activitydiagram3.ActivityDiagramFactory3;
 import net.sourceforge.plantuml.api.PSystemFactory;
 import net.sourceforge.plantuml.bpm.BpmDiagramFactory;
 import net.sourceforge.plantuml.classdiagram.ClassDiagramFactory;
+import net.sourceforge.plantuml.command.CommandIndex;
+import net.sourceforge.plantuml.command.UmlDiagramFactory;
 import net.sourceforge.plantuml.command.regex.RegexConcat;
 import net.sourceforge.plantuml.compositediagram.CompositeDiagramFactory;
 import net.sourceforge.plantuml.core.Diagram;
@@ -85,6 +89,7 @@ import net.sourceforge.plantuml.sequencediagram.SequenceDiagramFactory;
 import net.sourceforge.plantuml.sprite.ListSpriteDiagramFactory;
 import net.sourceforge.plantuml.sprite.PSystemListInternalSpritesFactory;
 import net.sourceforge.plantuml.statediagram.StateDiagramFactory;
+import net.sourceforge.plantuml.stats.StageStats;
 import net.sourceforge.plantuml.stats.StatsUtilsIncrement;
 import net.sourceforge.plantuml.timingdiagram.TimingDiagramFactory;
 import net.sourceforge.plantuml.version.License;
@@ -99,6 +104,7 @@ public class PSystemBuilder {
 	final public Diagram createPSystem(ISkinSimple skinParam, final List<StringLocated> strings2) {
 
 		final long now = System.currentTimeMillis();
+		final long startNanos = System.nanoTime();
 
 		Diagram result = null;
 		try {
@@ -117,30 +123,73 @@ public class PSystemBuilder {
 			}
 
 			final DiagramType diagramType = umlSource.getDiagramType();
-			final List<PSystemError> errors = new ArrayList<PSystemError>();
-			final List<PSystemFactory> factories = getAllFactories(skinParam);
+			final Map<PSystemFactory, PSystemError> errors = new IdentityHashMap<PSystemFactory, PSystemError>();
+			final List<PSystemFactory> factories = getFactories(skinParam);
+			final Class<? extends PSystemFactory> guess = diagramType == DiagramType.UML ? FactoryClassifier
+					.guess(umlSource) : null;
+			int attempts = 0;
 			for (PSystemFactory systemFactory : factories) {
 				if (diagramType != systemFactory.getDiagramType()) {
 					continue;
 				}
+				// Factories coming before the guessed one are only tried if they may accept every line
+				if (guess != null && systemFactory.getClass() != guess && systemFactory instanceof UmlDiagramFactory
+						&& ((UmlDiagramFactory) systemFactory).isRejected(umlSource)) {
+					continue;
+				}
+				attempts++;
 				final Diagram sys = systemFactory.createSystem(umlSource);
 				if (isOk(sys)) {
+					FactoryClassifier.record(attempts, systemFactory.getClass() == guess);
+					if (sys instanceof AbstractPSystem) {
+						((AbstractPSystem) sys).rememberUseStyles();
+					}
 					result = sys;
 					return sys;
 				}
-				errors.add((PSystemError) sys);
+				errors.put(systemFactory, (PSystemError) sys);
+			}
+
+			// Skipped factories are tried anyway, so that the errors are the same as without guess
+			final List<PSystemError> allErrors = new ArrayList<PSystemError>();
+			for (PSystemFactory systemFactory : factories) {
+				if (diagramType != systemFactory.getDiagramType()) {
+					continue;
+				}
+				if (errors.containsKey(systemFactory) == false) {
+					attempts++;
+					errors.put(systemFactory, (PSystemError) systemFactory.createSystem(umlSource));
+				}
+				allErrors.add(errors.get(systemFactory));
 			}
+			FactoryClassifier.record(attempts, false);
 
-			final PSystemError err = PSystemErrorUtils.merge(errors);
+			final PSystemError err = PSystemErrorUtils.merge(allErrors);
 			result = err;
 			return err;
 		} finally {
 			if (result != null && OptionFlags.getInstance().isEnableStats()) {
 				StatsUtilsIncrement.onceMoreParse(System.currentTimeMillis() - now, result.getClass());
+				StageStats.recordParsing(result.getClass(), startNanos);
 			}
 			Log.info("Compilation duration " + (System.currentTimeMillis() - now));
 			RegexConcat.printCacheInfo();
+			CommandIndex.printCacheInfo();
+			FactoryClassifier.printCacheInfo();
+		}
+	}
+
+	private static List<PSystemFactory> defaultFactories;
+
+	// Factories and their commands hold no parsing state, so they are shared between diagrams
+	private static synchronized List<PSystemFactory> getFactories(ISkinSimple skinParam) {
+		if (skinParam != null) {
+			return getAllFactories(skinParam);
+		}
+		if (defaultFactories == null) {
+			defaultFactories = Collections.unmodifiableList(getAllFactories(null));
 		}
+		return defaultFactories;
 	}
 
 	private static List<PSystemFactory> getAllFactories(ISkinSimple skinParam) {
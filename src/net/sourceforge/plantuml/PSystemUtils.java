@@ -103,6 +103,33 @@ public class PSystemUtils {
 		return exportDiagramsDefault(system, suggestedFile, fileFormatOption);
 	}
 
+	/**
+	 * @return the number of files {@link #exportDiagrams(Diagram, SuggestedFile, FileFormatOption, boolean)} will
+	 *         create, or -1 if it cannot be known before the export.
+	 */
+	public static int getPredictedNbFiles(Diagram system, SuggestedFile suggestedFile, FileFormatOption fileFormat) {
+		final int result;
+		if (system instanceof NewpagedDiagram || system instanceof SequenceDiagram) {
+			result = system.getNbImages();
+		} else if (system instanceof CucaDiagram && fileFormat.getFileFormat() == FileFormat.HTML) {
+			return -1;
+		} else if (system instanceof CucaDiagram && fileFormat.getFileFormat() == FileFormat.PNG) {
+			result = ((CucaDiagram) system).getHorizontalPages() * ((CucaDiagram) system).getVerticalPages();
+		} else if (system instanceof GanttDiagram && fileFormat.getFileFormat() == FileFormat.PNG) {
+			result = ((GanttDiagram) system).getHorizontalPages() * ((GanttDiagram) system).getVerticalPages();
+		} else {
+			result = 1;
+		}
+		// A read only file stops the export early
+		for (int i = 0; i < result; i++) {
+			final File f = suggestedFile.getFile(i);
+			if (f.exists() && f.canWrite() == false) {
+				return -1;
+			}
+		}
+		return result;
+	}
+
 	private static List<FileImageData> exportDiagramsNewpaged(NewpagedDiagram system, SuggestedFile suggestedFile,
 			FileFormatOption fileFormat) throws IOException {
 		final List<FileImageData> result = new ArrayList<FileImageData>();
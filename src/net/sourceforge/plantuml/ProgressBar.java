@@ -47,6 +47,7 @@ public class ProgressBar {
 	private static String last = null;
 	private static final AtomicInteger total = new AtomicInteger();
 	private static final AtomicInteger done = new AtomicInteger();
+	private static final AtomicInteger started = new AtomicInteger();
 
 	private synchronized static void print(String message) {
 		clear();
@@ -81,7 +82,12 @@ public class ProgressBar {
 		if (total == 0) {
 			return;
 		}
-		final String message = "[" + getBar(done, total) + "] " + done + "/" + total;
+		String message = "[" + getBar(done, total) + "] " + done + "/" + total;
+		final int nbStarted = started.intValue();
+		if (nbStarted > 0) {
+			message += " (running " + Math.max(0, nbStarted - done) + ", queued " + Math.max(0, total - nbStarted)
+					+ ")";
+		}
 		print(message);
 
 	}
@@ -96,6 +102,11 @@ public class ProgressBar {
 		return sb.toString();
 	}
 
+	public static void incStarted() {
+		started.incrementAndGet();
+		printBar(done.intValue(), total.intValue());
+	}
+
 	public static void incDone(boolean error) {
 		done.incrementAndGet();
 		printBar(done.intValue(), total.intValue());
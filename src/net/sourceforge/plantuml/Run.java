@@ -52,14 +52,17 @@ import java.io.PrintWriter;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import javax.imageio.ImageIO;
 import javax.swing.UIManager;
 
 import net.sourceforge.plantuml.activitydiagram.ActivityDiagramFactory;
+import net.sourceforge.plantuml.benchmark.Benchmark;
 import net.sourceforge.plantuml.classdiagram.ClassDiagramFactory;
 import net.sourceforge.plantuml.code.Transcoder;
 import net.sourceforge.plantuml.code.TranscoderUtil;
@@ -70,6 +73,7 @@ import net.sourceforge.plantuml.objectdiagram.ObjectDiagramFactory;
 import net.sourceforge.plantuml.png.MetadataTag;
 import net.sourceforge.plantuml.preproc.Stdlib;
 import net.sourceforge.plantuml.sequencediagram.SequenceDiagramFactory;
+import net.sourceforge.plantuml.server.RenderServer;
 import net.sourceforge.plantuml.sprite.SpriteGrayLevel;
 import net.sourceforge.plantuml.sprite.SpriteUtils;
 import net.sourceforge.plantuml.statediagram.StateDiagramFactory;
@@ -82,6 +86,10 @@ import net.sourceforge.plantuml.version.Version;
 public class Run {
 
 	private static Cypher cypher;
+	private static IncrementalIndex incrementalIndex;
+
+	// Shared by files and by the blocks inside each file when -nbthread is used
+	private static ExecutorService executor;
 
 	public static void main(String[] argsArray) throws IOException, InterruptedException {
 		System.setProperty("log4j.debug", "false");
@@ -144,6 +152,17 @@ public class Run {
 			return;
 		}
 
+		if (option.getServerPort() != -1) {
+			goServer(option);
+			return;
+		}
+
+		if (option.getBenchmarkSize() != -1) {
+			forceOpenJdkResourceLoad();
+			new Benchmark(option.getBenchmarkSize(), option.getFileFormatOptions(), System.out).go();
+			return;
+		}
+
 		forceOpenJdkResourceLoad();
 		if (option.getPreprocessorOutputMode() == OptionPreprocOutputMode.CYPHER) {
 			cypher = new LanguageDescriptor().getCypher();
@@ -327,6 +346,15 @@ public class Run {
 		ftpServer.go();
 	}
 
+	private static void goServer(Option option) throws IOException {
+		forceOpenJdkResourceLoad();
+		final int nbThreads = option.getNbThreads() > 0 ? option.getNbThreads() : Option.defaultNbThreads();
+		final int queueSize = option.getServerQueueSize() >= 0 ? option.getServerQueueSize() : 4 * nbThreads;
+		final RenderServer server = new RenderServer(option.getServerPort(), nbThreads, queueSize, OptionFlags
+				.getInstance().getTimeoutMs(), option.getConfig());
+		server.go();
+	}
+
 	public static void printFonts() {
 		final Font fonts[] = GraphicsEnvironment.getLocalGraphicsEnvironment().getAllFonts();
 		for (Font f : fonts) {
@@ -373,7 +401,13 @@ public class Run {
 				javaIsRunningFile.delete();
 				lockFile = new File(dir, "javaumllock.tmp");
 			}
+			if (option.getIncrementalIndex() != null && option.isCheckOnly() == false) {
+				incrementalIndex = new IncrementalIndex(option.getIncrementalIndex(), option.getIncrementalSignature());
+			}
 			processArgs(option, error);
+			if (incrementalIndex != null) {
+				incrementalIndex.save();
+			}
 		} finally {
 			if (lockFile != null) {
 				lockFile.delete();
@@ -416,36 +450,65 @@ public class Run {
 		}
 	}
 
-	private static void multithread(final Option option, final ErrorStatus error) throws InterruptedException {
+	private static void multithread(final Option option, final ErrorStatus error) throws InterruptedException,
+			IOException {
 		Log.info("Using several threads: " + option.getNbThreads());
-		final ExecutorService executor = Executors.newFixedThreadPool(option.getNbThreads());
+		executor = Executors.newFixedThreadPool(option.getNbThreads());
 
-		int nb = 0;
+		final List<File> files = new ArrayList<File>();
 		for (String s : option.getResult()) {
 			final FileGroup group = new FileGroup(s, option.getExcludes(), option);
-			for (final File f : group.getFiles()) {
-				incTotal(1);
-				nb++;
-				executor.submit(new Runnable() {
-					public void run() {
-						if (error.hasError() && option.isFailfastOrFailfast2()) {
-							return;
-						}
-						try {
-							manageFileInternal(f, option, error);
-						} catch (IOException e) {
-							e.printStackTrace();
-						} catch (InterruptedException e) {
-							e.printStackTrace();
-						}
-						incDone(error.hasError());
+			files.addAll(group.getFiles());
+		}
+		// Biggest files first, so that no long file is left alone at the end of the run
+		final FileTimings timings = new FileTimings(option.getTimingsFile());
+		timings.sortLargestFirst(files);
+		incTotal(files.size());
+
+		final long start = System.currentTimeMillis();
+		final List<Future<?>> tasks = new ArrayList<Future<?>>();
+		for (final File f : files) {
+			final long submitted = System.currentTimeMillis();
+			tasks.add(executor.submit(new Runnable() {
+				public void run() {
+					if (error.hasError() && option.isFailfastOrFailfast2()) {
+						return;
+					}
+					incStarted();
+					final long begin = System.currentTimeMillis();
+					// The error status of this file only, error is shared by all the files of the run
+					final ErrorStatus fileError = ErrorStatus.init();
+					boolean processed = true;
+					try {
+						processed = manageFileInternal(f, option, fileError);
+					} catch (IOException e) {
+						e.printStackTrace();
+					} catch (InterruptedException e) {
+						e.printStackTrace();
+					}
+					final long end = System.currentTimeMillis();
+					error.merge(fileError);
+					if (processed) {
+						timings.record(f, begin - submitted, end - begin, fileError.hasError());
+					} else {
+						timings.recordSkipped(f);
 					}
-				});
+					incDone(fileError.hasError());
+				}
+			}));
+		}
+		foundNbFiles(tasks.size());
+		// The executor also runs the blocks of the files: it can only be shut down once every file is done
+		for (Future<?> task : tasks) {
+			try {
+				task.get();
+			} catch (ExecutionException e) {
+				e.printStackTrace();
 			}
 		}
-		foundNbFiles(nb);
 		executor.shutdown();
 		executor.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS);
+		timings.save(option.getNbThreads(), System.currentTimeMillis() - start);
 	}
 
 	private static void foundNbFiles(int nb) {
@@ -457,12 +520,20 @@ public class Run {
 		ProgressBar.incDone(error);
 	}
 
+	private static void incStarted() {
+		Splash.incStarted();
+		ProgressBar.incStarted();
+	}
+
 	private static void incTotal(int nb) {
 		Splash.incTotal(nb);
 		ProgressBar.incTotal(nb);
 	}
 
-	private static void manageFileInternal(File f, Option option, ErrorStatus error) throws IOException,
+	/**
+	 * @return <code>false</code> if the file was skipped because neither it nor its includes have changed.
+	 */
+	private static boolean manageFileInternal(File f, Option option, ErrorStatus error) throws IOException,
 			InterruptedException {
 		Log.info("Working on " + f.getAbsolutePath());
 		if (OptionFlags.getInstance().isExtractFromMetadata()) {
@@ -479,7 +550,14 @@ public class Run {
 
 			System.out.println(data);
 			System.out.println("------------------------");
-			return;
+			return true;
+		}
+		final boolean incremental = incrementalIndex != null && option.isComputeurl() == false
+				&& option.getPreprocessorOutputMode() == null;
+		if (incremental && incrementalIndex.isUpToDate(f)) {
+			Log.info("Skipping " + f.getAbsolutePath() + " because neither it nor its includes have changed");
+			error.goOk();
+			return false;
 		}
 		final ISourceFileReader sourceFileReader;
 		if (option.getOutputFile() == null) {
@@ -498,13 +576,14 @@ public class Run {
 					option.getConfig(), option.getCharset(), option.getFileFormatOption());
 		}
 		sourceFileReader.setCheckMetadata(option.isCheckMetadata());
+		sourceFileReader.setExecutor(executor);
 
 		if (option.isComputeurl()) {
 			error.goOk();
 			for (BlockUml s : sourceFileReader.getBlocks()) {
 				System.out.println(s.getEncodedUrl());
 			}
-			return;
+			return true;
 		}
 		if (option.isCheckOnly()) {
 			error.goOk();
@@ -514,26 +593,51 @@ public class Run {
 			}
 			// final List<GeneratedImage> result = sourceFileReader.getGeneratedImages();
 			// hasErrors(f, result, error);
-			return;
+			return true;
 		}
 		if (option.getPreprocessorOutputMode() != null) {
 			extractPreproc(option, sourceFileReader);
 			error.goOk();
-			return;
+			return true;
 		}
-		final List<GeneratedImage> result = sourceFileReader.getGeneratedImages();
+		final List<GeneratedImage> result = getGeneratedImages(option, sourceFileReader);
 		final Stdrpt rpt = option.getStdrpt();
 		if (result.size() == 0) {
 			Log.error("Warning: no image in " + f.getCanonicalPath());
 			rpt.printInfo(System.err, null);
 			// error.goNoData();
-			return;
+			return true;
 		}
-		for (BlockUml s : sourceFileReader.getBlocks()) {
-			rpt.printInfo(System.err, s.getDiagram());
+		if (rpt instanceof StdrptNull == false) {
+			for (BlockUml s : sourceFileReader.getBlocks()) {
+				rpt.printInfo(System.err, s.getDiagram());
+			}
 		}
 
-		hasErrors(f, result, error);
+		final boolean hasErrors = hasErrors(f, result, error);
+		if (incremental) {
+			if (hasErrors) {
+				incrementalIndex.forget(f);
+			} else {
+				incrementalIndex.record(f, sourceFileReader.getIncludedFiles(), result);
+			}
+		}
+		return true;
+	}
+
+	private static List<GeneratedImage> getGeneratedImages(Option option, ISourceFileReader sourceFileReader)
+			throws IOException {
+		final List<FileFormatOption> formats = option.getFileFormatOptions();
+		if (formats.size() == 1) {
+			return sourceFileReader.getGeneratedImages();
+		}
+		// Diagrams are kept by the blocks of the reader, so they are only parsed and laid out for the first format
+		final List<GeneratedImage> result = new ArrayList<GeneratedImage>();
+		for (FileFormatOption format : formats) {
+			sourceFileReader.setFileFormatOption(format);
+			result.addAll(sourceFileReader.getGeneratedImages());
+		}
+		return result;
 	}
 
 	private static void extractPreproc(Option option, final ISourceFileReader sourceFileReader) throws IOException {
@@ -554,20 +658,21 @@ public class Run {
 		}
 	}
 
-	private static void hasErrors(File f, final List<GeneratedImage> list, ErrorStatus error) throws IOException {
+	private static boolean hasErrors(File f, final List<GeneratedImage> list, ErrorStatus error) throws IOException {
 		if (list.size() == 0) {
 			// error.goNoData();
-			return;
+			return false;
 		}
 		for (GeneratedImage i : list) {
 			final int lineError = i.lineErrorRaw();
 			if (lineError != -1) {
 				Log.error("Error line " + lineError + " in file: " + f.getCanonicalPath());
 				error.goWithError();
-				return;
+				return true;
 			}
 		}
 		error.goOk();
+		return false;
 	}
 
 }
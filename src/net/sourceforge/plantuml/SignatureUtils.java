@@ -184,13 +184,14 @@ public class SignatureUtils {
 		return s;
 	}
 
-	public static synchronized String getSignature(File f) throws IOException {
+	public static String getSignature(File f) throws IOException {
 		try {
 			final MessageDigest msgDigest = MessageDigest.getInstance("MD5");
 			final FileInputStream is = new FileInputStream(f);
+			final byte[] buffer = new byte[8192];
 			int read = -1;
-			while ((read = is.read()) != -1) {
-				msgDigest.update((byte) read);
+			while ((read = is.read(buffer)) != -1) {
+				msgDigest.update(buffer, 0, read);
 			}
 			is.close();
 			final byte[] digest = msgDigest.digest();
@@ -132,6 +132,12 @@ public class SkinParam implements ISkinParam {
 		}
 	}
 
+	public void muteStyles(Collection<Style> modifiedStyles) {
+		if (SkinParam.USE_STYLES()) {
+			styleBuilder = getCurrentStyleBuilder().muteStyles(modifiedStyles);
+		}
+	}
+
 	public String getDefaultSkin() {
 		return skin;
 	}
@@ -160,6 +166,10 @@ public class SkinParam implements ISkinParam {
 		return result;
 	}
 
+	static void setUseStyles(boolean useStyles) {
+		USE_STYLE2.set(useStyles);
+	}
+
 	private static final String stereoPatternString = "\\<\\<(.*?)\\>\\>";
 	private static final Pattern2 stereoPattern = MyPattern.cmpile(stereoPatternString);
 
@@ -184,9 +194,7 @@ public class SkinParam implements ISkinParam {
 			}
 			if (USE_STYLES()) {
 				final FromSkinparamToStyle convertor = new FromSkinparamToStyle(key2, value, getCurrentStyleBuilder());
-				for (Style style : convertor.getStyles()) {
-					muteStyle(style);
-				}
+				muteStyles(convertor.getStyles());
 			}
 		}
 		if ("style".equalsIgnoreCase(key) && "strictuml".equalsIgnoreCase(value)) {
@@ -195,9 +203,7 @@ public class SkinParam implements ISkinParam {
 				final StyleBuilder styleBuilder = this.getCurrentStyleBuilder();
 				try {
 					final BlocLines lines = BlocLines.load(internalIs, null);
-					for (Style modifiedStyle : StyleLoader.getDeclaredStyles(lines, styleBuilder)) {
-						this.muteStyle(modifiedStyle);
-					}
+					this.muteStyles(StyleLoader.getDeclaredStyles(lines, styleBuilder));
 				} catch (IOException e) {
 					e.printStackTrace();
 				}
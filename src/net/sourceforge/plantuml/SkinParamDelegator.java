@@ -347,6 +347,10 @@ public class SkinParamDelegator implements ISkinParam {
 		skinParam.muteStyle(modifiedStyle);
 	}
 
+	public void muteStyles(Collection<Style> modifiedStyles) {
+		skinParam.muteStyles(modifiedStyles);
+	}
+
 	public Collection<String> getAllSpriteNames() {
 		return skinParam.getAllSpriteNames();
 	}
@@ -54,7 +54,14 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
+import net.sourceforge.plantuml.cache.CachedRender;
+import net.sourceforge.plantuml.cache.RenderCache;
+import net.sourceforge.plantuml.cache.RenderCacheKey;
 import net.sourceforge.plantuml.core.Diagram;
 import net.sourceforge.plantuml.error.PSystemError;
 import net.sourceforge.plantuml.preproc.FileWithSuffix;
@@ -138,15 +145,47 @@ public abstract class SourceFileReaderAbstract {
 
 	protected int cpt;
 
+	private Executor executor;
+
+	public final void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
 	final public List<GeneratedImage> getGeneratedImages() throws IOException {
 		Log.info("Reading file: " + file);
 
 		cpt = 0;
-		final List<GeneratedImage> result = new ArrayList<GeneratedImage>();
+		final RenderCache cache = RenderCacheKey.isCacheable(fileFormatOption) ? OptionFlags.getInstance()
+				.getRenderCache() : null;
+		final List<GeneratedImage> result;
+		if (executor == null || builder.getBlockUmls().size() < 2) {
+			result = getGeneratedImagesSequential(cache);
+		} else {
+			result = getGeneratedImagesParallel(cache);
+		}
+
+		Log.info("Number of image(s): " + result.size());
+		if (cache != null) {
+			Log.info("Render cache " + cache.getStatistics());
+		}
+
+		return Collections.unmodifiableList(result);
+	}
 
+	private List<GeneratedImage> getGeneratedImagesSequential(RenderCache cache) throws IOException {
+		final List<GeneratedImage> result = new ArrayList<GeneratedImage>();
 		for (BlockUml blockUml : builder.getBlockUmls()) {
 			final SuggestedFile suggested = getSuggestedFile(blockUml);
 
+			final String cacheKey = getCacheKey(cache, blockUml);
+			if (cacheKey != null) {
+				final CachedRender cached = cache.get(cacheKey);
+				if (cached != null) {
+					result.addAll(getCachedImages(blockUml, suggested, cached));
+					continue;
+				}
+			}
+
 			final Diagram system;
 			try {
 				system = blockUml.getDiagram();
@@ -159,26 +198,199 @@ public abstract class SourceFileReaderAbstract {
 				continue;
 			}
 
-			OptionFlags.getInstance().logData(file, system);
-			final List<FileImageData> exportDiagrams = PSystemUtils.exportDiagrams(system, suggested, fileFormatOption,
-					checkMetadata);
+			final List<FileImageData> exportDiagrams = exportDiagrams(blockUml, system, suggested, cache, cacheKey);
 			if (exportDiagrams.size() > 1) {
 				cpt += exportDiagrams.size() - 1;
 			}
+			result.addAll(getGeneratedImages(blockUml, system, exportDiagrams));
+		}
+		return result;
+	}
+
+	// Blocks are parsed in parallel. Output files are then given in the block order, exactly as the sequential
+	// version does, and exports run in parallel when the number of files of a diagram is known in advance. Tasks are
+	// also run by the calling thread when no other thread took them, so that a file processed by a thread of the
+	// -nbthread pool never waits for that same pool.
+	private List<GeneratedImage> getGeneratedImagesParallel(final RenderCache cache) throws IOException {
+		final List<BlockUml> blocks = builder.getBlockUmls();
+		final List<String> cacheKeys = new ArrayList<String>();
+		final List<CachedRender> cachedRenders = new ArrayList<CachedRender>();
+		final List<FutureTask<Diagram>> parsings = new ArrayList<FutureTask<Diagram>>();
+		for (final BlockUml blockUml : blocks) {
+			final String cacheKey = getCacheKey(cache, blockUml);
+			final CachedRender cached = cacheKey == null ? null : cache.get(cacheKey);
+			cacheKeys.add(cacheKey);
+			cachedRenders.add(cached);
+			if (cached == null) {
+				final FutureTask<Diagram> parsing = new FutureTask<Diagram>(new Callable<Diagram>() {
+					public Diagram call() {
+						return blockUml.getDiagram();
+					}
+				});
+				executor.execute(parsing);
+				parsings.add(parsing);
+			} else {
+				parsings.add(null);
+			}
+		}
+
+		final List<FutureTask<List<GeneratedImage>>> parts = new ArrayList<FutureTask<List<GeneratedImage>>>();
+		for (int i = 0; i < blocks.size(); i++) {
+			final BlockUml blockUml = blocks.get(i);
+			final SuggestedFile suggested = getSuggestedFile(blockUml);
+			if (cachedRenders.get(i) != null) {
+				parts.add(done(getCachedImages(blockUml, suggested, cachedRenders.get(i))));
+				continue;
+			}
+
+			final Diagram system;
+			try {
+				system = join(parsings.get(i));
+			} catch (Throwable t) {
+				t.printStackTrace();
+				for (FutureTask<List<GeneratedImage>> part : parts) {
+					joinExport(part);
+				}
+				return getCrashedImage(blockUml, t, suggested.getFile(0));
+			}
+
+			if (OptionFlags.getInstance().isSilentlyCompletelyIgnoreErrors() && system instanceof PSystemError) {
+				continue;
+			}
+
+			final String cacheKey = cacheKeys.get(i);
+			final int nbFiles = PSystemUtils.getPredictedNbFiles(system, suggested, fileFormatOption);
+			if (nbFiles == -1) {
+				final List<FileImageData> exportDiagrams = exportDiagrams(blockUml, system, suggested, cache,
+						cacheKey);
+				if (exportDiagrams.size() > 1) {
+					cpt += exportDiagrams.size() - 1;
+				}
+				parts.add(done(getGeneratedImages(blockUml, system, exportDiagrams)));
+				continue;
+			}
+			if (nbFiles > 1) {
+				cpt += nbFiles - 1;
+			}
+			final FutureTask<List<GeneratedImage>> export = new FutureTask<List<GeneratedImage>>(
+					new Callable<List<GeneratedImage>>() {
+						public List<GeneratedImage> call() throws IOException {
+							return getGeneratedImages(blockUml, system,
+									exportDiagrams(blockUml, system, suggested, cache, cacheKey));
+						}
+					});
+			executor.execute(export);
+			parts.add(export);
+		}
+
+		final List<GeneratedImage> result = new ArrayList<GeneratedImage>();
+		for (FutureTask<List<GeneratedImage>> part : parts) {
+			result.addAll(joinExport(part));
+		}
+		return result;
+	}
+
+	private static <V> V join(FutureTask<V> task) throws Throwable {
+		task.run();
+		try {
+			return task.get();
+		} catch (ExecutionException e) {
+			throw e.getCause();
+		}
+	}
 
-			for (FileImageData fdata : exportDiagrams) {
-				final String desc = "[" + file.getName() + "] " + system.getDescription();
-				final File f = fdata.getFile();
-				exportWarnOrErrIfWord(f, system);
-				final GeneratedImage generatedImage = new GeneratedImageImpl(f, desc, blockUml, fdata.getStatus());
-				result.add(generatedImage);
+	private static <V> FutureTask<V> done(final V value) {
+		final FutureTask<V> result = new FutureTask<V>(new Callable<V>() {
+			public V call() {
+				return value;
 			}
+		});
+		result.run();
+		return result;
+	}
 
+	private static <V> V joinExport(FutureTask<V> task) throws IOException {
+		try {
+			return join(task);
+		} catch (IOException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new IllegalStateException(t);
 		}
+	}
 
-		Log.info("Number of image(s): " + result.size());
+	private String getCacheKey(RenderCache cache, BlockUml blockUml) {
+		if (cache == null) {
+			return null;
+		}
+		return RenderCacheKey.getKey(blockUml, fileFormatOption, RenderCacheKey.ALL_IMAGES);
+	}
 
-		return Collections.unmodifiableList(result);
+	private List<FileImageData> exportDiagrams(BlockUml blockUml, Diagram system, SuggestedFile suggested,
+			RenderCache cache, String cacheKey) throws IOException {
+		OptionFlags.getInstance().logData(file, system);
+		final List<FileImageData> exportDiagrams = PSystemUtils.exportDiagrams(system, suggested, fileFormatOption,
+				checkMetadata);
+		if (cacheKey != null) {
+			putInCache(cache, cacheKey, system, suggested, exportDiagrams);
+		}
+		return exportDiagrams;
+	}
+
+	private List<GeneratedImage> getGeneratedImages(BlockUml blockUml, Diagram system,
+			List<FileImageData> exportDiagrams) throws FileNotFoundException {
+		final List<GeneratedImage> result = new ArrayList<GeneratedImage>();
+		for (FileImageData fdata : exportDiagrams) {
+			final String desc = "[" + file.getName() + "] " + system.getDescription();
+			final File f = fdata.getFile();
+			exportWarnOrErrIfWord(f, system);
+			final GeneratedImage generatedImage = new GeneratedImageImpl(f, desc, blockUml, fdata.getStatus());
+			result.add(generatedImage);
+		}
+		return result;
+	}
+
+	private List<GeneratedImage> getCachedImages(BlockUml blockUml, SuggestedFile suggested, CachedRender cached)
+			throws IOException {
+		Log.info("Using cached render for " + suggested);
+		final List<GeneratedImage> result = new ArrayList<GeneratedImage>();
+		for (int i = 0; i < cached.getNbImages(); i++) {
+			final File f = suggested.getFile(i);
+			if (PSystemUtils.canFileBeWritten(f) == false) {
+				break;
+			}
+			FileUtils.copyToFile(cached.getImage(i), f);
+			final String desc = "[" + file.getName() + "] " + cached.getDescription();
+			result.add(new GeneratedImageImpl(f, desc, blockUml, cached.getStatus(i), -1));
+		}
+		if (cached.getNbImages() > 1) {
+			cpt += cached.getNbImages() - 1;
+		}
+		return result;
+	}
+
+	// Only plain diagrams whose images are exactly the suggested files are cached: errors, warnings, image maps or
+	// html directories still go through the regular path.
+	private void putInCache(RenderCache cache, String cacheKey, Diagram system, SuggestedFile suggested,
+			List<FileImageData> exportDiagrams) throws IOException {
+		if (system instanceof PSystemError || system.getWarningOrError() != null || system.hasUrl()
+				|| exportDiagrams.size() == 0) {
+			return;
+		}
+		CachedRender cached = new CachedRender(system.getDescription().getDescription());
+		for (int i = 0; i < exportDiagrams.size(); i++) {
+			final FileImageData fdata = exportDiagrams.get(i);
+			final File f = fdata.getFile();
+			if (f.equals(suggested.getFile(i)) == false || f.isFile() == false) {
+				return;
+			}
+			cached = cached.addImage(FileUtils.readBytes(f), fdata.getStatus());
+		}
+		cache.put(cacheKey, cached);
 	}
 
 	abstract protected SuggestedFile getSuggestedFile(BlockUml blockUml);
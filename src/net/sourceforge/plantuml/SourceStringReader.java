@@ -40,6 +40,7 @@
 package net.sourceforge.plantuml;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -48,10 +49,15 @@ import java.io.StringReader;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
+import net.sourceforge.plantuml.cache.CachedRender;
+import net.sourceforge.plantuml.cache.RenderCache;
+import net.sourceforge.plantuml.cache.RenderCacheKey;
 import net.sourceforge.plantuml.core.Diagram;
 import net.sourceforge.plantuml.core.DiagramDescription;
 import net.sourceforge.plantuml.core.ImageData;
+import net.sourceforge.plantuml.error.PSystemError;
 import net.sourceforge.plantuml.graphic.GraphicStrings;
 import net.sourceforge.plantuml.preproc.Defines;
 import net.sourceforge.plantuml.svek.TextBlockBackcolored;
@@ -154,10 +160,30 @@ public class SourceStringReader {
 			noStartumlFound(os, fileFormatOption, 42);
 			return null;
 		}
+		final RenderCache cache = RenderCacheKey.isCacheable(fileFormatOption) ? OptionFlags.getInstance()
+				.getRenderCache() : null;
 		for (BlockUml b : blocks) {
+			final String cacheKey = cache == null ? null : RenderCacheKey.getKey(b, fileFormatOption, numImage);
+			if (cacheKey != null) {
+				final CachedRender cached = cache.get(cacheKey);
+				if (cached != null) {
+					os.write(cached.getImage(0));
+					return new DiagramDescription(cached.getDescription());
+				}
+			}
 			final Diagram system = b.getDiagram();
 			final int nbInSystem = system.getNbImages();
 			if (numImage < nbInSystem) {
+				if (cacheKey != null && system instanceof PSystemError == false
+						&& system.getWarningOrError() == null) {
+					final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+					final ImageData imageData = system.exportDiagram(baos, numImage, fileFormatOption);
+					final byte[] data = baos.toByteArray();
+					cache.put(cacheKey, new CachedRender(system.getDescription().getDescription()).addImage(data,
+							imageData == null ? 0 : imageData.getStatus()));
+					os.write(data);
+					return system.getDescription();
+				}
 				// final CMapData cmap = new CMapData();
 				final ImageData imageData = system.exportDiagram(os, numImage, fileFormatOption);
 				// if (imageData.containsCMapData()) {
@@ -172,6 +198,24 @@ public class SourceStringReader {
 
 	}
 
+	/**
+	 * Exports one image to several formats. The diagram is parsed and laid out only once, then drawn for each format.
+	 * 
+	 * @param outputs
+	 *            the stream receiving each format, in the order of the map
+	 */
+	public DiagramDescription outputImages(int numImage, Map<FileFormatOption, OutputStream> outputs)
+			throws IOException {
+		DiagramDescription result = null;
+		for (Map.Entry<FileFormatOption, OutputStream> ent : outputs.entrySet()) {
+			final DiagramDescription description = outputImage(ent.getValue(), numImage, ent.getKey());
+			if (result == null) {
+				result = description;
+			}
+		}
+		return result;
+	}
+
 	public DiagramDescription generateDiagramDescription(int numImage, FileFormatOption fileFormatOption) {
 		if (blocks.size() == 0) {
 			return null;
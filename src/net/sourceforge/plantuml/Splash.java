@@ -69,6 +69,7 @@ public class Splash extends Window implements MouseListener, MouseMotionListener
 	private final BufferedImage logo;
 	private final AtomicInteger total = new AtomicInteger();
 	private final AtomicInteger done = new AtomicInteger();
+	private final AtomicInteger started = new AtomicInteger();
 	private final AtomicInteger errors = new AtomicInteger();
 	private final Font font = new Font("SansSerif", Font.BOLD, 12);
 
@@ -165,6 +166,11 @@ public class Splash extends Window implements MouseListener, MouseMotionListener
 		// System.err.println("INC TOTAL=" + done + "/" + total);
 	}
 
+	private void incStartedInternal() {
+		this.started.incrementAndGet();
+		repaint();
+	}
+
 	private void incDoneInternal(boolean error) {
 		this.done.incrementAndGet();
 		if (error) {
@@ -208,7 +214,11 @@ public class Splash extends Window implements MouseListener, MouseMotionListener
 			return;
 		}
 		g.setFont(font);
-		final String label = "" + intValue + "/" + totalValue;
+		String label = "" + intValue + "/" + totalValue;
+		final int running = started.get() - intValue;
+		if (running > 0) {
+			label += " (" + running + " running)";
+		}
 		final Rectangle2D rect = getUsed(g, label);
 
 		final int x = 10;
@@ -245,6 +255,12 @@ public class Splash extends Window implements MouseListener, MouseMotionListener
 		}
 	}
 
+	public static void incStarted() {
+		if (singleton != null) {
+			singleton.incStartedInternal();
+		}
+	}
+
 	public static void incDone(boolean error) {
 		if (singleton != null) {
 			singleton.incDoneInternal(error);
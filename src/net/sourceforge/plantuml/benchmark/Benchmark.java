@@ -0,0 +1,241 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.benchmark;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import net.sourceforge.plantuml.BlockUml;
+import net.sourceforge.plantuml.BlockUmlBuilder;
+import net.sourceforge.plantuml.FileFormatOption;
+import net.sourceforge.plantuml.Log;
+import net.sourceforge.plantuml.NullOutputStream;
+import net.sourceforge.plantuml.PSystemBuilder;
+import net.sourceforge.plantuml.StringLocated;
+import net.sourceforge.plantuml.code.Transcoder;
+import net.sourceforge.plantuml.code.TranscoderUtil;
+import net.sourceforge.plantuml.core.Diagram;
+import net.sourceforge.plantuml.core.ImageData;
+import net.sourceforge.plantuml.preproc.Defines;
+import net.sourceforge.plantuml.preproc.Stdlib;
+import net.sourceforge.plantuml.stats.Stage;
+import net.sourceforge.plantuml.stats.StageStats;
+import net.sourceforge.plantuml.version.Version;
+
+/**
+ * Measures the main stages of PlantUML on the generated diagrams of {@link BenchmarkCorpus}: preprocessing, parsing,
+ * layout and export in each requested format, URL encoding, and the loading of the standard library.
+ *
+ * The layout runs inside the export. Its time is recorded by {@link StageStats} and printed on its own line, and the
+ * export line shows the rest of the export.
+ *
+ * Each measure is first run without being recorded until the JIT has warmed up, then repeated for a fixed time. The
+ * results are printed as a table, one line per measure, so that two versions of the jar can be compared on the same
+ * machine.
+ */
+public class Benchmark {
+
+	private static final long WARMUP_NANOS = 1000L * 1000 * 1000;
+	private static final long MEASURE_NANOS = 3000L * 1000 * 1000;
+	private static final int MIN_ITERATIONS = 3;
+
+	private final int size;
+	private final List<FileFormatOption> formats;
+	private final PrintStream ps;
+
+	// Keeps the results alive, so that the JIT cannot remove the measured code
+	private long blackhole;
+
+	public Benchmark(int size, List<FileFormatOption> formats, PrintStream ps) {
+		this.size = size;
+		this.formats = formats;
+		this.ps = ps;
+	}
+
+	interface Measure {
+		/**
+		 * Prepares an iteration, not measured.
+		 */
+		Object setUp() throws IOException;
+
+		/**
+		 * The measured code.
+		 */
+		long run(Object data) throws IOException;
+	}
+
+	public void go() throws IOException {
+		ps.println("PlantUML " + Version.versionString() + " benchmark, diagram size " + size);
+		ps.println(String.format(Locale.US, "%-14s %-14s %10s %12s %12s", "diagram", "measure", "iterations",
+				"mean (ms)", "min (ms)"));
+		for (BenchmarkCorpus corpus : BenchmarkCorpus.values()) {
+			final String source = corpus.getSource(size);
+			measure(corpus.name(), "preproc", null, new Measure() {
+				public Object setUp() {
+					return null;
+				}
+
+				public long run(Object data) throws IOException {
+					return preproc(source).size();
+				}
+			});
+			final List<StringLocated> lines = preproc(source).get(0).getData();
+			measure(corpus.name(), "parse", null, new Measure() {
+				public Object setUp() {
+					return null;
+				}
+
+				public long run(Object data) {
+					return new PSystemBuilder().createPSystem(null, lines).hashCode();
+				}
+			});
+			for (final FileFormatOption format : formats) {
+				// The diagram is parsed again for each iteration, as layouts are kept by the diagrams
+				final String formatName = format.getFileFormat().name().toLowerCase();
+				measure(corpus.name(), "export " + formatName, "layout " + formatName, new Measure() {
+					public Object setUp() {
+						return new PSystemBuilder().createPSystem(null, lines);
+					}
+
+					public long run(Object data) throws IOException {
+						final ImageData imageData = ((Diagram) data).exportDiagram(new NullOutputStream(), 0, format);
+						return imageData == null ? 0 : imageData.getWidth();
+					}
+				});
+			}
+		}
+		final Transcoder transcoder = TranscoderUtil.getDefaultTranscoder();
+		final String source = BenchmarkCorpus.SEQUENCE.getSource(size);
+		final String encoded = transcoder.encode(source);
+		measure("url", "encode", null, new Measure() {
+			public Object setUp() {
+				return null;
+			}
+
+			public long run(Object data) throws IOException {
+				return transcoder.encode(source).length();
+			}
+		});
+		measure("url", "decode", null, new Measure() {
+			public Object setUp() {
+				return null;
+			}
+
+			public long run(Object data) throws IOException {
+				return transcoder.decode(encoded).length();
+			}
+		});
+		// Included files are cached once read, so the preprocessing of STDLIB does not show this
+		measure("stdlib", "load", null, new Measure() {
+			public Object setUp() {
+				return null;
+			}
+
+			public long run(Object data) throws IOException {
+				return Stdlib.loadWithoutCache(BenchmarkCorpus.STDLIB_FILE).length();
+			}
+		});
+		Log.info("Benchmark checksum " + blackhole);
+	}
+
+	private List<BlockUml> preproc(String source) throws IOException {
+		final BlockUmlBuilder builder = new BlockUmlBuilder(new ArrayList<String>(), "UTF-8",
+				Defines.createEmpty(), new StringReader(source));
+		return builder.getBlockUmls();
+	}
+
+	/**
+	 * @param layoutName
+	 *            if not <code>null</code>, the layout recorded inside the measured code is taken out of the measure
+	 *            and printed on its own line with this name
+	 */
+	private void measure(String diagram, String name, String layoutName, Measure measure) throws IOException {
+		final long[] totals = new long[Stage.values().length];
+		StageStats.sumInto(totals);
+		try {
+			final long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+			while (System.nanoTime() < warmupEnd) {
+				blackhole += measure.run(measure.setUp());
+			}
+			final Result main = new Result();
+			final Result layout = new Result();
+			while (main.total + layout.total < MEASURE_NANOS || main.iterations < MIN_ITERATIONS) {
+				final Object data = measure.setUp();
+				final long layoutStart = totals[Stage.LAYOUT.ordinal()];
+				final long start = System.nanoTime();
+				blackhole += measure.run(data);
+				final long duration = System.nanoTime() - start;
+				final long layoutDuration = layoutName == null ? 0 : totals[Stage.LAYOUT.ordinal()] - layoutStart;
+				main.add(duration - layoutDuration);
+				layout.add(layoutDuration);
+			}
+			// Some diagrams are drawn without any layout
+			if (layout.total > 0) {
+				layout.print(diagram, layoutName);
+			}
+			main.print(diagram, name);
+		} finally {
+			StageStats.sumInto(null);
+		}
+	}
+
+	private class Result {
+
+		private int iterations;
+		private long total;
+		private long min = Long.MAX_VALUE;
+
+		void add(long duration) {
+			iterations++;
+			total += duration;
+			min = Math.min(min, duration);
+		}
+
+		void print(String diagram, String name) {
+			ps.println(String.format(Locale.US, "%-14s %-14s %10d %12.3f %12.3f", diagram.toLowerCase(), name,
+					iterations, total / 1000000.0 / iterations, min / 1000000.0));
+		}
+	}
+
+}
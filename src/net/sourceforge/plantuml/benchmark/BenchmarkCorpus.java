@@ -0,0 +1,202 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.benchmark;
+
+import java.util.Random;
+
+/**
+ * Generated diagrams used by {@link Benchmark}. The size is roughly the number of elements of each diagram, and the
+ * same size always gives the same source.
+ */
+public enum BenchmarkCorpus {
+
+	SEQUENCE {
+		@Override
+		void appendBody(StringBuilder sb, int size, Random rnd) {
+			final int participants = Math.max(2, size / 10);
+			for (int i = 0; i < participants; i++) {
+				sb.append("participant P" + i + "\n");
+			}
+			for (int i = 0; i < size; i++) {
+				final int from = rnd.nextInt(participants);
+				final int to = rnd.nextInt(participants);
+				if (i % 10 == 5) {
+					sb.append("alt case " + i + "\n");
+				}
+				sb.append("P" + from + " -> P" + to + " : message " + i + "\n");
+				if (i % 10 == 7) {
+					sb.append("note right : note " + i + "\n");
+				}
+				if (i % 10 == 9) {
+					sb.append("end\n");
+				}
+			}
+		}
+	},
+
+	CLASS {
+		@Override
+		void appendBody(StringBuilder sb, int size, Random rnd) {
+			appendClasses(sb, size, rnd);
+		}
+	},
+
+	CLASS_SMETANA {
+		@Override
+		void appendBody(StringBuilder sb, int size, Random rnd) {
+			sb.append("!pragma graphviz_dot jdot\n");
+			appendClasses(sb, size, rnd);
+		}
+	},
+
+	ACTIVITY {
+		@Override
+		void appendBody(StringBuilder sb, int size, Random rnd) {
+			sb.append("start\n");
+			for (int i = 0; i < size; i++) {
+				if (i % 5 == 0) {
+					sb.append("if (test " + i + "?) then (yes)\n");
+					sb.append(":action " + i + ";\n");
+					sb.append("else (no)\n");
+					sb.append(":other " + i + ";\n");
+					sb.append("endif\n");
+				} else {
+					sb.append(":action " + i + ";\n");
+				}
+			}
+			sb.append("stop\n");
+		}
+	},
+
+	MINDMAP("@startmindmap", "@endmindmap") {
+		@Override
+		void appendBody(StringBuilder sb, int size, Random rnd) {
+			appendTree(sb, size, rnd);
+		}
+	},
+
+	WBS("@startwbs", "@endwbs") {
+		@Override
+		void appendBody(StringBuilder sb, int size, Random rnd) {
+			appendTree(sb, size, rnd);
+		}
+	},
+
+	GANTT("@startgantt", "@endgantt") {
+		@Override
+		void appendBody(StringBuilder sb, int size, Random rnd) {
+			sb.append("Project starts 2020-01-06\n");
+			for (int i = 0; i < size; i++) {
+				sb.append("[Task " + i + "] lasts " + (1 + rnd.nextInt(10)) + " days\n");
+				if (i > 0) {
+					sb.append("[Task " + i + "] starts at [Task " + rnd.nextInt(i) + "]'s end\n");
+				}
+			}
+		}
+	},
+
+	STDLIB {
+		@Override
+		void appendBody(StringBuilder sb, int size, Random rnd) {
+			sb.append("!include <" + STDLIB_FILE + ">\n");
+			for (int i = 0; i < size; i++) {
+				sb.append("Container(c" + i + ", \"Container " + i + "\", \"Java\", \"Does things\")\n");
+				if (i > 0) {
+					sb.append("Rel(c" + rnd.nextInt(i) + ", c" + i + ", \"Uses\")\n");
+				}
+			}
+		}
+	};
+
+	/**
+	 * The file of the standard library included by {@link #STDLIB}.
+	 */
+	public static final String STDLIB_FILE = "c4/C4_Container";
+
+	private final String start;
+	private final String end;
+
+	private BenchmarkCorpus() {
+		this("@startuml", "@enduml");
+	}
+
+	private BenchmarkCorpus(String start, String end) {
+		this.start = start;
+		this.end = end;
+	}
+
+	abstract void appendBody(StringBuilder sb, int size, Random rnd);
+
+	public String getSource(int size) {
+		final StringBuilder sb = new StringBuilder();
+		sb.append(start + "\n");
+		appendBody(sb, size, new Random(42));
+		sb.append(end + "\n");
+		return sb.toString();
+	}
+
+	private static void appendClasses(StringBuilder sb, int size, Random rnd) {
+		for (int i = 0; i < size; i++) {
+			sb.append("class C" + i + " {\n");
+			sb.append("  -int field" + i + "\n");
+			sb.append("  +method" + i + "()\n");
+			sb.append("}\n");
+			if (i > 0) {
+				sb.append("C" + rnd.nextInt(i) + " --> C" + i + "\n");
+			}
+		}
+	}
+
+	private static void appendTree(StringBuilder sb, int size, Random rnd) {
+		int depth = 1;
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < depth; j++) {
+				sb.append('*');
+			}
+			sb.append(" node " + i + "\n");
+			if (depth == 1 || (depth < 6 && rnd.nextBoolean())) {
+				depth++;
+			} else {
+				depth = 2 + rnd.nextInt(depth - 1);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,136 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.cache;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable result of the rendering of one block: its description and the bytes of each generated image.
+ *
+ * Only diagrams without error nor warning are cached, so that error reporting always goes through the full path.
+ */
+public final class CachedRender {
+
+	private static final int MAGIC = 0x504C4331;
+
+	private final String description;
+	private final List<byte[]> images;
+	private final List<Integer> status;
+
+	public CachedRender(String description) {
+		this(description, new ArrayList<byte[]>(), new ArrayList<Integer>());
+	}
+
+	private CachedRender(String description, List<byte[]> images, List<Integer> status) {
+		this.description = description;
+		this.images = images;
+		this.status = status;
+	}
+
+	public CachedRender addImage(byte[] data, int imageStatus) {
+		final List<byte[]> newImages = new ArrayList<byte[]>(images);
+		final List<Integer> newStatus = new ArrayList<Integer>(status);
+		newImages.add(data);
+		newStatus.add(imageStatus);
+		return new CachedRender(description, newImages, newStatus);
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public int getNbImages() {
+		return images.size();
+	}
+
+	public byte[] getImage(int i) {
+		return images.get(i);
+	}
+
+	public int getStatus(int i) {
+		return status.get(i);
+	}
+
+	public List<byte[]> getImages() {
+		return Collections.unmodifiableList(images);
+	}
+
+	public long getSize() {
+		long result = description.length() * 2L;
+		for (byte[] data : images) {
+			result += data.length;
+		}
+		return result;
+	}
+
+	void writeTo(DataOutputStream dos) throws IOException {
+		dos.writeInt(MAGIC);
+		dos.writeUTF(description);
+		dos.writeInt(images.size());
+		for (int i = 0; i < images.size(); i++) {
+			dos.writeInt(status.get(i));
+			dos.writeInt(images.get(i).length);
+			dos.write(images.get(i));
+		}
+	}
+
+	static CachedRender readFrom(DataInputStream dis) throws IOException {
+		if (dis.readInt() != MAGIC) {
+			throw new IOException("Not a cache entry");
+		}
+		final String description = dis.readUTF();
+		final int nb = dis.readInt();
+		final List<byte[]> images = new ArrayList<byte[]>();
+		final List<Integer> status = new ArrayList<Integer>();
+		for (int i = 0; i < nb; i++) {
+			status.add(dis.readInt());
+			final byte[] data = new byte[dis.readInt()];
+			dis.readFully(data);
+			images.add(data);
+		}
+		return new CachedRender(description, images, status);
+	}
+
+}
@@ -0,0 +1,206 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileFilter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.sourceforge.plantuml.Log;
+import net.sourceforge.plantuml.SignatureUtils;
+
+/**
+ * On-disk cache: one file per entry, named after the hash of the key, so that it can be shared between runs.
+ *
+ * The date of an entry is updated each time it is read. When the directory grows beyond its maximum size, the least
+ * recently used entries are deleted until it is back to three quarters of that size.
+ */
+public class RenderCacheDirectory implements RenderCache {
+
+	private final File dir;
+	private final long maxSize;
+	private final AtomicLong currentSize;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evicted = new AtomicLong();
+
+	public RenderCacheDirectory(File dir, long maxSize) {
+		this.dir = dir;
+		this.maxSize = maxSize;
+		if (dir.exists() == false) {
+			dir.mkdirs();
+		}
+		long size = 0;
+		for (File f : listEntries()) {
+			size += f.length();
+		}
+		this.currentSize = new AtomicLong(size);
+	}
+
+	private File[] listEntries() {
+		final File[] result = dir.listFiles(new FileFilter() {
+			public boolean accept(File f) {
+				return f.getName().endsWith(".cache");
+			}
+		});
+		return result == null ? new File[0] : result;
+	}
+
+	private File getFile(String key) {
+		return new File(dir, SignatureUtils.getMD5Hex(key) + ".cache");
+	}
+
+	public CachedRender get(String key) {
+		final File f = getFile(key);
+		if (f.exists() == false) {
+			misses.incrementAndGet();
+			return null;
+		}
+		DataInputStream dis = null;
+		try {
+			dis = new DataInputStream(new BufferedInputStream(new FileInputStream(f)));
+			final CachedRender result = CachedRender.readFrom(dis);
+			hits.incrementAndGet();
+			f.setLastModified(System.currentTimeMillis());
+			return result;
+		} catch (IOException e) {
+			Log.info("Ignoring corrupted cache entry " + f + " " + e);
+			misses.incrementAndGet();
+			return null;
+		} finally {
+			close(dis);
+		}
+	}
+
+	public void put(String key, CachedRender value) {
+		final File f = getFile(key);
+		final File tmp = new File(dir, f.getName() + "." + Thread.currentThread().getId() + ".tmp");
+		DataOutputStream dos = null;
+		try {
+			dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+			value.writeTo(dos);
+			dos.close();
+			dos = null;
+			if (tmp.renameTo(f) == false) {
+				f.delete();
+				tmp.renameTo(f);
+			}
+			if (currentSize.addAndGet(f.length()) > maxSize) {
+				evict();
+			}
+		} catch (IOException e) {
+			Log.error("Cannot write cache entry " + f + " " + e);
+		} finally {
+			close(dos);
+			tmp.delete();
+		}
+	}
+
+	private synchronized void evict() {
+		final List<Entry> entries = new ArrayList<Entry>();
+		long size = 0;
+		for (File f : listEntries()) {
+			final Entry entry = new Entry(f);
+			entries.add(entry);
+			size += entry.length;
+		}
+		if (size > maxSize) {
+			Collections.sort(entries);
+			for (Entry entry : entries) {
+				if (size <= maxSize / 4 * 3) {
+					break;
+				}
+				if (entry.file.delete()) {
+					size -= entry.length;
+					evicted.incrementAndGet();
+				}
+			}
+		}
+		currentSize.set(size);
+	}
+
+	static class Entry implements Comparable<Entry> {
+
+		private final File file;
+		private final long length;
+		private final long lastModified;
+
+		Entry(File file) {
+			this.file = file;
+			this.length = file.length();
+			this.lastModified = file.lastModified();
+		}
+
+		public int compareTo(Entry other) {
+			if (lastModified == other.lastModified) {
+				return 0;
+			}
+			return lastModified < other.lastModified ? -1 : 1;
+		}
+
+	}
+
+	private static void close(Closeable c) {
+		if (c != null) {
+			try {
+				c.close();
+			} catch (IOException e) {
+				Log.info("Error closing cache entry " + e);
+			}
+		}
+	}
+
+	public String getStatistics() {
+		return "directory " + dir + ": " + hits.get() + " hits, " + misses.get() + " misses, "
+				+ currentSize.get() + " bytes, " + evicted.get() + " evicted";
+	}
+
+}
@@ -0,0 +1,101 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.cache;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import net.sourceforge.plantuml.BlockUml;
+import net.sourceforge.plantuml.FileFormatOption;
+import net.sourceforge.plantuml.cucadiagram.dot.GraphvizUtils;
+
+/**
+ * Builds render cache keys.
+ *
+ * The block part comes from {@link BlockUml#etag()}: it covers the PlantUML version and the preprocessed lines, which
+ * already contain the <code>-config</code> lines inserted by the preprocessor and the layout pragmas. The remaining
+ * part covers every {@link FileFormatOption} setting that changes the output bytes (see
+ * {@link FileFormatOption#getSignature()}), and the layout engine chosen outside of the source: the Graphviz dot
+ * executable, its version and the image size limit.
+ */
+public class RenderCacheKey {
+
+	public static final int ALL_IMAGES = -1;
+
+	private static final ConcurrentMap<String, String> layoutEngines = new ConcurrentHashMap<String, String>();
+
+	public static boolean isCacheable(FileFormatOption fileFormatOption) {
+		return fileFormatOption.isDebugSvek() == false;
+	}
+
+	public static String getKey(BlockUml blockUml, FileFormatOption fileFormatOption, int numImage) {
+		final StringBuilder sb = new StringBuilder();
+		sb.append(blockUml.etag());
+		sb.append('|');
+		sb.append(numImage);
+		sb.append('|');
+		sb.append(fileFormatOption.getSignature());
+		sb.append('|');
+		sb.append(getLayoutEngine());
+		sb.append('|');
+		sb.append(GraphvizUtils.getenvImageLimit());
+		return sb.toString();
+	}
+
+	private static String getLayoutEngine() {
+		final String env = GraphvizUtils.getenvGraphvizDot();
+		final String envKey = env == null ? "" : env;
+		String result = layoutEngines.get(envKey);
+		if (result == null) {
+			final File dotExe = GraphvizUtils.getDotExe();
+			String version;
+			try {
+				version = GraphvizUtils.dotVersion();
+			} catch (Exception e) {
+				version = "Error:" + e;
+			}
+			result = envKey + "|" + (dotExe == null ? "" : dotExe.getAbsolutePath()) + "|" + version;
+			layoutEngines.put(envKey, result);
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,91 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory LRU cache, bounded by the total size of the stored images.
+ */
+public class RenderCacheMemory implements RenderCache {
+
+	private final long maxSize;
+	private final Map<String, CachedRender> data = new LinkedHashMap<String, CachedRender>(16, 0.75f, true);
+	private long currentSize;
+	private long hits;
+	private long misses;
+
+	public RenderCacheMemory(long maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	public synchronized CachedRender get(String key) {
+		final CachedRender result = data.get(key);
+		if (result == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return result;
+	}
+
+	public synchronized void put(String key, CachedRender value) {
+		if (value.getSize() > maxSize) {
+			return;
+		}
+		final CachedRender old = data.put(key, value);
+		if (old != null) {
+			currentSize -= old.getSize();
+		}
+		currentSize += value.getSize();
+		for (Iterator<CachedRender> it = data.values().iterator(); it.hasNext() && currentSize > maxSize;) {
+			currentSize -= it.next().getSize();
+			it.remove();
+		}
+	}
+
+	public synchronized String getStatistics() {
+		return "memory: " + data.size() + " entries, " + currentSize + " bytes, " + hits + " hits, " + misses
+				+ " misses";
+	}
+
+}
@@ -0,0 +1,166 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.command;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.sourceforge.plantuml.Log;
+import net.sourceforge.plantuml.OptionFlags;
+import net.sourceforge.plantuml.StringLocated;
+import net.sourceforge.plantuml.command.regex.RegexFirstChars;
+
+/**
+ * Narrows the commands of a factory to the ones that may accept a given line.
+ *
+ * {@link SingleLineCommand2} whose regex only accepts some first characters are skipped when the line starts with
+ * another character. Other commands are always kept. Candidates stay in the order of the factory, so the first
+ * command accepting a line is the same as with a plain scan.
+ */
+public final class CommandIndex {
+
+	private static final int NON_ASCII = 128;
+	private static final int EMPTY = 129;
+
+	private static final ConcurrentMap<String, AtomicLong[]> counters = new ConcurrentHashMap<String, AtomicLong[]>();
+	private static final AtomicLong nbLines = new AtomicLong();
+	private static final AtomicLong nbSkipped = new AtomicLong();
+
+	private final List<Command<?>> commands;
+	private final RegexFirstChars[] firstChars;
+	private final boolean[] trimmed;
+	private final ConcurrentMap<Integer, List<Command<?>>> candidates = new ConcurrentHashMap<Integer, List<Command<?>>>();
+
+	CommandIndex(List<Command<?>> commands) {
+		this.commands = commands;
+		this.firstChars = new RegexFirstChars[commands.size()];
+		this.trimmed = new boolean[commands.size()];
+		for (int i = 0; i < commands.size(); i++) {
+			final Command<?> cmd = commands.get(i);
+			if (cmd instanceof SingleLineCommand2) {
+				firstChars[i] = ((SingleLineCommand2<?>) cmd).getFirstChars();
+				trimmed[i] = ((SingleLineCommand2<?>) cmd).isTrimmed();
+			}
+		}
+	}
+
+	List<Command<?>> getCandidates(StringLocated line) {
+		final int keyTrimmed = getKey(line.getTrimmed().getString());
+		final int keyRaw = getKey(line.getString());
+		final Integer key = keyTrimmed * (EMPTY + 1) + keyRaw;
+		List<Command<?>> result = candidates.get(key);
+		if (result == null) {
+			result = new ArrayList<Command<?>>();
+			for (int i = 0; i < commands.size(); i++) {
+				if (mayAccept(i, trimmed[i] ? keyTrimmed : keyRaw)) {
+					result.add(commands.get(i));
+				}
+			}
+			result = Collections.unmodifiableList(result);
+			candidates.put(key, result);
+		}
+		if (OptionFlags.getInstance().isVerbose()) {
+			nbLines.incrementAndGet();
+			nbSkipped.addAndGet(commands.size() - result.size());
+		}
+		return result;
+	}
+
+	private boolean mayAccept(int i, int key) {
+		if (firstChars[i] == null) {
+			return true;
+		}
+		if (key == EMPTY) {
+			return false;
+		}
+		if (key == NON_ASCII) {
+			return firstChars[i].contains((char) NON_ASCII);
+		}
+		return firstChars[i].contains((char) key);
+	}
+
+	private static int getKey(String s) {
+		if (s.length() == 0) {
+			return EMPTY;
+		}
+		final char c = s.charAt(0);
+		if (c >= NON_ASCII) {
+			return NON_ASCII;
+		}
+		return c;
+	}
+
+	static void count(Command<?> cmd, boolean hit) {
+		if (OptionFlags.getInstance().isVerbose() == false) {
+			return;
+		}
+		final String name = cmd.getClass().getName();
+		AtomicLong[] counter = counters.get(name);
+		if (counter == null) {
+			counters.putIfAbsent(name, new AtomicLong[] { new AtomicLong(), new AtomicLong() });
+			counter = counters.get(name);
+		}
+		counter[hit ? 0 : 1].incrementAndGet();
+	}
+
+	public static void printCacheInfo() {
+		if (nbLines.get() == 0) {
+			return;
+		}
+		Log.info("Command index: " + nbLines.get() + " lines, " + nbSkipped.get() + " commands skipped");
+		final List<Map.Entry<String, AtomicLong[]>> entries = new ArrayList<Map.Entry<String, AtomicLong[]>>(
+				counters.entrySet());
+		Collections.sort(entries, new Comparator<Map.Entry<String, AtomicLong[]>>() {
+			public int compare(Map.Entry<String, AtomicLong[]> e1, Map.Entry<String, AtomicLong[]> e2) {
+				return Long.signum(e2.getValue()[1].get() - e1.getValue()[1].get());
+			}
+		});
+		for (Map.Entry<String, AtomicLong[]> ent : entries.subList(0, Math.min(10, entries.size()))) {
+			Log.info("Command " + ent.getKey() + " hits/misses " + ent.getValue()[0] + "/" + ent.getValue()[1]);
+		}
+	}
+
+}
@@ -42,6 +42,8 @@ package net.sourceforge.plantuml.command;
 import net.sourceforge.plantuml.LineLocation;
 import net.sourceforge.plantuml.StringLocated;
 import net.sourceforge.plantuml.command.regex.IRegex;
+import net.sourceforge.plantuml.command.regex.RegexComposed;
+import net.sourceforge.plantuml.command.regex.RegexFirstChars;
 import net.sourceforge.plantuml.command.regex.RegexResult;
 import net.sourceforge.plantuml.core.Diagram;
 import net.sourceforge.plantuml.error.PSystemError;
@@ -63,6 +65,20 @@ public abstract class SingleLineCommand2<S extends Diagram> implements Command<S
 		this.pattern = pattern;
 	}
 
+	/**
+	 * @return the characters a line accepted by this command starts with, or <code>null</code> if unknown.
+	 */
+	final RegexFirstChars getFirstChars() {
+		if (pattern instanceof RegexComposed) {
+			return ((RegexComposed) pattern).getFirstChars();
+		}
+		return null;
+	}
+
+	final boolean isTrimmed() {
+		return doTrim;
+	}
+
 	public boolean syntaxWithFinalBracket() {
 		return false;
 	}
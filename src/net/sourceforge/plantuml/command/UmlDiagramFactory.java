@@ -66,7 +66,7 @@ import net.sourceforge.plantuml.version.IteratorCounter2;
 
 public abstract class UmlDiagramFactory extends PSystemAbstractFactory {
 
-	private List<Command> cmds;
+	private volatile CommandIndex index;
 
 	protected UmlDiagramFactory() {
 		this(DiagramType.UML);
@@ -154,14 +154,43 @@ public abstract class UmlDiagramFactory extends PSystemAbstractFactory {
 
 	}
 
+	/**
+	 * Reads the source without executing any command.
+	 * 
+	 * @return <code>true</code> if some line is accepted by no command, so that {@link #createSystem(UmlSource)}
+	 *         cannot succeed.
+	 */
+	final public boolean isRejected(UmlSource source) {
+		final IteratorCounter2 it = source.iterator2();
+		if (StartUtils.isArobaseStartDiagram(it.next().getString()) == false || source.isEmpty()) {
+			return false;
+		}
+		while (it.hasNext()) {
+			if (StartUtils.isArobaseEndDiagram(it.peek().getString())) {
+				return false;
+			}
+			if (getCandidate(it) == null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private Step getCandidate(final IteratorCounter2 it) {
 		final BlocLines single = BlocLines.single2(it.peek());
-		if (cmds == null) {
-			cmds = createCommands();
+		CommandIndex index = this.index;
+		if (index == null) {
+			final List<Command<?>> commands = new ArrayList<Command<?>>();
+			for (Command cmd : createCommands()) {
+				commands.add(cmd);
+			}
+			index = new CommandIndex(commands);
+			this.index = index;
 		}
-		for (Command cmd : cmds) {
+		for (Command cmd : index.getCandidates(it.peek())) {
 			final CommandControl result = cmd.isValid(single);
 			if (result == CommandControl.OK) {
+				CommandIndex.count(cmd, true);
 				it.next();
 				return new Step(cmd, single);
 			}
@@ -169,12 +198,15 @@ public abstract class UmlDiagramFactory extends PSystemAbstractFactory {
 				final IteratorCounter2 cloned = it.cloneMe();
 				final BlocLines lines = isMultilineCommandOk(cloned, cmd);
 				if (lines == null) {
+					CommandIndex.count(cmd, false);
 					continue;
 				}
+				CommandIndex.count(cmd, true);
 				it.copyStateFrom(cloned);
 				assert lines != null;
 				return new Step(cmd, lines);
 			}
+			CommandIndex.count(cmd, false);
 		}
 		return null;
 	}
@@ -74,6 +74,20 @@ public abstract class RegexComposed implements IRegex {
 		return result;
 	}
 
+	private final AtomicReference<RegexFirstChars[]> firstChars = new AtomicReference<RegexFirstChars[]>();
+
+	/**
+	 * @return the characters a matched line starts with, or <code>null</code> if any line may match.
+	 */
+	final public RegexFirstChars getFirstChars() {
+		RegexFirstChars[] result = firstChars.get();
+		if (result == null) {
+			result = new RegexFirstChars[] { RegexFirstChars.compute(getPattern()) };
+			firstChars.set(result);
+		}
+		return result[0];
+	}
+
 	final protected boolean isCompiled() {
 		return fullCached.get() != null;
 	}
@@ -0,0 +1,339 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.command.regex;
+
+/**
+ * Set of characters a line must start with to be matched by an anchored regex.
+ *
+ * The set is computed from the text of the regex, as compiled by {@link RegexComposed} (case insensitive for ASCII
+ * letters). It is always a superset of the real one: whenever a construction is not understood, or when the regex
+ * can match an empty line, {@link #compute(String)} returns <code>null</code>, meaning that any line may match.
+ */
+public final class RegexFirstChars {
+
+	// Index 128 stands for every non ASCII character
+	private static final int OTHER = 128;
+
+	private final boolean[] chars;
+
+	private RegexFirstChars(boolean[] chars) {
+		this.chars = chars;
+	}
+
+	public boolean contains(char c) {
+		if (c < OTHER) {
+			return chars[c];
+		}
+		return chars[OTHER];
+	}
+
+	/**
+	 * @return the first characters of the lines matched by <code>pattern</code>, or <code>null</code> if it cannot be
+	 *         computed.
+	 */
+	public static RegexFirstChars compute(String pattern) {
+		if (pattern.startsWith("^") == false) {
+			return null;
+		}
+		try {
+			final Parser parser = new Parser(pattern);
+			// The leading ^ only anchors the first branch of a top level alternation: "^a|b" also finds "xb"
+			final Node node = parser.sequence();
+			if (parser.pos != pattern.length() || node.nullable) {
+				return null;
+			}
+			return new RegexFirstChars(node.chars);
+		} catch (UnknownSyntax e) {
+			return null;
+		} catch (IndexOutOfBoundsException e) {
+			return null;
+		}
+	}
+
+	static class UnknownSyntax extends Exception {
+		private static final long serialVersionUID = 1L;
+	}
+
+	static class Node {
+		private final boolean[] chars = new boolean[OTHER + 1];
+		private boolean nullable;
+
+		void addAll(Node other) {
+			for (int i = 0; i < chars.length; i++) {
+				chars[i] |= other.chars[i];
+			}
+		}
+
+		void add(char c) {
+			if (c >= OTHER) {
+				chars[OTHER] = true;
+			} else {
+				chars[c] = true;
+				if (c >= 'a' && c <= 'z') {
+					chars[Character.toUpperCase(c)] = true;
+				} else if (c >= 'A' && c <= 'Z') {
+					chars[Character.toLowerCase(c)] = true;
+				}
+			}
+		}
+
+		void addRange(char c1, char c2) {
+			for (int c = c1; c <= c2 && c < OTHER; c++) {
+				add((char) c);
+			}
+			if (c2 >= OTHER) {
+				chars[OTHER] = true;
+			}
+		}
+	}
+
+	static class Parser {
+
+		private final String pattern;
+		private int pos = 1;
+
+		Parser(String pattern) {
+			this.pattern = pattern;
+		}
+
+		private char peek() {
+			return pattern.charAt(pos);
+		}
+
+		private boolean hasMore() {
+			return pos < pattern.length();
+		}
+
+		Node alternation() throws UnknownSyntax {
+			final Node result = sequence();
+			while (hasMore() && peek() == '|') {
+				pos++;
+				final Node other = sequence();
+				result.addAll(other);
+				result.nullable |= other.nullable;
+			}
+			return result;
+		}
+
+		Node sequence() throws UnknownSyntax {
+			final Node result = new Node();
+			result.nullable = true;
+			while (hasMore() && peek() != '|' && peek() != ')') {
+				final Node item = item();
+				if (result.nullable) {
+					result.addAll(item);
+					result.nullable = item.nullable;
+				}
+			}
+			return result;
+		}
+
+		private Node item() throws UnknownSyntax {
+			final Node result = atom();
+			if (hasMore() == false) {
+				return result;
+			}
+			final char c = peek();
+			if (c == '?' || c == '*') {
+				result.nullable = true;
+				pos++;
+			} else if (c == '+') {
+				pos++;
+			} else if (c == '{') {
+				final int end = pattern.indexOf('}', pos);
+				final String min = pattern.substring(pos + 1, end).split(",", -1)[0];
+				if (min.matches("\\d+") == false) {
+					throw new UnknownSyntax();
+				}
+				if (Integer.parseInt(min) == 0) {
+					result.nullable = true;
+				}
+				pos = end + 1;
+			} else {
+				return result;
+			}
+			// Reluctant or possessive quantifier
+			if (hasMore() && (peek() == '?' || peek() == '+')) {
+				pos++;
+			}
+			return result;
+		}
+
+		private Node atom() throws UnknownSyntax {
+			final char c = peek();
+			if (c == '(') {
+				pos++;
+				if (peek() == '?') {
+					pos++;
+					final char kind = peek();
+					if (kind == ':' || kind == '>') {
+						pos++;
+					} else if (kind == '<' && pattern.charAt(pos + 1) != '=' && pattern.charAt(pos + 1) != '!') {
+						pos = pattern.indexOf('>', pos) + 1;
+					} else {
+						throw new UnknownSyntax();
+					}
+				}
+				final Node result = alternation();
+				if (hasMore() == false || peek() != ')') {
+					throw new UnknownSyntax();
+				}
+				pos++;
+				return result;
+			}
+			if (c == '[') {
+				return charClass();
+			}
+			if (c == '$') {
+				pos++;
+				final Node result = new Node();
+				result.nullable = true;
+				return result;
+			}
+			if (c == '\\') {
+				pos++;
+				final Node result = new Node();
+				escape(result);
+				return result;
+			}
+			if (c == '.' || c == '^' || c == '*' || c == '+' || c == '?' || c == '{') {
+				throw new UnknownSyntax();
+			}
+			pos++;
+			final Node result = new Node();
+			result.add(c);
+			return result;
+		}
+
+		// Reads the escaped character at pos. Returns it, or adds a predefined class to the node and returns 0.
+		private char escape(Node node) throws UnknownSyntax {
+			final char e = peek();
+			pos++;
+			switch (e) {
+			case 's':
+				node.add(' ');
+				node.add('\t');
+				node.add('\n');
+				node.add('\u000B');
+				node.add('\f');
+				node.add('\r');
+				return 0;
+			case 'd':
+				node.addRange('0', '9');
+				return 0;
+			case 'w':
+				node.addRange('a', 'z');
+				node.addRange('0', '9');
+				node.add('_');
+				return 0;
+			case 't':
+				node.add('\t');
+				return '\t';
+			case 'n':
+				node.add('\n');
+				return '\n';
+			case 'r':
+				node.add('\r');
+				return '\r';
+			case 'f':
+				node.add('\f');
+				return '\f';
+			}
+			if (Character.isLetterOrDigit(e)) {
+				throw new UnknownSyntax();
+			}
+			node.add(e);
+			return e;
+		}
+
+		private Node charClass() throws UnknownSyntax {
+			pos++;
+			final boolean negated = peek() == '^';
+			if (negated) {
+				pos++;
+			}
+			final Node result = new Node();
+			boolean first = true;
+			while (true) {
+				char c = peek();
+				if (c == ']' && first == false) {
+					pos++;
+					break;
+				}
+				first = false;
+				if (c == '[' || (c == '&' && pattern.charAt(pos + 1) == '&')) {
+					throw new UnknownSyntax();
+				}
+				pos++;
+				if (c == '\\') {
+					c = escape(result);
+					if (c == 0) {
+						continue;
+					}
+				}
+				if (peek() == '-' && pattern.charAt(pos + 1) != ']') {
+					pos++;
+					char c2 = peek();
+					pos++;
+					if (c2 == '\\') {
+						c2 = escape(result);
+						if (c2 == 0) {
+							throw new UnknownSyntax();
+						}
+					}
+					result.addRange(c, c2);
+				} else {
+					result.add(c);
+				}
+			}
+			if (negated == false) {
+				return result;
+			}
+			// Case insensitivity makes the exact complement tricky: any character is accepted
+			final Node all = new Node();
+			for (int i = 0; i < all.chars.length; i++) {
+				all.chars[i] = true;
+			}
+			return all;
+		}
+
+	}
+
+}
@@ -66,6 +66,7 @@ import net.sourceforge.plantuml.skin.VisibilityModifier;
 import net.sourceforge.plantuml.statediagram.StateDiagram;
 import net.sourceforge.plantuml.svek.CucaDiagramFileMaker;
 import net.sourceforge.plantuml.svek.CucaDiagramFileMakerSvek;
+import net.sourceforge.plantuml.svek.SvekLayout;
 import net.sourceforge.plantuml.ugraphic.ColorMapper;
 import net.sourceforge.plantuml.xmi.CucaDiagramXmiMaker;
 import net.sourceforge.plantuml.xmlsc.StateDiagramScxmlMaker;
@@ -437,6 +438,16 @@ public abstract class CucaDiagram extends UmlDiagram implements GroupHierarchy,
 
 	private String warningOrError;
 
+	private SvekLayout svekLayout;
+
+	public final SvekLayout getSvekLayout() {
+		return svekLayout;
+	}
+
+	public final void setSvekLayout(SvekLayout svekLayout) {
+		this.svekLayout = svekLayout;
+	}
+
 	@Override
 	public String getWarningOrError() {
 		final String generalWarningOrError = super.getWarningOrError();
@@ -40,6 +40,7 @@
 package net.sourceforge.plantuml.cucadiagram.dot;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.List;
@@ -106,6 +107,17 @@ abstract class AbstractGraphviz implements Graphviz {
 			throw new IllegalStateException();
 		}
 		final String cmd[] = getCommandLine();
+		final DotProcessPool pool = DotProcessPool.getInstance(cmd);
+		if (pool != null) {
+			try {
+				final ProcessState state = pool.createFile(dotString.getBytes(), os);
+				if (state != null) {
+					return state;
+				}
+			} catch (IOException e) {
+				Log.error("Error with pooled Graphviz process: " + e);
+			}
+		}
 		ProcessRunner p = null;
 		ProcessState state = null;
 		try {
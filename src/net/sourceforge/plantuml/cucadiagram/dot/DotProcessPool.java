@@ -0,0 +1,299 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.cucadiagram.dot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.sourceforge.plantuml.Log;
+import net.sourceforge.plantuml.OptionFlags;
+
+/**
+ * Pool of long-lived <code>dot -Tsvg</code> processes, enabled with <code>-dotpool N</code>.
+ *
+ * dot reads graphs one after the other on its standard input and writes one SVG document per graph, so a worker is
+ * fed a graph and its answer is read up to the closing <code>&lt;/svg&gt;</code> tag. Each worker is checked with a
+ * probe graph when started. A worker that dies, times out or answers something unexpected is destroyed and the
+ * diagram is rendered again with a regular {@link ProcessRunner}. If the probe itself fails, the pool is disabled for
+ * the rest of the run.
+ */
+public class DotProcessPool {
+
+	private static final byte[] SVG_END = "</svg>".getBytes();
+	private static final String PROBE = "digraph probe { }\n";
+	private static final long PROBE_TIMEOUT_MS = 10 * 1000L;
+	private static final int MAX_JOBS_PER_WORKER = 1000;
+
+	private static final ScheduledExecutorService watchdog = Executors
+			.newSingleThreadScheduledExecutor(new ThreadFactory() {
+				public Thread newThread(Runnable r) {
+					final Thread result = new Thread(r, "dotpool-watchdog");
+					result.setDaemon(true);
+					return result;
+				}
+			});
+
+	private static DotProcessPool singleton;
+
+	private final String[] cmd;
+	private final int maxSize;
+	private final BlockingQueue<DotWorker> idle = new LinkedBlockingQueue<DotWorker>();
+	private final AtomicInteger created = new AtomicInteger();
+	private volatile boolean disabled;
+	private volatile boolean closed;
+
+	private DotProcessPool(String[] cmd, int maxSize) {
+		this.cmd = cmd;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * @return the pool to use for this command line, or <code>null</code> if pooled processes cannot be used.
+	 */
+	static synchronized DotProcessPool getInstance(String[] cmd) {
+		final int size = OptionFlags.getInstance().getDotPoolSize();
+		if (size <= 0 || OptionFlags.getInstance().isCheckDotError()) {
+			return null;
+		}
+		if (cmd.length != 2 || cmd[1].equals("-Tsvg") == false) {
+			return null;
+		}
+		if (singleton == null || Arrays.equals(singleton.cmd, cmd) == false) {
+			if (singleton != null) {
+				singleton.shutdown();
+			}
+			singleton = new DotProcessPool(cmd, size);
+		}
+		if (singleton.disabled) {
+			return null;
+		}
+		return singleton;
+	}
+
+	/**
+	 * @return the final state, or <code>null</code> if the caller should fall back to a new process.
+	 */
+	ProcessState createFile(byte[] in, OutputStream os) throws IOException {
+		final long timeoutMs = OptionFlags.getInstance().getTimeoutMs();
+		final DotWorker worker;
+		try {
+			worker = acquire(timeoutMs);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		if (worker == null) {
+			return null;
+		}
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		final ProcessState state = worker.render(in, baos, timeoutMs);
+		if (state.equals(ProcessState.TERMINATED_OK()) && worker.getNbJobs() < MAX_JOBS_PER_WORKER
+				&& closed == false) {
+			idle.add(worker);
+		} else {
+			discard(worker);
+		}
+		if (state.equals(ProcessState.TERMINATED_OK())) {
+			baos.writeTo(os);
+			return state;
+		}
+		if (state.equals(ProcessState.TIMEOUT())) {
+			return state;
+		}
+		Log.info("Pooled dot process failed (" + state + "), using a new process");
+		return null;
+	}
+
+	private DotWorker acquire(long timeoutMs) throws InterruptedException {
+		DotWorker result = idle.poll();
+		if (result != null) {
+			return result;
+		}
+		if (created.incrementAndGet() <= maxSize) {
+			result = startWorker();
+			if (result == null) {
+				created.decrementAndGet();
+			}
+			return result;
+		}
+		created.decrementAndGet();
+		return idle.poll(timeoutMs, TimeUnit.MILLISECONDS);
+	}
+
+	private DotWorker startWorker() {
+		try {
+			Log.info("Starting pooled Graphviz process " + Arrays.asList(cmd));
+			final DotWorker result = new DotWorker(Runtime.getRuntime().exec(cmd));
+			final ProcessState state = result.render(PROBE.getBytes(), new ByteArrayOutputStream(),
+					PROBE_TIMEOUT_MS);
+			if (state.equals(ProcessState.TERMINATED_OK())) {
+				return result;
+			}
+			result.destroy();
+			Log.error("Pooled Graphviz process does not answer (" + state + "), -dotpool is disabled");
+		} catch (IOException e) {
+			Log.error("Cannot start pooled Graphviz process: " + e);
+		}
+		disabled = true;
+		return null;
+	}
+
+	private void discard(DotWorker worker) {
+		worker.destroy();
+		created.decrementAndGet();
+	}
+
+	private synchronized void shutdown() {
+		closed = true;
+		DotWorker worker;
+		while ((worker = idle.poll()) != null) {
+			discard(worker);
+		}
+	}
+
+	class DotWorker {
+
+		private final Process process;
+		private final InputStream stdout;
+		private final OutputStream stdin;
+		private int nbJobs;
+		private volatile boolean timeout;
+
+		DotWorker(Process process) {
+			this.process = process;
+			this.stdout = process.getInputStream();
+			this.stdin = process.getOutputStream();
+			final Thread errorDrain = new Thread("dotpool-stderr") {
+				@Override
+				public void run() {
+					drainError();
+				}
+			};
+			errorDrain.setDaemon(true);
+			errorDrain.start();
+		}
+
+		private void drainError() {
+			final InputStream stderr = process.getErrorStream();
+			final StringBuilder line = new StringBuilder();
+			try {
+				int read;
+				while ((read = stderr.read()) != -1) {
+					if (read == '\n') {
+						Log.info("Pooled Graphviz: " + line);
+						line.setLength(0);
+					} else {
+						line.append((char) read);
+					}
+				}
+			} catch (IOException e) {
+				// The process has been destroyed
+			}
+		}
+
+		int getNbJobs() {
+			return nbJobs;
+		}
+
+		ProcessState render(byte[] in, OutputStream os, long timeoutMs) {
+			nbJobs++;
+			final ScheduledFuture<?> timer = watchdog.schedule(new Runnable() {
+				public void run() {
+					timeout = true;
+					process.destroy();
+				}
+			}, timeoutMs, TimeUnit.MILLISECONDS);
+			try {
+				stdin.write(in);
+				stdin.write('\n');
+				stdin.flush();
+				if (readSvg(os) && timeout == false) {
+					return ProcessState.TERMINATED_OK();
+				}
+				if (timeout) {
+					return ProcessState.TIMEOUT();
+				}
+				return ProcessState.IO_EXCEPTION2(new IOException("dot closed its output"));
+			} catch (IOException e) {
+				if (timeout) {
+					return ProcessState.TIMEOUT();
+				}
+				return ProcessState.IO_EXCEPTION2(e);
+			} finally {
+				timer.cancel(false);
+			}
+		}
+
+		// Copies one SVG document, up to and including its closing tag and the end of line after it.
+		private boolean readSvg(OutputStream os) throws IOException {
+			int matched = 0;
+			int read;
+			while ((read = stdout.read()) != -1) {
+				os.write(read);
+				if (read == SVG_END[matched]) {
+					matched++;
+					if (matched == SVG_END.length) {
+						return stdout.read() == '\n';
+					}
+				} else {
+					matched = read == SVG_END[0] ? 1 : 0;
+				}
+			}
+			return false;
+		}
+
+		void destroy() {
+			process.destroy();
+		}
+
+	}
+
+}
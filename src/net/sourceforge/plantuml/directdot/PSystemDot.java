@@ -68,6 +68,10 @@ public class PSystemDot extends AbstractPSystem {
 		this.data = data;
 	}
 
+	String getData() {
+		return data;
+	}
+
 	public DiagramDescription getDescription() {
 		return new DiagramDescription("(Dot)");
 	}
@@ -44,30 +44,18 @@ import net.sourceforge.plantuml.core.DiagramType;
 
 public class PSystemDotFactory extends PSystemBasicFactory<PSystemDot> {
 
-	private StringBuilder data;
-
 	public PSystemDotFactory(DiagramType diagramType) {
 		super(diagramType);
 	}
 
-	@Override
-	public PSystemDot init(String startLine) {
-		data = null;
-		return null;
-	}
-
 	@Override
 	public PSystemDot executeLine(PSystemDot system, String line) {
 		if (system == null && line.matches("(strict\\s+)?(di)?graph\\s+\\w+\\s+\\{")) {
-			data = new StringBuilder(line);
-			data.append("\n");
-			return new PSystemDot(data.toString());
+			return new PSystemDot(line + "\n");
 		}
-		if (data == null || system == null) {
+		if (system == null) {
 			return null;
 		}
-		data.append(line);
-		data.append("\n");
-		return new PSystemDot(data.toString());
+		return new PSystemDot(system.getData() + line + "\n");
 	}
 }
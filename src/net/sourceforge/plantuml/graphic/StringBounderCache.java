@@ -0,0 +1,135 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.graphic;
+
+import java.awt.geom.Dimension2D;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.sourceforge.plantuml.Log;
+import net.sourceforge.plantuml.ugraphic.UFont;
+
+/**
+ * Remembers the dimensions computed by another {@link StringBounder}.
+ *
+ * The same texts are measured many times, during layout and again during drawing, and from one diagram to the next
+ * in a long running process. The measures are kept in a map shared by all the bounders built with the same
+ * <code>Store</code>. The map is simply cleared when it becomes too big.
+ */
+public final class StringBounderCache implements StringBounder {
+
+	private static final int MAX_SIZE = 20000;
+
+	private static final AtomicLong hits = new AtomicLong();
+	private static final AtomicLong misses = new AtomicLong();
+
+	private final StringBounder delegate;
+	private final Store store;
+
+	public StringBounderCache(StringBounder delegate, Store store) {
+		this.delegate = delegate;
+		this.store = store;
+	}
+
+	@Override
+	public String toString() {
+		return "StringBounderCache::" + delegate;
+	}
+
+	public Dimension2D calculateDimension(UFont font, String text) {
+		if (font == null || text == null) {
+			return delegate.calculateDimension(font, text);
+		}
+		final Key key = new Key(font, text);
+		Dimension2D result = store.map.get(key);
+		if (result != null) {
+			hits.incrementAndGet();
+			return result;
+		}
+		misses.incrementAndGet();
+		result = delegate.calculateDimension(font, text);
+		if (store.map.size() >= MAX_SIZE) {
+			store.map.clear();
+		}
+		store.map.put(key, result);
+		return result;
+	}
+
+	public static void printCacheInfo() {
+		final long nbHits = hits.get();
+		final long total = nbHits + misses.get();
+		if (total > 0) {
+			Log.info("Text measures " + total + ", cache hits " + nbHits + " (" + (100 * nbHits / total) + "%)");
+		}
+	}
+
+	/**
+	 * Measures of one kind of {@link StringBounder}. Dimensions returned by the bounders are immutable, so they are
+	 * shared between threads.
+	 */
+	public static final class Store {
+		private final ConcurrentMap<Key, Dimension2D> map = new ConcurrentHashMap<Key, Dimension2D>();
+	}
+
+	static final class Key {
+
+		private final UFont font;
+		private final String text;
+
+		Key(UFont font, String text) {
+			this.font = font;
+			this.text = text;
+		}
+
+		@Override
+		public int hashCode() {
+			return font.hashCode() * 31 + text.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			final Key other = (Key) obj;
+			return font.equals(other.font) && text.equals(other.text);
+		}
+
+	}
+
+}
@@ -99,6 +99,8 @@ import net.sourceforge.plantuml.graphic.TextBlockWidth;
 import net.sourceforge.plantuml.graphic.UDrawable;
 import net.sourceforge.plantuml.graphic.USymbol;
 import net.sourceforge.plantuml.graphic.color.ColorType;
+import net.sourceforge.plantuml.stats.Stage;
+import net.sourceforge.plantuml.stats.StageStats;
 import net.sourceforge.plantuml.svek.Bibliotekon;
 import net.sourceforge.plantuml.svek.Cluster;
 import net.sourceforge.plantuml.svek.CucaDiagramFileMaker;
@@ -429,7 +431,9 @@ public class CucaDiagramFileMakerJDot implements CucaDiagramFileMaker {
 
 			final ST_GVC_s gvc = gvContext();
 			JUtilsDebug.reset();
+			final long layoutStart = System.nanoTime();
 			gvLayoutJobs(gvc, g);
+			StageStats.record(Stage.LAYOUT, layoutStart);
 			JUtilsDebug.printMe();
 
 			// for (Agedge_s e : edges.values()) {
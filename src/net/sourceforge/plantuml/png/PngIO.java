@@ -49,6 +49,8 @@ import java.io.OutputStream;
 import javax.imageio.ImageIO;
 
 import net.sourceforge.plantuml.Log;
+import net.sourceforge.plantuml.stats.Stage;
+import net.sourceforge.plantuml.stats.StageStats;
 
 public class PngIO {
 
@@ -86,10 +88,15 @@ public class PngIO {
 
 	public static void write(RenderedImage image, OutputStream os, String metadata, int dpi, String debugData)
 			throws IOException {
-		if (forceImageIO == false && metadata != null && checkPNGMetadata()) {
-			PngIOMetadata.writeWithMetadata(image, os, metadata, dpi, debugData);
-		} else {
-			ImageIO.write(image, "png", os);
+		final long start = System.nanoTime();
+		try {
+			if (forceImageIO == false && metadata != null && checkPNGMetadata()) {
+				PngIOMetadata.writeWithMetadata(image, os, metadata, dpi, debugData);
+			} else {
+				ImageIO.write(image, "png", os);
+			}
+		} finally {
+			StageStats.record(Stage.ENCODING, start);
 		}
 	}
 
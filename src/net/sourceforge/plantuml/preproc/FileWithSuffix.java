@@ -107,7 +107,7 @@ public class FileWithSuffix {
 		return file != null && file.isOk();
 	}
 
-	FileWithSuffix(File file, String suffix) {
+	public FileWithSuffix(File file, String suffix) {
 		this.file = new AFileRegular(file);
 		this.suffix = suffix;
 		this.entry = null;
@@ -187,6 +187,10 @@ public class FileWithSuffix {
 		return result;
 	}
 
+	public File getUnderlyingFile() {
+		return file.getUnderlyingFile();
+	}
+
 	public AParentFolder getParentFile() {
 		Log.info("Getting parent of " + file);
 		Log.info("-->The parent is " + file.getParentFile());
@@ -95,21 +95,44 @@ public class Stdlib {
 		}
 	}
 
+	/**
+	 * Reads a file of the standard library from its archive, without using or filling the caches. Used by the
+	 * benchmark to time the loading of the standard library.
+	 */
+	public static String loadWithoutCache(String fullname) throws IOException {
+		final int last = fullname.indexOf('/');
+		if (last == -1) {
+			return null;
+		}
+		final Stdlib folder = load(fullname.substring(0, last));
+		if (folder == null) {
+			return null;
+		}
+		return folder.loadRessource(fullname.substring(last + 1));
+	}
+
 	private static Stdlib retrieve(final String name) throws IOException {
 		Stdlib result = all.get(name);
 		if (result == null) {
-			final DataInputStream dataStream = getDataStream(name);
-			if (dataStream == null) {
+			result = load(name);
+			if (result == null) {
 				return null;
 			}
-			final String info = dataStream.readUTF();
-			dataStream.close();
-			result = new Stdlib(name, info);
 			all.put(name, result);
 		}
 		return result;
 	}
 
+	private static Stdlib load(final String name) throws IOException {
+		final DataInputStream dataStream = getDataStream(name);
+		if (dataStream == null) {
+			return null;
+		}
+		final String info = dataStream.readUTF();
+		dataStream.close();
+		return new Stdlib(name, info);
+	}
+
 	private String loadRessource(String file) throws IOException {
 		final SoftReference<String> cached = cache.get(file.toLowerCase());
 		if (cached != null) {
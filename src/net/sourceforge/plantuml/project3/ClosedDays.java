@@ -0,0 +1,109 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.project3;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Closed days, kept as sorted and disjoint intervals of day numbers. Both closed and open days come in runs, so the
+ * solver can skip a whole run at once instead of looking at each day.
+ */
+public class ClosedDays {
+
+	// First day of each interval, mapped to its last day
+	private final TreeMap<Integer, Integer> intervals = new TreeMap<Integer, Integer>();
+
+	public void add(int day) {
+		add(day, day);
+	}
+
+	public void add(int first, int last) {
+		final Map.Entry<Integer, Integer> before = intervals.floorEntry(first);
+		if (before != null && before.getValue() >= first - 1) {
+			first = before.getKey();
+			last = Math.max(last, before.getValue());
+		}
+		Map.Entry<Integer, Integer> next = intervals.ceilingEntry(first);
+		while (next != null && next.getKey() <= last + 1) {
+			last = Math.max(last, next.getValue());
+			intervals.remove(next.getKey());
+			next = intervals.ceilingEntry(first);
+		}
+		intervals.put(first, last);
+	}
+
+	public boolean contains(int day) {
+		final Map.Entry<Integer, Integer> ent = intervals.floorEntry(day);
+		return ent != null && ent.getValue() >= day;
+	}
+
+	/**
+	 * @return the last day of the run of days that are all closed, or all open, like <code>day</code>.
+	 *         <code>Integer.MAX_VALUE</code> if the run never ends.
+	 */
+	public int getLastOfRun(int day) {
+		final Map.Entry<Integer, Integer> ent = intervals.floorEntry(day);
+		if (ent != null && ent.getValue() >= day) {
+			return ent.getValue();
+		}
+		final Integer next = intervals.higherKey(day);
+		if (next == null) {
+			return Integer.MAX_VALUE;
+		}
+		return next - 1;
+	}
+
+	/**
+	 * @return the first day of the run of days that are all closed, or all open, like <code>day</code>.
+	 *         <code>Integer.MIN_VALUE</code> if the run never starts.
+	 */
+	public int getFirstOfRun(int day) {
+		final Map.Entry<Integer, Integer> ent = intervals.floorEntry(day);
+		if (ent == null) {
+			return Integer.MIN_VALUE;
+		}
+		if (ent.getValue() >= day) {
+			return ent.getKey();
+		}
+		return ent.getValue() + 1;
+	}
+
+}
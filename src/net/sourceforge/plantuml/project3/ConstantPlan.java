@@ -59,4 +59,12 @@ public class ConstantPlan implements LoadPlanable {
 		return loadPerInstant;
 
 	}
+
+	public int getRunAfter(Instant instant) {
+		return Integer.MAX_VALUE;
+	}
+
+	public int getRunBefore(Instant instant) {
+		return Integer.MAX_VALUE;
+	}
 }
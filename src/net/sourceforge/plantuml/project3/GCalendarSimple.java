@@ -39,34 +39,56 @@
  */
 package net.sourceforge.plantuml.project3;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dates are computed once, from the starting date, and kept in a table, so converting a date is done in constant time
+ * instead of counting the days from the start at each call.
+ */
 public class GCalendarSimple implements GCalendar {
 
 	private final DayAsDate start;
+	private final List<DayAsDate> days = new ArrayList<DayAsDate>();
+	private final Map<DayAsDate, Integer> numDays = new HashMap<DayAsDate, Integer>();
 
 	public GCalendarSimple(DayAsDate start) {
 		this.start = start;
+		addDay(start);
+	}
+
+	private void addDay(DayAsDate day) {
+		numDays.put(day, days.size());
+		days.add(day);
+	}
+
+	private void addNextDay() {
+		addDay(days.get(days.size() - 1).next());
 	}
 
 	public DayAsDate toDayAsDate(InstantDay day) {
-		DayAsDate result = start;
 		final int target = day.getNumDay();
-		int work = 0;
-		while (work < target) {
-			result = result.next();
-			work++;
+		if (target <= 0) {
+			return start;
+		}
+		while (days.size() <= target) {
+			addNextDay();
 		}
-		return result;
+		return days.get(target);
 	}
 
 	public InstantDay fromDayAsDate(DayAsDate day) {
 		if (day.compareTo(start) < 0) {
 			throw new IllegalArgumentException();
 		}
-		InstantDay result = new InstantDay(0);
-		while (toDayAsDate(result).equals(day) == false) {
-			result = result.increment();
+		Integer result = numDays.get(day);
+		while (result == null) {
+			addNextDay();
+			result = numDays.get(day);
 		}
-		return result;
+		return new InstantDay(result);
 	}
 
 	public DayAsDate getStartingDate() {
@@ -44,7 +44,9 @@ import java.awt.geom.Rectangle2D;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -202,15 +204,60 @@ public class GanttDiagram extends TitledDiagram implements Subject {
 				if (calendar == null) {
 					return 100;
 				}
-				final DayAsDate day = getCalendarSimple().toDayAsDate((InstantDay) instant);
-				if (isClosed(day)) {
+				// Days before the start of the project are treated as the starting day
+				final int day = Math.max(0, ((InstantDay) instant).getNumDay());
+				if (getClosedDays(day).contains(day)) {
 					return 0;
 				}
 				return 100;
 			}
+
+			public int getRunAfter(Instant instant) {
+				if (calendar == null) {
+					return Integer.MAX_VALUE;
+				}
+				final int day = ((InstantDay) instant).getNumDay();
+				final int from = Math.max(0, day);
+				final ClosedDays closed = getClosedDays(from);
+				final int last = Math.min(closed.getLastOfRun(from), closedDaysUntil);
+				return last - day + 1;
+			}
+
+			public int getRunBefore(Instant instant) {
+				if (calendar == null) {
+					return Integer.MAX_VALUE;
+				}
+				final int day = Math.max(0, ((InstantDay) instant).getNumDay());
+				final int first = getClosedDays(day).getFirstOfRun(day);
+				if (first <= 0) {
+					return Integer.MAX_VALUE;
+				}
+				return day - first + 1;
+			}
 		};
 	}
 
+	// The closed days of the calendar are computed up to closedDaysUntil, and computed further when needed
+	private ClosedDays closedDays;
+	private int closedDaysUntil;
+
+	private ClosedDays getClosedDays(int day) {
+		if (closedDays == null) {
+			closedDays = new ClosedDays();
+			closedDaysUntil = -1;
+		}
+		if (day > closedDaysUntil) {
+			final int until = day + 366;
+			for (int i = closedDaysUntil + 1; i <= until; i++) {
+				if (isClosed(getCalendarSimple().toDayAsDate(new InstantDay(i)))) {
+					closedDays.add(i);
+				}
+			}
+			closedDaysUntil = until;
+		}
+		return closedDays;
+	}
+
 	private boolean isClosed(final DayAsDate day) {
 		if (openedDayAsDate.contains(day)) {
 			return false;
@@ -221,14 +268,17 @@ public class GanttDiagram extends TitledDiagram implements Subject {
 
 	public void closeDayOfWeek(DayOfWeek day) {
 		closedDayOfWeek.add(day);
+		closedDays = null;
 	}
 
 	public void closeDayAsDate(DayAsDate day) {
 		closedDayAsDate.add(day);
+		closedDays = null;
 	}
 
 	public void openDayAsDate(DayAsDate day) {
 		openedDayAsDate.add(day);
+		closedDays = null;
 	}
 
 	private void drawConstraints(final UGraphic ug, TimeScale timeScale) {
@@ -284,16 +334,19 @@ public class GanttDiagram extends TitledDiagram implements Subject {
 		Month lastMonth = null;
 		final GCalendarSimple calendarAll = getCalendarSimple();
 		final Instant max2 = calendarAll.fromDayAsDate(calendar.toDayAsDate((InstantDay) max));
+		final LoadPlanable defaultPlan = getDefaultPlan();
+		// Day numbers, week days and months repeat, so each text is built once
+		final Map<String, TextBlock> texts = new HashMap<String, TextBlock>();
 		for (Instant i = min; i.compareTo(max2.increment()) <= 0; i = i.increment()) {
 			final DayAsDate day = calendarAll.toDayAsDate((InstantDay) i);
 			final DayOfWeek dayOfWeek = day.getDayOfWeek();
-			final boolean isWorkingDay = getDefaultPlan().getLoadAt(i) > 0;
+			final boolean isWorkingDay = defaultPlan.getLoadAt(i) > 0;
 			final String d1 = "" + day.getDayOfMonth();
-			final TextBlock num = getTextBlock(d1, 10, false);
+			final TextBlock num = getTextBlock(texts, d1, 10, false);
 			final double x1 = timeScale.getStartingPosition(i);
 			final double x2 = timeScale.getEndingPosition(i);
 			if (i.compareTo(max2.increment()) < 0) {
-				final TextBlock weekDay = getTextBlock(dayOfWeek.shortName(), 10, false);
+				final TextBlock weekDay = getTextBlock(texts, dayOfWeek.shortName(), 10, false);
 
 				final URectangle rect = new URectangle(x2 - x1 - 1, totalHeight - Y_WEEKDAY);
 				if (isWorkingDay) {
@@ -311,11 +364,11 @@ public class GanttDiagram extends TitledDiagram implements Subject {
 				if (lastMonth != day.getMonth()) {
 					final int delta = 5;
 					if (lastMonth != null) {
-						final TextBlock lastMonthBlock = getTextBlock(lastMonth.name(), 12, true);
+						final TextBlock lastMonthBlock = getTextBlock(texts, lastMonth.name(), 12, true);
 						lastMonthBlock.drawU(ug.apply(new UTranslate(x1
 								- lastMonthBlock.calculateDimension(ug.getStringBounder()).getWidth() - delta, 0)));
 					}
-					final TextBlock month = getTextBlock(day.getMonth().name(), 12, true);
+					final TextBlock month = getTextBlock(texts, day.getMonth().name(), 12, true);
 					month.drawU(ug.apply(new UTranslate(x1 + delta, 0)));
 					ug.apply(new UChangeColor(HtmlColorUtils.LIGHT_GRAY)).apply(new UTranslate(x1, 0))
 							.draw(new ULine(0, Y_WEEKDAY));
@@ -326,20 +379,28 @@ public class GanttDiagram extends TitledDiagram implements Subject {
 		}
 
 		if (nameDays.size() > 0) {
-			String last = null;
-			for (Instant i = min; i.compareTo(max2.increment()) <= 0; i = i.increment()) {
-				final DayAsDate day = calendarAll.toDayAsDate((InstantDay) i);
+			// Only the named days are looked at, in chronological order
+			final List<DayAsDate> named = new ArrayList<DayAsDate>(nameDays.keySet());
+			Collections.sort(named);
+			for (DayAsDate day : named) {
+				final Instant i = calendarAll.fromDayAsDate(day);
+				if (i.compareTo(max2.increment()) > 0) {
+					break;
+				}
 				final String name = nameDays.get(day);
-				if (name != null && name.equals(last) == false) {
+				String last = null;
+				if (i.compareTo(min) > 0) {
+					last = nameDays.get(calendarAll.toDayAsDate((InstantDay) i.decrement()));
+				}
+				if (name.equals(last) == false) {
 					final double x1 = timeScale.getStartingPosition(i);
 					final double x2 = timeScale.getEndingPosition(i);
-					final TextBlock label = getTextBlock(name, 12, false);
+					final TextBlock label = getTextBlock(texts, name, 12, false);
 					final double h = label.calculateDimension(ug.getStringBounder()).getHeight();
 					double y1 = getTimeHeaderHeight();
 					double y2 = getHeaderHeight();
 					label.drawU(ug.apply(new UTranslate(x1, Y_NUMDAY + 11)));
 				}
-				last = name;
 			}
 
 		}
@@ -350,6 +411,16 @@ public class GanttDiagram extends TitledDiagram implements Subject {
 				new SpriteContainerEmpty());
 	}
 
+	private TextBlock getTextBlock(Map<String, TextBlock> cache, final String text, int size, boolean bold) {
+		final String key = text + " " + size + " " + bold;
+		TextBlock result = cache.get(key);
+		if (result == null) {
+			result = getTextBlock(text, size, bold);
+			cache.put(key, result);
+		}
+		return result;
+	}
+
 	private void drawCenter(final UGraphic ug, final TextBlock text, final double x1, final double x2) {
 		final double width = text.calculateDimension(ug.getStringBounder()).getWidth();
 		final double delta = (x2 - x1) - width;
@@ -398,6 +469,11 @@ public class GanttDiagram extends TitledDiagram implements Subject {
 	}
 
 	private void initMinMax() {
+		for (Task task : tasks.values()) {
+			if (task instanceof TaskImpl) {
+				((TaskImpl) task).solve();
+			}
+		}
 		if (tasks.size() == 0) {
 			max = min.increment();
 		} else {
@@ -543,6 +619,7 @@ public class GanttDiagram extends TitledDiagram implements Subject {
 
 	public void setStartingDate(DayAsDate start) {
 		this.calendar = new GCalendarSimple(start);
+		this.closedDays = null;
 	}
 
 	public DayAsDate getStartingDate() {
@@ -596,16 +673,25 @@ public class GanttDiagram extends TitledDiagram implements Subject {
 		return resource;
 	}
 
-	public int getLoadForResource(Resource res, Instant i) {
-		int result = 0;
+	/**
+	 * @return the load of the resource for each day from <code>min</code> to <code>max</code>
+	 */
+	public int[] getLoadsForResource(Resource res, Instant min, Instant max) {
+		final int minDay = ((InstantDay) min).getNumDay();
+		final int maxDay = ((InstantDay) max).getNumDay();
+		final int[] result = new int[maxDay - minDay + 2];
 		for (Task task : tasks.values()) {
 			if (task instanceof TaskSeparator) {
 				continue;
 			}
 			final TaskImpl task2 = (TaskImpl) task;
-			result += task2.loadForResource(res, i);
+			task2.addLoadForResource(res, result, minDay, maxDay);
 		}
-		return result;
+		// Tasks give the change of load from one day to the next
+		for (int i = 1; i < result.length; i++) {
+			result[i] += result[i - 1];
+		}
+		return Arrays.copyOf(result, result.length - 1);
 	}
 
 	private final Map<DayAsDate, HtmlColor> colorDays = new HashMap<DayAsDate, HtmlColor>();
@@ -45,6 +45,10 @@ public interface Instant extends Value, Comparable<Instant> {
 
 	public Instant decrement();
 
+	public Instant increment(int nb);
+
+	public Instant decrement(int nb);
+
 	public String toShortString();
 
 }
@@ -60,6 +60,14 @@ public class InstantDay implements Instant {
 		return new InstantDay(numDay - 1);
 	}
 
+	public InstantDay increment(int nb) {
+		return new InstantDay(numDay + nb);
+	}
+
+	public InstantDay decrement(int nb) {
+		return new InstantDay(numDay - nb);
+	}
+
 	final int getNumDay() {
 		return numDay;
 	}
@@ -42,4 +42,16 @@ package net.sourceforge.plantuml.project3;
 public interface LoadPlanable {
 
 	public int getLoadAt(Instant instant);
+
+	/**
+	 * @return how many instants, starting at <code>instant</code> and going forward, have the same load: at least 1,
+	 *         and <code>Integer.MAX_VALUE</code> if the load never changes.
+	 */
+	public int getRunAfter(Instant instant);
+
+	/**
+	 * @return how many instants, ending at <code>instant</code> and going backward, have the same load: at least 1,
+	 *         and <code>Integer.MAX_VALUE</code> if the load never changes.
+	 */
+	public int getRunBefore(Instant instant);
 }
@@ -50,6 +50,14 @@ public class PlanUtils {
 			public int getLoadAt(Instant instant) {
 				return Math.min(p1.getLoadAt(instant), p2.getLoadAt(instant));
 			}
+
+			public int getRunAfter(Instant instant) {
+				return Math.min(p1.getRunAfter(instant), p2.getRunAfter(instant));
+			}
+
+			public int getRunBefore(Instant instant) {
+				return Math.min(p1.getRunBefore(instant), p2.getRunBefore(instant));
+			}
 		};
 	}
 
@@ -58,6 +66,14 @@ public class PlanUtils {
 			public int getLoadAt(Instant instant) {
 				return p1.getLoadAt(instant) * p2.getLoadAt(instant) / 100;
 			}
+
+			public int getRunAfter(Instant instant) {
+				return Math.min(p1.getRunAfter(instant), p2.getRunAfter(instant));
+			}
+
+			public int getRunBefore(Instant instant) {
+				return Math.min(p1.getRunBefore(instant), p2.getRunBefore(instant));
+			}
 		};
 	}
 
@@ -39,15 +39,12 @@
  */
 package net.sourceforge.plantuml.project3;
 
-import java.util.Set;
-import java.util.TreeSet;
-
 public class Resource implements Subject /* , LoadPlanable */{
 
 	private final String name;
 	private ResourceDraw draw;
 	// private final LoadPlanable loadPlanable;
-	private Set<Instant> closed = new TreeSet<Instant>();
+	private final ClosedDays closed = new ClosedDays();
 
 	public Resource(String name, LoadPlanable loadPlanable) {
 		this.name = name;
@@ -83,7 +80,33 @@ public class Resource implements Subject /* , LoadPlanable */{
 	}
 
 	public boolean isClosedAt(Instant instant) {
-		 return this.closed.contains(instant);
+		return this.closed.contains(((InstantDay) instant).getNumDay());
+	}
+
+	/**
+	 * @return how many days, starting at <code>instant</code> and going forward, are all closed or all open for this
+	 *         resource. <code>Integer.MAX_VALUE</code> if it never changes.
+	 */
+	public int getRunAfter(Instant instant) {
+		final int day = ((InstantDay) instant).getNumDay();
+		final int last = this.closed.getLastOfRun(day);
+		if (last == Integer.MAX_VALUE) {
+			return Integer.MAX_VALUE;
+		}
+		return last - day + 1;
+	}
+
+	/**
+	 * @return how many days, ending at <code>instant</code> and going backward, are all closed or all open for this
+	 *         resource. <code>Integer.MAX_VALUE</code> if it never changes.
+	 */
+	public int getRunBefore(Instant instant) {
+		final int day = ((InstantDay) instant).getNumDay();
+		final int first = this.closed.getFirstOfRun(day);
+		if (first == Integer.MIN_VALUE) {
+			return Integer.MAX_VALUE;
+		}
+		return day - first + 1;
 	}
 
 //	public int getLoadAt(Instant instant) {
@@ -94,6 +117,6 @@ public class Resource implements Subject /* , LoadPlanable */{
 //	}
 
 	public void addCloseDay(Instant instant) {
-		this.closed.add(instant);
+		this.closed.add(((InstantDay) instant).getNumDay());
 	}
 }
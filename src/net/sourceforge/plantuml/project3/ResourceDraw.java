@@ -39,6 +39,9 @@
  */
 package net.sourceforge.plantuml.project3;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import net.sourceforge.plantuml.SpriteContainerEmpty;
 import net.sourceforge.plantuml.cucadiagram.Display;
 import net.sourceforge.plantuml.graphic.FontConfiguration;
@@ -78,13 +81,20 @@ public class ResourceDraw implements UDrawable {
 		final ULine line = new ULine(timeScale.getEndingPosition(max) - timeScale.getStartingPosition(min), 0);
 		ug.apply(new UChangeColor(HtmlColorUtils.BLACK))
 				.apply(new UTranslate(0, title.calculateDimension(ug.getStringBounder()).getHeight())).draw(line);
-		for (Instant i = min; i.compareTo(max) <= 0; i = i.increment()) {
-			final int load = gantt.getLoadForResource(res, i);
+		final int[] loads = gantt.getLoadsForResource(res, min, max);
+		final Map<Integer, TextBlock> values = new HashMap<Integer, TextBlock>();
+		for (int k = 0; k < loads.length; k++) {
+			final int load = loads[k];
 			if (load > 0) {
-				final FontConfiguration fontConfiguration = getFontConfiguration(9, load > 100 ? HtmlColorUtils.RED
-						: HtmlColorUtils.BLACK);
-				final TextBlock value = Display.getWithNewlines("" + load).create(fontConfiguration,
-						HorizontalAlignment.LEFT, new SpriteContainerEmpty());
+				final Instant i = min.increment(k);
+				TextBlock value = values.get(load);
+				if (value == null) {
+					final FontConfiguration fontConfiguration = getFontConfiguration(9, load > 100 ? HtmlColorUtils.RED
+							: HtmlColorUtils.BLACK);
+					value = Display.getWithNewlines("" + load).create(fontConfiguration, HorizontalAlignment.LEFT,
+							new SpriteContainerEmpty());
+					values.put(load, value);
+				}
 				final double start = (timeScale.getStartingPosition(i) + timeScale.getEndingPosition(i)) / 2
 						- value.calculateDimension(ug.getStringBounder()).getWidth() / 2;
 				value.drawU(ug.apply(new UTranslate(start, 16)));
@@ -95,8 +95,11 @@ public class Solver3 {
 		Instant current = (Instant) values.get(TaskAttribute.START);
 		int fullLoad = ((Load) values.get(TaskAttribute.LOAD)).getFullLoad();
 		while (fullLoad > 0) {
-			fullLoad -= loadPlanable.getLoadAt(current);
-			current = current.increment();
+			// The load is the same over the whole run, so the run is consumed at once
+			final int load = loadPlanable.getLoadAt(current);
+			final int nb = getNbInstants(load, fullLoad, loadPlanable.getRunAfter(current));
+			fullLoad -= load * nb;
+			current = current.increment(nb);
 		}
 		return current.decrement();
 	}
@@ -105,10 +108,26 @@ public class Solver3 {
 		Instant current = (Instant) values.get(TaskAttribute.END);
 		int fullLoad = ((Load) values.get(TaskAttribute.LOAD)).getFullLoad();
 		while (fullLoad > 0) {
-			fullLoad -= loadPlanable.getLoadAt(current);
-			current = current.decrement();
+			final int load = loadPlanable.getLoadAt(current);
+			final int nb = getNbInstants(load, fullLoad, loadPlanable.getRunBefore(current));
+			fullLoad -= load * nb;
+			current = current.decrement(nb);
 		}
 		return current.increment();
 	}
 
+	/**
+	 * @return how many instants of a run with the given load are used by <code>fullLoad</code>
+	 */
+	private static int getNbInstants(int load, int fullLoad, int run) {
+		if (load > 0) {
+			return Math.min(run, (fullLoad + load - 1) / load);
+		}
+		if (run == Integer.MAX_VALUE) {
+			// Nothing will ever be done
+			throw new IllegalStateException();
+		}
+		return run;
+	}
+
 }
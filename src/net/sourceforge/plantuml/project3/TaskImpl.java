@@ -49,8 +49,13 @@ public class TaskImpl implements Task, LoadPlanable {
 	private final Solver3 solver;
 	private final Map<Resource, Integer> resources2 = new LinkedHashMap<Resource, Integer>();
 	private final LoadPlanable defaultPlan;
+	private LoadPlanable plan;
 	private boolean diamond;
 
+	// Computed once the diagram is complete, see solve()
+	private Instant solvedStart;
+	private Instant solvedEnd;
+
 	public TaskImpl(TaskCode code, LoadPlanable defaultPlan) {
 		this.code = code;
 		this.defaultPlan = defaultPlan;
@@ -59,30 +64,69 @@ public class TaskImpl implements Task, LoadPlanable {
 		setLoad(LoadInDays.inDay(1));
 	}
 
-	public int getLoadAt(Instant instant) {
-		LoadPlanable result = defaultPlan;
-		if (resources2.size() > 0) {
-			result = PlanUtils.multiply(defaultPlan, getRessourcePlan());
+	private LoadPlanable getPlan() {
+		if (plan == null) {
+			plan = defaultPlan;
+			if (resources2.size() > 0) {
+				plan = PlanUtils.multiply(defaultPlan, getRessourcePlan());
+			}
 		}
-		return result.getLoadAt(instant);
+		return plan;
+	}
+
+	public int getLoadAt(Instant instant) {
+		return getPlan().getLoadAt(instant);
 		// return PlanUtils.minOf(getLoad(), plan1).getLoadAt(instant);
 	}
 
-	public int loadForResource(Resource res, Instant instant) {
-		if (resources2.keySet().contains(res) && instant.compareTo(getStart()) >= 0 && instant.compareTo(getEnd()) <= 0) {
-			if (res.isClosedAt(instant)) {
-				return 0;
+	public int getRunAfter(Instant instant) {
+		return getPlan().getRunAfter(instant);
+	}
+
+	public int getRunBefore(Instant instant) {
+		return getPlan().getRunBefore(instant);
+	}
+
+	/**
+	 * Computes the start and the end of this task once for all. Called when the diagram is complete: the dates are
+	 * used many times while drawing.
+	 */
+	void solve() {
+		clearSolved();
+		final Instant start = getStart();
+		final Instant end = getEnd();
+		this.solvedStart = start;
+		this.solvedEnd = end;
+	}
+
+	private void clearSolved() {
+		this.solvedStart = null;
+		this.solvedEnd = null;
+	}
+
+	/**
+	 * Adds the load of this task for the resource, between <code>minDay</code> and <code>maxDay</code>. The load
+	 * changes only where an open run of the resource starts or ends, so <code>deltas</code> gets the change of load
+	 * from one day to the next rather than the load of each day.
+	 */
+	void addLoadForResource(Resource res, int[] deltas, int minDay, int maxDay) {
+		final Integer percentage = resources2.get(res);
+		if (percentage == null) {
+			return;
+		}
+		final int last = ((InstantDay) getEnd()).getNumDay();
+		int day = ((InstantDay) getStart()).getNumDay();
+		while (day <= last) {
+			final Instant instant = new InstantDay(day);
+			final int run = Math.min(res.getRunAfter(instant), last - day + 1);
+			final int from = Math.max(day, minDay);
+			final int to = Math.min(day + run - 1, maxDay);
+			if (from <= to && res.isClosedAt(instant) == false) {
+				deltas[from - minDay] += percentage;
+				deltas[to - minDay + 1] -= percentage;
 			}
-			// int size = 0;
-			return resources2.get(res);
-			// for (Resource r : resources) {
-			// if (r.getLoadAt(i) > 0) {
-			// size++;
-			// }
-			// }
-			// return getLoadAt(instant) / size;
+			day += run;
 		}
-		return 0;
 	}
 
 	private LoadPlanable getRessourcePlan() {
@@ -103,6 +147,22 @@ public class TaskImpl implements Task, LoadPlanable {
 				}
 				return result;
 			}
+
+			public int getRunAfter(Instant instant) {
+				int result = Integer.MAX_VALUE;
+				for (Resource res : resources2.keySet()) {
+					result = Math.min(result, res.getRunAfter(instant));
+				}
+				return result;
+			}
+
+			public int getRunBefore(Instant instant) {
+				int result = Integer.MAX_VALUE;
+				for (Resource res : resources2.keySet()) {
+					result = Math.min(result, res.getRunBefore(instant));
+				}
+				return result;
+			}
 		};
 	}
 
@@ -142,14 +202,25 @@ public class TaskImpl implements Task, LoadPlanable {
 	}
 
 	public Instant getStart() {
+		if (solvedStart != null) {
+			return solvedStart;
+		}
 		Instant result = (Instant) solver.getData(TaskAttribute.START);
 		while (getLoadAt(result) == 0) {
-			result = result.increment();
+			final int run = getRunAfter(result);
+			if (run == Integer.MAX_VALUE) {
+				// Nothing will ever be done
+				throw new IllegalStateException();
+			}
+			result = result.increment(run);
 		}
 		return result;
 	}
 
 	public Instant getEnd() {
+		if (solvedEnd != null) {
+			return solvedEnd;
+		}
 		return (Instant) solver.getData(TaskAttribute.END);
 	}
 
@@ -158,14 +229,17 @@ public class TaskImpl implements Task, LoadPlanable {
 	}
 
 	public void setLoad(Load load) {
+		clearSolved();
 		solver.setData(TaskAttribute.LOAD, load);
 	}
 
 	public void setStart(Instant start) {
+		clearSolved();
 		solver.setData(TaskAttribute.START, start);
 	}
 
 	public void setEnd(Instant end) {
+		clearSolved();
 		solver.setData(TaskAttribute.END, end);
 	}
 
@@ -187,6 +261,8 @@ public class TaskImpl implements Task, LoadPlanable {
 
 	public void addResource(Resource resource, int percentage) {
 		this.resources2.put(resource, percentage);
+		this.plan = null;
+		clearSolved();
 	}
 
 	public void setDiamond(boolean diamond) {
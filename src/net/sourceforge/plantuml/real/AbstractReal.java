@@ -39,6 +39,7 @@
  */
 package net.sourceforge.plantuml.real;
 
+import java.util.Set;
 
 abstract class AbstractReal implements Real {
 
@@ -55,6 +56,11 @@ abstract class AbstractReal implements Real {
 
 	abstract double getCurrentValueInternal();
 
+	/**
+	 * Adds the points whose moves may change the value of this real.
+	 */
+	abstract void addDependencies(Set<RealImpl> result);
+
 	final public double getCurrentValue() {
 		final double result = getCurrentValueInternal();
 		line.register(result);
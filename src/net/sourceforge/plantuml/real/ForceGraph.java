@@ -0,0 +1,167 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.real;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies the forces of a {@link RealLine} with a worklist instead of sweeping all of them until nothing changes.
+ *
+ * Points only ever move forward, so a force has to be checked again only when a point its fixed point depends on has
+ * moved. Forces are indexed once by the {@link RealImpl} they depend on, and a queue holds the forces to check. The
+ * result is the one of the sweep: the smallest positions that satisfy every force.
+ *
+ * This does not hold when a force moves several points at once, as the middle of two points does: the positions then
+ * depend on the order the forces are applied, and the line keeps sweeping.
+ */
+final class ForceGraph {
+
+	private final List<PositiveForce> forces;
+	private final RealImpl[] moved;
+	private final Map<RealImpl, List<Integer>> dependents = new HashMap<RealImpl, List<Integer>>();
+	private boolean supported = true;
+
+	private long checks;
+	private long relaxations;
+
+	ForceGraph(List<PositiveForce> forces) {
+		this.forces = forces;
+		this.moved = new RealImpl[forces.size()];
+		for (int i = 0; i < forces.size(); i++) {
+			final PositiveForce force = forces.get(i);
+			final Set<RealImpl> movedPoints = new HashSet<RealImpl>();
+			addDependencies(force.getMovingPoint(), movedPoints);
+			if (movedPoints.size() != 1) {
+				supported = false;
+				return;
+			}
+			moved[i] = movedPoints.iterator().next();
+			final Set<RealImpl> fixedPoints = new HashSet<RealImpl>();
+			addDependencies(force.getFixedPoint(), fixedPoints);
+			for (RealImpl point : fixedPoints) {
+				List<Integer> list = dependents.get(point);
+				if (list == null) {
+					list = new ArrayList<Integer>();
+					dependents.put(point, list);
+				}
+				list.add(i);
+			}
+		}
+	}
+
+	static void addDependencies(Real real, Set<RealImpl> result) {
+		// The absolute min and max of the line do not change while forces are applied
+		if (real instanceof AbstractReal) {
+			((AbstractReal) real).addDependencies(result);
+		}
+	}
+
+	boolean isSupported() {
+		return supported;
+	}
+
+	void solve() {
+		final int size = forces.size();
+		// Without a cycle that always pushes forward, a force cannot be applied more than once per round of the sweep,
+		// and the sweep needs at most one round per force
+		final int maxRelaxations = 2 * size + 2;
+		final int[] queue = new int[size];
+		final boolean[] queued = new boolean[size];
+		final int[] counter = new int[size];
+		int head = 0;
+		int nb = size;
+		for (int i = 0; i < size; i++) {
+			queue[i] = i;
+			queued[i] = true;
+		}
+		while (nb > 0) {
+			final int i = queue[head];
+			head = (head + 1) % size;
+			nb--;
+			queued[i] = false;
+			checks++;
+			if (forces.get(i).apply() == false) {
+				continue;
+			}
+			relaxations++;
+			counter[i]++;
+			if (counter[i] > maxRelaxations) {
+				printCounter(counter);
+				throw new IllegalStateException("Inifinite Loop?");
+			}
+			final List<Integer> list = dependents.get(moved[i]);
+			if (list == null) {
+				continue;
+			}
+			for (Integer j : list) {
+				if (queued[j] == false) {
+					queue[(head + nb) % size] = j;
+					nb++;
+					queued[j] = true;
+				}
+			}
+		}
+	}
+
+	private void printCounter(int[] counter) {
+		for (PositiveForce f : forces) {
+			System.err.println("force=" + f);
+		}
+		for (int i = 0; i < counter.length; i++) {
+			if (counter[i] > 0) {
+				System.err.println("count=" + counter[i] + " for " + forces.get(i));
+			}
+		}
+	}
+
+	long getChecks() {
+		return checks;
+	}
+
+	long getRelaxations() {
+		return relaxations;
+	}
+
+}
@@ -63,6 +63,14 @@ class PositiveForce {
 		return "PositiveForce fixed=" + fixedPoint + " moving=" + movingPoint + " min=" + minimunDistance;
 	}
 
+	Real getFixedPoint() {
+		return fixedPoint;
+	}
+
+	RealMoveable getMovingPoint() {
+		return movingPoint;
+	}
+
 	public boolean apply() {
 		if (trace) {
 			System.err.println("apply " + this);
@@ -39,6 +39,8 @@
  */
 package net.sourceforge.plantuml.real;
 
+import java.util.Set;
+
 class RealDelta extends RealMoveable {
 
 	private final Real delegated;
@@ -55,6 +57,11 @@ class RealDelta extends RealMoveable {
 		return delegated.getCurrentValue() + diff;
 	}
 
+	@Override
+	void addDependencies(Set<RealImpl> result) {
+		ForceGraph.addDependencies(delegated, result);
+	}
+
 	public Real addAtLeast(double delta) {
 		return new RealDelta(delegated.addAtLeast(delta), diff);
 	}
@@ -39,6 +39,8 @@
  */
 package net.sourceforge.plantuml.real;
 
+import java.util.Set;
+
 class RealImpl extends RealMoveable implements RealOrigin {
 
 	private double currentValue;
@@ -57,6 +59,11 @@ class RealImpl extends RealMoveable implements RealOrigin {
 		return currentValue;
 	}
 
+	@Override
+	void addDependencies(Set<RealImpl> result) {
+		result.add(this);
+	}
+
 	public Real addAtLeast(double delta) {
 		final RealImpl result = new RealImpl(getName() + ".addAtLeast" + delta, getLine(), this.currentValue + delta);
 		getLine().addForce(new PositiveForce(this, result, delta));
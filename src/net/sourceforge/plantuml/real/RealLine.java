@@ -45,6 +45,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.sourceforge.plantuml.Log;
 
 class RealLine {
 
@@ -76,39 +79,62 @@ class RealLine {
 		this.forces.add(force);
 	}
 
-	static private int CPT;
+	private static final AtomicLong nbCompiled = new AtomicLong();
+	private static final AtomicLong nbSwept = new AtomicLong();
+	private static final AtomicLong nbChecks = new AtomicLong();
+	private static final AtomicLong nbRelaxations = new AtomicLong();
 
 	public void compile() {
+		final ForceGraph graph = new ForceGraph(forces);
+		nbCompiled.incrementAndGet();
+		if (graph.isSupported()) {
+			graph.solve();
+			nbChecks.addAndGet(graph.getChecks());
+			nbRelaxations.addAndGet(graph.getRelaxations());
+			Log.info("Forces " + forces.size() + ", checks " + graph.getChecks() + ", relaxations "
+					+ graph.getRelaxations());
+		} else {
+			nbSwept.incrementAndGet();
+			sweep();
+		}
+		min = 0;
+		max = 0;
+		for (AbstractReal real : all) {
+			final double v = real.getCurrentValue();
+			// System.err.println("RealLine::compile v=" + v);
+			if (v > max) {
+				max = v;
+			}
+			if (v < min) {
+				min = v;
+			}
+		}
+		// System.err.println("RealLine::compile min=" + min + " max=" + max);
+	}
+
+	private void sweep() {
 		int cpt = 0;
+		long checks = 0;
+		long relaxations = 0;
 		final Map<PositiveForce, Integer> counter = new HashMap<PositiveForce, Integer>();
 		do {
 			boolean done = true;
 			for (PositiveForce f : forces) {
 				// System.err.println("force=" + f);
 				final boolean change = f.apply();
+				checks++;
 				if (change) {
+					relaxations++;
 					incCounter(counter, f);
 					// System.err.println("changed! " + f);
 					done = false;
 				}
 			}
 			if (done) {
-				// System.err.println("cpt=" + cpt + " size=" + forces.size());
-				CPT += cpt;
-				// System.err.println("CPT=" + CPT);
-				min = 0;
-				max = 0;
-				for (AbstractReal real : all) {
-					final double v = real.getCurrentValue();
-					// System.err.println("RealLine::compile v=" + v);
-					if (v > max) {
-						max = v;
-					}
-					if (v < min) {
-						min = v;
-					}
-				}
-				// System.err.println("RealLine::compile min=" + min + " max=" + max);
+				nbChecks.addAndGet(checks);
+				nbRelaxations.addAndGet(relaxations);
+				Log.info("Forces " + forces.size() + ", sweeps " + (cpt + 1) + ", checks " + checks + ", relaxations "
+						+ relaxations);
 				return;
 			}
 			cpt++;
@@ -120,6 +146,22 @@ class RealLine {
 
 	}
 
+	static long getNbCompiled() {
+		return nbCompiled.get();
+	}
+
+	static long getNbSwept() {
+		return nbSwept.get();
+	}
+
+	static long getNbChecks() {
+		return nbChecks.get();
+	}
+
+	static long getNbRelaxations() {
+		return nbRelaxations.get();
+	}
+
 	private void printCounter(Map<PositiveForce, Integer> counter) {
 		for (PositiveForce f : forces) {
 			System.err.println("force=" + f);
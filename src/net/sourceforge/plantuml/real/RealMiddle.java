@@ -39,6 +39,8 @@
  */
 package net.sourceforge.plantuml.real;
 
+import java.util.Set;
+
 class RealMiddle extends AbstractReal implements Real {
 
 	private final RealMoveable p1;
@@ -61,6 +63,12 @@ class RealMiddle extends AbstractReal implements Real {
 		return (p1.getCurrentValue() + p2.getCurrentValue()) / 2 + delta;
 	}
 
+	@Override
+	void addDependencies(Set<RealImpl> result) {
+		p1.addDependencies(result);
+		p2.addDependencies(result);
+	}
+
 	public Real addFixed(double diff) {
 		return new RealMiddle(p1, p2, delta + diff);
 	}
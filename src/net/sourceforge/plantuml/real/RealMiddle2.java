@@ -39,6 +39,8 @@
  */
 package net.sourceforge.plantuml.real;
 
+import java.util.Set;
+
 class RealMiddle2 extends RealMoveable {
 
 	private final RealMoveable p1;
@@ -56,6 +58,12 @@ class RealMiddle2 extends RealMoveable {
 		return (p1.getCurrentValue() + p2.getCurrentValue()) / 2;
 	}
 
+	@Override
+	void addDependencies(Set<RealImpl> result) {
+		p1.addDependencies(result);
+		p2.addDependencies(result);
+	}
+
 	// public Real addFixed(double diff) {
 	// return new RealMiddle2(p1, p2, delta + diff);
 	// }
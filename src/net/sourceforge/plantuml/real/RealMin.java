@@ -42,6 +42,7 @@ package net.sourceforge.plantuml.real;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 class RealMin extends AbstractReal implements Real {
 
@@ -68,6 +69,13 @@ class RealMin extends AbstractReal implements Real {
 		return result;
 	}
 
+	@Override
+	void addDependencies(Set<RealImpl> result) {
+		for (Real r : all) {
+			ForceGraph.addDependencies(r, result);
+		}
+	}
+
 	public Real addFixed(double delta) {
 		return new RealDelta(this, delta);
 	}
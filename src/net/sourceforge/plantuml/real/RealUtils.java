@@ -69,4 +69,32 @@ public class RealUtils {
 	public static Real min(Collection<Real> reals) {
 		return new RealMin(reals);
 	}
+
+	/**
+	 * @return the number of lines of reals solved so far.
+	 */
+	public static long getNbCompiled() {
+		return RealLine.getNbCompiled();
+	}
+
+	/**
+	 * @return the number of lines of reals solved by sweeping all the forces, because of middle points.
+	 */
+	public static long getNbSwept() {
+		return RealLine.getNbSwept();
+	}
+
+	/**
+	 * @return the number of times a force has been checked while solving.
+	 */
+	public static long getNbChecks() {
+		return RealLine.getNbChecks();
+	}
+
+	/**
+	 * @return the number of times a force has moved a point while solving.
+	 */
+	public static long getNbRelaxations() {
+		return RealLine.getNbRelaxations();
+	}
 }
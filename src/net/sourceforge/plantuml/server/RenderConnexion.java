@@ -0,0 +1,402 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.server;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import net.sourceforge.plantuml.FileFormat;
+import net.sourceforge.plantuml.FileFormatOption;
+import net.sourceforge.plantuml.Log;
+import net.sourceforge.plantuml.OptionFlags;
+import net.sourceforge.plantuml.StringUtils;
+import net.sourceforge.plantuml.json.Json;
+import net.sourceforge.plantuml.json.JsonObject;
+import net.sourceforge.plantuml.json.JsonValue;
+import net.sourceforge.plantuml.json.ParseException;
+import net.sourceforge.plantuml.stats.StatsUtils;
+
+class RenderConnexion implements Runnable {
+
+	private static final int MAX_LINE = 8 * 1024;
+	private static final int MAX_BODY = 16 * 1024 * 1024;
+
+	private final Socket incoming;
+	private final RenderServer server;
+
+	private String method;
+	private String path;
+	private int contentLength = -1;
+
+	RenderConnexion(Socket incoming, RenderServer server) {
+		this.incoming = incoming;
+		this.server = server;
+	}
+
+	public void run() {
+		try {
+			final InputStream is = new BufferedInputStream(incoming.getInputStream());
+			final OutputStream os = incoming.getOutputStream();
+			try {
+				if (readHeader(is) == false) {
+					sendText(os, 400, "Bad Request");
+				} else {
+					manage(is, os);
+				}
+			} finally {
+				os.flush();
+				incoming.close();
+			}
+		} catch (IOException e) {
+			Log.error("Render server connexion error " + e);
+		}
+	}
+
+	private void manage(InputStream is, OutputStream os) throws IOException {
+		if ("GET".equals(method) && "/health".equals(path)) {
+			sendText(os, 200, "OK");
+			return;
+		}
+		if ("GET".equals(method) && "/stats".equals(path)) {
+			send(os, 200, "application/json", server.getStatsAsJson().getBytes("UTF-8"), null);
+			return;
+		}
+		if ("GET".equals(method) && "/metrics".equals(path)) {
+			if (OptionFlags.getInstance().isEnableStats() == false) {
+				sendText(os, 404, "Statistics are not enabled");
+				return;
+			}
+			send(os, 200, "text/plain; version=0.0.4", StatsUtils.getPrometheusText().getBytes("UTF-8"), null);
+			return;
+		}
+		if (path.equals("/render") == false && path.startsWith("/render/") == false) {
+			sendText(os, 404, "Not Found");
+			return;
+		}
+		if ("POST".equals(method) == false) {
+			sendText(os, 405, "Method Not Allowed");
+			return;
+		}
+		if (contentLength < 0) {
+			sendText(os, 411, "Length Required");
+			return;
+		}
+		if (contentLength > MAX_BODY) {
+			sendText(os, 413, "Payload Too Large");
+			return;
+		}
+		final String body = readBody(is);
+		if (body == null) {
+			sendText(os, 400, "Bad Request");
+			return;
+		}
+		if (path.equals("/render")) {
+			manageJson(os, body);
+		} else {
+			manageRaw(os, path.substring("/render/".length()), body);
+		}
+	}
+
+	private void manageRaw(OutputStream os, String format, String source) throws IOException {
+		final FileFormat fileFormat = getFileFormat(format);
+		if (fileFormat == null) {
+			sendText(os, 400, "Unknown format " + format);
+			return;
+		}
+		final RenderResult result = render(os, new RenderJob(source, new FileFormatOption(fileFormat), 0,
+				server.getConfig()));
+		if (result == null) {
+			return;
+		}
+		final StringBuilder headers = new StringBuilder();
+		headers.append("X-PlantUML-Description: " + oneLine(result.getDescription()) + "\r\n");
+		headers.append("X-PlantUML-Width: " + result.getWidth() + "\r\n");
+		headers.append("X-PlantUML-Height: " + result.getHeight() + "\r\n");
+		if (result.isError()) {
+			headers.append("X-PlantUML-Diagram-Error: true\r\n");
+		}
+		send(os, 200, getContentType(fileFormat), result.getData(), headers.toString());
+	}
+
+	private void manageJson(OutputStream os, String body) throws IOException {
+		final JsonObject request;
+		try {
+			final JsonValue value = Json.parse(body);
+			if (value.isObject() == false) {
+				sendText(os, 400, "JSON object expected");
+				return;
+			}
+			request = value.asObject();
+		} catch (ParseException e) {
+			sendText(os, 400, "Invalid JSON: " + e.getMessage());
+			return;
+		}
+		final String source = request.getString("source", null);
+		if (source == null) {
+			sendText(os, 400, "Missing source");
+			return;
+		}
+		final FileFormat fileFormat = getFileFormat(request.getString("format", "png"));
+		if (fileFormat == null) {
+			sendText(os, 400, "Unknown format");
+			return;
+		}
+		final int index = request.getInt("index", 0);
+		if (index < 0) {
+			sendText(os, 400, "Invalid index " + index);
+			return;
+		}
+		final RenderResult result = render(os, new RenderJob(source, new FileFormatOption(fileFormat), index,
+				server.getConfig()));
+		if (result == null) {
+			return;
+		}
+		send(os, 200, "application/json", result.toJson().getBytes("UTF-8"), null);
+	}
+
+	private RenderResult render(OutputStream os, RenderJob job) throws IOException {
+		final Future<RenderResult> future;
+		try {
+			future = server.submit(job);
+		} catch (RejectedExecutionException e) {
+			sendText(os, 503, "Server busy");
+			return null;
+		}
+		try {
+			final RenderResult result = future.get(server.getTimeoutMs(), TimeUnit.MILLISECONDS);
+			if (result == null) {
+				sendText(os, 404, "No such image");
+			}
+			return result;
+		} catch (TimeoutException e) {
+			server.abandon(future);
+			server.onTimeout();
+			sendText(os, 504, "Timeout");
+		} catch (ExecutionException e) {
+			server.onError();
+			Log.error("Render server error " + e.getCause());
+			sendText(os, 500, "Internal Server Error: " + e.getCause());
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			sendText(os, 503, "Service Unavailable");
+		}
+		return null;
+	}
+
+	static FileFormat getFileFormat(String name) {
+		final String upper = StringUtils.goUpperCase(name);
+		if (upper.equals("TXT")) {
+			return FileFormat.ATXT;
+		}
+		for (FileFormat f : FileFormat.values()) {
+			if (f.name().equals(upper)) {
+				return f;
+			}
+		}
+		return null;
+	}
+
+	static String getContentType(FileFormat fileFormat) {
+		switch (fileFormat) {
+		case PNG:
+		case BRAILLE_PNG:
+			return "image/png";
+		case SVG:
+			return "image/svg+xml";
+		case EPS:
+		case EPS_TEXT:
+			return "application/postscript";
+		case PDF:
+			return "application/pdf";
+		case ANIMATED_GIF:
+			return "image/gif";
+		case HTML:
+		case HTML5:
+			return "text/html; charset=UTF-8";
+		case ATXT:
+		case UTXT:
+		case LATEX:
+		case LATEX_NO_PREAMBLE:
+		case BASE64:
+			return "text/plain; charset=UTF-8";
+		case XMI_STANDARD:
+		case XMI_STAR:
+		case XMI_ARGO:
+		case SCXML:
+		case VDX:
+			return "application/xml";
+		default:
+			return "application/octet-stream";
+		}
+	}
+
+	private static String oneLine(String s) {
+		return s.replace('\r', ' ').replace('\n', ' ');
+	}
+
+	private boolean readHeader(InputStream is) throws IOException {
+		final String requestLine = readLine(is);
+		if (requestLine == null) {
+			return false;
+		}
+		final String[] parts = requestLine.split(" ");
+		if (parts.length < 2) {
+			return false;
+		}
+		this.method = StringUtils.goUpperCase(parts[0]);
+		final int x = parts[1].indexOf('?');
+		this.path = x == -1 ? parts[1] : parts[1].substring(0, x);
+		while (true) {
+			final String s = readLine(is);
+			if (s == null) {
+				return false;
+			}
+			if (s.length() == 0) {
+				return true;
+			}
+			final int colon = s.indexOf(':');
+			if (colon != -1 && s.substring(0, colon).trim().equalsIgnoreCase("Content-Length")) {
+				try {
+					this.contentLength = Integer.parseInt(s.substring(colon + 1).trim());
+				} catch (NumberFormatException e) {
+					return false;
+				}
+			}
+		}
+	}
+
+	private String readBody(InputStream is) throws IOException {
+		final byte[] data = new byte[contentLength];
+		int pos = 0;
+		while (pos < contentLength) {
+			final int read = is.read(data, pos, contentLength - pos);
+			if (read == -1) {
+				return null;
+			}
+			pos += read;
+		}
+		return new String(data, "UTF-8");
+	}
+
+	private static String readLine(InputStream is) throws IOException {
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		while (true) {
+			final int read = is.read();
+			if (read == -1) {
+				return null;
+			}
+			if (read == '\n') {
+				break;
+			}
+			if (read != '\r') {
+				baos.write(read);
+			}
+			if (baos.size() > MAX_LINE) {
+				return null;
+			}
+		}
+		return new String(baos.toByteArray(), "ISO-8859-1");
+	}
+
+	private static void sendText(OutputStream os, int code, String message) throws IOException {
+		send(os, code, "text/plain; charset=UTF-8", message.getBytes("UTF-8"), null);
+	}
+
+	private static void send(OutputStream os, int code, String contentType, byte[] data, String extraHeaders)
+			throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("HTTP/1.1 " + code + " " + getReason(code) + "\r\n");
+		sb.append("Content-Type: " + contentType + "\r\n");
+		sb.append("Content-Length: " + data.length + "\r\n");
+		sb.append("Connection: close\r\n");
+		if (extraHeaders != null) {
+			sb.append(extraHeaders);
+		}
+		sb.append("\r\n");
+		os.write(sb.toString().getBytes("UTF-8"));
+		os.write(data);
+	}
+
+	static void sendBusy(Socket socket) {
+		try {
+			final OutputStream os = socket.getOutputStream();
+			sendText(os, 503, "Server busy");
+			os.flush();
+			socket.close();
+		} catch (IOException e) {
+			Log.error("Render server cannot reject connexion " + e);
+		}
+	}
+
+	private static String getReason(int code) {
+		switch (code) {
+		case 200:
+			return "OK";
+		case 400:
+			return "Bad Request";
+		case 404:
+			return "Not Found";
+		case 405:
+			return "Method Not Allowed";
+		case 411:
+			return "Length Required";
+		case 413:
+			return "Payload Too Large";
+		case 500:
+			return "Internal Server Error";
+		case 503:
+			return "Service Unavailable";
+		case 504:
+			return "Gateway Timeout";
+		default:
+			return "Unknown";
+		}
+	}
+
+}
@@ -0,0 +1,88 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import net.sourceforge.plantuml.BlockUml;
+import net.sourceforge.plantuml.FileFormatOption;
+import net.sourceforge.plantuml.SourceStringReader;
+import net.sourceforge.plantuml.core.Diagram;
+import net.sourceforge.plantuml.core.ImageData;
+import net.sourceforge.plantuml.preproc.Defines;
+
+class RenderJob implements Callable<RenderResult> {
+
+	private final String source;
+	private final FileFormatOption fileFormatOption;
+	private final int numImage;
+	private final List<String> config;
+
+	RenderJob(String source, FileFormatOption fileFormatOption, int numImage, List<String> config) {
+		this.source = source.startsWith("@start") ? source : "@startuml\n" + source + "\n@enduml";
+		this.fileFormatOption = fileFormatOption;
+		this.numImage = numImage;
+		this.config = config;
+	}
+
+	public RenderResult call() throws IOException {
+		final SourceStringReader reader = new SourceStringReader(Defines.createEmpty(), source, "UTF-8", config);
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		if (reader.getBlocks().size() == 0) {
+			reader.outputImage(baos, 0, fileFormatOption);
+			return RenderResult.noDiagram(baos.toByteArray(), fileFormatOption.getFileFormat());
+		}
+		int num = numImage;
+		for (BlockUml b : reader.getBlocks()) {
+			final Diagram system = b.getDiagram();
+			final int nbInSystem = system.getNbImages();
+			if (num < nbInSystem) {
+				final ImageData imageData = system.exportDiagram(baos, num, fileFormatOption);
+				return new RenderResult(baos.toByteArray(), fileFormatOption.getFileFormat(), system, imageData);
+			}
+			num -= nbInSystem;
+		}
+		return null;
+	}
+
+}
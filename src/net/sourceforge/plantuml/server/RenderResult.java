@@ -0,0 +1,132 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.server;
+
+import net.sourceforge.plantuml.FileFormat;
+import net.sourceforge.plantuml.code.Base64Coder;
+import net.sourceforge.plantuml.core.Diagram;
+import net.sourceforge.plantuml.core.ImageData;
+import net.sourceforge.plantuml.error.PSystemError;
+import net.sourceforge.plantuml.json.Json;
+import net.sourceforge.plantuml.json.JsonObject;
+
+class RenderResult {
+
+	private final byte[] data;
+	private final FileFormat fileFormat;
+	private final String description;
+	private final boolean error;
+	private final int width;
+	private final int height;
+	private final String cmap;
+	private final String warningOrError;
+
+	RenderResult(byte[] data, FileFormat fileFormat, Diagram system, ImageData imageData) {
+		this.data = data;
+		this.fileFormat = fileFormat;
+		this.description = system.getDescription().getDescription();
+		this.error = system instanceof PSystemError;
+		this.width = imageData == null ? 0 : imageData.getWidth();
+		this.height = imageData == null ? 0 : imageData.getHeight();
+		this.cmap = imageData != null && imageData.containsCMapData() ? imageData.getCMapData("plantuml") : null;
+		this.warningOrError = system.getWarningOrError();
+	}
+
+	private RenderResult(byte[] data, FileFormat fileFormat) {
+		this.data = data;
+		this.fileFormat = fileFormat;
+		this.description = "No @startuml found";
+		this.error = true;
+		this.width = 0;
+		this.height = 0;
+		this.cmap = null;
+		this.warningOrError = description;
+	}
+
+	static RenderResult noDiagram(byte[] data, FileFormat fileFormat) {
+		return new RenderResult(data, fileFormat);
+	}
+
+	public final byte[] getData() {
+		return data;
+	}
+
+	public final FileFormat getFileFormat() {
+		return fileFormat;
+	}
+
+	public final String getDescription() {
+		return description;
+	}
+
+	public final boolean isError() {
+		return error;
+	}
+
+	public final int getWidth() {
+		return width;
+	}
+
+	public final int getHeight() {
+		return height;
+	}
+
+	public final String getCMapData() {
+		return cmap;
+	}
+
+	public String toJson() {
+		final JsonObject result = Json.object();
+		result.add("status", error ? "error" : "ok");
+		result.add("format", fileFormat.name());
+		result.add("description", description);
+		result.add("width", width);
+		result.add("height", height);
+		if (warningOrError != null) {
+			result.add("warning", warningOrError);
+		}
+		if (cmap != null) {
+			result.add("cmap", cmap);
+		}
+		result.add("data", new String(Base64Coder.encode(data)));
+		return result.toString();
+	}
+
+}
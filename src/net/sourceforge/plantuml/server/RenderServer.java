@@ -0,0 +1,216 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.sourceforge.plantuml.Log;
+import net.sourceforge.plantuml.json.Json;
+import net.sourceforge.plantuml.json.JsonObject;
+
+/**
+ * Long-lived HTTP render server.
+ *
+ * The JVM stays warm between requests, so class loading, regex compilation and font initialization are only paid
+ * once. Connections are served by a bounded pool: when all workers are busy and the waiting queue is full, the
+ * client immediately receives a <code>503</code> instead of piling up.
+ *
+ * Rendering does not check for interruption, so a render that times out may keep its thread. Such a thread is
+ * abandoned and replaced by a new one, up to <code>nbThreads</code> abandoned threads. Beyond that, renders are
+ * refused with a <code>503</code> until the stuck ones finish.
+ *
+ * <pre>
+ * GET  /health          returns "OK"
+ * GET  /stats           returns counters as JSON
+ * GET  /metrics         returns usage statistics for Prometheus (needs -enablestats)
+ * POST /render          JSON {"source":..., "format":"svg", "index":0} returns JSON with base64 data and cmap
+ * POST /render/{format} raw diagram source returns the image bytes
+ * </pre>
+ */
+public class RenderServer {
+
+	private static final int SOCKET_TIMEOUT_MS = 30 * 1000;
+
+	private final int listenPort;
+	private final int nbThreads;
+	private final long timeoutMs;
+	private final List<String> config;
+
+	private final ThreadPoolExecutor exeConnexion;
+	private final RenderExecutor exeRender;
+
+	private final AtomicLong nbRequests = new AtomicLong();
+	private final AtomicLong nbRejected = new AtomicLong();
+	private final AtomicLong nbTimeout = new AtomicLong();
+	private final AtomicLong nbErrors = new AtomicLong();
+
+	public RenderServer(int listenPort, int nbThreads, int queueSize, long timeoutMs, List<String> config) {
+		if (nbThreads < 1 || queueSize < 0) {
+			throw new IllegalArgumentException();
+		}
+		this.listenPort = listenPort;
+		this.nbThreads = nbThreads;
+		this.timeoutMs = timeoutMs;
+		this.config = Collections.unmodifiableList(new ArrayList<String>(config));
+		final BlockingQueue<Runnable> queue;
+		if (queueSize == 0) {
+			queue = new SynchronousQueue<Runnable>();
+		} else {
+			queue = new ArrayBlockingQueue<Runnable>(queueSize);
+		}
+		this.exeConnexion = new ThreadPoolExecutor(nbThreads, nbThreads, 0L, TimeUnit.MILLISECONDS, queue);
+		this.exeRender = new RenderExecutor(nbThreads);
+	}
+
+	public void go() throws IOException {
+		final ServerSocket s = new ServerSocket(listenPort, 50, InetAddress.getByName("127.0.0.1"));
+		Log.info("Render server listening on port " + s.getLocalPort() + " with " + nbThreads + " threads");
+		while (true) {
+			final Socket incoming = s.accept();
+			nbRequests.incrementAndGet();
+			try {
+				incoming.setSoTimeout(SOCKET_TIMEOUT_MS);
+				exeConnexion.execute(new RenderConnexion(incoming, this));
+			} catch (RejectedExecutionException e) {
+				nbRejected.incrementAndGet();
+				RenderConnexion.sendBusy(incoming);
+			}
+		}
+	}
+
+	final Future<RenderResult> submit(RenderJob job) {
+		return exeRender.submit(job);
+	}
+
+	final void abandon(Future<RenderResult> future) {
+		future.cancel(true);
+		if (exeRender.abandon(future)) {
+			Log.error("Render server: a render is still running after timeout, its thread is replaced");
+		}
+	}
+
+	final long getTimeoutMs() {
+		return timeoutMs;
+	}
+
+	final List<String> getConfig() {
+		return config;
+	}
+
+	final void onTimeout() {
+		nbTimeout.incrementAndGet();
+	}
+
+	final void onError() {
+		nbErrors.incrementAndGet();
+	}
+
+	final String getStatsAsJson() {
+		final JsonObject result = Json.object();
+		result.add("requests", nbRequests.get());
+		result.add("rejected", nbRejected.get());
+		result.add("timeout", nbTimeout.get());
+		result.add("errors", nbErrors.get());
+		result.add("active", exeConnexion.getActiveCount());
+		result.add("queued", exeConnexion.getQueue().size());
+		result.add("threads", nbThreads);
+		result.add("stuck", exeRender.getNbAbandoned());
+		return result.toString();
+	}
+
+	/**
+	 * Runs renders without any waiting queue, and keeps track of the renders still running after their timeout.
+	 */
+	static class RenderExecutor extends ThreadPoolExecutor {
+
+		private final int nbThreads;
+		private final Set<Runnable> running = new HashSet<Runnable>();
+		private final Set<Runnable> abandoned = new HashSet<Runnable>();
+
+		RenderExecutor(int nbThreads) {
+			super(nbThreads, nbThreads, 60L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>());
+			this.nbThreads = nbThreads;
+		}
+
+		@Override
+		protected synchronized void beforeExecute(Thread t, Runnable r) {
+			running.add(r);
+		}
+
+		@Override
+		protected synchronized void afterExecute(Runnable r, Throwable t) {
+			running.remove(r);
+			if (abandoned.remove(r)) {
+				setMaximumPoolSize(nbThreads + abandoned.size());
+			}
+		}
+
+		synchronized boolean abandon(Future<?> future) {
+			if (running.contains(future) == false || abandoned.size() >= nbThreads) {
+				return false;
+			}
+			abandoned.add((Runnable) future);
+			setMaximumPoolSize(nbThreads + abandoned.size());
+			return true;
+		}
+
+		synchronized int getNbAbandoned() {
+			return abandoned.size();
+		}
+
+	}
+
+}
@@ -70,6 +70,8 @@ public class CreoleConverter {
 		result.add(" ");
 		printTableCreole(result, stats.getCurrentSessionByFormat());
 		result.add(" ");
+		printTableCreole(result, stats.getCurrentSessionByStage());
+		result.add(" ");
 		result.add("<b><size:16>General statistics since ever</b>");
 		printTableCreole(result, stats.getAllByDiagramType());
 		result.add(" ");
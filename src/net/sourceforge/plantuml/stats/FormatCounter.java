@@ -114,6 +114,10 @@ public class FormatCounter {
 		return key.substring(0, key.length() - ".saved".length());
 	}
 
+	NumberAnalyzed get(FileFormat fileFormat) {
+		return data.get(fileFormat);
+	}
+
 	public void save(Preferences prefs, FileFormat fileFormat) {
 		data.get(fileFormat).save(prefs);
 	}
@@ -76,6 +76,8 @@ public class HtmlConverter {
 			printTableHtml(result, currentSessionByDiagramType);
 			result.append("<p>");
 			printTableHtml(result, stats.getCurrentSessionByFormat());
+			result.append("<p>");
+			printTableHtml(result, stats.getCurrentSessionByStage());
 		}
 		result.append("<h2>General statistics since ever</h2>");
 		printTableHtml(result, stats.getAllByDiagramType());
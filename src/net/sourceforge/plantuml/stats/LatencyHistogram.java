@@ -0,0 +1,143 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.stats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Distribution of durations in microseconds.
+ *
+ * Like an HDR histogram, each power of two is split into {@link #SUB_BUCKETS} buckets of the same width, so a
+ * percentile is known with a relative error below 1/16 whatever the duration, with a fixed small footprint. Recording
+ * is lock free.
+ */
+final class LatencyHistogram {
+
+	private static final int SUB_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	private static final int SIZE = (64 - SUB_BITS) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(SIZE);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong sum = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	void record(long micros) {
+		if (micros < 0) {
+			micros = 0;
+		}
+		counts.incrementAndGet(index(micros));
+		count.incrementAndGet();
+		sum.addAndGet(micros);
+		while (true) {
+			final long current = max.get();
+			if (micros <= current || max.compareAndSet(current, micros)) {
+				return;
+			}
+		}
+	}
+
+	void add(LatencyHistogram other) {
+		for (int i = 0; i < SIZE; i++) {
+			final long n = other.counts.get(i);
+			if (n > 0) {
+				counts.addAndGet(i, n);
+			}
+		}
+		count.addAndGet(other.count.get());
+		sum.addAndGet(other.sum.get());
+		final long otherMax = other.max.get();
+		if (otherMax > max.get()) {
+			max.set(otherMax);
+		}
+	}
+
+	long getCount() {
+		return count.get();
+	}
+
+	long getSum() {
+		return sum.get();
+	}
+
+	long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * @return the highest value of the bucket holding the given percentile, never more than the max.
+	 */
+	long getPercentile(double percentile) {
+		final long total = count.get();
+		if (total == 0) {
+			return 0;
+		}
+		final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+		long seen = 0;
+		for (int i = 0; i < SIZE; i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(highestValue(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	static int index(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		final int exp = 63 - Long.numberOfLeadingZeros(value);
+		final int sub = (int) (value >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+		return (exp - SUB_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	static long highestValue(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		final int exp = index / SUB_BUCKETS + SUB_BITS - 1;
+		final int sub = index % SUB_BUCKETS;
+		final long width = 1L << (exp - SUB_BITS);
+		return ((SUB_BUCKETS + sub) * width) + width - 1;
+	}
+
+}
@@ -0,0 +1,150 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.stats;
+
+import java.util.List;
+
+import net.sourceforge.plantuml.real.RealUtils;
+import net.sourceforge.plantuml.stats.api.Stats;
+import net.sourceforge.plantuml.stats.api.StatsColumn;
+import net.sourceforge.plantuml.stats.api.StatsLine;
+import net.sourceforge.plantuml.stats.api.StatsTable;
+
+/**
+ * Prints the statistics of the current session in the Prometheus text exposition format.
+ */
+public class PrometheusConverter {
+
+	private final Stats stats;
+
+	public PrometheusConverter(Stats stats) {
+		this.stats = stats;
+	}
+
+	public String toPrometheus() {
+		final StringBuilder result = new StringBuilder();
+		final StatsTable byType = stats.getCurrentSessionByDiagramType();
+		final StatsTable byFormat = stats.getCurrentSessionByFormat();
+		printMetric(result, byType, "plantuml_parsed_total", "counter", "Diagrams parsed", StatsColumn.DIAGRAM_TYPE,
+				"type", StatsColumn.PARSED_COUNT, false);
+		printMetric(result, byType, "plantuml_parsed_mean_seconds", "gauge", "Mean parsing time",
+				StatsColumn.DIAGRAM_TYPE, "type", StatsColumn.PARSED_MEAN_TIME, true);
+		printMetric(result, byType, "plantuml_parsed_max_seconds", "gauge", "Max parsing time",
+				StatsColumn.DIAGRAM_TYPE, "type", StatsColumn.PARSED_MAX_TIME, true);
+		printMetric(result, byType, "plantuml_generated_total", "counter", "Diagrams generated",
+				StatsColumn.DIAGRAM_TYPE, "type", StatsColumn.GENERATED_COUNT, false);
+		printMetric(result, byType, "plantuml_generated_mean_seconds", "gauge", "Mean generation time",
+				StatsColumn.DIAGRAM_TYPE, "type", StatsColumn.GENERATED_MEAN_TIME, true);
+		printMetric(result, byType, "plantuml_generated_max_seconds", "gauge", "Max generation time",
+				StatsColumn.DIAGRAM_TYPE, "type", StatsColumn.GENERATED_MAX_TIME, true);
+		printMetric(result, byFormat, "plantuml_format_generated_total", "counter", "Images generated",
+				StatsColumn.FORMAT, "format", StatsColumn.GENERATED_COUNT, false);
+		printMetric(result, byFormat, "plantuml_format_generated_mean_seconds", "gauge", "Mean generation time",
+				StatsColumn.FORMAT, "format", StatsColumn.GENERATED_MEAN_TIME, true);
+		printMetric(result, byFormat, "plantuml_format_generated_max_seconds", "gauge", "Max generation time",
+				StatsColumn.FORMAT, "format", StatsColumn.GENERATED_MAX_TIME, true);
+		printStages(result, stats.getCurrentSessionByStage());
+		printCounter(result, "plantuml_teoz_constraints_solved_total", "Constraint lines solved for Teoz layouts",
+				RealUtils.getNbCompiled());
+		printCounter(result, "plantuml_teoz_constraints_swept_total",
+				"Constraint lines solved by sweeping all constraints", RealUtils.getNbSwept());
+		printCounter(result, "plantuml_teoz_constraint_checks_total", "Constraints checked", RealUtils.getNbChecks());
+		printCounter(result, "plantuml_teoz_constraint_relaxations_total", "Constraints that moved a position",
+				RealUtils.getNbRelaxations());
+		return result.toString();
+	}
+
+	private void printCounter(StringBuilder result, String name, String help, long value) {
+		result.append("# HELP " + name + " " + help + "\n");
+		result.append("# TYPE " + name + " counter\n");
+		result.append(name + " " + value + "\n");
+	}
+
+	private void printStages(StringBuilder result, StatsTable table) {
+		final String name = "plantuml_stage_seconds";
+		result.append("# HELP " + name + " Duration of each stage, by diagram type and format\n");
+		result.append("# TYPE " + name + " summary\n");
+		final List<StatsLine> lines = table.getLines();
+		// The last line is the total
+		for (int i = 0; i < lines.size() - 1; i++) {
+			final StatsLine line = lines.get(i);
+			final String labels = "stage=\"" + escape(line.getValue(StatsColumn.STAGE).toString()) + "\",type=\""
+					+ escape(line.getValue(StatsColumn.DIAGRAM_TYPE).toString()) + "\",format=\""
+					+ escape(line.getValue(StatsColumn.FORMAT).toString()) + "\"";
+			printValue(result, name + "{" + labels + ",quantile=\"0.5\"}", line.getValue(StatsColumn.STAGE_P50_TIME));
+			printValue(result, name + "{" + labels + ",quantile=\"0.99\"}", line.getValue(StatsColumn.STAGE_P99_TIME));
+			printValue(result, name + "{" + labels + ",quantile=\"1\"}", line.getValue(StatsColumn.STAGE_MAX_TIME));
+			printValue(result, name + "_sum{" + labels + "}", line.getValue(StatsColumn.STAGE_TOTAL_TIME));
+			result.append(name + "_count{" + labels + "} " + line.getValue(StatsColumn.STAGE_COUNT) + "\n");
+		}
+	}
+
+	private void printValue(StringBuilder result, String metric, Object micros) {
+		result.append(metric + " " + ((Number) micros).longValue() / 1000000.0 + "\n");
+	}
+
+	private void printMetric(StringBuilder result, StatsTable table, String name, String kind, String help,
+			StatsColumn labelColumn, String label, StatsColumn valueColumn, boolean millis) {
+		result.append("# HELP " + name + " " + help + "\n");
+		result.append("# TYPE " + name + " " + kind + "\n");
+		final List<StatsLine> lines = table.getLines();
+		// The last line is the total
+		for (int i = 0; i < lines.size() - 1; i++) {
+			final StatsLine line = lines.get(i);
+			final Object v = line.getValue(valueColumn);
+			if (v instanceof Number == false) {
+				continue;
+			}
+			result.append(name);
+			result.append("{" + label + "=\"" + escape(line.getValue(labelColumn).toString()) + "\"} ");
+			if (millis) {
+				result.append(((Number) v).longValue() / 1000.0);
+			} else {
+				result.append(((Number) v).longValue());
+			}
+			result.append("\n");
+		}
+	}
+
+	private static String escape(String s) {
+		return s.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+
+}
@@ -37,12 +37,22 @@
  *
  * Original Author:  Arnaud Roques
  */
-package net.sourceforge.plantuml.tim;
+package net.sourceforge.plantuml.stats;
 
-public interface Trie {
+/**
+ * Steps of the generation of a diagram, timed separately by {@link StageStats}.
+ */
+public enum Stage {
+	PREPROCESSING("Preprocessing"), PARSING("Parsing"), LAYOUT("Layout"), DRAWING("Drawing"), ENCODING("Encoding");
+
+	private final String title;
 
-	public void add(String s);
+	private Stage(String title) {
+		this.title = title;
+	}
 
-	public String getLonguestMatchStartingIn(String s);
+	public String getTitle() {
+		return title;
+	}
 
 }
@@ -0,0 +1,235 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.stats;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import net.sourceforge.plantuml.FileFormat;
+import net.sourceforge.plantuml.OptionFlags;
+import net.sourceforge.plantuml.core.Diagram;
+import net.sourceforge.plantuml.stats.api.StatsColumn;
+import net.sourceforge.plantuml.stats.api.StatsLine;
+import net.sourceforge.plantuml.stats.api.StatsTable;
+
+/**
+ * Latency histograms of each {@link Stage}, by diagram type and by format, for the current session.
+ *
+ * Layout and encoding are timed where they happen, deep inside the export of a diagram. They are charged to the
+ * export running in the same thread, started by {@link #startExport(Class, FileFormat)}. The drawing is what remains
+ * of the export once layout and encoding are removed.
+ */
+public final class StageStats {
+
+	private static final String NONE = "none";
+
+	private static final ConcurrentMap<Key, LatencyHistogram> histograms = new ConcurrentHashMap<Key, LatencyHistogram>();
+	private static final ThreadLocal<Export> current = new ThreadLocal<Export>();
+	private static final ThreadLocal<long[]> threadTotals = new ThreadLocal<long[]>();
+
+	private StageStats() {
+	}
+
+	public static boolean isEnabled() {
+		return OptionFlags.getInstance().isEnableStats();
+	}
+
+	public static void recordPreprocessing(long startNanos) {
+		if (isEnabled()) {
+			getHistogram(new Key(Stage.PREPROCESSING, "All", NONE)).record(since(startNanos));
+		}
+	}
+
+	public static void recordParsing(Class<? extends Diagram> type, long startNanos) {
+		if (isEnabled()) {
+			getHistogram(new Key(Stage.PARSING, StatsUtilsIncrement.name(type), NONE)).record(since(startNanos));
+		}
+	}
+
+	/**
+	 * Charges a layout or an encoding to the export running in this thread. Ignored outside of an export, except for
+	 * the totals given to {@link #sumInto(long[])}.
+	 */
+	public static void record(Stage stage, long startNanos) {
+		final long[] totals = threadTotals.get();
+		if (totals != null) {
+			totals[stage.ordinal()] += System.nanoTime() - startNanos;
+		}
+		final Export export = current.get();
+		if (export != null) {
+			final long micros = since(startNanos);
+			export.nested += micros;
+			getHistogram(new Key(stage, export.type, export.format)).record(micros);
+		}
+	}
+
+	/**
+	 * Adds the nanoseconds of each stage recorded in this thread to <code>totals</code>, indexed by
+	 * {@link Stage#ordinal()}, even if statistics are disabled. Used by the benchmark to take the layout out of the
+	 * export. <code>null</code> stops it.
+	 */
+	public static void sumInto(long[] totals) {
+		if (totals == null) {
+			threadTotals.remove();
+		} else {
+			threadTotals.set(totals);
+		}
+	}
+
+	/**
+	 * @return the token to give back to {@link #endExport(Object)}, or <code>null</code> if statistics are disabled.
+	 */
+	public static Object startExport(Class<? extends Diagram> type, FileFormat fileFormat) {
+		if (isEnabled() == false) {
+			return null;
+		}
+		final Export export = new Export(current.get(), StatsUtilsIncrement.name(type), fileFormat.name());
+		current.set(export);
+		return export;
+	}
+
+	public static void endExport(Object token) {
+		if (token == null) {
+			return;
+		}
+		final Export export = (Export) token;
+		final long drawing = since(export.start) - export.nested;
+		getHistogram(new Key(Stage.DRAWING, export.type, export.format)).record(drawing);
+		if (export.parent == null) {
+			current.remove();
+		} else {
+			export.parent.nested += since(export.start);
+			current.set(export.parent);
+		}
+	}
+
+	private static long since(long startNanos) {
+		return (System.nanoTime() - startNanos) / 1000L;
+	}
+
+	private static LatencyHistogram getHistogram(Key key) {
+		LatencyHistogram result = histograms.get(key);
+		if (result == null) {
+			histograms.putIfAbsent(key, new LatencyHistogram());
+			result = histograms.get(key);
+		}
+		return result;
+	}
+
+	static StatsTable getStatsTable(String name) {
+		final StatsTableImpl result = new StatsTableImpl(name);
+		final Map<Key, LatencyHistogram> sorted = new TreeMap<Key, LatencyHistogram>(histograms);
+		final LatencyHistogram total = new LatencyHistogram();
+		for (Map.Entry<Key, LatencyHistogram> ent : sorted.entrySet()) {
+			final Key key = ent.getKey();
+			result.addLine(createLine(key.stage.getTitle(), key.type, key.format, ent.getValue()));
+			total.add(ent.getValue());
+		}
+		result.addLine(createLine("Total", "", "", total));
+		return result;
+	}
+
+	private static StatsLine createLine(String stage, String type, String format, LatencyHistogram histogram) {
+		final Map<StatsColumn, Object> result = new EnumMap<StatsColumn, Object>(StatsColumn.class);
+		result.put(StatsColumn.STAGE, stage);
+		result.put(StatsColumn.DIAGRAM_TYPE, type);
+		result.put(StatsColumn.FORMAT, format);
+		result.put(StatsColumn.STAGE_COUNT, histogram.getCount());
+		result.put(StatsColumn.STAGE_TOTAL_TIME, histogram.getSum());
+		result.put(StatsColumn.STAGE_P50_TIME, histogram.getPercentile(50));
+		result.put(StatsColumn.STAGE_P99_TIME, histogram.getPercentile(99));
+		result.put(StatsColumn.STAGE_MAX_TIME, histogram.getMax());
+		return new StatsLineImpl(result);
+	}
+
+	static class Export {
+
+		private final Export parent;
+		private final String type;
+		private final String format;
+		private final long start = System.nanoTime();
+		private long nested;
+
+		Export(Export parent, String type, String format) {
+			this.parent = parent;
+			this.type = type;
+			this.format = format;
+		}
+	}
+
+	static class Key implements Comparable<Key> {
+
+		private final Stage stage;
+		private final String type;
+		private final String format;
+
+		Key(Stage stage, String type, String format) {
+			this.stage = stage;
+			this.type = type;
+			this.format = format;
+		}
+
+		@Override
+		public int hashCode() {
+			return stage.hashCode() + type.hashCode() * 31 + format.hashCode() * 961;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			final Key other = (Key) obj;
+			return stage == other.stage && type.equals(other.type) && format.equals(other.format);
+		}
+
+		public int compareTo(Key other) {
+			int cmp = stage.compareTo(other.stage);
+			if (cmp == 0) {
+				cmp = type.compareTo(other.type);
+			}
+			if (cmp == 0) {
+				cmp = format.compareTo(other.format);
+			}
+			return cmp;
+		}
+	}
+
+}
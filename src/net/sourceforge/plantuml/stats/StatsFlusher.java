@@ -0,0 +1,131 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.stats;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.prefs.Preferences;
+
+import net.sourceforge.plantuml.api.NumberAnalyzed;
+
+/**
+ * Saves the modified statistics in the background.
+ *
+ * Rendering threads only update the counters in memory and mark them as modified. A daemon thread writes them to the
+ * {@link Preferences} every few seconds, so no diagram waits for a disk write. With real time statistics, it saves and
+ * exports them as soon as a diagram is counted instead. The last values are written by the shutdown hook of
+ * {@link StatsUtils}.
+ */
+final class StatsFlusher {
+
+	private static final long PERIOD_SECONDS = 5;
+
+	private final Preferences prefs;
+	private final Set<NumberAnalyzed> modified = Collections
+			.newSetFromMap(new ConcurrentHashMap<NumberAnalyzed, Boolean>());
+	private volatile ScheduledExecutorService executor;
+	// Several diagrams counted while a flush is waiting share it
+	private final AtomicBoolean flushPending = new AtomicBoolean();
+	private final Runnable flushNow = new Runnable() {
+		public void run() {
+			flushPending.set(false);
+			flush(true);
+		}
+	};
+
+	StatsFlusher(Preferences prefs) {
+		this.prefs = prefs;
+	}
+
+	void modified(NumberAnalyzed n) {
+		modified.add(n);
+		if (executor == null) {
+			start();
+		}
+		if (StatsUtils.realTimeStats && flushPending.compareAndSet(false, true)) {
+			executor.execute(flushNow);
+		}
+	}
+
+	private synchronized void start() {
+		if (executor != null) {
+			return;
+		}
+		executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			public Thread newThread(Runnable r) {
+				final Thread result = new Thread(r, "PlantUML stats");
+				result.setDaemon(true);
+				return result;
+			}
+		});
+		executor.scheduleWithFixedDelay(new Runnable() {
+			public void run() {
+				flush(StatsUtils.realTimeStats);
+			}
+		}, PERIOD_SECONDS, PERIOD_SECONDS, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Saves the modified counters, and exports the statistics if <code>export</code> is true and something has
+	 * changed.
+	 */
+	synchronized void flush(boolean export) {
+		if (modified.isEmpty()) {
+			return;
+		}
+		for (Iterator<NumberAnalyzed> it = modified.iterator(); it.hasNext();) {
+			final NumberAnalyzed n = it.next();
+			// Removed first: a value added while saving marks it again
+			it.remove();
+			n.save(prefs);
+		}
+		if (export) {
+			StatsUtils.exportAll();
+		}
+	}
+
+}
@@ -132,6 +132,10 @@ public class StatsImpl implements Stats {
 		return formatCounterEver.getStatsTable("all format");
 	}
 
+	public StatsTable getCurrentSessionByStage() {
+		return StageStats.getStatsTable("current stage");
+	}
+
 	public StatsTable getCurrentSessionByDiagramType() {
 		return getByDiagramType("Current session", byTypeCurrent);
 	}
@@ -64,6 +64,8 @@ public class StatsUtils {
 
 	final static Preferences prefs = Preferences.userNodeForPackage(StatsUtils.class);
 
+	final static StatsFlusher flusher = new StatsFlusher(prefs);
+
 	static ParsedGenerated fullEver;
 
 	static ConcurrentMap<String, ParsedGenerated> byTypeEver = new ConcurrentHashMap<String, ParsedGenerated>();
@@ -76,6 +78,7 @@ public class StatsUtils {
 
 	static boolean xmlStats = false;
 	static boolean htmlStats = false;
+	static boolean prometheusStats = false;
 	static boolean realTimeStats = false;
 
 	public static Stats getStats() {
@@ -149,6 +152,11 @@ public class StatsUtils {
 	}
 
 	private static void endingHook() {
+		flusher.flush(false);
+		exportAll();
+	}
+
+	static void exportAll() {
 		try {
 			final Stats stats = getStatsLazzy();
 			if (xmlStats) {
@@ -157,13 +165,16 @@ public class StatsUtils {
 			if (htmlStats) {
 				htmlOutput(stats);
 			}
+			if (prometheusStats) {
+				prometheusOutput(stats);
+			}
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
 	}
 
 	static Stats getStatsLazzy() {
-		if (xmlStats || htmlStats) {
+		if (xmlStats || htmlStats || prometheusStats) {
 			return getStats();
 		}
 		return null;
@@ -194,6 +205,22 @@ public class StatsUtils {
 		}
 	}
 
+	static void prometheusOutput(Stats stats) throws FileNotFoundException {
+		PrintWriter pw = null;
+		try {
+			pw = new PrintWriter("plantuml-stats.prom");
+			pw.print(new PrometheusConverter(stats).toPrometheus());
+		} finally {
+			if (pw != null) {
+				pw.close();
+			}
+		}
+	}
+
+	public static String getPrometheusText() {
+		return new PrometheusConverter(getStats()).toPrometheus();
+	}
+
 	public static void setXmlStats(boolean value) {
 		xmlStats = value;
 	}
@@ -202,6 +229,10 @@ public class StatsUtils {
 		htmlStats = value;
 	}
 
+	public static void setPrometheusStats(boolean value) {
+		prometheusStats = value;
+	}
+
 	public static void setRealTimeStats(boolean value) {
 		realTimeStats = value;
 	}
@@ -40,8 +40,6 @@
 package net.sourceforge.plantuml.stats;
 
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.prefs.Preferences;
 
 import net.sourceforge.plantuml.FileFormat;
@@ -52,11 +50,11 @@ import net.sourceforge.plantuml.eggs.PSystemWelcome;
 import net.sourceforge.plantuml.error.PSystemErrorUtils;
 import net.sourceforge.plantuml.math.PSystemMath;
 import net.sourceforge.plantuml.salt.PSystemSalt;
-import net.sourceforge.plantuml.stats.api.Stats;
 
 public class StatsUtilsIncrement {
 
 	final private static Preferences prefs = StatsUtils.prefs;
+	final private static StatsFlusher flusher = StatsUtils.flusher;
 
 	final private static ConcurrentMap<String, ParsedGenerated> byTypeEver = StatsUtils.byTypeEver;
 	final private static ConcurrentMap<String, ParsedGenerated> byTypeCurrent = StatsUtils.byTypeCurrent;
@@ -71,10 +69,9 @@ public class StatsUtilsIncrement {
 		StatsUtils.fullEver.parsed().addValue(duration);
 		StatsUtils.historicalData.current().parsed().addValue(duration);
 
-		StatsUtils.historicalData.current().parsed().save(prefs);
-		StatsUtils.fullEver.parsed().save(prefs);
-		byTypeEver.parsed().save(prefs);
-		realTimeExport();
+		flusher.modified(StatsUtils.historicalData.current().parsed());
+		flusher.modified(StatsUtils.fullEver.parsed());
+		flusher.modified(byTypeEver.parsed());
 	}
 
 	public static void onceMoreGenerate(long duration, Class<? extends Diagram> type, FileFormat fileFormat) {
@@ -86,11 +83,10 @@ public class StatsUtilsIncrement {
 		formatCounterCurrent.plusOne(fileFormat, duration);
 		formatCounterEver.plusOne(fileFormat, duration);
 
-		formatCounterEver.save(prefs, fileFormat);
-		StatsUtils.historicalData.current().generated().save(prefs);
-		StatsUtils.fullEver.generated().save(prefs);
-		byTypeEver.generated().save(prefs);
-		realTimeExport();
+		flusher.modified(formatCounterEver.get(fileFormat));
+		flusher.modified(StatsUtils.historicalData.current().generated());
+		flusher.modified(StatsUtils.fullEver.generated());
+		flusher.modified(byTypeEver.generated());
 	}
 
 	private static ParsedGenerated getByTypeCurrent(Class<? extends Diagram> type) {
@@ -113,7 +109,7 @@ public class StatsUtilsIncrement {
 		return n;
 	}
 
-	private static String name(Class<? extends Diagram> type) {
+	static String name(Class<? extends Diagram> type) {
 		if (PSystemErrorUtils.isDiagramError(type)) {
 			return "Error";
 		}
@@ -149,30 +145,4 @@ public class StatsUtilsIncrement {
 		return "Other";
 	}
 
-	private static final Lock lockXml = new ReentrantLock();
-	private static final Lock lockHtml = new ReentrantLock();
-
-	private static void realTimeExport() {
-		if (StatsUtils.realTimeStats) {
-			final Stats stats = StatsUtils.getStatsLazzy();
-			try {
-				if (StatsUtils.xmlStats && lockXml.tryLock())
-					try {
-						StatsUtils.xmlOutput(stats);
-					} finally {
-						lockXml.unlock();
-					}
-				if (StatsUtils.htmlStats && lockHtml.tryLock())
-					try {
-						StatsUtils.htmlOutput(stats);
-					} finally {
-						lockHtml.unlock();
-					}
-			} catch (Exception e) {
-				e.printStackTrace();
-			}
-
-		}
-	}
-
 }
@@ -90,6 +90,7 @@ public class XmlConverter {
 		addNode(root, document, stats.getLastSessions());
 		addNode(root, document, stats.getCurrentSessionByDiagramType());
 		addNode(root, document, stats.getCurrentSessionByFormat());
+		addNode(root, document, stats.getCurrentSessionByStage());
 		addNode(root, document, stats.getAllByDiagramType());
 		addNode(root, document, stats.getAllByFormat());
 
@@ -155,6 +156,8 @@ public class XmlConverter {
 		printTableHtml(result, stats.getCurrentSessionByDiagramType());
 		result.append("<p>");
 		printTableHtml(result, stats.getCurrentSessionByFormat());
+		result.append("<p>");
+		printTableHtml(result, stats.getCurrentSessionByStage());
 		result.append("<h2>General statistics since ever</h2>");
 		printTableHtml(result, stats.getAllByDiagramType());
 		result.append("<p>");
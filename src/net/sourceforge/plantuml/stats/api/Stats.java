@@ -47,6 +47,8 @@ public interface Stats {
 
 	public StatsTable getCurrentSessionByFormat();
 
+	public StatsTable getCurrentSessionByStage();
+
 	public StatsTable getAllByDiagramType();
 
 	public StatsTable getAllByFormat();
@@ -45,7 +45,9 @@ public enum StatsColumn {
 			"Mean parsing\\ntime (ms)"), PARSED_STANDARD_DEVIATION("Standard\\ndeviation (ms)"), PARSED_MAX_TIME(
 			"Max parsing\\ntime (ms)"), GENERATED_COUNT("# Generated"), GENERATED_MEAN_TIME(
 			"Mean generation\\ntime (ms)"), GENERATED_STANDARD_DEVIATION("Standard\\ndeviation (ms)"), GENERATED_MAX_TIME(
-			"Max generation\\ntime (ms)");
+			"Max generation\\ntime (ms)"), STAGE("Stage"), STAGE_COUNT("# Measures"), STAGE_TOTAL_TIME(
+			"Total\\ntime (us)"), STAGE_P50_TIME("p50\\ntime (us)"), STAGE_P99_TIME("p99\\ntime (us)"), STAGE_MAX_TIME(
+			"Max\\ntime (us)");
 
 	private final String title;
 
@@ -93,9 +93,7 @@ public class CommandStyleImport extends SingleLineCommand2<UmlDiagram> {
 				return CommandExecutionResult.error("File does not exist: " + path);
 			}
 			final StyleBuilder styleBuilder = diagram.getSkinParam().getCurrentStyleBuilder();
-			for (Style modifiedStyle : StyleLoader.getDeclaredStyles(lines, styleBuilder)) {
-				diagram.getSkinParam().muteStyle(modifiedStyle);
-			}
+			diagram.getSkinParam().muteStyles(StyleLoader.getDeclaredStyles(lines, styleBuilder));
 		} catch (IOException e) {
 			return CommandExecutionResult.error("File does not exist: " + path);
 		}
@@ -72,9 +72,7 @@ public class CommandStyleMultilinesCSS extends CommandMultilines2<UmlDiagram> {
 			return CommandExecutionResult.ok();
 		}
 		final StyleBuilder styleBuilder = diagram.getSkinParam().getCurrentStyleBuilder();
-		for (Style modifiedStyle : StyleLoader.getDeclaredStyles(lines.subExtract(1, 1), styleBuilder)) {
-			diagram.getSkinParam().muteStyle(modifiedStyle);
-		}
+		diagram.getSkinParam().muteStyles(StyleLoader.getDeclaredStyles(lines.subExtract(1, 1), styleBuilder));
 		return CommandExecutionResult.ok();
 	}
 
@@ -39,11 +39,10 @@
  */
 package net.sourceforge.plantuml.style;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumMap;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import net.sourceforge.plantuml.Log;
@@ -51,7 +50,7 @@ import net.sourceforge.plantuml.SkinParam;
 
 public class StyleBuilder implements AutomaticCounter {
 
-	private final Map<StyleSignature, Style> styles = new LinkedHashMap<StyleSignature, Style>();
+	private StyleIndex styles = StyleIndex.empty();
 	private final Set<StyleSignature> printedForLog;
 	private final SkinParam skinParam;
 	private int counter;
@@ -65,6 +64,12 @@ public class StyleBuilder implements AutomaticCounter {
 		this(skinParam, new LinkedHashSet<StyleSignature>());
 	}
 
+	StyleBuilder(SkinParam skinParam, StyleIndex styles, int counter) {
+		this(skinParam, new LinkedHashSet<StyleSignature>());
+		this.styles = styles;
+		this.counter = counter;
+	}
+
 	public final SkinParam getSkinParam() {
 		return skinParam;
 	}
@@ -84,23 +89,18 @@ public class StyleBuilder implements AutomaticCounter {
 	}
 
 	public StyleBuilder muteStyle(Style modifiedStyle) {
-		final Map<StyleSignature, Style> copy = new LinkedHashMap<StyleSignature, Style>(styles);
-		final StyleSignature signature = modifiedStyle.getSignature();
-		final Style orig = copy.get(signature);
-		if (orig == null) {
-			copy.put(signature, modifiedStyle);
-		} else {
-			final Style newStyle = orig.mergeWith(modifiedStyle);
-			copy.put(signature, newStyle);
-		}
+		return muteStyles(Collections.singletonList(modifiedStyle));
+	}
+
+	public StyleBuilder muteStyles(Collection<Style> modifiedStyles) {
 		final StyleBuilder result = new StyleBuilder(skinParam, this.printedForLog);
-		result.styles.putAll(copy);
+		result.styles = styles.mute(modifiedStyles);
 		result.counter = this.counter;
 		return result;
 	}
 
 	public void put(StyleSignature styleName, Style newStyle) {
-		this.styles.put(styleName, newStyle);
+		this.styles = styles.with(styleName, newStyle);
 	}
 
 	public int getNextInt() {
@@ -115,20 +115,7 @@ public class StyleBuilder implements AutomaticCounter {
 		// if (signature.isStarred()) {
 		// throw new IllegalArgumentException();
 		// }
-		Style result = null;
-		for (Entry<StyleSignature, Style> ent : styles.entrySet()) {
-			final StyleSignature key = ent.getKey();
-			if (key.matchAll(signature) == false) {
-				continue;
-			}
-			if (result == null) {
-				result = ent.getValue();
-			} else {
-				result = result.mergeWith(ent.getValue());
-			}
-
-		}
-		return result;
+		return styles.getMergedStyle(signature);
 	}
 
 }
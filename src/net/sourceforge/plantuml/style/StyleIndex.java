@@ -0,0 +1,157 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.style;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable set of styles, as declared in a {@link StyleBuilder}.
+ *
+ * Each style is indexed by one of the names of its signature, so only the styles sharing a name with the searched
+ * signature are checked. Merged styles are remembered, as the same signatures are looked up for every element of a
+ * diagram. Changing styles creates a new index, with an empty memo: the styles of a whole <code>style</code> block are
+ * changed at once by {@link #mute(Collection)}, so the index is only built once per block.
+ */
+final class StyleIndex {
+
+	private static final int MAX_MERGED = 10000;
+
+	private final Map<StyleSignature, Style> styles;
+	private final List<Style> list;
+	private final Map<String, BitSet> byName = new HashMap<String, BitSet>();
+	private final BitSet anyName = new BitSet();
+	private final ConcurrentMap<StyleSignature, Style> merged = new ConcurrentHashMap<StyleSignature, Style>();
+
+	StyleIndex(Map<StyleSignature, Style> styles) {
+		this.styles = Collections.unmodifiableMap(new LinkedHashMap<StyleSignature, Style>(styles));
+		this.list = new ArrayList<Style>(styles.values());
+		for (int i = 0; i < list.size(); i++) {
+			final String name = getIndexName(list.get(i).getSignature());
+			if (name == null) {
+				anyName.set(i);
+			} else {
+				BitSet positions = byName.get(name);
+				if (positions == null) {
+					positions = new BitSet();
+					byName.put(name, positions);
+				}
+				positions.set(i);
+			}
+		}
+	}
+
+	static StyleIndex empty() {
+		return new StyleIndex(Collections.<StyleSignature, Style> emptyMap());
+	}
+
+	private static String getIndexName(StyleSignature signature) {
+		for (String name : signature.getNames()) {
+			if (name.equals("*") == false) {
+				return name;
+			}
+		}
+		return null;
+	}
+
+	Style get(StyleSignature signature) {
+		return styles.get(signature);
+	}
+
+	StyleIndex with(StyleSignature signature, Style style) {
+		final Map<StyleSignature, Style> copy = new LinkedHashMap<StyleSignature, Style>(styles);
+		copy.put(signature, style);
+		return new StyleIndex(copy);
+	}
+
+	/**
+	 * @return a new index where each style, in order, is merged into the existing style of the same signature.
+	 */
+	StyleIndex mute(Collection<Style> modifiedStyles) {
+		final Map<StyleSignature, Style> copy = new LinkedHashMap<StyleSignature, Style>(styles);
+		for (Style modified : modifiedStyles) {
+			final StyleSignature signature = modified.getSignature();
+			final Style orig = copy.get(signature);
+			copy.put(signature, orig == null ? modified : orig.mergeWith(modified));
+		}
+		return new StyleIndex(copy);
+	}
+
+	Style getMergedStyle(StyleSignature signature) {
+		Style result = merged.get(signature);
+		if (result != null) {
+			return result;
+		}
+		final BitSet candidates = (BitSet) anyName.clone();
+		for (String name : signature.getNames()) {
+			final BitSet positions = byName.get(name);
+			if (positions != null) {
+				candidates.or(positions);
+			}
+		}
+		for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+			final Style style = list.get(i);
+			if (style.getSignature().matchAll(signature) == false) {
+				continue;
+			}
+			if (result == null) {
+				result = style;
+			} else {
+				result = result.mergeWith(style);
+			}
+		}
+		if (result != null) {
+			if (merged.size() >= MAX_MERGED) {
+				merged.clear();
+			}
+			merged.put(signature, result);
+		}
+		return result;
+	}
+
+}
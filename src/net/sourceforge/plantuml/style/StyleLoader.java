@@ -48,8 +48,11 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import net.sourceforge.plantuml.FileSystem;
 import net.sourceforge.plantuml.LineLocationImpl;
@@ -69,40 +72,75 @@ public class StyleLoader {
 		this.skinParam = skinParam;
 	}
 
-	private StyleBuilder styleBuilder;
+	private static final ConcurrentMap<String, ParsedSkin> skins = new ConcurrentHashMap<String, ParsedSkin>();
 
 	public StyleBuilder loadSkin(String filename) throws IOException {
-		this.styleBuilder = new StyleBuilder(skinParam);
-
-		InputStream internalIs = null;
 		File localFile = new File(filename);
 		Log.info("Trying to load style " + filename);
 		if (localFile.exists() == false) {
 			localFile = FileSystem.getInstance().getFile(filename);
 		}
-		if (localFile.exists()) {
+		final boolean local = localFile.exists();
+		final String key;
+		final long lastModified;
+		final long length;
+		if (local) {
 			Log.info("File found : " + localFile.getAbsolutePath());
-			internalIs = new FileInputStream(localFile);
+			key = localFile.getAbsolutePath();
+			lastModified = localFile.lastModified();
+			length = localFile.length();
 		} else {
 			Log.info("File not found : " + localFile.getAbsolutePath());
-			final String res = "/skin/" + filename;
-			internalIs = StyleLoader.class.getResourceAsStream(res);
-			if (internalIs != null) {
-				Log.info("... but " + filename + " found inside the .jar");
-			}
+			key = "/skin/" + filename;
+			lastModified = 0;
+			length = 0;
 		}
-		if (internalIs == null) {
-			return null;
+		ParsedSkin skin = skins.get(key);
+		if (skin == null || skin.lastModified != lastModified || skin.length != length) {
+			final InputStream internalIs;
+			if (local) {
+				internalIs = new FileInputStream(localFile);
+			} else {
+				internalIs = StyleLoader.class.getResourceAsStream(key);
+				if (internalIs != null) {
+					Log.info("... but " + filename + " found inside the .jar");
+				}
+			}
+			if (internalIs == null) {
+				return null;
+			}
+			final BlocLines lines2 = BlocLines.load(internalIs, new LineLocationImpl(filename, null));
+			skin = new ParsedSkin(lines2, lastModified, length);
+			skins.put(key, skin);
 		}
-		final BlocLines lines2 = BlocLines.load(internalIs, new LineLocationImpl(filename, null));
-		loadSkinInternal(lines2);
-		return styleBuilder;
+		return new StyleBuilder(skinParam, skin.styles, skin.counter);
 	}
 
-	private void loadSkinInternal(final BlocLines lines) {
-		for (Style newStyle : getDeclaredStyles(lines, styleBuilder)) {
-			this.styleBuilder.put(newStyle.getSignature(), newStyle);
+	/**
+	 * The styles of a skin file, parsed once and shared by all the diagrams. Styles and {@link StyleIndex} are
+	 * immutable, so the merged styles computed by one diagram are reused by the next ones.
+	 */
+	static class ParsedSkin implements AutomaticCounter {
+
+		private final StyleIndex styles;
+		private final long lastModified;
+		private final long length;
+		private int counter;
+
+		ParsedSkin(BlocLines lines, long lastModified, long length) {
+			final Map<StyleSignature, Style> map = new LinkedHashMap<StyleSignature, Style>();
+			for (Style newStyle : getDeclaredStyles(lines, this)) {
+				map.put(newStyle.getSignature(), newStyle);
+			}
+			this.styles = new StyleIndex(map);
+			this.lastModified = lastModified;
+			this.length = length;
+		}
+
+		public int getNextInt() {
+			return ++counter;
 		}
+
 	}
 
 	private static final String NAME_USER = "[\\w()]+?";
@@ -91,6 +91,32 @@ public final class CucaDiagramFileMakerSvek implements CucaDiagramFileMaker {
 
 	private ImageData createFileInternal(OutputStream os, List<String> dotStrings, FileFormatOption fileFormatOption)
 			throws IOException, InterruptedException {
+		SvekLayout layout = diagram.getSvekLayout();
+		if (layout == null || layout.isCompatible(fileFormatOption.getStringBounderKey()) == false
+				|| fileFormatOption.isDebugSvek()) {
+			layout = createLayout(os, dotStrings, fileFormatOption);
+			diagram.setSvekLayout(layout);
+		}
+		final TextBlockBackcolored result = layout.getResult();
+		final String warningOrError = layout.getWarningOrError();
+		final boolean isGraphvizCrash = layout.isGraphvizCrash();
+
+		final Dimension2D dim = result.calculateDimension(fileFormatOption.getDefaultStringBounder());
+		final double scale = getScale(fileFormatOption, dim);
+
+		final ImageBuilder imageBuilder = new ImageBuilder(diagram.getSkinParam(), scale,
+				fileFormatOption.isWithMetadata() ? diagram.getMetadata() : null, warningOrError, 0, 10,
+				diagram.getAnimation(), result.getBackcolor());
+		imageBuilder.setUDrawable(result);
+		final ImageData imageData = imageBuilder.writeImageTOBEMOVED(fileFormatOption, diagram.seed(), os);
+		if (isGraphvizCrash) {
+			((ImageDataAbstract) imageData).setStatus(503);
+		}
+		return imageData;
+	}
+
+	private SvekLayout createLayout(OutputStream os, List<String> dotStrings, FileFormatOption fileFormatOption)
+			throws IOException, InterruptedException {
 		if (diagram.getUmlDiagramType() == UmlDiagramType.ACTIVITY) {
 			new CucaDiagramSimplifierActivity(diagram, dotStrings, fileFormatOption.getDefaultStringBounder());
 		} else if (diagram.getUmlDiagramType() == UmlDiagramType.STATE) {
@@ -121,18 +147,7 @@ public final class CucaDiagramFileMakerSvek implements CucaDiagramFileMaker {
 		if (widthwarning != null && widthwarning.matches("\\d+")) {
 			warningOrError = svek2.getWarningOrError(Integer.parseInt(widthwarning));
 		}
-		final Dimension2D dim = result.calculateDimension(fileFormatOption.getDefaultStringBounder());
-		final double scale = getScale(fileFormatOption, dim);
-
-		final ImageBuilder imageBuilder = new ImageBuilder(diagram.getSkinParam(), scale,
-				fileFormatOption.isWithMetadata() ? diagram.getMetadata() : null, warningOrError, 0, 10,
-				diagram.getAnimation(), result.getBackcolor());
-		imageBuilder.setUDrawable(result);
-		final ImageData imageData = imageBuilder.writeImageTOBEMOVED(fileFormatOption, diagram.seed(), os);
-		if (isGraphvizCrash) {
-			((ImageDataAbstract) imageData).setStatus(503);
-		}
-		return imageData;
+		return new SvekLayout(fileFormatOption.getStringBounderKey(), result, warningOrError, isGraphvizCrash);
 	}
 
 	private List<Link> getOrderedLinks() {
@@ -365,7 +365,7 @@ public class DotStringFactory implements Moveable {
 		final Point2DFunction move = new YDelta(fullHeight);
 		final SvgResult svgResult = new SvgResult(svg, move);
 		for (Shape sh : bibliotekon.allShapes()) {
-			int idx = svg.indexOf("<title>" + sh.getUid() + "</title>");
+			int idx = svgResult.indexOfTitle(sh.getUid());
 			if (sh.getType() == ShapeType.RECTANGLE || sh.getType() == ShapeType.RECTANGLE_HTML_FOR_PORTS
 					|| sh.getType() == ShapeType.RECTANGLE_WITH_CIRCLE_INSIDE || sh.getType() == ShapeType.FOLDER
 					|| sh.getType() == ShapeType.DIAMOND) {
@@ -415,7 +415,7 @@ public class DotStringFactory implements Moveable {
 		}
 
 		for (Cluster cluster : bibliotekon.allCluster()) {
-			int idx = getClusterIndex(svg, cluster.getColor());
+			int idx = getClusterIndex(svgResult, cluster.getColor());
 			final int starting = idx;
 			final List<Point2D.Double> points = svgResult.substring(starting).extractList(SvgResult.POINTS_EQUALS);
 			final double minX = SvekUtils.getMinX(points);
@@ -428,7 +428,7 @@ public class DotStringFactory implements Moveable {
 			if (cluster.getTitleAndAttributeWidth() == 0 || cluster.getTitleAndAttributeHeight() == 0) {
 				continue;
 			}
-			idx = getClusterIndex(svg, cluster.getTitleColor());
+			idx = getClusterIndex(svgResult, cluster.getTitleColor());
 			final int starting1 = idx;
 			final List<Point2D.Double> pointsTitle = svgResult.substring(starting1)
 					.extractList(SvgResult.POINTS_EQUALS);
@@ -449,13 +449,13 @@ public class DotStringFactory implements Moveable {
 		// return new ClusterPosition(0, 0, fullWidth, fullHeight);
 	}
 
-	private int getClusterIndex(final String svg, int colorInt) {
+	private int getClusterIndex(final SvgResult svgResult, int colorInt) {
 		final String colorString = StringUtils.goLowerCase(StringUtils.getAsHtml(colorInt));
 		final String keyTitle1 = "=\"" + colorString + "\"";
-		int idx = svg.indexOf(keyTitle1);
+		int idx = svgResult.indexOfColor(keyTitle1);
 		if (idx == -1) {
 			final String keyTitle2 = "stroke:" + colorString + ";";
-			idx = svg.indexOf(keyTitle2);
+			idx = svgResult.indexOfColor(keyTitle2);
 		}
 		if (idx == -1) {
 			throw new IllegalStateException("Cannot find color " + colorString);
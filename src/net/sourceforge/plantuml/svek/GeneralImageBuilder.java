@@ -109,6 +109,8 @@ import net.sourceforge.plantuml.graphic.color.ColorType;
 import net.sourceforge.plantuml.style.SName;
 import net.sourceforge.plantuml.style.Style;
 import net.sourceforge.plantuml.style.StyleSignature;
+import net.sourceforge.plantuml.stats.Stage;
+import net.sourceforge.plantuml.stats.StageStats;
 import net.sourceforge.plantuml.svek.image.EntityImageActivity;
 import net.sourceforge.plantuml.svek.image.EntityImageArcCircle;
 import net.sourceforge.plantuml.svek.image.EntityImageAssociation;
@@ -407,6 +409,7 @@ public final class GeneralImageBuilder {
 			basefile = new BaseFile();
 		}
 
+		final long layoutStart = System.nanoTime();
 		final String svg;
 		try {
 			svg = dotStringFactory.getSvg(basefile, dotStrings);
@@ -419,6 +422,7 @@ public final class GeneralImageBuilder {
 		final String graphvizVersion = extractGraphvizVersion(svg);
 		try {
 			final ClusterPosition position = dotStringFactory.solve(svg).delta(10, 10);
+			StageStats.record(Stage.LAYOUT, layoutStart);
 			final double minY = position.getMinY();
 			final double minX = position.getMinX();
 			if (minX > 0 || minY > 0) {
@@ -0,0 +1,76 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.svek;
+
+/**
+ * Layout of a {@link net.sourceforge.plantuml.cucadiagram.CucaDiagram} computed by Graphviz, kept by the diagram so
+ * that it can be exported to several formats without running the layout again.
+ */
+public final class SvekLayout {
+
+	private final Object stringBounderKey;
+	private final TextBlockBackcolored result;
+	private final String warningOrError;
+	private final boolean graphvizCrash;
+
+	SvekLayout(Object stringBounderKey, TextBlockBackcolored result, String warningOrError, boolean graphvizCrash) {
+		this.stringBounderKey = stringBounderKey;
+		this.result = result;
+		this.warningOrError = warningOrError;
+		this.graphvizCrash = graphvizCrash;
+	}
+
+	boolean isCompatible(Object key) {
+		return stringBounderKey == key;
+	}
+
+	TextBlockBackcolored getResult() {
+		return result;
+	}
+
+	String getWarningOrError() {
+		return warningOrError;
+	}
+
+	boolean isGraphvizCrash() {
+		return graphvizCrash;
+	}
+
+}
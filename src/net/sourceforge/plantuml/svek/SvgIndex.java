@@ -0,0 +1,171 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.svek;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the SVG generated by Graphviz, built in one pass the first time it is needed.
+ *
+ * It records the position of every <code>&lt;title&gt;</code> and of every colour written as
+ * <code>="#rrggbb"</code>, <code>stroke="#rrggbb"</code>, <code>fill="#rrggbb"</code>,
+ * <code>stroke:#rrggbb;</code> or <code>;stroke:#rrggbb;</code>. Shapes, clusters and lines are then found without
+ * scanning the whole SVG again for each of them.
+ */
+class SvgIndex {
+
+	private static final String TITLE_START = "<title>";
+	private static final String TITLE_END = "</title>";
+	private static final String STROKE_STYLE = "stroke:";
+
+	private final String svg;
+	private Map<String, Integer> titles;
+	private Map<String, List<Integer>> colors;
+
+	SvgIndex(String svg) {
+		this.svg = svg;
+	}
+
+	private void build() {
+		titles = new HashMap<String, Integer>();
+		colors = new HashMap<String, List<Integer>>();
+		final int len = svg.length();
+		for (int i = 0; i < len; i++) {
+			final char c = svg.charAt(i);
+			if (c == '<' && svg.startsWith(TITLE_START, i)) {
+				final int start = i + TITLE_START.length();
+				final int end = svg.indexOf(TITLE_END, start);
+				if (end == -1) {
+					continue;
+				}
+				final String title = svg.substring(start, end);
+				if (titles.containsKey(title) == false) {
+					titles.put(title, i);
+				}
+				i = end + TITLE_END.length() - 1;
+			} else if (c == '#' && isColor(i)) {
+				indexColor(i);
+				i += 6;
+			}
+		}
+	}
+
+	private boolean isColor(int pos) {
+		if (pos + 7 >= svg.length()) {
+			return false;
+		}
+		for (int i = pos + 1; i < pos + 7; i++) {
+			final char c = svg.charAt(i);
+			if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void indexColor(int pos) {
+		final String color = svg.substring(pos, pos + 7);
+		final char after = svg.charAt(pos + 7);
+		if (after == '"' && pos >= 2 && svg.charAt(pos - 1) == '"' && svg.charAt(pos - 2) == '=') {
+			add("=\"" + color + "\"", pos - 2);
+			if (svg.startsWith("stroke", pos - 8)) {
+				add("stroke=\"" + color + "\"", pos - 8);
+			} else if (svg.startsWith("fill", pos - 6)) {
+				add("fill=\"" + color + "\"", pos - 6);
+			}
+		} else if (after == ';' && svg.startsWith(STROKE_STYLE, pos - STROKE_STYLE.length())) {
+			final int start = pos - STROKE_STYLE.length();
+			add(STROKE_STYLE + color + ";", start);
+			if (start > 0 && svg.charAt(start - 1) == ';') {
+				add(";" + STROKE_STYLE + color + ";", start - 1);
+			}
+		}
+	}
+
+	private void add(String pattern, int pos) {
+		List<Integer> list = colors.get(pattern);
+		if (list == null) {
+			list = new ArrayList<Integer>();
+			colors.put(pattern, list);
+		}
+		list.add(pos);
+	}
+
+	int getTitle(String title) {
+		if (titles == null) {
+			build();
+		}
+		final Integer result = titles.get(title);
+		if (result == null) {
+			return -1;
+		}
+		return result;
+	}
+
+	/**
+	 * @return the first position of <code>pattern</code> inside <code>[from, to[</code>, or -1.
+	 */
+	int indexOfColor(String pattern, int from, int to) {
+		if (colors == null) {
+			build();
+		}
+		final List<Integer> list = colors.get(pattern);
+		if (list == null) {
+			return -1;
+		}
+		int idx = Collections.binarySearch(list, from);
+		if (idx < 0) {
+			idx = -idx - 1;
+		}
+		if (idx == list.size()) {
+			return -1;
+		}
+		final int result = list.get(idx);
+		if (result + pattern.length() > to) {
+			return -1;
+		}
+		return result;
+	}
+
+}
@@ -47,16 +47,34 @@ import java.util.StringTokenizer;
 
 import net.sourceforge.plantuml.StringUtils;
 
+/**
+ * A part of the SVG generated by Graphviz.
+ *
+ * Sub-parts share the same string and the same {@link SvgIndex}: {@link #substring(int)} does not copy anything.
+ */
 public class SvgResult {
 
 	public static final String D_EQUALS = "d=\"";
 	public static final String POINTS_EQUALS = "points=\"";
 
 	private final String svg;
+	private final int start;
+	private final int end;
+	private final SvgIndex index;
 	private final Point2DFunction function;
 
 	public SvgResult(String svg, Point2DFunction function) {
+		this(svg, 0, svg.length(), new SvgIndex(svg), function);
+	}
+
+	private SvgResult(String svg, int start, int end, SvgIndex index, Point2DFunction function) {
+		if (start < 0 || end > svg.length() || start > end) {
+			throw new StringIndexOutOfBoundsException(start);
+		}
 		this.svg = svg;
+		this.start = start;
+		this.end = end;
+		this.index = index;
 		this.function = function;
 	}
 
@@ -77,18 +95,16 @@ public class SvgResult {
 	}
 
 	public int getIndexFromColor(int color) {
-		String s = "stroke=\"" + StringUtils.goLowerCase(StringUtils.getAsHtml(color)) + "\"";
-		int idx = svg.indexOf(s);
+		final String colorString = StringUtils.goLowerCase(StringUtils.getAsHtml(color));
+		int idx = indexOfColor("stroke=\"" + colorString + "\"");
 		if (idx != -1) {
 			return idx;
 		}
-		s = ";stroke:" + StringUtils.goLowerCase(StringUtils.getAsHtml(color)) + ";";
-		idx = svg.indexOf(s);
+		idx = indexOfColor(";stroke:" + colorString + ";");
 		if (idx != -1) {
 			return idx;
 		}
-		s = "fill=\"" + StringUtils.goLowerCase(StringUtils.getAsHtml(color)) + "\"";
-		idx = svg.indexOf(s);
+		idx = indexOfColor("fill=\"" + colorString + "\"");
 		if (idx != -1) {
 			return idx;
 		}
@@ -97,9 +113,31 @@ public class SvgResult {
 
 	}
 
+	/**
+	 * Same as <code>indexOf(pattern, 0)</code>, for the colour patterns known by {@link SvgIndex}.
+	 */
+	public int indexOfColor(String pattern) {
+		final int result = index.indexOfColor(pattern, start, end);
+		if (result == -1) {
+			return -1;
+		}
+		return result - start;
+	}
+
+	/**
+	 * @return the position of <code>&lt;title&gt;title&lt;/title&gt;</code>, or -1.
+	 */
+	public int indexOfTitle(String title) {
+		final int result = index.getTitle(title);
+		if (result == -1 || result < start || result >= end) {
+			return -1;
+		}
+		return result - start;
+	}
+
 	public List<Point2D.Double> getPoints(String separator) {
 		try {
-			final StringTokenizer st = new StringTokenizer(svg, separator);
+			final StringTokenizer st = new StringTokenizer(getSvg(), separator);
 			final List<Point2D.Double> result = new ArrayList<Point2D.Double>();
 			while (st.hasMoreTokens()) {
 				result.add(getFirstPoint(st.nextToken()));
@@ -111,7 +149,7 @@ public class SvgResult {
 	}
 
 	public Point2D.Double getNextPoint() {
-		return getFirstPoint(svg);
+		return getFirstPoint(getSvg());
 	}
 
 	private Point2D.Double getFirstPoint(final String tmp) {
@@ -122,18 +160,28 @@ public class SvgResult {
 	}
 
 	public int indexOf(String s, int pos) {
-		return svg.indexOf(s, pos);
+		final int result = svg.indexOf(s, start + Math.max(pos, 0));
+		if (result == -1 || result + s.length() > end) {
+			return -1;
+		}
+		return result - start;
 	}
 
 	public SvgResult substring(int pos) {
-		return new SvgResult(svg.substring(pos), function);
+		return new SvgResult(svg, start + pos, end, index, function);
 	}
 
 	public SvgResult substring(int start, int end) {
-		return new SvgResult(svg.substring(start, end), function);
+		if (end < start) {
+			throw new StringIndexOutOfBoundsException(end - start);
+		}
+		return new SvgResult(svg, this.start + start, this.start + end, index, function);
 	}
 
 	public final String getSvg() {
-		return svg;
+		if (start == 0 && end == svg.length()) {
+			return svg;
+		}
+		return svg.substring(start, end);
 	}
 }
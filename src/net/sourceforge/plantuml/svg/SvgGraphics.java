@@ -78,6 +78,7 @@ import org.w3c.dom.CDATASection;
 import org.w3c.dom.Comment;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 
 public class SvgGraphics {
 
@@ -103,6 +104,7 @@ public class SvgGraphics {
 	final private Element root;
 	final private Element defs;
 	final private Element gRoot;
+	final private SvgStreamWriter streamWriter;
 
 	private String fill = "black";
 	private String stroke = "black";
@@ -129,14 +131,25 @@ public class SvgGraphics {
 	}
 
 	public SvgGraphics(boolean svgDimensionStyle, Dimension2D minDim, double scale, String hover, long seed) {
-		this(svgDimensionStyle, minDim, null, scale, hover, seed);
+		this(svgDimensionStyle, minDim, null, scale, hover, seed, false);
 	}
 
 	public SvgGraphics(boolean svgDimensionStyle, Dimension2D minDim, String backcolor, double scale, String hover,
 			long seed) {
+		this(svgDimensionStyle, minDim, backcolor, scale, hover, seed, false);
+	}
+
+	/**
+	 * @param streaming
+	 *            <code>true</code> to serialize the shapes as soon as they are drawn instead of keeping the whole DOM
+	 *            document until {@link #createXml(OutputStream)}.
+	 */
+	public SvgGraphics(boolean svgDimensionStyle, Dimension2D minDim, String backcolor, double scale, String hover,
+			long seed, boolean streaming) {
 		try {
 			this.svgDimensionStyle = svgDimensionStyle;
 			this.scale = scale;
+			this.streamWriter = streaming ? new SvgStreamWriter(images) : null;
 			this.document = getDocument();
 			this.backcolor = backcolor;
 			ensureVisible(minDim.getWidth(), minDim.getHeight());
@@ -173,6 +186,7 @@ public class SvgGraphics {
 	}
 
 	private Element pendingBackground;
+	private int pendingBackgroundOffset = -1;
 
 	public void paintBackcolorGradient(ColorMapper mapper, HtmlColorGradient gr) {
 		final String id = createSvgGradient(StringUtils.getAsHtml(mapper.getMappedColor(gr.getColor1())),
@@ -180,7 +194,12 @@ public class SvgGraphics {
 		setFillColor("url(#" + id + ")");
 		setStrokeColor(null);
 		pendingBackground = createRectangleInternal(0, 0, 0, 0);
-		getG().appendChild(pendingBackground);
+		if (streamWriter != null && pendingAction.size() == 0) {
+			// Its size is only known at the end
+			pendingBackgroundOffset = streamWriter.length();
+		} else {
+			appendToG(pendingBackground);
+		}
 	}
 
 	// This method returns a reference to a simple XML
@@ -231,7 +250,7 @@ public class SvgGraphics {
 			elt.setAttribute("fill", fill);
 			elt.setAttribute("style", getStyle());
 			addFilterShadowId(elt, deltaShadow);
-			getG().appendChild(elt);
+			appendToG(elt);
 		}
 		ensureVisible(x + xRadius + deltaShadow * 2, y + yRadius + deltaShadow * 2);
 	}
@@ -244,7 +263,7 @@ public class SvgGraphics {
 			elt.setAttribute("d", path);
 			elt.setAttribute("fill", fill);
 			elt.setAttribute("style", getStyle());
-			getG().appendChild(elt);
+			appendToG(elt);
 		}
 		ensureVisible(x1, y1);
 		ensureVisible(x2, y2);
@@ -315,7 +334,7 @@ public class SvgGraphics {
 			pendingAction.remove(0);
 			if (element.getFirstChild() != null) {
 				// Empty link
-				getG().appendChild(element);
+				appendToG(element);
 			}
 		}
 	}
@@ -358,6 +377,16 @@ public class SvgGraphics {
 		return pendingAction.get(0);
 	}
 
+	private void appendToG(Node node) {
+		if (pendingAction.size() > 0) {
+			pendingAction.get(0).appendChild(node);
+		} else if (streamWriter != null) {
+			streamWriter.append(node);
+		} else {
+			gRoot.appendChild(node);
+		}
+	}
+
 	public void svgRectangle(double x, double y, double width, double height, double rx, double ry, double deltaShadow,
 			String id) {
 		if (height <= 0 || width <= 0) {
@@ -376,7 +405,7 @@ public class SvgGraphics {
 			if (id != null) {
 				elt.setAttribute("id", id);
 			}
-			getG().appendChild(elt);
+			appendToG(elt);
 		}
 		ensureVisible(x + width + 2 * deltaShadow, y + height + 2 * deltaShadow);
 	}
@@ -402,7 +431,7 @@ public class SvgGraphics {
 			elt.setAttribute("y2", format(y2));
 			elt.setAttribute("style", getStyle());
 			addFilterShadowId(elt, deltaShadow);
-			getG().appendChild(elt);
+			appendToG(elt);
 		}
 		ensureVisible(x1 + 2 * deltaShadow, y1 + 2 * deltaShadow);
 		ensureVisible(x2 + 2 * deltaShadow, y2 + 2 * deltaShadow);
@@ -436,7 +465,7 @@ public class SvgGraphics {
 			elt.setAttribute("fill", fill);
 			elt.setAttribute("style", getStyle());
 			addFilterShadowId(elt, deltaShadow);
-			getG().appendChild(elt);
+			appendToG(elt);
 		}
 
 		for (int i = 0; i < points.length; i += 2) {
@@ -487,7 +516,7 @@ public class SvgGraphics {
 				elt.setAttribute(ent.getKey(), ent.getValue());
 			}
 			elt.setTextContent(text);
-			getG().appendChild(elt);
+			appendToG(elt);
 
 			// http://forum.plantuml.net/9158/hyperlink-without-underline
 			// if (textDecoration != null && textDecoration.contains("underline")) {
@@ -561,6 +590,14 @@ public class SvgGraphics {
 	}
 
 	public void createXml(OutputStream os) throws TransformerException, IOException {
+		if (streamWriter != null) {
+			setRootAttributes();
+			if (pendingBackgroundOffset != -1) {
+				streamWriter.insertAt(pendingBackgroundOffset, pendingBackground);
+			}
+			streamWriter.writeDocument(os, root, gRoot);
+			return;
+		}
 		if (images.size() == 0) {
 			createXmlInternal(os);
 			return;
@@ -581,10 +618,20 @@ public class SvgGraphics {
 		// l.drawNow();
 		// }
 
+		setRootAttributes();
+
 		// Get a DOMSource object that represents the
 		// Document object
 		final DOMSource source = new DOMSource(document);
 
+		// Get a StreamResult object that points to the
+		// screen. Then transform the DOM sending XML to
+		// the screen.
+		final StreamResult scrResult = new StreamResult(os);
+		getTransformer().transform(source, scrResult);
+	}
+
+	private void setRootAttributes() {
 		final int maxXscaled = (int) (maxX * scale);
 		final int maxYscaled = (int) (maxY * scale);
 		String style = "width:" + maxXscaled + "px;height:" + maxYscaled + "px;";
@@ -607,12 +654,6 @@ public class SvgGraphics {
 			pendingBackground.setAttribute("height", format(maxY));
 
 		}
-
-		// Get a StreamResult object that points to the
-		// screen. Then transform the DOM sending XML to
-		// the screen.
-		final StreamResult scrResult = new StreamResult(os);
-		getTransformer().transform(source, scrResult);
 	}
 
 	public void svgPath(double x, double y, UPath path, double deltaShadow) {
@@ -662,7 +703,7 @@ public class SvgGraphics {
 				elt.setAttribute("id", id);
 			}
 			addFilterShadowId(elt, deltaShadow);
-			getG().appendChild(elt);
+			appendToG(elt);
 		}
 	}
 
@@ -722,7 +763,7 @@ public class SvgGraphics {
 			final Element elt = (Element) document.createElement("path");
 			elt.setAttribute("d", currentPath.toString());
 			// elt elt.setAttribute("style", getStyle());
-			getG().appendChild(elt);
+			appendToG(elt);
 		}
 		currentPath = null;
 
@@ -737,7 +778,7 @@ public class SvgGraphics {
 			elt.setAttribute("y", format(y));
 			final String s = toBase64(image);
 			elt.setAttribute("xlink:href", "data:image/png;base64," + s);
-			getG().appendChild(elt);
+			appendToG(elt);
 		}
 		ensureVisible(x, y);
 		ensureVisible(x + image.getWidth(), y + image.getHeight());
@@ -752,8 +793,8 @@ public class SvgGraphics {
 			svg = pos + svg.substring(5);
 			final String key = "imagesvginlined" + images.size();
 			final Element elt = (Element) document.createElement(key);
-			getG().appendChild(elt);
 			images.put(key, svg);
+			appendToG(elt);
 		}
 		ensureVisible(x, y);
 		ensureVisible(x + image.getData("width"), y + image.getData("height"));
@@ -828,7 +869,7 @@ public class SvgGraphics {
 		final String signature = getMD5Hex(comment);
 		comment = "MD5=[" + signature + "]\n" + comment;
 		final Comment commentElement = document.createComment(comment);
-		getG().appendChild(commentElement);
+		appendToG(commentElement);
 	}
 
 }
@@ -0,0 +1,292 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.svg;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Map;
+
+import net.sourceforge.plantuml.Log;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * Serializes the elements of a {@link SvgGraphics} as soon as they are drawn, instead of keeping the whole DOM
+ * document until the end. The output is the same as the one of the XSLT serializer.
+ *
+ * This saves the DOM tree of the body, not its text: the attributes of the root element and the <code>defs</code>
+ * depend on the whole drawing, so the content of the main <code>g</code> element is kept as text until the document
+ * is finished, and then written to the output in chunks.
+ */
+final class SvgStreamWriter {
+
+	private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+	private static final int CHUNK_SIZE = 8192;
+
+	private final StringBuilder body = new StringBuilder();
+	private final Map<String, String> images;
+	private int insertOffset = -1;
+	private Node inserted;
+
+	SvgStreamWriter(Map<String, String> images) {
+		this.images = images;
+	}
+
+	void append(Node node) {
+		write(body, node);
+	}
+
+	int length() {
+		return body.length();
+	}
+
+	/**
+	 * Writes <code>node</code> at <code>offset</code> of the body, without moving the text already there.
+	 */
+	void insertAt(int offset, Node node) {
+		this.insertOffset = offset;
+		this.inserted = node;
+	}
+
+	/**
+	 * Writes the document, <code>g</code> being the element whose content has been streamed.
+	 */
+	void writeDocument(OutputStream os, Element root, Element g) throws IOException {
+		final Writer writer = new OutputStreamWriter(os, "UTF-8");
+		final StringBuilder sb = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>");
+		writeStartTag(sb, root);
+		sb.append('>');
+		for (Node child = root.getFirstChild(); child != null; child = child.getNextSibling()) {
+			if (child != g) {
+				write(sb, child);
+				continue;
+			}
+			if (body.length() == 0 && inserted == null) {
+				writeStartTag(sb, g);
+				sb.append("/>");
+				continue;
+			}
+			writeStartTag(sb, g);
+			sb.append('>');
+			if (inserted == null) {
+				writer.write(sb.toString());
+				sb.setLength(0);
+				writeBody(writer, 0, body.length());
+			} else {
+				writer.write(sb.toString());
+				sb.setLength(0);
+				writeBody(writer, 0, insertOffset);
+				write(sb, inserted);
+				writer.write(sb.toString());
+				sb.setLength(0);
+				writeBody(writer, insertOffset, body.length());
+			}
+			sb.append("</").append(g.getNodeName()).append('>');
+		}
+		sb.append("</").append(root.getNodeName()).append('>');
+		writer.write(sb.toString());
+		writer.flush();
+	}
+
+	// Avoids a copy of the whole body as a String
+	private void writeBody(Writer writer, int start, int end) throws IOException {
+		final char[] buffer = new char[CHUNK_SIZE];
+		for (int i = start; i < end; i += CHUNK_SIZE) {
+			final int len = Math.min(CHUNK_SIZE, end - i);
+			body.getChars(i, i + len, buffer, 0);
+			writer.write(buffer, 0, len);
+		}
+	}
+
+	private void write(StringBuilder sb, Node node) {
+		final short type = node.getNodeType();
+		if (type == Node.ELEMENT_NODE) {
+			writeElement(sb, (Element) node);
+		} else if (type == Node.TEXT_NODE) {
+			writeText(sb, node.getNodeValue());
+		} else if (type == Node.CDATA_SECTION_NODE) {
+			writeCData(sb, node.getNodeValue());
+		} else if (type == Node.COMMENT_NODE) {
+			writeComment(sb, node.getNodeValue());
+		} else if (type == Node.PROCESSING_INSTRUCTION_NODE) {
+			sb.append("<?").append(node.getNodeName());
+			final String data = node.getNodeValue();
+			if (data != null && data.length() > 0) {
+				sb.append(' ').append(data);
+			}
+			sb.append("?>");
+		} else {
+			// Other nodes, such as document types, never appear in the body of a SVG drawing
+			Log.info("SVG node ignored " + node);
+		}
+	}
+
+	private void writeElement(StringBuilder sb, Element elt) {
+		final String image = images.get(elt.getNodeName());
+		if (image != null) {
+			sb.append(image);
+			return;
+		}
+		writeStartTag(sb, elt);
+		if (elt.hasChildNodes() == false) {
+			sb.append("/>");
+			return;
+		}
+		sb.append('>');
+		for (Node child = elt.getFirstChild(); child != null; child = child.getNextSibling()) {
+			write(sb, child);
+		}
+		sb.append("</").append(elt.getNodeName()).append('>');
+	}
+
+	// Namespace declarations come first, then the other attributes sorted by name as the DOM keeps them
+	private static void writeStartTag(StringBuilder sb, Element elt) {
+		sb.append('<').append(elt.getNodeName());
+		final NamedNodeMap attributes = elt.getAttributes();
+		for (int i = 0; i < attributes.getLength(); i++) {
+			final Attr attr = (Attr) attributes.item(i);
+			if (isNamespaceDeclaration(attr)) {
+				writeAttribute(sb, attr);
+			}
+		}
+		for (int i = 0; i < attributes.getLength(); i++) {
+			final Attr attr = (Attr) attributes.item(i);
+			if (isNamespaceDeclaration(attr) == false) {
+				writeAttribute(sb, attr);
+			}
+		}
+	}
+
+	private static boolean isNamespaceDeclaration(Attr attr) {
+		final String name = attr.getName();
+		return name.equals("xmlns") || name.startsWith("xmlns:");
+	}
+
+	private static void writeAttribute(StringBuilder sb, Attr attr) {
+		sb.append(' ').append(attr.getName()).append("=\"");
+		final String value = attr.getValue();
+		for (int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			if (Character.isHighSurrogate(c) && i + 1 < value.length()) {
+				sb.append("&#").append(value.codePointAt(i)).append(';');
+				i++;
+			} else if (c == '&') {
+				sb.append("&amp;");
+			} else if (c == '<') {
+				sb.append("&lt;");
+			} else if (c == '>') {
+				sb.append("&gt;");
+			} else if (c == '"') {
+				sb.append("&quot;");
+			} else if (c < 0x20) {
+				sb.append("&#").append((int) c).append(';');
+			} else {
+				sb.append(c);
+			}
+		}
+		sb.append('"');
+	}
+
+	private static void writeText(StringBuilder sb, String text) {
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			if (Character.isHighSurrogate(c) && i + 1 < text.length()) {
+				sb.append("&#").append(text.codePointAt(i)).append(';');
+				i++;
+			} else if (c == '&') {
+				sb.append("&amp;");
+			} else if (c == '<') {
+				sb.append("&lt;");
+			} else if (c == '>') {
+				sb.append("&gt;");
+			} else if (c == '\n') {
+				sb.append(LINE_SEPARATOR);
+			} else if ((c < 0x20 && c != '\t') || (c >= 0x7F && c <= 0x9F)) {
+				sb.append("&#").append((int) c).append(';');
+			} else {
+				sb.append(c);
+			}
+		}
+	}
+
+	private static void writeCData(StringBuilder sb, String text) {
+		sb.append("<![CDATA[");
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			if (c == ']' && text.startsWith("]]>", i)) {
+				sb.append("]]]]><![CDATA[>");
+				i += 2;
+			} else if (c < 0x20 && c != '\t' && c != '\n' && c != '\r') {
+				sb.append("]]>&#").append((int) c).append(";<![CDATA[");
+			} else {
+				sb.append(c);
+			}
+		}
+		sb.append("]]>");
+	}
+
+	// Two consecutive dashes are not allowed in a comment
+	private static void writeComment(StringBuilder sb, String text) {
+		sb.append("<!--");
+		boolean wasDash = false;
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			if (wasDash && c == '-') {
+				sb.append(" -");
+			} else if (c == '\n') {
+				sb.append(LINE_SEPARATOR);
+			} else {
+				sb.append(c);
+			}
+			wasDash = c == '-';
+		}
+		if (text.endsWith("-")) {
+			sb.append(' ');
+		}
+		sb.append("-->");
+	}
+
+}
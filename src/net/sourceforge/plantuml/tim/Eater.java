@@ -46,6 +46,7 @@ import net.sourceforge.plantuml.LineLocation;
 import net.sourceforge.plantuml.StringLocated;
 import net.sourceforge.plantuml.json.Json;
 import net.sourceforge.plantuml.json.JsonValue;
+import net.sourceforge.plantuml.tim.expression.CompiledExpression;
 import net.sourceforge.plantuml.tim.expression.TValue;
 import net.sourceforge.plantuml.tim.expression.Token;
 import net.sourceforge.plantuml.tim.expression.TokenStack;
@@ -53,6 +54,10 @@ import net.sourceforge.plantuml.tim.expression.TokenType;
 
 public abstract class Eater {
 
+	private static final char EXPRESSION = 'E';
+	private static final char EXPRESSION_STOP_AT_COLON = 'C';
+	private static final char EXPRESSION_UNTIL_CLOSE_PARENTHESIS_OR_COMMA = 'P';
+
 	private int i = 0;
 	private final String s;
 
@@ -80,18 +85,39 @@ public abstract class Eater {
 			System.err.println("json=" + json);
 			return TValue.fromJson(json);
 		}
-		final TokenStack tokenStack = new TokenStack();
-		addIntoTokenStack(tokenStack, false);
-		if (tokenStack.size() == 0) {
-			throw new EaterException("Missing expression");
-		}
-		return tokenStack.getResult(context, memory);
+		return eatCompiledExpression(EXPRESSION).getResult(context, memory);
 	}
 
 	final protected TValue eatExpressionStopAtColon(TContext context, TMemory memory) throws EaterException {
-		final TokenStack tokenStack = new TokenStack();
-		addIntoTokenStack(tokenStack, true);
-		return tokenStack.getResult(context, memory);
+		return eatCompiledExpression(EXPRESSION_STOP_AT_COLON).getResult(context, memory);
+	}
+
+	final protected TValue eatExpressionUntilCloseParenthesisOrComma(TContext context, TMemory memory)
+			throws EaterException {
+		return eatCompiledExpression(EXPRESSION_UNTIL_CLOSE_PARENTHESIS_OR_COMMA).getResult(context, memory);
+	}
+
+	private CompiledExpression eatCompiledExpression(char kind) throws EaterException {
+		final String key = kind + s.substring(i);
+		CompiledExpression result = CompiledExpression.getCached(key);
+		if (result != null) {
+			i += result.getLength();
+			return result;
+		}
+		final int start = i;
+		final TokenStack tokenStack;
+		if (kind == EXPRESSION_UNTIL_CLOSE_PARENTHESIS_OR_COMMA) {
+			tokenStack = TokenStack.eatUntilCloseParenthesisOrComma(this);
+		} else {
+			tokenStack = new TokenStack();
+			addIntoTokenStack(tokenStack, kind == EXPRESSION_STOP_AT_COLON);
+			if (kind == EXPRESSION && tokenStack.size() == 0) {
+				throw new EaterException("Missing expression");
+			}
+		}
+		result = CompiledExpression.compile(tokenStack, i - start);
+		CompiledExpression.putCached(key, result);
+		return result;
 	}
 
 	final protected void addIntoTokenStack(TokenStack tokenStack, boolean stopAtColon) throws EaterException {
@@ -44,7 +44,6 @@ import java.util.Collections;
 import java.util.List;
 
 import net.sourceforge.plantuml.tim.expression.TValue;
-import net.sourceforge.plantuml.tim.expression.TokenStack;
 
 public class EaterFunctionCall extends Eater {
 
@@ -77,9 +76,7 @@ public class EaterFunctionCall extends Eater {
 				final TValue result = TValue.fromString(tmp2);
 				values.add(result);
 			} else {
-				final TokenStack tokens = TokenStack.eatUntilCloseParenthesisOrComma(this).withoutSpace();
-				tokens.guessFunctions();
-				final TValue result = tokens.getResult(context, memory);
+				final TValue result = eatExpressionUntilCloseParenthesisOrComma(context, memory);
 				values.add(result);
 			}
 			skipSpaces();
@@ -0,0 +1,203 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.tim;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Finds in a single pass all the names of a set that occur in a line, using an Aho-Corasick automaton.
+ *
+ * Names can be added and removed at any time: the automaton is only built again by the first search that follows a
+ * change of the set of names. Transitions are kept in one open addressing table, so searching does not allocate
+ * anything.
+ */
+public final class NameMatcher {
+
+	private final Set<String> names = new HashSet<String>();
+	private boolean dirty = true;
+
+	private int nbStates;
+	private int[] fail;
+	private int[] output;
+	private int[] dictLink;
+
+	private int mask;
+	private long[] keys;
+	private int[] values;
+
+	public void add(String name) {
+		if (name.length() > 0 && names.add(name)) {
+			dirty = true;
+		}
+	}
+
+	public void remove(String name) {
+		if (names.remove(name)) {
+			dirty = true;
+		}
+	}
+
+	/**
+	 * For each position <code>i</code> of <code>s</code> starting from <code>from</code>, stores in
+	 * <code>longest[i]</code> the length of the longest name starting there, if it is greater than the value already
+	 * stored.
+	 */
+	public void findLongestMatches(String s, int from, int[] longest) {
+		if (dirty) {
+			build();
+		}
+		if (nbStates == 1) {
+			return;
+		}
+		int state = 0;
+		for (int i = from; i < s.length(); i++) {
+			final char ch = s.charAt(i);
+			int next = get(state, ch);
+			while (next == -1 && state != 0) {
+				state = fail[state];
+				next = get(state, ch);
+			}
+			state = next == -1 ? 0 : next;
+			for (int t = output[state] > 0 ? state : dictLink[state]; t != -1; t = dictLink[t]) {
+				final int start = i - output[t] + 1;
+				if (output[t] > longest[start]) {
+					longest[start] = output[t];
+				}
+			}
+		}
+	}
+
+	private void build() {
+		int size = 1;
+		for (String name : names) {
+			size += name.length();
+		}
+		fail = new int[size];
+		output = new int[size];
+		dictLink = new int[size];
+		final char[] stateChar = new char[size];
+		final int[] firstChild = new int[size];
+		final int[] nextSibling = new int[size];
+		final int capacity = Math.max(16, Integer.highestOneBit(size) * 4);
+		mask = capacity - 1;
+		keys = new long[capacity];
+		values = new int[capacity];
+
+		nbStates = 1;
+		firstChild[0] = -1;
+		for (String name : names) {
+			int state = 0;
+			for (int i = 0; i < name.length(); i++) {
+				final char ch = name.charAt(i);
+				int next = get(state, ch);
+				if (next == -1) {
+					next = nbStates++;
+					put(state, ch, next);
+					stateChar[next] = ch;
+					firstChild[next] = -1;
+					nextSibling[next] = firstChild[state];
+					firstChild[state] = next;
+				}
+				state = next;
+			}
+			output[state] = name.length();
+		}
+
+		// Breadth first, so that the failure state of a state is always computed before it is used
+		final int[] queue = new int[nbStates];
+		int head = 0;
+		int tail = 0;
+		dictLink[0] = -1;
+		for (int c = firstChild[0]; c != -1; c = nextSibling[c]) {
+			fail[c] = 0;
+			queue[tail++] = c;
+		}
+		while (head < tail) {
+			final int state = queue[head++];
+			final int f = fail[state];
+			dictLink[state] = output[f] > 0 ? f : dictLink[f];
+			for (int c = firstChild[state]; c != -1; c = nextSibling[c]) {
+				final char ch = stateChar[c];
+				int g = f;
+				int next = get(g, ch);
+				while (next == -1 && g != 0) {
+					g = fail[g];
+					next = get(g, ch);
+				}
+				fail[c] = next == -1 ? 0 : next;
+				queue[tail++] = c;
+			}
+		}
+		dirty = false;
+	}
+
+	private static long key(int state, char ch) {
+		return ((long) state << 16 | ch) + 1;
+	}
+
+	private int slot(long key) {
+		return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+	}
+
+	private int get(int state, char ch) {
+		final long key = key(state, ch);
+		for (int h = slot(key);; h = (h + 1) & mask) {
+			final long k = keys[h];
+			if (k == key) {
+				return values[h];
+			}
+			if (k == 0) {
+				return -1;
+			}
+		}
+	}
+
+	private void put(int state, char ch, int next) {
+		final long key = key(state, ch);
+		int h = slot(key);
+		while (keys[h] != 0) {
+			h = (h + 1) & mask;
+		}
+		keys[h] = key;
+		values[h] = next;
+	}
+
+}
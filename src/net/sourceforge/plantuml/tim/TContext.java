@@ -44,6 +44,7 @@ import java.io.IOException;
 import java.io.Reader;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -52,6 +53,7 @@ import java.util.Set;
 
 import net.sourceforge.plantuml.DefinitionsContainer;
 import net.sourceforge.plantuml.FileSystem;
+import net.sourceforge.plantuml.Log;
 import net.sourceforge.plantuml.OptionFlags;
 import net.sourceforge.plantuml.StringLocated;
 import net.sourceforge.plantuml.command.CommandExecutionResult;
@@ -97,7 +99,7 @@ public class TContext {
 	private final List<StringLocated> debug = new ArrayList<StringLocated>();
 	private final Map<TFunctionSignature, TFunction> functions2 = new HashMap<TFunctionSignature, TFunction>();
 	private final Set<TFunctionSignature> functionsFinal = new HashSet<TFunctionSignature>();
-	private final Trie functions3 = new TrieImpl();
+	private final NameMatcher functions3 = new NameMatcher();
 	private ImportedFiles importedFiles;
 	private final String charset;
 
@@ -107,9 +109,11 @@ public class TContext {
 	private final Map<String, Sub2> subs = new HashMap<String, Sub2>();
 	private final DefinitionsContainer definitionsContainer;
 
-	// private final Set<FileWithSuffix> usedFiles = new HashSet<FileWithSuffix>();
+	private final Set<FileWithSuffix> filesUsedGlobal = new HashSet<FileWithSuffix>();
 	private final Set<FileWithSuffix> filesUsedCurrent = new HashSet<FileWithSuffix>();
 
+	private TIncludeCache.Recorder includeRecorder;
+
 	private void addStandardFunctions(Defines defines) {
 		addFunction(new Strlen());
 		addFunction(new Substr());
@@ -141,6 +145,10 @@ public class TContext {
 		// %str_replace
 	}
 
+	public Set<FileWithSuffix> getFilesUsedGlobal() {
+		return Collections.unmodifiableSet(filesUsedGlobal);
+	}
+
 	public TContext(ImportedFiles importedFiles, Defines defines, String charset,
 			DefinitionsContainer definitionsContainer) {
 		this.definitionsContainer = definitionsContainer;
@@ -163,19 +171,22 @@ public class TContext {
 	}
 
 	public TFunction getFunctionSmart(TFunctionSignature searched) {
-		final TFunction func = functions2.get(searched);
-		if (func != null) {
-			return func;
-		}
-		for (TFunction candidate : functions2.values()) {
-			if (candidate.getSignature().sameNameAs(searched) == false) {
-				continue;
-			}
-			if (candidate.canCover(searched.getNbArg())) {
-				return candidate;
+		TFunction func = functions2.get(searched);
+		if (func == null) {
+			for (TFunction candidate : functions2.values()) {
+				if (candidate.getSignature().sameNameAs(searched) == false) {
+					continue;
+				}
+				if (candidate.canCover(searched.getNbArg())) {
+					func = candidate;
+					break;
+				}
 			}
 		}
-		return null;
+		if (func != null && TIncludeCache.isVolatile(func)) {
+			setIncludeVolatile();
+		}
+		return func;
 	}
 
 	public void executeOneLine(TMemory memory, TLineType type, StringLocated s, TFunctionType fromType)
@@ -360,6 +371,7 @@ public class TContext {
 	}
 
 	private void executeDumpMemory(TMemory memory, String s) throws EaterException {
+		setIncludeVolatile();
 		final EaterDumpMemory condition = new EaterDumpMemory(s);
 		condition.execute(this, memory);
 	}
@@ -471,13 +483,17 @@ public class TContext {
 		// https://en.wikipedia.org/wiki/String-searching_algorithm
 		// https://www.quora.com/What-is-the-most-efficient-algorithm-to-replace-all-occurrences-of-a-pattern-P-in-a-string-with-a-pattern-P
 		// https://en.wikipedia.org/wiki/Trie
+		// https://en.wikipedia.org/wiki/Aho%E2%80%93Corasick_algorithm
 		if (memory.isEmpty() && functions2.size() == 0) {
 			return s;
 		}
+		final int[] functionsAt = new int[s.length()];
+		final int[] variablesAt = new int[s.length()];
+		findNames(memory, s, 0, functionsAt, variablesAt);
 		final StringBuilder result = new StringBuilder();
 		for (int i = 0; i < s.length(); i++) {
 			final char c = s.charAt(i);
-			final String presentFunction = getFunctionNameAt(s, i);
+			final String presentFunction = getFunctionNameAt(s, i, functionsAt);
 			if (presentFunction != null) {
 				final String sub = s.substring(i);
 				final EaterFunctionCall call = new EaterFunctionCall(sub, isLegacyDefine(presentFunction),
@@ -503,9 +519,11 @@ public class TContext {
 				final TValue functionReturn = function.executeReturn(this, memory, call.getValues());
 				result.append(functionReturn.toString());
 				i += call.getCurrentPosition() - 1;
+				// The function may have changed the variables or the functions
+				findNames(memory, s, i + 1, functionsAt, variablesAt);
 				continue;
 			}
-			final String presentVariable = getVarnameAt(memory, s, i);
+			final String presentVariable = getVarnameAt(s, i, variablesAt);
 			if (presentVariable != null) {
 				if (result.toString().endsWith("##")) {
 					result.setLength(result.length() - 2);
@@ -558,6 +576,7 @@ public class TContext {
 	}
 
 	private void executeImport(TMemory memory, StringLocated s) throws EaterException {
+		setIncludeVolatile();
 		final EaterImport _import = new EaterImport(s.getTrimmed().getString());
 		_import.execute(this, memory);
 
@@ -566,6 +585,7 @@ public class TContext {
 					applyFunctionsAndVariables(memory, _import.getLocation()));
 			if (file.exists() && file.isDirectory() == false) {
 				importedFiles.add(file);
+				filesUsedGlobal.add(new FileWithSuffix(file, null));
 				return;
 			}
 		} catch (IOException e) {
@@ -577,11 +597,13 @@ public class TContext {
 	}
 
 	private void executeLog(TMemory memory, StringLocated s) throws EaterException {
+		setIncludeVolatile();
 		final EaterLog log = new EaterLog(s.getTrimmed().getString());
 		log.execute(this, memory);
 	}
 
 	private void executeIncludesub(TMemory memory, StringLocated s) throws EaterException {
+		setIncludeVolatile();
 		ImportedFiles saveImportedFiles = null;
 		try {
 			final EaterIncludesub include = new EaterIncludesub(s.getTrimmed().getString());
@@ -595,6 +617,7 @@ public class TContext {
 				try {
 					final FileWithSuffix f2 = new FileWithSuffix(importedFiles, filename, null);
 					if (f2.fileOk()) {
+						filesUsedGlobal.add(f2);
 						saveImportedFiles = this.importedFiles;
 						this.importedFiles = this.importedFiles.withCurrentDir(f2.getParentFile());
 						final Reader reader = f2.getReader(charset);
@@ -628,6 +651,7 @@ public class TContext {
 	}
 
 	private void executeIncludeDef(TMemory memory, StringLocated s) throws EaterException {
+		setIncludeVolatile();
 		final EaterIncludeDef include = new EaterIncludeDef(s.getTrimmed().getString());
 		include.execute(this, memory);
 		final String definitionName = include.getLocation();
@@ -663,14 +687,20 @@ public class TContext {
 
 		ReadLine reader2 = null;
 		ImportedFiles saveImportedFiles = null;
+		TIncludeCache.Recorder recorder = null;
 		try {
 			if (location.startsWith("http://") || location.startsWith("https://")) {
 				final URL url = new URL(location);
 				reader2 = PreprocessorInclude.getReaderIncludeUrl2(url, s, suf, charset);
-
+				setIncludeVolatile();
 			}
 			if (location.startsWith("<") && location.endsWith(">")) {
-				reader2 = PreprocessorInclude.getReaderStdlibInclude(s, location.substring(1, location.length() - 1));
+				final String name = location.substring(1, location.length() - 1);
+				recorder = getIncludeRecorder(memory, s, name, strategy);
+				if (recorder != null && replayInclude(memory, s, TIncludeCache.get(recorder.getKey()))) {
+					return;
+				}
+				reader2 = PreprocessorInclude.getReaderStdlibInclude(s, name);
 			} else if (OptionFlags.ALLOW_INCLUDE) {
 				final FileWithSuffix f2 = new FileWithSuffix(importedFiles, location, suf);
 				if (f2.fileOk()) {
@@ -680,6 +710,16 @@ public class TContext {
 					if (strategy == PreprocessorIncludeStrategy.ONCE && filesUsedCurrent.contains(f2)) {
 						throw new EaterException("This file has already been included");
 					}
+					if (includeRecorder != null) {
+						includeRecorder.addDependency(f2);
+					}
+					recorder = getIncludeRecorder(memory, s, f2, strategy);
+					if (recorder != null) {
+						if (replayInclude(memory, s, TIncludeCache.get(recorder.getKey()))) {
+							return;
+						}
+						recorder.addDependency(f2);
+					}
 
 					if (StartDiagramExtractReader.containsStartDiagram(f2, s, charset)) {
 						reader2 = StartDiagramExtractReader.build(f2, s, charset);
@@ -694,24 +734,32 @@ public class TContext {
 					this.importedFiles = this.importedFiles.withCurrentDir(f2.getParentFile());
 					assert reader2 != null;
 					filesUsedCurrent.add(f2);
-					// filesUsedGlobal.add(f2);
+					filesUsedGlobal.add(f2);
 				}
 			}
 			if (reader2 != null) {
 				reader2 = new ReadLineQuoteComment(true).applyFilter(reader2);
+				this.includeRecorder = recorder;
 				try {
 					do {
 						final StringLocated sl = reader2.readLine();
 						if (sl == null) {
-							return;
+							break;
 						}
 						executeOneLine(memory, TLineType.getFromLine(sl.getString()), sl, null);
 					} while (true);
 				} finally {
+					if (recorder != null) {
+						this.includeRecorder = null;
+					}
 					if (saveImportedFiles != null) {
 						this.importedFiles = saveImportedFiles;
 					}
 				}
+				if (recorder != null) {
+					recordInclude(memory, recorder);
+				}
+				return;
 			}
 		} catch (IOException e) {
 			e.printStackTrace();
@@ -721,6 +769,60 @@ public class TContext {
 		throw new EaterException("cannot include " + location);
 	}
 
+	private void setIncludeVolatile() {
+		if (includeRecorder != null) {
+			includeRecorder.setVolatile();
+		}
+	}
+
+	/**
+	 * @return a recorder for an include whose effect may be cached, or <code>null</code> when the include is nested
+	 *         in another one or in a function.
+	 */
+	private TIncludeCache.Recorder getIncludeRecorder(TMemory memory, StringLocated s, Object included,
+			PreprocessorIncludeStrategy strategy) {
+		if (includeRecorder != null || memory instanceof TMemoryGlobal == false || pendingAdd != null) {
+			return null;
+		}
+		final String state = TIncludeCache.getStateSignature(memory, functions2.values(), filesUsedCurrent,
+				importedFiles, charset);
+		return new TIncludeCache.Recorder(new TIncludeCache.Key(included, strategy, state), s.getLocation(), memory,
+				functions2, resultList, debug, filesUsedCurrent, filesUsedGlobal);
+	}
+
+	private void recordInclude(TMemory memory, TIncludeCache.Recorder recorder) {
+		if (pendingFunction != null || pendingSub != null || inLongComment || pendingAdd != null) {
+			return;
+		}
+		final TIncludeCache.Effect effect = recorder.getEffect(memory, functions2, resultList, debug,
+				filesUsedCurrent, filesUsedGlobal);
+		if (effect != null) {
+			TIncludeCache.put(recorder.getKey(), effect);
+		}
+	}
+
+	private boolean replayInclude(TMemory memory, StringLocated s, TIncludeCache.Effect effect)
+			throws EaterException {
+		if (effect == null) {
+			return false;
+		}
+		Log.info("Replaying include " + s.getString());
+		for (String name : effect.getRemovedVariables()) {
+			memory.removeVariable(name);
+		}
+		for (Map.Entry<String, TVariable> ent : effect.getVariables().entrySet()) {
+			memory.putVariable(ent.getKey(), ent.getValue(), TVariableScope.GLOBAL);
+		}
+		for (TFunction func : effect.getFunctions()) {
+			putFunction(func);
+		}
+		resultList.addAll(effect.getLines(s.getLocation()));
+		debug.addAll(effect.getDebug(s.getLocation()));
+		filesUsedCurrent.addAll(effect.getFilesUsedCurrent());
+		filesUsedGlobal.addAll(effect.getFilesUsedGlobal());
+		return true;
+	}
+
 	public boolean isLegacyDefine(String functionName) {
 		for (Map.Entry<TFunctionSignature, TFunction> ent : functions2.entrySet()) {
 			if (ent.getKey().getFunctionName().equals(functionName) && ent.getValue().getFunctionType().isLegacy()) {
@@ -748,17 +850,25 @@ public class TContext {
 		return false;
 	}
 
-	private static String getVarnameAt(TMemory memory, String s, int pos) {
+	private void findNames(TMemory memory, String s, int from, int[] functionsAt, int[] variablesAt) {
+		for (int i = from; i < s.length(); i++) {
+			functionsAt[i] = 0;
+			variablesAt[i] = 0;
+		}
+		functions3.findLongestMatches(s, from, functionsAt);
+		memory.findLongestVariableNames(s, from, variablesAt);
+	}
+
+	private static String getVarnameAt(String s, int pos, int[] variablesAt) {
 		if (pos > 0 && TLineType.isLetterOrUnderscoreOrDigit(s.charAt(pos - 1)) && justAfterBackslashN(s, pos) == false) {
 			return null;
 		}
-		final String varname = memory.variablesNames3().getLonguestMatchStartingIn(s.substring(pos));
-		if (varname.length() == 0) {
+		final int length = variablesAt[pos];
+		if (length == 0) {
 			return null;
 		}
-		if (pos + varname.length() == s.length()
-				|| TLineType.isLetterOrUnderscoreOrDigit(s.charAt(pos + varname.length())) == false) {
-			return varname;
+		if (pos + length == s.length() || TLineType.isLetterOrUnderscoreOrDigit(s.charAt(pos + length)) == false) {
+			return s.substring(pos, pos + length);
 		}
 		return null;
 	}
@@ -767,15 +877,15 @@ public class TContext {
 		return pos > 1 && s.charAt(pos - 2) == '\\' && s.charAt(pos - 1) == 'n';
 	}
 
-	private String getFunctionNameAt(String s, int pos) {
+	private static String getFunctionNameAt(String s, int pos, int[] functionsAt) {
 		if (pos > 0 && TLineType.isLetterOrUnderscoreOrDigit(s.charAt(pos - 1)) && justAfterBackslashN(s, pos) == false) {
 			return null;
 		}
-		final String fname = functions3.getLonguestMatchStartingIn(s.substring(pos));
-		if (fname.length() == 0) {
+		final int length = functionsAt[pos];
+		if (length == 0) {
 			return null;
 		}
-		return fname.substring(0, fname.length() - 1);
+		return s.substring(pos, pos + length - 1);
 	}
 
 	public List<StringLocated> getResultList() {
@@ -794,6 +904,10 @@ public class TContext {
 		if (func.getFunctionType() == TFunctionType.LEGACY_DEFINELONG) {
 			((TFunctionImpl) func).finalizeEnddefinelong();
 		}
+		putFunction(func);
+	}
+
+	private void putFunction(TFunction func) {
 		this.functions2.put(func.getSignature(), func);
 		this.functions3.add(func.getSignature().getFunctionName() + "(");
 	}
@@ -52,6 +52,7 @@ public class TFunctionImpl implements TFunction {
 	private final TFunctionSignature signature;
 	private final List<TFunctionArgument> args;
 	private final List<StringLocated> body = new ArrayList<StringLocated>();
+	private final List<TLineType> bodyTypes = new ArrayList<TLineType>();
 	private final boolean unquoted;
 	private TFunctionType functionType = TFunctionType.VOID;
 	private String legacyDefinition;
@@ -80,8 +81,10 @@ public class TFunctionImpl implements TFunction {
 	}
 
 	public void addBody(StringLocated s) {
+		final TLineType type = TLineType.getFromLine(s.getString());
 		body.add(s);
-		if (TLineType.getFromLine(s.getString()) == TLineType.RETURN) {
+		bodyTypes.add(type);
+		if (type == TLineType.RETURN) {
 			this.functionType = TFunctionType.RETURN;
 		}
 	}
@@ -101,8 +104,8 @@ public class TFunctionImpl implements TFunction {
 			throw new IllegalStateException();
 		}
 		final TMemory copy = getNewMemory(memory, args);
-		for (StringLocated sl : body) {
-			context.executeOneLine(copy, TLineType.getFromLine(sl.getString()), sl, TFunctionType.VOID);
+		for (int i = 0; i < body.size(); i++) {
+			context.executeOneLine(copy, bodyTypes.get(i), body.get(i), TFunctionType.VOID);
 		}
 	}
 
@@ -125,8 +128,9 @@ public class TFunctionImpl implements TFunction {
 		}
 		final TMemory copy = getNewMemory(memory, args);
 
-		for (StringLocated sl : body) {
-			final TLineType lineType = TLineType.getFromLine(sl.getString());
+		for (int i = 0; i < body.size(); i++) {
+			final StringLocated sl = body.get(i);
+			final TLineType lineType = bodyTypes.get(i);
 			final ConditionalContext conditionalContext = copy.peekConditionalContext();
 			if ((conditionalContext == null || conditionalContext.conditionIsOkHere()) && lineType == TLineType.RETURN) {
 				// System.err.println("s2=" + sl.getString());
@@ -172,6 +176,22 @@ public class TFunctionImpl implements TFunction {
 		this.legacyDefinition = legacyDefinition;
 	}
 
+	/**
+	 * @return a text that differs whenever two functions may behave differently.
+	 */
+	String getDefinition() {
+		final StringBuilder sb = new StringBuilder();
+		sb.append(signature + " " + functionType + " " + unquoted + "\n");
+		for (TFunctionArgument arg : args) {
+			sb.append(arg.getName() + "=" + arg.getOptionalDefaultValue() + "\n");
+		}
+		sb.append(legacyDefinition + "\n");
+		for (StringLocated s : body) {
+			sb.append(s.getString() + "\n");
+		}
+		return sb.toString();
+	}
+
 	public boolean isUnquoted() {
 		return unquoted;
 	}
@@ -0,0 +1,383 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.tim;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import net.sourceforge.plantuml.LineLocation;
+import net.sourceforge.plantuml.LineLocationImpl;
+import net.sourceforge.plantuml.SignatureUtils;
+import net.sourceforge.plantuml.StringLocated;
+import net.sourceforge.plantuml.preproc.FileWithSuffix;
+import net.sourceforge.plantuml.preproc.ImportedFiles;
+import net.sourceforge.plantuml.preproc2.PreprocessorIncludeStrategy;
+import net.sourceforge.plantuml.tim.expression.TValue;
+import net.sourceforge.plantuml.tim.stdlib.DateFunction;
+import net.sourceforge.plantuml.tim.stdlib.Dirpath;
+import net.sourceforge.plantuml.tim.stdlib.FileExists;
+import net.sourceforge.plantuml.tim.stdlib.Filename;
+import net.sourceforge.plantuml.tim.stdlib.Getenv;
+
+/**
+ * Effects of the includes already interpreted, shared by all diagrams.
+ *
+ * Libraries such as C4 mostly define functions and variables. The first time a file or a standard library module is
+ * included, the changes it makes to the {@link TContext} are recorded: variables set or removed, functions defined,
+ * lines emitted and files used. Including it again from the same state only replays those changes. The state is
+ * summed up by a signature of all global variables and user functions.
+ *
+ * Includes that depend on something else than this state (environment, date, other files read by
+ * <code>!import</code> or <code>!includesub</code>...) are never recorded. A recorded file include is dropped as soon
+ * as one of the files it has read is modified.
+ */
+final class TIncludeCache {
+
+	private static final int MAX_ENTRIES = 64;
+
+	private static final ConcurrentMap<Key, Effect> effects = new ConcurrentHashMap<Key, Effect>();
+
+	private TIncludeCache() {
+	}
+
+	static Effect get(Key key) {
+		final Effect effect = effects.get(key);
+		if (effect == null) {
+			return null;
+		}
+		if (effect.isUpToDate() == false) {
+			effects.remove(key, effect);
+			return null;
+		}
+		return effect;
+	}
+
+	static void put(Key key, Effect effect) {
+		if (effects.size() >= MAX_ENTRIES) {
+			effects.clear();
+		}
+		effects.put(key, effect);
+	}
+
+	static boolean isVolatile(TFunction function) {
+		return function instanceof Getenv || function instanceof DateFunction || function instanceof FileExists
+				|| function instanceof Dirpath || function instanceof Filename;
+	}
+
+	static String getStateSignature(TMemory memory, Collection<TFunction> functions, Set<FileWithSuffix> filesUsed,
+			ImportedFiles importedFiles, String charset) {
+		final StringBuilder sb = new StringBuilder();
+		for (String name : new TreeSet<String>(memory.variablesNames())) {
+			final TValue value = memory.getVariable(name).getValue();
+			sb.append(name + (value.isNumber() ? "#" : "=") + value + "\n");
+		}
+		final List<String> definitions = new ArrayList<String>();
+		for (TFunction function : functions) {
+			if (function instanceof TFunctionImpl) {
+				definitions.add(((TFunctionImpl) function).getDefinition());
+			}
+		}
+		Collections.sort(definitions);
+		for (String definition : definitions) {
+			sb.append(definition);
+		}
+		for (FileWithSuffix f : filesUsed) {
+			sb.append(f.getUnderlyingFile() + "!" + f.getSuffix() + "\n");
+		}
+		sb.append(importedFiles.getPath() + "\n" + charset);
+		return SignatureUtils.getMD5Hex(sb.toString());
+	}
+
+	/**
+	 * Changes the location of included lines recorded for an <code>!include</code> at <code>from</code>, so that they
+	 * seem included at <code>to</code>.
+	 */
+	static List<StringLocated> relocate(List<StringLocated> lines, LineLocation from, LineLocation to) {
+		if (from == to) {
+			return lines;
+		}
+		final Map<LineLocation, LineLocation> done = new IdentityHashMap<LineLocation, LineLocation>();
+		final List<StringLocated> result = new ArrayList<StringLocated>(lines.size());
+		for (StringLocated s : lines) {
+			final LineLocation location = relocate(s.getLocation(), from, to, done);
+			if (location == s.getLocation()) {
+				result.add(s);
+			} else {
+				result.add(new StringLocated(s.getString(), location, s.getPreprocessorError()));
+			}
+		}
+		return result;
+	}
+
+	private static LineLocation relocate(LineLocation location, LineLocation from, LineLocation to,
+			Map<LineLocation, LineLocation> done) {
+		if (location == null) {
+			return null;
+		}
+		if (location == from) {
+			return to;
+		}
+		LineLocation result = done.get(location);
+		if (result == null) {
+			final LineLocation parent = relocate(location.getParent(), from, to, done);
+			if (parent == location.getParent()) {
+				result = location;
+			} else {
+				result = ((LineLocationImpl) location).withParent(parent);
+			}
+			done.put(location, result);
+		}
+		return result;
+	}
+
+	static class Key {
+
+		private final Object included;
+		private final PreprocessorIncludeStrategy strategy;
+		private final String state;
+
+		/**
+		 * @param included
+		 *            the name of a standard library module, or a {@link FileWithSuffix}
+		 */
+		Key(Object included, PreprocessorIncludeStrategy strategy, String state) {
+			this.included = included;
+			this.strategy = strategy;
+			this.state = state;
+		}
+
+		@Override
+		public int hashCode() {
+			return included.hashCode() + strategy.hashCode() * 31 + state.hashCode() * 961;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			final Key other = (Key) obj;
+			return included.getClass() == other.included.getClass() && included.equals(other.included)
+					&& strategy == other.strategy && state.equals(other.state);
+		}
+	}
+
+	/**
+	 * Files read by an include, with the version that has been read.
+	 */
+	static class Dependency {
+
+		private final File file;
+		private final long lastModified;
+		private final long length;
+
+		Dependency(File file) {
+			this.file = file;
+			this.lastModified = file.lastModified();
+			this.length = file.length();
+		}
+
+		boolean isUpToDate() {
+			return file.lastModified() == lastModified && file.length() == length;
+		}
+	}
+
+	/**
+	 * Compares the state of a {@link TContext} before and after an include to build its {@link Effect}.
+	 */
+	static class Recorder {
+
+		private final Key key;
+		private final LineLocation origin;
+		private final List<Dependency> dependencies = new ArrayList<Dependency>();
+		private boolean cacheable = true;
+
+		private final Map<String, TVariable> variables = new HashMap<String, TVariable>();
+		private final Map<TFunctionSignature, TFunction> functions;
+		private final int nbLines;
+		private final StringLocated lastLine;
+		private final int nbDebug;
+		private final Set<FileWithSuffix> filesUsedCurrent;
+		private final Set<FileWithSuffix> filesUsedGlobal;
+
+		Recorder(Key key, LineLocation origin, TMemory memory, Map<TFunctionSignature, TFunction> functions,
+				List<StringLocated> lines, List<StringLocated> debug, Set<FileWithSuffix> filesUsedCurrent,
+				Set<FileWithSuffix> filesUsedGlobal) {
+			this.key = key;
+			this.origin = origin;
+			for (String name : memory.variablesNames()) {
+				this.variables.put(name, memory.getVariable(name));
+			}
+			this.functions = new HashMap<TFunctionSignature, TFunction>(functions);
+			this.nbLines = lines.size();
+			this.lastLine = nbLines == 0 ? null : lines.get(nbLines - 1);
+			this.nbDebug = debug.size();
+			this.filesUsedCurrent = new HashSet<FileWithSuffix>(filesUsedCurrent);
+			this.filesUsedGlobal = new HashSet<FileWithSuffix>(filesUsedGlobal);
+		}
+
+		void addDependency(FileWithSuffix f) {
+			final File file = f.getUnderlyingFile();
+			if (file == null) {
+				cacheable = false;
+			} else {
+				dependencies.add(new Dependency(file));
+			}
+		}
+
+		void setVolatile() {
+			cacheable = false;
+		}
+
+		Key getKey() {
+			return key;
+		}
+
+		/**
+		 * @return the changes made since the creation of this recorder, or <code>null</code> if they cannot be
+		 *         replayed.
+		 */
+		Effect getEffect(TMemory memory, Map<TFunctionSignature, TFunction> functions, List<StringLocated> lines,
+				List<StringLocated> debug, Set<FileWithSuffix> filesUsedCurrent, Set<FileWithSuffix> filesUsedGlobal) {
+			if (cacheable == false || lines.size() < nbLines
+					|| (nbLines > 0 && lines.get(nbLines - 1) != lastLine)) {
+				return null;
+			}
+			final Map<String, TVariable> newVariables = new HashMap<String, TVariable>();
+			for (String name : memory.variablesNames()) {
+				final TVariable variable = memory.getVariable(name);
+				if (variables.get(name) != variable) {
+					newVariables.put(name, variable);
+				}
+			}
+			final Set<String> removedVariables = new HashSet<String>(variables.keySet());
+			removedVariables.removeAll(memory.variablesNames());
+			if (functions.keySet().containsAll(this.functions.keySet()) == false) {
+				return null;
+			}
+			final List<TFunction> newFunctions = new ArrayList<TFunction>();
+			for (Map.Entry<TFunctionSignature, TFunction> ent : functions.entrySet()) {
+				if (this.functions.get(ent.getKey()) != ent.getValue()) {
+					newFunctions.add(ent.getValue());
+				}
+			}
+			final Set<FileWithSuffix> newFilesUsedCurrent = new HashSet<FileWithSuffix>(filesUsedCurrent);
+			newFilesUsedCurrent.removeAll(this.filesUsedCurrent);
+			final Set<FileWithSuffix> newFilesUsedGlobal = new HashSet<FileWithSuffix>(filesUsedGlobal);
+			newFilesUsedGlobal.removeAll(this.filesUsedGlobal);
+			return new Effect(newVariables, removedVariables, newFunctions, new ArrayList<StringLocated>(
+					lines.subList(nbLines, lines.size())), new ArrayList<StringLocated>(debug.subList(nbDebug,
+					debug.size())), newFilesUsedCurrent, newFilesUsedGlobal, origin, dependencies);
+		}
+	}
+
+	static class Effect {
+
+		private final Map<String, TVariable> variables;
+		private final Set<String> removedVariables;
+		private final List<TFunction> functions;
+		private final List<StringLocated> lines;
+		private final List<StringLocated> debug;
+		private final Set<FileWithSuffix> filesUsedCurrent;
+		private final Set<FileWithSuffix> filesUsedGlobal;
+		private final LineLocation origin;
+		private final List<Dependency> dependencies;
+
+		Effect(Map<String, TVariable> variables, Set<String> removedVariables, List<TFunction> functions,
+				List<StringLocated> lines, List<StringLocated> debug, Set<FileWithSuffix> filesUsedCurrent,
+				Set<FileWithSuffix> filesUsedGlobal, LineLocation origin, List<Dependency> dependencies) {
+			this.variables = Collections.unmodifiableMap(variables);
+			this.removedVariables = Collections.unmodifiableSet(removedVariables);
+			this.functions = Collections.unmodifiableList(functions);
+			this.lines = Collections.unmodifiableList(lines);
+			this.debug = Collections.unmodifiableList(debug);
+			this.filesUsedCurrent = Collections.unmodifiableSet(filesUsedCurrent);
+			this.filesUsedGlobal = Collections.unmodifiableSet(filesUsedGlobal);
+			this.origin = origin;
+			this.dependencies = new ArrayList<Dependency>(dependencies);
+		}
+
+		boolean isUpToDate() {
+			for (Dependency dependency : dependencies) {
+				if (dependency.isUpToDate() == false) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		Map<String, TVariable> getVariables() {
+			return variables;
+		}
+
+		Set<String> getRemovedVariables() {
+			return removedVariables;
+		}
+
+		List<TFunction> getFunctions() {
+			return functions;
+		}
+
+		List<StringLocated> getLines(LineLocation location) {
+			return relocate(lines, origin, location);
+		}
+
+		List<StringLocated> getDebug(LineLocation location) {
+			return relocate(debug, origin, location);
+		}
+
+		Set<FileWithSuffix> getFilesUsedCurrent() {
+			return filesUsedCurrent;
+		}
+
+		Set<FileWithSuffix> getFilesUsedGlobal() {
+			return filesUsedGlobal;
+		}
+	}
+
+}
@@ -39,92 +39,79 @@
  */
 package net.sourceforge.plantuml.tim;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
 public enum TLineType {
 
 	PLAIN, AFFECTATION_DEFINE, AFFECTATION, ASSERT, IF, IFDEF, UNDEF, IFNDEF, ELSE, ELSEIF, ENDIF, DECLARE_FUNCTION, END_FUNCTION, RETURN, LEGACY_DEFINE, LEGACY_DEFINELONG, INCLUDE, INCLUDE_DEF, IMPORT, STARTSUB, ENDSUB, INCLUDESUB, LOG, DUMP_MEMORY, COMMENT_SIMPLE, COMMENT_LONG_START;
 
+	private static final List<Pattern> patterns = new ArrayList<Pattern>();
+	private static final List<TLineType> types = new ArrayList<TLineType>();
+
+	static {
+		add("^\\s*!define\\s+[\\p{L}_][\\p{L}_0-9]*\\(.*", LEGACY_DEFINE);
+		add("^\\s*!definelong\\s+[\\p{L}_][\\p{L}_0-9]*\\b.*", LEGACY_DEFINELONG);
+		add("^\\s*!define\\s+[\\p{L}_][\\p{L}_0-9]*\\b.*", AFFECTATION_DEFINE);
+		add("^\\s*!\\s*(local|global)?\\s*\\$?[\\p{L}_][\\p{L}_0-9]*\\s*=.*", AFFECTATION);
+		add("^\\s*'.*", COMMENT_SIMPLE);
+		add("^\\s*/'.*'/\\s*$", COMMENT_SIMPLE);
+		add("^\\s*/'.*", COMMENT_LONG_START);
+		add("^\\s*!ifdef\\s+.*", IFDEF);
+		add("^\\s*!undef\\s+.*", UNDEF);
+		add("^\\s*!ifndef\\s+.*", IFNDEF);
+		add("^\\s*!assert\\s+.*", ASSERT);
+		add("^\\s*!if\\s+.*", IF);
+		add("^\\s*!(unquoted\\s|final\\s)*function\\s+\\$?[\\p{L}_][\\p{L}_0-9]*.*", DECLARE_FUNCTION);
+		add("^\\s*!else\\b.*", ELSE);
+		add("^\\s*!elseif\\b.*", ELSEIF);
+		add("^\\s*!endif\\b.*", ENDIF);
+		add("^\\s*!(endfunction|enddefinelong)\\b.*", END_FUNCTION);
+		add("^\\s*!return\\b.*", RETURN);
+		add("^\\s*!(include|includeurl|include_many|include_once)\\b.*", INCLUDE);
+		add("^\\s*!(includedef)\\b.*", INCLUDE_DEF);
+		add("^\\s*!(import)\\b.*", IMPORT);
+		add("^\\s*!startsub\\s+.*", STARTSUB);
+		add("^\\s*!endsub\\b.*", ENDSUB);
+		add("^\\s*!includesub\\b.*", INCLUDESUB);
+		add("^\\s*!(log)\\b.*", LOG);
+		add("^\\s*!(dump_memory)\\b.*", DUMP_MEMORY);
+	}
+
+	private static void add(String regex, TLineType type) {
+		patterns.add(Pattern.compile(regex));
+		types.add(type);
+	}
+
 	public static TLineType getFromLine(String s) {
-		if (s.matches("^\\s*!define\\s+[\\p{L}_][\\p{L}_0-9]*\\(.*")) {
-			return LEGACY_DEFINE;
-		}
-		if (s.matches("^\\s*!definelong\\s+[\\p{L}_][\\p{L}_0-9]*\\b.*")) {
-			return LEGACY_DEFINELONG;
-		}
-		if (s.matches("^\\s*!define\\s+[\\p{L}_][\\p{L}_0-9]*\\b.*")) {
-			return AFFECTATION_DEFINE;
-		}
-		if (s.matches("^\\s*!\\s*(local|global)?\\s*\\$?[\\p{L}_][\\p{L}_0-9]*\\s*=.*")) {
-			return AFFECTATION;
-		}
-		if (s.matches("^\\s*'.*")) {
-			return COMMENT_SIMPLE;
-		}
-		if (s.matches("^\\s*/'.*'/\\s*$")) {
-			return COMMENT_SIMPLE;
-		}
-		if (s.matches("^\\s*/'.*") && s.contains("'/") == false) {
-			return COMMENT_LONG_START;
-		}
-		if (s.matches("^\\s*!ifdef\\s+.*")) {
-			return IFDEF;
-		}
-		if (s.matches("^\\s*!undef\\s+.*")) {
-			return UNDEF;
-		}
-		if (s.matches("^\\s*!ifndef\\s+.*")) {
-			return IFNDEF;
-		}
-		if (s.matches("^\\s*!assert\\s+.*")) {
-			return ASSERT;
-		}
-		if (s.matches("^\\s*!if\\s+.*")) {
-			return IF;
-		}
-		if (s.matches("^\\s*!(unquoted\\s|final\\s)*function\\s+\\$?[\\p{L}_][\\p{L}_0-9]*.*")) {
-			return DECLARE_FUNCTION;
-		}
-		if (s.matches("^\\s*!else\\b.*")) {
-			return ELSE;
-		}
-		if (s.matches("^\\s*!elseif\\b.*")) {
-			return ELSEIF;
-		}
-		if (s.matches("^\\s*!endif\\b.*")) {
-			return ENDIF;
-		}
-		if (s.matches("^\\s*!(endfunction|enddefinelong)\\b.*")) {
-			return END_FUNCTION;
-		}
-		if (s.matches("^\\s*!return\\b.*")) {
-			return RETURN;
-		}
-		if (s.matches("^\\s*!(include|includeurl|include_many|include_once)\\b.*")) {
-			return INCLUDE;
-		}
-		if (s.matches("^\\s*!(includedef)\\b.*")) {
-			return INCLUDE_DEF;
-		}
-		if (s.matches("^\\s*!(import)\\b.*")) {
-			return IMPORT;
-		}
-		if (s.matches("^\\s*!startsub\\s+.*")) {
-			return STARTSUB;
-		}
-		if (s.matches("^\\s*!endsub\\b.*")) {
-			return ENDSUB;
-		}
-		if (s.matches("^\\s*!includesub\\b.*")) {
-			return INCLUDESUB;
-		}
-		if (s.matches("^\\s*!(log)\\b.*")) {
-			return LOG;
-		}
-		if (s.matches("^\\s*!(dump_memory)\\b.*")) {
-			return DUMP_MEMORY;
+		if (mayBeDirectiveOrComment(s) == false) {
+			return PLAIN;
+		}
+		for (int i = 0; i < patterns.size(); i++) {
+			if (patterns.get(i).matcher(s).matches()) {
+				final TLineType type = types.get(i);
+				if (type == COMMENT_LONG_START && s.contains("'/")) {
+					continue;
+				}
+				return type;
+			}
 		}
 		return PLAIN;
 	}
 
+	// Every pattern starts with optional spaces followed by ! or ' or /
+	private static boolean mayBeDirectiveOrComment(String s) {
+		for (int i = 0; i < s.length(); i++) {
+			final char ch = s.charAt(i);
+			if (ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000B' || ch == '\f' || ch == '\r') {
+				continue;
+			}
+			return ch == '!' || ch == '\'' || ch == '/';
+		}
+		return false;
+	}
+
 	public static boolean isQuote(char ch) {
 		return ch == '\"' || ch == '\'';
 	}
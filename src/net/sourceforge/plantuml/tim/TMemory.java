@@ -54,7 +54,10 @@ public interface TMemory {
 
 	public Set<String> variablesNames();
 
-	public Trie variablesNames3();
+	/**
+	 * @see NameMatcher#findLongestMatches(String, int, int[])
+	 */
+	public void findLongestVariableNames(String s, int from, int[] longest);
 
 	public TMemory forkFromGlobal(Map<String, TVariable> input);
 
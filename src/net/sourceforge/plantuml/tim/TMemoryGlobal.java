@@ -52,7 +52,7 @@ import net.sourceforge.plantuml.tim.expression.TValue;
 public class TMemoryGlobal extends ConditionalContexts implements TMemory {
 
 	private final Map<String, TVariable> globalVariables = new HashMap<String, TVariable>();
-	private final TrieImpl variables = new TrieImpl();
+	private final NameMatcher variables = new NameMatcher();
 
 	public TVariable getVariable(String varname) {
 		return this.globalVariables.get(varname);
@@ -95,8 +95,8 @@ public class TMemoryGlobal extends ConditionalContexts implements TMemory {
 		return Collections.unmodifiableSet(globalVariables.keySet());
 	}
 
-	public Trie variablesNames3() {
-		return variables;
+	public void findLongestVariableNames(String s, int from, int[] longest) {
+		variables.findLongestMatches(s, from, longest);
 	}
 
 	public TMemory forkFromGlobal(Map<String, TVariable> input) {
@@ -51,9 +51,9 @@ import net.sourceforge.plantuml.tim.expression.TValue;
 public class TMemoryLocal extends ConditionalContexts implements TMemory {
 
 	private final TMemoryGlobal memoryGlobal;
-	private TrieImpl overridenVariables00;
+	private NameMatcher overridenVariables00;
 	private final Map<String, TVariable> overridenVariables01 = new HashMap<String, TVariable>();
-	private final TrieImpl localVariables00 = new TrieImpl();
+	private final NameMatcher localVariables00 = new NameMatcher();
 	private final Map<String, TVariable> localVariables01 = new HashMap<String, TVariable>();
 
 	public TMemoryLocal(TMemoryGlobal global, Map<String, TVariable> input) {
@@ -128,43 +128,16 @@ public class TMemoryLocal extends ConditionalContexts implements TMemory {
 		return result;
 	}
 
-	public Trie variablesNames3() {
+	public void findLongestVariableNames(String s, int from, int[] longest) {
 		if (overridenVariables00 == null) {
-			overridenVariables00 = new TrieImpl();
+			overridenVariables00 = new NameMatcher();
 			for (String name : overridenVariables01.keySet()) {
 				overridenVariables00.add(name);
 			}
 		}
-		return new Trie() {
-			public void add(String s) {
-				throw new UnsupportedOperationException();
-			}
-
-			public String getLonguestMatchStartingIn(String s) {
-				final String s1 = memoryGlobal.variablesNames3().getLonguestMatchStartingIn(s);
-				final String s2 = overridenVariables00.getLonguestMatchStartingIn(s);
-				final String s3 = localVariables00.getLonguestMatchStartingIn(s);
-
-				if (s1.length() >= s2.length() && s1.length() >= s3.length()) {
-					return s1;
-				}
-				if (s2.length() >= s3.length() && s2.length() >= s1.length()) {
-					return s2;
-				}
-				return s3;
-			}
-		};
-		// final Trie result = new TrieImpl();
-		// for (String name : overridenVariables.keySet()) {
-		// result.add(name);
-		// }
-		// for (String name : memoryGlobal.variablesNames()) {
-		// result.add(name);
-		// }
-		// for (String name : localVariables.keySet()) {
-		// result.add(name);
-		// }
-		// return result;
+		memoryGlobal.findLongestVariableNames(s, from, longest);
+		overridenVariables00.findLongestMatches(s, from, longest);
+		localVariables00.findLongestMatches(s, from, longest);
 	}
 
 	public boolean isEmpty() {
@@ -40,10 +40,12 @@
 package net.sourceforge.plantuml.tim;
 
 import java.util.List;
+import java.util.Set;
 
 import net.sourceforge.plantuml.DefinitionsContainer;
 import net.sourceforge.plantuml.StringLocated;
 import net.sourceforge.plantuml.preproc.Defines;
+import net.sourceforge.plantuml.preproc.FileWithSuffix;
 import net.sourceforge.plantuml.preproc.ImportedFiles;
 
 public class TimLoader {
@@ -87,6 +89,10 @@ public class TimLoader {
 		return context.getDebug();
 	}
 
+	public final Set<FileWithSuffix> getFilesUsed() {
+		return context.getFilesUsedGlobal();
+	}
+
 	public final boolean isPreprocessorError() {
 		return preprocessorError;
 	}
@@ -0,0 +1,122 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.tim.expression;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import net.sourceforge.plantuml.tim.EaterException;
+import net.sourceforge.plantuml.tim.TContext;
+import net.sourceforge.plantuml.tim.TMemory;
+import net.sourceforge.plantuml.tim.TVariable;
+
+/**
+ * An expression already tokenized and converted to reverse polish notation.
+ *
+ * Variables are kept by name in the queue and are only replaced by their values when the expression is evaluated, so
+ * an expression is compiled once and shared by every evaluation of the same text, for example by each call of a
+ * function. Compiled expressions are remembered by text in a map that is simply cleared when it becomes too big.
+ */
+public final class CompiledExpression {
+
+	private static final int MAX_SIZE = 10000;
+
+	private static final ConcurrentMap<String, CompiledExpression> cache = new ConcurrentHashMap<String, CompiledExpression>();
+
+	private final TokenStack queue;
+	private final int length;
+
+	private CompiledExpression(TokenStack queue, int length) {
+		this.queue = queue;
+		this.length = length;
+	}
+
+	/**
+	 * @param length
+	 *            the number of characters of the source text used by this expression.
+	 */
+	public static CompiledExpression compile(TokenStack tokens, int length) throws EaterException {
+		final TokenStack tmp = tokens.withoutSpace();
+		tmp.guessFunctions();
+		final ShuntingYard shuntingYard = new ShuntingYard(tmp.tokenIterator(), null);
+		return new CompiledExpression(shuntingYard.getQueue(), length);
+	}
+
+	public static CompiledExpression getCached(String key) {
+		return cache.get(key);
+	}
+
+	public static void putCached(String key, CompiledExpression expression) {
+		if (cache.size() >= MAX_SIZE) {
+			cache.clear();
+		}
+		cache.put(key, expression);
+	}
+
+	public int getLength() {
+		return length;
+	}
+
+	public TValue getResult(TContext context, TMemory memory) throws EaterException {
+		final Knowledge knowledge = context.asKnowledge(memory);
+		final ReversePolishInterpretor rpn = new ReversePolishInterpretor(bindVariables(knowledge), knowledge, memory,
+				context);
+		return rpn.getResult();
+	}
+
+	private TokenStack bindVariables(Knowledge knowledge) throws EaterException {
+		final TokenStack result = new TokenStack();
+		for (TokenIterator it = queue.tokenIterator(); it.hasMoreTokens();) {
+			final Token token = it.nextToken();
+			if (token.getTokenType() == TokenType.PLAIN_TEXT) {
+				final String name = token.getSurface();
+				final TVariable variable = knowledge.getVariable(name);
+				if (variable == null) {
+					throw new EaterException("Unknown variable " + name);
+				}
+				result.add(variable.getValue().toToken());
+			} else {
+				result.add(token);
+			}
+		}
+		return result;
+	}
+
+}
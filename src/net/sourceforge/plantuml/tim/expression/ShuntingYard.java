@@ -75,6 +75,11 @@ public class ShuntingYard {
 			} else if (token.getTokenType() == TokenType.FUNCTION_NAME) {
 				operatorStack.addFirst(token);
 			} else if (token.getTokenType() == TokenType.PLAIN_TEXT) {
+				if (knowledge == null) {
+					// Compiled expression: the variable is bound at evaluation
+					ouputQueue.add(token);
+					continue;
+				}
 				final String name = token.getSurface();
 				final TVariable variable = knowledge.getVariable(name);
 				if (variable == null) {
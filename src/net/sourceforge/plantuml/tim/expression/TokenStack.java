@@ -212,15 +212,7 @@ public class TokenStack {
 	}
 
 	public TValue getResult(TContext context, TMemory memory) throws EaterException {
-		final Knowledge knowledge = context.asKnowledge(memory);
-		final TokenStack tmp = withoutSpace();
-		tmp.guessFunctions();
-		final TokenIterator it = tmp.tokenIterator();
-		final ShuntingYard shuntingYard = new ShuntingYard(it, knowledge);
-		final ReversePolishInterpretor rpn = new ReversePolishInterpretor(shuntingYard.getQueue(), knowledge, memory,
-				context);
-		return rpn.getResult();
-
+		return CompiledExpression.compile(this, 0).getResult(context, memory);
 	}
 
 }
@@ -50,6 +50,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.Semaphore;
@@ -181,7 +183,35 @@ public class ImageBuilder {
 		} else if (fileFormat == FileFormat.ANIMATED_GIF) {
 			return writeImageAnimatedGif(os, fileFormatOption.getDefaultStringBounder());
 		}
-		return writeImageInternal(fileFormatOption, seed, os, animation);
+		return writeImageInternal(fileFormatOption, seed, os, animation, record(fileFormatOption));
+	}
+
+	/**
+	 * Draws the diagram once on a {@link UGraphicRecorder}, or returns <code>null</code> for text formats, which are
+	 * drawn directly.
+	 */
+	private UGraphicRecorder record(FileFormatOption fileFormatOption) {
+		final FileFormat fileFormat = fileFormatOption.getFileFormat();
+		if (fileFormat == FileFormat.ATXT || fileFormat == FileFormat.UTXT) {
+			return null;
+		}
+		final LimitFinder limitFinder = new LimitFinder(fileFormatOption.getDefaultStringBounder(), true);
+		final UGraphicRecorder recorder = new UGraphicRecorder(colorMapper, limitFinder,
+				getMatchingProperties(fileFormat));
+		udrawable.drawU(recorder);
+		return recorder;
+	}
+
+	// Same answers as the UGraphic created by createUGraphic() to matchesProperty()
+	private static Collection<String> getMatchingProperties(FileFormat fileFormat) {
+		if (fileFormat == FileFormat.SVG) {
+			return Collections.singleton("SVG");
+		}
+		if (fileFormat == FileFormat.LATEX || fileFormat == FileFormat.LATEX_NO_PREAMBLE
+				|| fileFormat == FileFormat.VDX) {
+			return Collections.singleton("SPECIALTXT");
+		}
+		return Collections.emptySet();
 	}
 
 	private static Semaphore SEMAPHORE_SMALL;
@@ -217,8 +247,9 @@ public class ImageBuilder {
 	}
 
 	private ImageData writeImageInternal(FileFormatOption fileFormatOption, long seed, OutputStream os,
-			Animation animationArg) throws IOException {
-		Dimension2D dim = getFinalDimension(fileFormatOption.getDefaultStringBounder());
+			Animation animationArg, UGraphicRecorder recorder) throws IOException {
+		Dimension2D dim = recorder == null ? getFinalDimension(fileFormatOption.getDefaultStringBounder())
+				: getFinalDimension(recorder.getLimitFinder());
 		double dx = 0;
 		double dy = 0;
 		if (animationArg != null) {
@@ -260,7 +291,11 @@ public class ImageBuilder {
 			}
 			ug2 = ug2.apply(new UTranslate(margin1, margin1));
 			final UGraphic ugDecored = handwritten(ug2);
-			udrawable.drawU(ugDecored);
+			if (recorder == null) {
+				udrawable.drawU(ugDecored);
+			} else {
+				recorder.replay(ugDecored);
+			}
 			ugDecored.flushUg();
 			ug.writeImageTOBEMOVED(os, metadata, 96);
 			os.flush();
@@ -297,14 +332,17 @@ public class ImageBuilder {
 	}
 
 	public Dimension2D getFinalDimension(StringBounder stringBounder) {
-		final Dimension2D dim;
 		// if (udrawable instanceof TextBlock) {
 		// dim = ((TextBlock) udrawable).calculateDimension(stringBounder);
 		// } else {
 		final LimitFinder limitFinder = new LimitFinder(stringBounder, true);
 		udrawable.drawU(limitFinder);
-		dim = new Dimension2DDouble(limitFinder.getMaxX(), limitFinder.getMaxY());
 		// }
+		return getFinalDimension(limitFinder);
+	}
+
+	private Dimension2D getFinalDimension(LimitFinder limitFinder) {
+		final Dimension2D dim = new Dimension2DDouble(limitFinder.getMaxX(), limitFinder.getMaxY());
 		return new Dimension2DDouble(dim.getWidth() + 1 + margin1 + margin2 + externalMargin(), dim.getHeight() + 1
 				+ margin1 + margin2 + externalMargin());
 	}
@@ -322,8 +360,8 @@ public class ImageBuilder {
 
 	private ImageData writeImageMjpeg(OutputStream os, StringBounder stringBounder) throws IOException {
 
-		final LimitFinder limitFinder = new LimitFinder(stringBounder, true);
-		udrawable.drawU(limitFinder);
+		final UGraphicRecorder recorder = record(new FileFormatOption(FileFormat.PNG));
+		final LimitFinder limitFinder = recorder.getLimitFinder();
 		final Dimension2D dim = new Dimension2DDouble(limitFinder.getMaxX() + 1 + margin1 + margin2,
 				limitFinder.getMaxY() + 1 + margin1 + margin2);
 
@@ -331,8 +369,8 @@ public class ImageBuilder {
 
 		final int nbframe = 100;
 
-		final MJPEGGenerator m = new MJPEGGenerator(f, getAviImage(null).getWidth(null), getAviImage(null).getHeight(
-				null), 12.0, nbframe);
+		final MJPEGGenerator m = new MJPEGGenerator(f, getAviImage(null, recorder).getWidth(null), getAviImage(null,
+				recorder).getHeight(null), 12.0, nbframe);
 		for (int i = 0; i < nbframe; i++) {
 			// AffineTransform at = AffineTransform.getRotateInstance(1.0);
 			AffineTransform at = AffineTransform.getTranslateInstance(dim.getWidth() / 2, dim.getHeight() / 2);
@@ -353,8 +391,9 @@ public class ImageBuilder {
 
 	private ImageData writeImageAnimatedGif(OutputStream os, StringBounder stringBounder) throws IOException {
 
-		final LimitFinder limitFinder = new LimitFinder(stringBounder, true);
-		udrawable.drawU(limitFinder);
+		// All the frames are replayed from the same recording
+		final UGraphicRecorder recorder = record(new FileFormatOption(FileFormat.PNG));
+		final LimitFinder limitFinder = recorder.getLimitFinder();
 		final Dimension2D dim = new Dimension2DDouble(limitFinder.getMaxX() + 1 + margin1 + margin2,
 				limitFinder.getMaxY() + 1 + margin1 + margin2);
 
@@ -370,7 +409,7 @@ public class ImageBuilder {
 		// e.setDelay(50); // 20 frame per sec
 
 		for (AffineTransformation at : animation.getAll()) {
-			final ImageIcon ii = new ImageIcon(getAviImage(at));
+			final ImageIcon ii = new ImageIcon(getAviImage(at, recorder));
 			e.addFrame((BufferedImage) ii.getImage());
 		}
 		e.finish();
@@ -378,9 +417,10 @@ public class ImageBuilder {
 
 	}
 
-	private Image getAviImage(AffineTransformation affineTransform) throws IOException {
+	private Image getAviImage(AffineTransformation affineTransform, UGraphicRecorder recorder) throws IOException {
 		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-		writeImageInternal(new FileFormatOption(FileFormat.PNG), 42, baos, Animation.singleton(affineTransform));
+		writeImageInternal(new FileFormatOption(FileFormat.PNG), 42, baos, Animation.singleton(affineTransform),
+				recorder);
 		baos.close();
 
 		final ByteArrayInputStream bais = new ByteArrayInputStream(baos.toByteArray());
@@ -397,7 +437,7 @@ public class ImageBuilder {
 			return createUGraphicPNG(colorMapper, dpiFactor, dim, mybackcolor, animationArg, dx, dy);
 		case SVG:
 			return createUGraphicSVG(colorMapper, dpiFactor, dim, mybackcolor, fileFormatOption.getSvgLinkTarget(),
-					fileFormatOption.getHoverColor(), seed);
+					fileFormatOption.getHoverColor(), seed, fileFormatOption.isSvgStreaming());
 		case EPS:
 			return new UGraphicEps(colorMapper, EpsStrategy.getDefault2());
 		case EPS_TEXT:
@@ -421,7 +461,7 @@ public class ImageBuilder {
 	}
 
 	private UGraphic2 createUGraphicSVG(ColorMapper colorMapper, double scale, Dimension2D dim, HtmlColor mybackcolor,
-			String svgLinkTarget, String hover, long seed) {
+			String svgLinkTarget, String hover, long seed, boolean streaming) {
 		Color backColor = Color.WHITE;
 		if (mybackcolor instanceof HtmlColorSimple) {
 			backColor = colorMapper.getMappedColor(mybackcolor);
@@ -429,12 +469,13 @@ public class ImageBuilder {
 		final UGraphicSvg ug;
 		if (mybackcolor instanceof HtmlColorGradient) {
 			ug = new UGraphicSvg(svgDimensionStyle, dim, colorMapper, (HtmlColorGradient) mybackcolor, false, scale,
-					svgLinkTarget, hover, seed);
+					svgLinkTarget, hover, seed, streaming);
 		} else if (backColor == null || backColor.equals(Color.WHITE)) {
-			ug = new UGraphicSvg(svgDimensionStyle, dim, colorMapper, false, scale, svgLinkTarget, hover, seed);
+			ug = new UGraphicSvg(svgDimensionStyle, dim, colorMapper, false, scale, svgLinkTarget, hover, seed,
+					streaming);
 		} else {
 			ug = new UGraphicSvg(svgDimensionStyle, dim, colorMapper, StringUtils.getAsHtml(backColor), false, scale,
-					svgLinkTarget, hover, seed);
+					svgLinkTarget, hover, seed, streaming);
 		}
 		return ug;
 
@@ -0,0 +1,194 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package net.sourceforge.plantuml.ugraphic;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.sourceforge.plantuml.Url;
+import net.sourceforge.plantuml.creole.Atom;
+import net.sourceforge.plantuml.graphic.StringBounder;
+
+/**
+ * Records the drawing of a diagram so that it can be replayed later on any other {@link UGraphic}.
+ *
+ * Every shape is also sent to a {@link LimitFinder}, so the dimension of the diagram is known as soon as it has
+ * been recorded, and the diagram is drawn only once. The recorded {@link UChange}s are applied again on the target
+ * when the display list is replayed, so each backend still sees the same calls as if the diagram was drawn on it.
+ */
+public class UGraphicRecorder extends AbstractCommonUGraphic {
+
+	private static final int DRAW = 0;
+	private static final int START_URL = 1;
+	private static final int CLOSE_ACTION = 2;
+	private static final int FLUSH = 3;
+
+	private final List<Op> ops;
+	private final Collection<String> properties;
+	private final UGraphicRecorder parent;
+	private UChange change;
+	private LimitFinder limitFinder;
+
+	/**
+	 * @param properties
+	 *            the properties matched by the target, see {@link UGraphic#matchesProperty(String)}.
+	 */
+	public UGraphicRecorder(ColorMapper colorMapper, LimitFinder limitFinder, Collection<String> properties) {
+		super(colorMapper);
+		this.ops = new ArrayList<Op>();
+		this.properties = properties;
+		this.parent = null;
+		this.limitFinder = limitFinder;
+	}
+
+	public UGraphicRecorder(ColorMapper colorMapper, LimitFinder limitFinder) {
+		this(colorMapper, limitFinder, Collections.<String> emptySet());
+	}
+
+	private UGraphicRecorder(UGraphicRecorder other) {
+		super(other);
+		this.ops = other.ops;
+		this.properties = other.properties;
+		this.parent = other;
+		this.limitFinder = other.limitFinder;
+	}
+
+	@Override
+	protected AbstractCommonUGraphic copyUGraphic() {
+		return new UGraphicRecorder(this);
+	}
+
+	@Override
+	public UGraphic apply(UChange change) {
+		final UGraphicRecorder copy = (UGraphicRecorder) super.apply(change);
+		copy.change = change;
+		copy.limitFinder = (LimitFinder) limitFinder.apply(change);
+		return copy;
+	}
+
+	public StringBounder getStringBounder() {
+		return limitFinder.getStringBounder();
+	}
+
+	public void draw(UShape shape) {
+		ops.add(new Op(this, DRAW, shape));
+		if (shape instanceof Atom) {
+			// Only sent as a shape to targets matching "SPECIALTXT": LimitFinder measures its usual drawing
+			((Atom) shape).drawU(limitFinder);
+		} else {
+			limitFinder.draw(shape);
+		}
+	}
+
+	public void startUrl(Url url) {
+		ops.add(new Op(this, START_URL, url));
+	}
+
+	public void closeAction() {
+		ops.add(new Op(this, CLOSE_ACTION, null));
+	}
+
+	@Override
+	public void flushUg() {
+		ops.add(new Op(this, FLUSH, null));
+	}
+
+	@Override
+	public boolean matchesProperty(String propertyName) {
+		for (String p : properties) {
+			if (p.equalsIgnoreCase(propertyName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public LimitFinder getLimitFinder() {
+		return limitFinder;
+	}
+
+	/**
+	 * Draws everything recorded so far on <code>target</code>.
+	 */
+	public void replay(UGraphic target) {
+		final Map<UGraphicRecorder, UGraphic> applied = new IdentityHashMap<UGraphicRecorder, UGraphic>();
+		for (Op op : ops) {
+			final UGraphic ug = op.recorder.getTarget(target, applied);
+			if (op.kind == DRAW) {
+				ug.draw((UShape) op.arg);
+			} else if (op.kind == START_URL) {
+				ug.startUrl((Url) op.arg);
+			} else if (op.kind == CLOSE_ACTION) {
+				ug.closeAction();
+			} else {
+				ug.flushUg();
+			}
+		}
+	}
+
+	private UGraphic getTarget(UGraphic root, Map<UGraphicRecorder, UGraphic> applied) {
+		if (parent == null) {
+			return root;
+		}
+		UGraphic result = applied.get(this);
+		if (result == null) {
+			result = parent.getTarget(root, applied).apply(change);
+			applied.put(this, result);
+		}
+		return result;
+	}
+
+	static class Op {
+		private final UGraphicRecorder recorder;
+		private final int kind;
+		private final Object arg;
+
+		Op(UGraphicRecorder recorder, int kind, Object arg) {
+			this.recorder = recorder;
+			this.kind = kind;
+			this.arg = arg;
+		}
+	}
+
+}
@@ -52,6 +52,8 @@ import net.sourceforge.plantuml.graphic.HtmlColorGradient;
 import net.sourceforge.plantuml.graphic.StringBounder;
 import net.sourceforge.plantuml.graphic.TextBlockUtils;
 import net.sourceforge.plantuml.posimo.DotPath;
+import net.sourceforge.plantuml.stats.Stage;
+import net.sourceforge.plantuml.stats.StageStats;
 import net.sourceforge.plantuml.svg.SvgGraphics;
 import net.sourceforge.plantuml.ugraphic.AbstractCommonUGraphic;
 import net.sourceforge.plantuml.ugraphic.AbstractUGraphic;
@@ -94,19 +96,35 @@ public class UGraphicSvg extends AbstractUGraphic<SvgGraphics> implements ClipCo
 
 	public UGraphicSvg(boolean svgDimensionStyle, Dimension2D minDim, ColorMapper colorMapper, String backcolor,
 			boolean textAsPath, double scale, String linkTarget, String hover, long seed) {
-		this(minDim, colorMapper, new SvgGraphics(svgDimensionStyle, minDim, backcolor, scale, hover, seed),
-				textAsPath, linkTarget);
+		this(svgDimensionStyle, minDim, colorMapper, backcolor, textAsPath, scale, linkTarget, hover, seed, false);
 	}
 
 	public UGraphicSvg(boolean svgDimensionStyle, Dimension2D minDim, ColorMapper colorMapper, boolean textAsPath,
 			double scale, String linkTarget, String hover, long seed) {
-		this(minDim, colorMapper, new SvgGraphics(svgDimensionStyle, minDim, scale, hover, seed), textAsPath,
-				linkTarget);
+		this(svgDimensionStyle, minDim, colorMapper, textAsPath, scale, linkTarget, hover, seed, false);
 	}
 
 	public UGraphicSvg(boolean svgDimensionStyle, Dimension2D minDim, ColorMapper mapper, HtmlColorGradient gr,
 			boolean textAsPath, double scale, String linkTarget, String hover, long seed) {
-		this(minDim, mapper, new SvgGraphics(svgDimensionStyle, minDim, scale, hover, seed), textAsPath, linkTarget);
+		this(svgDimensionStyle, minDim, mapper, gr, textAsPath, scale, linkTarget, hover, seed, false);
+	}
+
+	public UGraphicSvg(boolean svgDimensionStyle, Dimension2D minDim, ColorMapper colorMapper, String backcolor,
+			boolean textAsPath, double scale, String linkTarget, String hover, long seed, boolean streaming) {
+		this(minDim, colorMapper, new SvgGraphics(svgDimensionStyle, minDim, backcolor, scale, hover, seed,
+				streaming), textAsPath, linkTarget);
+	}
+
+	public UGraphicSvg(boolean svgDimensionStyle, Dimension2D minDim, ColorMapper colorMapper, boolean textAsPath,
+			double scale, String linkTarget, String hover, long seed, boolean streaming) {
+		this(minDim, colorMapper, new SvgGraphics(svgDimensionStyle, minDim, null, scale, hover, seed, streaming),
+				textAsPath, linkTarget);
+	}
+
+	public UGraphicSvg(boolean svgDimensionStyle, Dimension2D minDim, ColorMapper mapper, HtmlColorGradient gr,
+			boolean textAsPath, double scale, String linkTarget, String hover, long seed, boolean streaming) {
+		this(minDim, mapper, new SvgGraphics(svgDimensionStyle, minDim, null, scale, hover, seed, streaming),
+				textAsPath, linkTarget);
 
 		final SvgGraphics svg = getGraphicObject();
 		svg.paintBackcolorGradient(mapper, gr);
@@ -162,6 +180,7 @@ public class UGraphicSvg extends AbstractUGraphic<SvgGraphics> implements ClipCo
 	}
 
 	public void createXml(OutputStream os, String metadata) throws IOException {
+		final long start = System.nanoTime();
 		try {
 			if (metadata != null) {
 				getGraphicObject().addComment(metadata);
@@ -169,6 +188,8 @@ public class UGraphicSvg extends AbstractUGraphic<SvgGraphics> implements ClipCo
 			getGraphicObject().createXml(os);
 		} catch (TransformerException e) {
 			throw new IOException(e.toString());
+		} finally {
+			StageStats.record(Stage.ENCODING, start);
 		}
 	}
 
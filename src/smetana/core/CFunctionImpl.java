@@ -42,6 +42,8 @@ package smetana.core;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import smetana.core.amiga.Area;
 
@@ -51,8 +53,17 @@ public class CFunctionImpl extends UnsupportedC implements CFunction, Area {
 	private final String name;
 	private final Method method;
 
+	// The method of a function pointer is searched only once
+	private static final ConcurrentMap<String, CFunctionImpl> all = new ConcurrentHashMap<String, CFunctionImpl>();
+
 	public static CFunctionImpl create(Class codingClass, String name) {
-		return new CFunctionImpl(codingClass, name);
+		final String key = codingClass.getName() + "::" + name;
+		CFunctionImpl result = all.get(key);
+		if (result == null) {
+			result = new CFunctionImpl(codingClass, name);
+			all.put(key, result);
+		}
+		return result;
 	}
 
 	private CFunctionImpl(Class codingClass, String name) {
@@ -74,11 +85,6 @@ public class CFunctionImpl extends UnsupportedC implements CFunction, Area {
 	}
 
 	public Object exe(Object... args) {
-		JUtils.LOG("-------");
-		for (Object arg : args) {
-			JUtils.LOG("arg=" + arg);
-		}
-		JUtils.LOG("method="+method);
 		try {
 			return this.method.invoke(null, args);
 		} catch (InvocationTargetException e) {
@@ -44,14 +44,14 @@ import h.ST_refstr_t;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import smetana.core.amiga.Area;
 
 public class CString extends UnsupportedC implements __ptr__, Area {
 
-	private static int UID = 100;
+	private static final AtomicInteger UID = new AtomicInteger(100);
 
-	private final Throwable creation = new Throwable();
 	private final List<Character> data2;
 	private final int currentStart;
 
@@ -105,9 +105,7 @@ public class CString extends UnsupportedC implements __ptr__, Area {
 	private CString(List<Character> data2, int currentStart) {
 		this.data2 = data2;
 		this.currentStart = currentStart;
-		this.uid = UID;
-		UID += 2;
-		creation.fillInStackTrace();
+		this.uid = UID.getAndAdd(2);
 	}
 
 	public __ptr__ addVirtualBytes(int bytes) {
@@ -323,9 +323,6 @@ public class JUtils {
 		if (nb <= 1) {
 			return;
 		}
-		JUtils.LOG("array=" + array);
-		JUtils.LOG("nb=" + nb);
-		JUtils.LOG("compare=" + compare);
 		boolean change;
 		do {
 			change = false;
@@ -333,7 +330,6 @@ public class JUtils {
 				__ptr__ element1 = array.plus(i);
 				__ptr__ element2 = array.plus(i + 1);
 				Integer cmp = (Integer) compare.exe(element1, element2);
-				JUtils.LOG("cmp=" + cmp);
 				if (cmp.intValue() > 0) {
 					change = true;
 					if (array instanceof StarArrayOfInteger) {
@@ -354,10 +350,7 @@ public class JUtils {
 		for (int i = 0; i < nb - 1; i++) {
 			__ptr__ element1 = array.plus(i);
 			__ptr__ element2 = array.plus(i + 1);
-			JUtils.LOG("element1=" + element1);
-			JUtils.LOG("element2=" + element2);
 			Integer cmp = (Integer) compare.exe(element1, element2);
-			JUtils.LOG("cmp=" + cmp);
 			if (cmp.intValue() > 0) {
 				throw new IllegalStateException();
 			}
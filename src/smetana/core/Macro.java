@@ -221,7 +221,7 @@ public class Macro {
 	}
 
 	public static void agtail(ST_Agedge_s e, __ptr__ v) {
-		AGMKIN(e).setPtr("node", v);
+		AGMKIN(e).node = (ST_Agnode_s) v;
 	}
 
 	// #define AGHEAD(e) (AGMKOUT(e)->node)
@@ -234,7 +234,7 @@ public class Macro {
 	}
 
 	public static void aghead(ST_Agedge_s e, __ptr__ v) {
-		AGMKOUT(e).setPtr("node", v);
+		AGMKOUT(e).node = (ST_Agnode_s) v;
 	}
 
 	// #define agtail(e) AGTAIL(e)
@@ -294,7 +294,7 @@ public class Macro {
 	}
 
 	public static void GD_parent(ST_Agraph_s g, __ptr__ v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setPtr("parent", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).parent = (ST_Agraph_s) v;
 	}
 
 	// #define GD_level(g) (((Agraphinfo_t*)AGDATA(g))->level)
@@ -304,7 +304,7 @@ public class Macro {
 	}
 
 	public static void GD_drawing(ST_Agraph_s g, __ptr__ v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setPtr("drawing", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).drawing = (ST_layout_t) v;
 	}
 
 	// #define GD_bb(g) (((Agraphinfo_t*)AGDATA(g))->bb)
@@ -318,7 +318,7 @@ public class Macro {
 	}
 
 	public static void GD_gvc(ST_Agraph_s g, ST_GVC_s v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setPtr("gvc", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).gvc = v;
 	}
 
 	// #define GD_cleanup(g) (((Agraphinfo_t*)AGDATA(g))->cleanup)
@@ -340,7 +340,7 @@ public class Macro {
 	}
 
 	public static void GD_clust(ST_Agraph_s g, __ptr__ v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setPtr("clust", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).clust = (ST_Agraph_s.Array) v;
 	}
 
 	// #define GD_dotroot(g) (((Agraphinfo_t*)AGDATA(g))->dotroot)
@@ -349,7 +349,7 @@ public class Macro {
 	}
 
 	public static void GD_dotroot(ST_Agraph_s g, __ptr__ v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setPtr("dotroot", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).dotroot = (ST_Agraph_s) v;
 	}
 
 	// #define GD_comp(g) (((Agraphinfo_t*)AGDATA(g))->comp)
@@ -381,7 +381,7 @@ public class Macro {
 	}
 
 	public static void GD_flags(ST_Agraph_s g, int v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setInt("flags", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).flags = v;
 	}
 
 	// #define GD_gui_state(g) (((Agraphinfo_t*)AGDATA(g))->gui_state)
@@ -391,7 +391,7 @@ public class Macro {
 	}
 
 	public static void GD_charset(ST_Agraph_s g, int v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setInt("charset", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).charset = v;
 	}
 
 	// #define GD_has_labels(g) (((Agraphinfo_t*)AGDATA(g))->has_labels)
@@ -400,7 +400,7 @@ public class Macro {
 	}
 
 	public static void GD_has_labels(__ptr__ g, int v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setInt("has_labels", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).has_labels = v;
 	}
 
 	// #define GD_has_images(g) (((Agraphinfo_t*)AGDATA(g))->has_images)
@@ -421,7 +421,7 @@ public class Macro {
 	}
 
 	public static void GD_ht1(ST_Agraph_s g, double v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setDouble("ht1", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).ht1 = v;
 	}
 
 	// #define GD_ht2(g) (((Agraphinfo_t*)AGDATA(g))->ht2)
@@ -430,7 +430,7 @@ public class Macro {
 	}
 
 	public static void GD_ht2(ST_Agraph_s g, double v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setDouble("ht2", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).ht2 = v;
 	}
 
 	// #define GD_inleaf(g) (((Agraphinfo_t*)AGDATA(g))->inleaf)
@@ -440,7 +440,7 @@ public class Macro {
 	}
 
 	public static void GD_installed(ST_Agraph_s g, int v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setInt("installed", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).installed = v;
 	}
 
 	// #define GD_label(g) (((Agraphinfo_t*)AGDATA(g))->label)
@@ -449,7 +449,7 @@ public class Macro {
 	}
 
 	public static void GD_label(__ptr__ g, __ptr__ v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setPtr("label", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).label = (ST_textlabel_t) v;
 	}
 
 	// #define GD_leader(g) (((Agraphinfo_t*)AGDATA(g))->leader)
@@ -458,7 +458,7 @@ public class Macro {
 	}
 
 	public static void GD_leader(ST_Agraph_s g, __ptr__ v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setPtr("leader", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).leader = (ST_Agnode_s) v;
 	}
 
 	// #define GD_rankdir2(g) (((Agraphinfo_t*)AGDATA(g))->rankdir)
@@ -467,7 +467,7 @@ public class Macro {
 	}
 
 	public static void GD_rankdir2(ST_Agraph_s g, int v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setInt("rankdir", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).rankdir = v;
 	}
 
 	// #define GD_rankdir(g) (((Agraphinfo_t*)AGDATA(g))->rankdir & 0x3)
@@ -488,7 +488,7 @@ public class Macro {
 	}
 
 	public static void GD_ln(ST_Agraph_s g, __ptr__ v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setPtr("ln", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).ln = (ST_Agnode_s) v;
 	}
 
 	// #define GD_maxrank(g) (((Agraphinfo_t*)AGDATA(g))->maxrank)
@@ -497,7 +497,7 @@ public class Macro {
 	}
 
 	public static void GD_maxrank(ST_Agraph_s g, int v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setInt("maxrank", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).maxrank = v;
 	}
 
 	// #define GD_maxset(g) (((Agraphinfo_t*)AGDATA(g))->maxset)
@@ -511,7 +511,7 @@ public class Macro {
 	}
 
 	public static void GD_minrank(ST_Agraph_s g, int v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setInt("minrank", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).minrank = v;
 	}
 
 	// #define GD_minset(g) (((Agraphinfo_t*)AGDATA(g))->minset)
@@ -528,7 +528,7 @@ public class Macro {
 	}
 
 	public static void GD_n_cluster(ST_Agraph_s g, int v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setInt("n_cluster", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).n_cluster = v;
 	}
 
 	// #define GD_n_nodes(g) (((Agraphinfo_t*)AGDATA(g))->n_nodes)
@@ -537,7 +537,7 @@ public class Macro {
 	}
 
 	public static void GD_n_nodes(ST_Agraph_s g, int v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setInt("n_nodes", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).n_nodes = v;
 	}
 
 	// #define GD_ndim(g) (((Agraphinfo_t*)AGDATA(g))->ndim)
@@ -549,7 +549,7 @@ public class Macro {
 	}
 
 	public static void GD_nlist(ST_Agraph_s g, __ptr__ v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setPtr("nlist", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).nlist = (ST_Agnode_s) v;
 	}
 
 	// #define GD_nodesep(g) (((Agraphinfo_t*)AGDATA(g))->nodesep)
@@ -558,7 +558,7 @@ public class Macro {
 	}
 
 	public static void GD_nodesep(ST_Agraph_s g, int v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setInt("nodesep", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).nodesep = v;
 	}
 
 	// #define GD_outleaf(g) (((Agraphinfo_t*)AGDATA(g))->outleaf)
@@ -568,7 +568,7 @@ public class Macro {
 	}
 
 	public static void GD_rank(ST_Agraph_s g, ST_rank_t.Array2 v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setPtr("rank", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).rank = v;
 	}
 
 	// #define GD_rankleader(g) (((Agraphinfo_t*)AGDATA(g))->rankleader)
@@ -577,7 +577,7 @@ public class Macro {
 	}
 
 	public static void GD_rankleader(ST_Agraph_s g, __ptr__ v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setPtr("rankleader", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).rankleader = (ST_Agnode_s.Array) v;
 	}
 
 	// #define GD_ranksep(g) (((Agraphinfo_t*)AGDATA(g))->ranksep)
@@ -586,7 +586,7 @@ public class Macro {
 	}
 
 	public static void GD_ranksep(ST_Agraph_s g, int v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setInt("ranksep", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).ranksep = v;
 	}
 
 	// #define GD_rn(g) (((Agraphinfo_t*)AGDATA(g))->rn)
@@ -595,7 +595,7 @@ public class Macro {
 	}
 
 	public static void GD_rn(ST_Agraph_s g, __ptr__ v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setPtr("rn", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).rn = (ST_Agnode_s) v;
 	}
 
 	// #define GD_set_type(g) (((Agraphinfo_t*)AGDATA(g))->set_type)
@@ -613,7 +613,7 @@ public class Macro {
 	}
 
 	public static void GD_label_pos(ST_Agraph_s g, int v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setInt("label_pos", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).label_pos = v;
 	}
 
 	// #define GD_showboxes(g) (((Agraphinfo_t*)AGDATA(g))->showboxes)
@@ -622,7 +622,7 @@ public class Macro {
 	}
 
 	public static void GD_showboxes(ST_Agraph_s g, int v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setInt("showboxes", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).showboxes = v;
 	}
 
 	// #define GD_fontnames(g) (((Agraphinfo_t*)AGDATA(g))->fontnames)
@@ -631,7 +631,7 @@ public class Macro {
 	}
 
 	public static void GD_fontnames(ST_Agraph_s g, int v) {
-		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).setInt("fontnames", v);
+		((ST_Agraphinfo_t)AGDATA(g).castTo(ST_Agraphinfo_t.class)).fontnames = v;
 	}
 
 	// #define GD_spring(g) (((Agraphinfo_t*)AGDATA(g))->spring)
@@ -658,7 +658,7 @@ public class Macro {
 	}
 
 	public static void ND_UF_parent(__ptr__ n, __ptr__ v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setPtr("UF_parent", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).UF_parent = (ST_Agnode_s) v;
 	}
 
 	// #define ND_set(n) (((Agnodeinfo_t*)AGDATA(n))->set)
@@ -668,7 +668,7 @@ public class Macro {
 	}
 
 	public static void ND_UF_size(ST_Agnode_s n, int v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setInt("UF_size", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).UF_size = v;
 	}
 
 	// #define ND_bb(n) (((Agnodeinfo_t*)AGDATA(n))->bb)
@@ -678,7 +678,7 @@ public class Macro {
 	}
 
 	public static void ND_clust(ST_Agnode_s n, __ptr__ v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setPtr("clust", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).clust = (ST_Agraph_s) v;
 	}
 
 	// #define ND_coord(n) (((Agnodeinfo_t*)AGDATA(n))->coord)
@@ -712,7 +712,7 @@ public class Macro {
 	}
 
 	public static void ND_height(ST_Agnode_s n, double v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setDouble("height", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).height = v;
 	}
 
 	// #define ND_hops(n) (((Agnodeinfo_t*)AGDATA(n))->hops)
@@ -722,7 +722,7 @@ public class Macro {
 	}
 
 	public static void ND_ht(ST_Agnode_s n, double v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setDouble("ht", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).ht = v;
 	}
 
 	// #define ND_in(n) (((Agnodeinfo_t*)AGDATA(n))->in)
@@ -731,7 +731,7 @@ public class Macro {
 	}
 
 	public static void ND_in(__ptr__ n, __struct__<ST_elist> v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setStruct("in", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).in.copyDataFrom(v);
 	}
 
 	// #define ND_inleaf(n) (((Agnodeinfo_t*)AGDATA(n))->inleaf)
@@ -745,7 +745,7 @@ public class Macro {
 	}
 
 	public static void ND_label(ST_Agnode_s n, __ptr__ v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setPtr("label", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).label = (ST_textlabel_t) v;
 	}
 
 	// #define ND_xlabel(n) (((Agnodeinfo_t*)AGDATA(n))->xlabel)
@@ -759,7 +759,7 @@ public class Macro {
 	}
 
 	public static void ND_lim(ST_Agnode_s n, int v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setInt("lim", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).lim = v;
 	}
 
 	// #define ND_low(n) (((Agnodeinfo_t*)AGDATA(n))->low)
@@ -768,7 +768,7 @@ public class Macro {
 	}
 
 	public static void ND_low(ST_Agnode_s n, int v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setInt("low", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).low = v;
 	}
 
 	// #define ND_lw(n) (((Agnodeinfo_t*)AGDATA(n))->lw)
@@ -777,7 +777,7 @@ public class Macro {
 	}
 
 	public static void ND_lw(ST_Agnode_s n, double v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setDouble("lw", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).lw = v;
 	}
 
 	// #define ND_mark(n) (((Agnodeinfo_t*)AGDATA(n))->mark)
@@ -786,7 +786,7 @@ public class Macro {
 	}
 
 	public static void ND_mark(__ptr__ n, int v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setInt("mark", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).mark = v;
 	}
 
 	public static void ND_mark(__ptr__ n, boolean v) {
@@ -799,7 +799,7 @@ public class Macro {
 	}
 
 	public static void ND_mval(ST_Agnode_s n, double v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setDouble("mval", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).mval = v;
 	}
 
 	// #define ND_n_cluster(n) (((Agnodeinfo_t*)AGDATA(n))->n_cluster)
@@ -809,7 +809,7 @@ public class Macro {
 	}
 
 	public static void ND_next(__ptr__ n, __ptr__ v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setPtr("next", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).next = (ST_Agnode_s) v;
 	}
 
 	// #define ND_node_type(n) (((Agnodeinfo_t*)AGDATA(n))->node_type)
@@ -818,7 +818,7 @@ public class Macro {
 	}
 
 	public static void ND_node_type(ST_Agnode_s n, int v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setInt("node_type", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).node_type = v;
 	}
 
 	// #define ND_onstack(n) (((Agnodeinfo_t*)AGDATA(n))->onstack)
@@ -827,7 +827,7 @@ public class Macro {
 	}
 
 	public static void ND_onstack(ST_Agnode_s n, int v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setInt("onstack", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).onstack = v;
 	}
 
 	public static void ND_onstack(ST_Agnode_s n, boolean v) {
@@ -840,7 +840,7 @@ public class Macro {
 	}
 
 	public static void ND_order(__ptr__ n, int v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setInt("order", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).order = v;
 	}
 
 	// #define ND_other(n) (((Agnodeinfo_t*)AGDATA(n))->other)
@@ -854,7 +854,7 @@ public class Macro {
 	}
 
 	public static void ND_out(__ptr__ n, __struct__<ST_elist> v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setStruct("out", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).out.copyDataFrom(v);
 	}
 
 	// #define ND_outleaf(n) (((Agnodeinfo_t*)AGDATA(n))->outleaf)
@@ -868,7 +868,7 @@ public class Macro {
 	}
 
 	public static void ND_par(ST_Agnode_s n, __ptr__ v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setPtr("par", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).par = (ST_Agedge_s) v;
 	}
 
 	// #define ND_pinned(n) (((Agnodeinfo_t*)AGDATA(n))->pinned)
@@ -879,7 +879,7 @@ public class Macro {
 	}
 
 	public static void ND_prev(ST_Agnode_s n, __ptr__ v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setPtr("prev", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).prev = (ST_Agnode_s) v;
 	}
 
 	// #define ND_priority(n) (((Agnodeinfo_t*)AGDATA(n))->priority)
@@ -888,7 +888,7 @@ public class Macro {
 	}
 
 	public static void ND_priority(ST_Agnode_s n, int v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setInt("priority", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).priority = v;
 	}
 
 	// #define ND_rank(n) (((Agnodeinfo_t*)AGDATA(n))->rank)
@@ -897,7 +897,7 @@ public class Macro {
 	}
 
 	public static void ND_rank(__ptr__ n, int v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setInt("rank", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).rank = v;
 	}
 
 	// #define ND_ranktype(n) (((Agnodeinfo_t*)AGDATA(n))->ranktype)
@@ -906,7 +906,7 @@ public class Macro {
 	}
 
 	public static void ND_ranktype(ST_Agnode_s n, int v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setInt("ranktype", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).ranktype = v;
 	}
 
 	// #define ND_rw(n) (((Agnodeinfo_t*)AGDATA(n))->rw)
@@ -915,7 +915,7 @@ public class Macro {
 	}
 
 	public static void ND_rw(ST_Agnode_s n, double v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setDouble("rw", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).rw = v;
 	}
 
 	// #define ND_save_in(n) (((Agnodeinfo_t*)AGDATA(n))->save_in)
@@ -924,7 +924,7 @@ public class Macro {
 	}
 
 	public static void ND_save_in(ST_Agnode_s n, __struct__<ST_elist> v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setStruct("save_in", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).save_in.copyDataFrom(v);
 	}
 
 	// #define ND_save_out(n) (((Agnodeinfo_t*)AGDATA(n))->save_out)
@@ -933,7 +933,7 @@ public class Macro {
 	}
 
 	public static void ND_save_out(ST_Agnode_s n, __struct__<ST_elist> v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setStruct("save_out", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).save_out.copyDataFrom(v);
 	}
 
 	// #define ND_shape(n) (((Agnodeinfo_t*)AGDATA(n))->shape)
@@ -942,7 +942,7 @@ public class Macro {
 	}
 
 	public static void ND_shape(ST_Agnode_s n, __ptr__ v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setPtr("shape", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).shape = (ST_shape_desc) v;
 	}
 
 	// #define ND_shape_info(n) (((Agnodeinfo_t*)AGDATA(n))->shape_info)
@@ -956,7 +956,7 @@ public class Macro {
 	}
 
 	public static void ND_showboxes(ST_Agnode_s n, int v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setInt("showboxes", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).showboxes = v;
 	}
 
 	// #define ND_state(n) (((Agnodeinfo_t*)AGDATA(n))->state)
@@ -977,7 +977,7 @@ public class Macro {
 	}
 
 	public static void ND_weight_class(ST_Agnode_s n, int v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setInt("weight_class", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).weight_class = v;
 	}
 
 	// #define ND_width(n) (((Agnodeinfo_t*)AGDATA(n))->width)
@@ -986,7 +986,7 @@ public class Macro {
 	}
 
 	public static void ND_width(ST_Agnode_s n, double v) {
-		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).setDouble("width", v);
+		((ST_Agnodeinfo_t)AGDATA(n).castTo(ST_Agnodeinfo_t.class)).width = v;
 	}
 
 	// #define ND_xsize(n) (ND_lw(n)+ND_rw(n))
@@ -1008,7 +1008,7 @@ public class Macro {
 	}
 
 	public static void ED_count(__ptr__ e, int v) {
-		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).setInt("count", v);
+		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).count = v;
 	}
 
 	// #define ED_cutvalue(e) (((Agedgeinfo_t*)AGDATA(e))->cutvalue)
@@ -1017,7 +1017,7 @@ public class Macro {
 	}
 
 	public static void ED_cutvalue(ST_Agedge_s e, int v) {
-		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).setInt("cutvalue", v);
+		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).cutvalue = v;
 	}
 
 	// #define ED_edge_type(e) (((Agedgeinfo_t*)AGDATA(e))->edge_type)
@@ -1027,7 +1027,7 @@ public class Macro {
 	}
 
 	public static void ED_adjacent(ST_Agedge_s e, int v) {
-		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).setInt("adjacent", v);
+		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).adjacent = v;
 	}
 
 	// #define ED_factor(e) (((Agedgeinfo_t*)AGDATA(e))->factor)
@@ -1038,7 +1038,7 @@ public class Macro {
 	}
 
 	public static void ED_head_label(ST_Agedge_s e, __ptr__ v) {
-		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).setPtr("head_label", v);
+		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).head_label = (ST_textlabel_t) v;
 	}
 
 	// #define ED_head_port(e) (((Agedgeinfo_t*)AGDATA(e))->head_port)
@@ -1047,7 +1047,7 @@ public class Macro {
 	}
 
 	public static void ED_head_port(ST_Agedge_s e, ST_port v) {
-		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).setStruct("head_port", v);
+		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).head_port.copyDataFrom((__struct__) v);
 	}
 
 	// #define ED_label(e) (((Agedgeinfo_t*)AGDATA(e))->label)
@@ -1056,7 +1056,7 @@ public class Macro {
 	}
 
 	public static void ED_label(ST_Agedge_s e, __ptr__ v) {
-		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).setPtr("label", v);
+		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).label = (ST_textlabel_t) v;
 	}
 
 	// #define ED_xlabel(e) (((Agedgeinfo_t*)AGDATA(e))->xlabel)
@@ -1079,7 +1079,7 @@ public class Macro {
 	}
 
 	public static void ED_minlen(ST_Agedge_s e, int v) {
-		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).setInt("minlen", v);
+		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).minlen = v;
 	}
 
 	// #define ED_path(e) (((Agedgeinfo_t*)AGDATA(e))->path)
@@ -1089,7 +1089,7 @@ public class Macro {
 	}
 
 	public static void ED_showboxes(ST_Agedge_s e, int v) {
-		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).setInt("showboxes", v);
+		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).showboxes = v;
 	}
 
 	// #define ED_spl(e) (((Agedgeinfo_t*)AGDATA(e))->spl)
@@ -1107,7 +1107,7 @@ public class Macro {
 	}
 
 	public static void ED_tail_label(ST_Agedge_s e, __ptr__ v) {
-		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).setPtr("tail_label", v);
+		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).tail_label = (ST_textlabel_t) v;
 	}
 
 	// #define ED_tail_port(e) (((Agedgeinfo_t*)AGDATA(e))->tail_port)
@@ -1116,7 +1116,7 @@ public class Macro {
 	}
 
 	public static void ED_tail_port(ST_Agedge_s e, ST_port v) {
-		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).setStruct("tail_port", v);
+		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).tail_port.copyDataFrom((__struct__) v);
 	}
 
 	// #define ED_to_orig(e) (((Agedgeinfo_t*)AGDATA(e))->to_orig)
@@ -1125,7 +1125,7 @@ public class Macro {
 	}
 
 	public static void ED_to_orig(ST_Agedge_s e, __ptr__ v) {
-		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).setPtr("to_orig", v);
+		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).to_orig = (ST_Agedge_s) v;
 	}
 
 	// #define ED_to_virt(e) (((Agedgeinfo_t*)AGDATA(e))->to_virt)
@@ -1134,7 +1134,7 @@ public class Macro {
 	}
 
 	public static void ED_to_virt(ST_Agedge_s e, __ptr__ v) {
-		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).setPtr("to_virt", v);
+		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).to_virt = (ST_Agedge_s) v;
 	}
 
 	// #define ED_tree_index(e) (((Agedgeinfo_t*)AGDATA(e))->tree_index)
@@ -1143,7 +1143,7 @@ public class Macro {
 	}
 
 	public static void ED_tree_index(__ptr__ e, int v) {
-		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).setInt("tree_index", v);
+		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).tree_index = v;
 	}
 
 	// #define ED_xpenalty(e) (((Agedgeinfo_t*)AGDATA(e))->xpenalty)
@@ -1152,7 +1152,7 @@ public class Macro {
 	}
 
 	public static void ED_xpenalty(ST_Agedge_s e, int v) {
-		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).setInt("xpenalty", v);
+		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).xpenalty = v;
 	}
 
 	// #define ED_dist(e) (((Agedgeinfo_t*)AGDATA(e))->dist)
@@ -1161,7 +1161,7 @@ public class Macro {
 	}
 
 	public static void ED_dist(ST_Agedge_s e, double v) {
-		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).setDouble("dist", v);
+		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).dist = v;
 	}
 
 	// #define ED_weight(e) (((Agedgeinfo_t*)AGDATA(e))->weight)
@@ -1170,7 +1170,7 @@ public class Macro {
 	}
 
 	public static void ED_weight(ST_Agedge_s e, int v) {
-		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).setInt("weight", v);
+		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).weight = v;
 	}
 
 	//
@@ -1184,7 +1184,7 @@ public class Macro {
 	}
 
 	public static void ED_edge_type(ST_Agedge_s e, int v) {
-		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).setInt("edge_type", v);
+		((ST_Agedgeinfo_t)AGDATA(e).castTo(ST_Agedgeinfo_t.class)).edge_type = v;
 	}
 
 	// #define ED_adjacent(e) (((Agedgeinfo_t*)AGDATA(e))->adjacent)
@@ -1262,7 +1262,7 @@ public class Macro {
 	// #define elist_append(item,L) do {L.list = ALLOC(L.size + 2,L.list,edge_t*); L.list[L.size++] = item;
 	// L.list[L.size] = NULL;} while(0)
 	public static void elist_append(__ptr__ item, ST_elist L) {
-		// L.setPtr("list", ALLOC_empty(L.size + 2, L.getPtr("list"), Agedge_s.class));
+		// L.list = (Array) (ALLOC_empty(L.size + 2, L.getPtr("list"), Agedge_s.class));
 		L.realloc(L.size + 2);
 		L.setInList(L.size, item);
 		L.size = 1 + L.size;
@@ -1273,7 +1273,7 @@ public class Macro {
 	public static void alloc_elist(int n, ST_elist L) {
 		L.size = 0;
 		L.mallocEmpty(n + 1);
-		// L.setPtr("list", (__ptr__) JUtils.sizeof_starstar_empty(cl, n + 1).malloc());
+		// L.list = (Array) ((__ptr__) JUtils.sizeof_starstar_empty(cl, n + 1).malloc());
 	}
 
 	// #define free_list(L) do {if (L.list) free(L.list);} while (0)
@@ -1458,8 +1458,8 @@ public class Macro {
 			}
 			int ww = Integer.parseInt(m.group(1));
 			int hh = Integer.parseInt(m.group(2));
-			size.setDouble("x", ww);
-			size.setDouble("y", hh);
+			size.x = ww;
+			size.y = hh;
 			JUtils.LOG2("Hacking dimension to width=" + ww + " height=" + hh);
 		}
 	}
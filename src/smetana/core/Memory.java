@@ -39,10 +39,12 @@
  */
 package smetana.core;
 
+import java.lang.ref.WeakReference;
+import java.util.Map;
+
 public class Memory {
 
 	public static __ptr__ malloc(Class theClass) {
-		JUtils.LOG("MEMORY::malloc " + theClass);
 		return JUtils.create(theClass, null);
 	}
 
@@ -63,7 +65,12 @@ public class Memory {
 		}
 		// int result = 2 * System.identityHashCode(data);
 		int result = data.getUid();
-		Z.z().all.put(result, data);
+		// Only weakly referenced: the strings are owned by the dictionary of the graph
+		final Map<Integer, WeakReference<CString>> all = Z.z().all;
+		final WeakReference<CString> ref = all.get(result);
+		if (ref == null || ref.get() != data) {
+			all.put(result, new WeakReference<CString>(data));
+		}
 		// System.err.println("Memory::identityHashCode data=" + data);
 		// System.err.println("Memory::identityHashCode result=" + result + " " + Z.z().all.size());
 		return result;
@@ -74,7 +81,8 @@ public class Memory {
 		if (hash % 2 != 0) {
 			throw new IllegalArgumentException();
 		}
-		Object result = Z.z().all.get(hash);
+		final WeakReference<CString> ref = Z.z().all.get(hash);
+		final Object result = ref == null ? null : ref.get();
 		// System.err.println("Memory::fromIdentityHashCode result=" + result);
 		if (result == null) {
 			throw new UnsupportedOperationException();
@@ -0,0 +1,361 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2020, Arnaud Roques
+ *
+ * Project Info:  http://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * http://plantuml.com/patreon (only 1$ per month!)
+ * http://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * Licensed under The MIT License (Massachusetts Institute of Technology License)
+ * 
+ * See http://opensource.org/licenses/MIT
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR
+ * IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ *
+ * Original Author:  Arnaud Roques
+ */
+package smetana.core;
+
+import static smetana.core.JUtils.function;
+import gen.lib.cdt.dttree__c;
+import gen.lib.cgraph.attr__c;
+import gen.lib.cgraph.edge__c;
+import gen.lib.cgraph.graph__c;
+import gen.lib.cgraph.id__c;
+import gen.lib.cgraph.mem__c;
+import gen.lib.cgraph.node__c;
+import gen.lib.cgraph.utils__c;
+import gen.lib.common.arrows__c;
+import gen.lib.common.shapes__c;
+import gen.lib.dotgen.dotsplines__c;
+import gen.lib.label.xlabels__c;
+import h.ST_Agdesc_s;
+import h.ST_Agedge_s;
+import h.ST_Agiddisc_s;
+import h.ST_Agmemdisc_s;
+import h.ST_Agraph_s;
+import h.ST_Agsubnode_s;
+import h.ST_Agsym_s;
+import h.ST_Agtag_s;
+import h.ST_HDict_t;
+import h.ST_arrowname_t;
+import h.ST_arrowtype_t;
+import h.ST_dtdisc_s;
+import h.ST_dtmethod_s;
+import h.ST_pointf;
+import h.ST_polygon_t;
+import h.ST_port;
+import h.ST_refstr_t;
+import h.ST_shape_desc;
+import h.ST_shape_functions;
+import h.ST_splineInfo;
+
+/**
+ * The part of {@link Z} which is the same for every layout: method tables, dictionary disciplines, arrow types and
+ * shape descriptors. They are only read or copied during a layout, so they are built once and shared between the
+ * layouts of all threads.
+ */
+final class ZShared {
+
+	final ST_dtmethod_s _Dttree = new ST_dtmethod_s();
+
+	final ST_dtmethod_s Dttree = _Dttree;
+
+	final ST_dtmethod_s _Dtobag = new ST_dtmethod_s();
+
+	final ST_dtmethod_s Dtobag = _Dtobag;
+
+	final ST_dtdisc_s AgDataDictDisc = new ST_dtdisc_s();
+
+	final ST_Agdesc_s ProtoDesc = new ST_Agdesc_s();
+
+	final ST_Agtag_s Tag = new ST_Agtag_s();
+
+	final ST_dtdisc_s Ag_mainedge_seq_disc = new ST_dtdisc_s();
+
+	final ST_dtdisc_s Ag_subedge_seq_disc = new ST_dtdisc_s();
+
+	final ST_dtdisc_s Ag_subedge_id_disc = new ST_dtdisc_s();
+
+	final ST_dtdisc_s Ag_subgraph_id_disc = new ST_dtdisc_s();
+
+	final ST_Agiddisc_s AgIdDisc = new ST_Agiddisc_s();
+
+	final ST_Agmemdisc_s AgMemDisc = new ST_Agmemdisc_s();
+
+	final ST_dtdisc_s Ag_subnode_id_disc = new ST_dtdisc_s();
+
+	final ST_dtdisc_s Ag_subnode_seq_disc = new ST_dtdisc_s();
+
+	final ST_dtdisc_s Refstrdisc = new ST_dtdisc_s();
+
+	final ST_dtdisc_s Hdisc = new ST_dtdisc_s();
+
+	final ST_arrowname_t Arrowsynonyms[] = new ST_arrowname_t[] { new ST_arrowname_t() };
+
+	final ST_arrowname_t Arrownames[] = new ST_arrowname_t[] { new ST_arrowname_t(), new ST_arrowname_t(), new ST_arrowname_t() };
+
+	final ST_arrowname_t Arrowmods[] = new ST_arrowname_t[] { new ST_arrowname_t() };
+
+	final ST_arrowtype_t Arrowtypes[] = new ST_arrowtype_t[] { new ST_arrowtype_t(), new ST_arrowtype_t(), new ST_arrowtype_t(), new ST_arrowtype_t(), new ST_arrowtype_t(), new ST_arrowtype_t(), new ST_arrowtype_t(), new ST_arrowtype_t(), new ST_arrowtype_t() };
+
+	final ST_port Center = new ST_port();
+
+	final ST_polygon_t p_ellipse = new ST_polygon_t();
+
+	final ST_polygon_t p_box = new ST_polygon_t();
+
+	final ST_shape_functions poly_fns = new ST_shape_functions();
+
+	final ST_shape_desc Shapes[] = { __Shapes__("box", poly_fns, p_box),
+
+			__Shapes__("ellipse", poly_fns, p_ellipse), __Shapes__(null, null, null) };
+
+	final ST_dtdisc_s Ag_mainedge_id_disc = new ST_dtdisc_s();
+
+	final ST_Agdesc_s Agdirected = new ST_Agdesc_s();
+
+	final ST_splineInfo sinfo = new ST_splineInfo();
+
+	final ST_pointf O = new ST_pointf(); /* point (0,0) */
+
+	private ST_shape_desc __Shapes__(String s, ST_shape_functions shape_functions, ST_polygon_t polygon) {
+		ST_shape_desc result = new ST_shape_desc();
+		result.setPtr("name", s == null ? null : new CString(s));
+		result.setPtr("fns", shape_functions);
+		result.setPtr("polygon", polygon);
+		return result;
+	}
+
+	private final static __struct__ createArrowtypes(int type, double lenfact, CFunction function) {
+		final ST_arrowtype_t result = new ST_arrowtype_t();
+		result.type = type;
+		result.lenfact = lenfact;
+		result.gen = function;
+		return result;
+	}
+
+	private final static __struct__ create_arrowname_t(String name, int type) {
+		final ST_arrowname_t result = new ST_arrowname_t();
+		result.name = name == null ? null : new CString(name);
+		result.type = type;
+		return result;
+	}
+
+	ZShared() {
+
+		_Dttree.searchf = function(dttree__c.class, "dttree");
+		_Dttree.type = 0000004;
+
+		_Dtobag.searchf = function(dttree__c.class, "dttree");
+		_Dtobag.type = 0000010;
+
+		AgDataDictDisc.key = OFFSET.create(ST_Agsym_s.class, "name").toInt();
+		AgDataDictDisc.size = -1;
+		AgDataDictDisc.link = OFFSET.create(ST_Agsym_s.class, "link").toInt();
+		AgDataDictDisc.makef = null;
+		AgDataDictDisc.freef = function(attr__c.class, "freesym");
+		AgDataDictDisc.comparf = null;
+		AgDataDictDisc.hashf = null;
+
+		ProtoDesc.directed = 1;
+		ProtoDesc.strict = 0;
+		ProtoDesc.no_loop = 1;
+		ProtoDesc.maingraph = 0;
+		ProtoDesc.flatlock = 1;
+		ProtoDesc.no_write = 1;
+
+		Ag_mainedge_seq_disc.key = 0;
+		Ag_mainedge_seq_disc.size = 0;
+		Ag_mainedge_seq_disc.link = OFFSET.create(ST_Agedge_s.class, "seq_link").toInt(); // seq_link is the third
+																						// field in Agedge_t
+		Ag_mainedge_seq_disc.makef = null;
+		Ag_mainedge_seq_disc.freef = null;
+		Ag_mainedge_seq_disc.comparf = function(edge__c.class, "agedgeseqcmpf");
+		Ag_mainedge_seq_disc.hashf = null;
+		Ag_mainedge_seq_disc.memoryf = function(utils__c.class, "agdictobjmem");
+		Ag_mainedge_seq_disc.eventf = null;
+
+		Ag_subedge_seq_disc.key = 0;
+		Ag_subedge_seq_disc.size = 0;
+		Ag_subedge_seq_disc.link = -1;
+		Ag_subedge_seq_disc.makef = null;
+		Ag_subedge_seq_disc.freef = null;
+		Ag_subedge_seq_disc.comparf = function(edge__c.class, "agedgeseqcmpf");
+		Ag_subedge_seq_disc.hashf = null;
+		Ag_subedge_seq_disc.memoryf = function(utils__c.class, "agdictobjmem");
+		Ag_subedge_seq_disc.eventf = null;
+
+		Ag_subedge_id_disc.key = 0;
+		Ag_subedge_id_disc.size = 0;
+		Ag_subedge_id_disc.link = -1;
+		Ag_subedge_id_disc.makef = null;
+		Ag_subedge_id_disc.freef = null;
+		Ag_subedge_id_disc.comparf = function(edge__c.class, "agedgeidcmpf");
+		Ag_subedge_id_disc.hashf = null;
+		Ag_subedge_id_disc.memoryf = function(utils__c.class, "agdictobjmem");
+		Ag_subedge_id_disc.eventf = null;
+
+		Ag_subgraph_id_disc.key = 0;
+		Ag_subgraph_id_disc.size = 0;
+		Ag_subgraph_id_disc.link = OFFSET.create(ST_Agraph_s.class, "link").toInt(); // link is the third field in
+																					// Agraph_t
+		Ag_subgraph_id_disc.makef = null;
+		Ag_subgraph_id_disc.freef = null;
+		Ag_subgraph_id_disc.comparf = function(graph__c.class, "agraphidcmpf");
+		Ag_subgraph_id_disc.hashf = null;
+		Ag_subgraph_id_disc.memoryf = function(utils__c.class, "agdictobjmem");
+		Ag_subgraph_id_disc.eventf = null;
+
+		AgIdDisc.open = function(id__c.class, "idopen");
+		AgIdDisc.map = function(id__c.class, "idmap");
+		AgIdDisc.alloc = function(id__c.class, "idalloc");
+		AgIdDisc.free = function(id__c.class, "idfree");
+		AgIdDisc.print = function(id__c.class, "idprint");
+		AgIdDisc.close = function(id__c.class, "idclose");
+		AgIdDisc.idregister = function(id__c.class, "idregister");
+
+		AgMemDisc.open = function(mem__c.class, "memopen");
+		AgMemDisc.alloc = function(mem__c.class, "memalloc");
+		AgMemDisc.resize = function(mem__c.class, "memresize");
+		AgMemDisc.free = function(mem__c.class, "memfree");
+		AgMemDisc.close = null;
+
+		Ag_subnode_id_disc.key = 0;
+		Ag_subnode_id_disc.size = 0;
+		Ag_subnode_id_disc.link = OFFSET.create(ST_Agsubnode_s.class, "id_link").toInt(); // id_link is the second
+																						// field in Agsubnode_t
+		Ag_subnode_id_disc.makef = null;
+		Ag_subnode_id_disc.freef = null;
+		Ag_subnode_id_disc.comparf = function(node__c.class, "agsubnodeidcmpf");
+		Ag_subnode_id_disc.hashf = null;
+		Ag_subnode_id_disc.memoryf = function(utils__c.class, "agdictobjmem");
+		Ag_subnode_id_disc.eventf = null;
+
+		Ag_subnode_seq_disc.key = 0;
+		Ag_subnode_seq_disc.size = 0;
+		Ag_subnode_seq_disc.link = OFFSET.create(ST_Agsubnode_s.class, "seq_link").toInt(); // link is the first
+																							// field in
+																							// Agsubnode_t
+		Ag_subnode_seq_disc.makef = null;
+		Ag_subnode_seq_disc.freef = function(node__c.class, "free_subnode");
+		Ag_subnode_seq_disc.comparf = function(node__c.class, "agsubnodeseqcmpf");
+		Ag_subnode_seq_disc.hashf = null;
+		Ag_subnode_seq_disc.memoryf = function(utils__c.class, "agdictobjmem");
+		Ag_subnode_seq_disc.eventf = null;
+
+		Refstrdisc.key = OFFSET.create(ST_refstr_t.class, "s").toInt(); // *s is the third field in refstr_t
+		Refstrdisc.size = -1;
+		Refstrdisc.link = 0;
+		Refstrdisc.makef = null;
+		Refstrdisc.freef = function(utils__c.class, "agdictobjfree");
+		Refstrdisc.comparf = null;
+		Refstrdisc.hashf = null;
+		Refstrdisc.memoryf = function(utils__c.class, "agdictobjmem");
+		Refstrdisc.eventf = null;
+
+		Hdisc.key = OFFSET.create(ST_HDict_t.class, "key").toInt();
+		Hdisc.size = 4;
+		Hdisc.link = -1;
+		Hdisc.makef = null;
+		Hdisc.freef = null;
+		Hdisc.comparf = function(xlabels__c.class, "icompare");
+		Hdisc.hashf = null;
+		Hdisc.memoryf = null;
+		Hdisc.eventf = null;
+
+		Arrowsynonyms[0].___(create_arrowname_t(null, 0));
+
+		Arrownames[0].___(create_arrowname_t("normal", 1));
+		Arrownames[1].___(create_arrowname_t("none", 8));
+		Arrownames[2].___(create_arrowname_t(null, 0));
+
+		Arrowmods[0].___(create_arrowname_t(null, 0));
+
+		Arrowtypes[0].___(createArrowtypes(1, 1.0, function(arrows__c.class, "arrow_type_normal")));
+		Arrowtypes[1].___(createArrowtypes(2, 1.0, function(arrows__c.class, "arrow_type_crow")));
+		Arrowtypes[2].___(createArrowtypes(3, 0.5, function(arrows__c.class, "arrow_type_tee")));
+		Arrowtypes[3].___(createArrowtypes(4, 1.0, function(arrows__c.class, "arrow_type_box")));
+		Arrowtypes[4].___(createArrowtypes(5, 1.2, function(arrows__c.class, "arrow_type_diamond")));
+		Arrowtypes[5].___(createArrowtypes(6, 0.8, function(arrows__c.class, "arrow_type_dot")));
+		Arrowtypes[6].___(createArrowtypes(7, 1.0, function(arrows__c.class, "arrow_type_curve")));
+		Arrowtypes[7].___(createArrowtypes(8, 0.5, function(arrows__c.class, "arrow_type_gap")));
+		Arrowtypes[8].___(createArrowtypes(0, 0.0, null));
+
+		Center.p.x = 0;
+		Center.p.y = 0;
+		Center.theta = -1;
+		Center.bp = null;
+		Center.defined = 0;
+		Center.constrained = 0;
+		Center.clip = 1;
+		Center.dyna = 0;
+		Center.order = 0;
+		Center.side = 0;
+
+		p_ellipse.setInt("regular", 0);
+		p_ellipse.setInt("peripheries", 1);
+		p_ellipse.setInt("sides", 1);
+		p_ellipse.setDouble("orientation", 0.);
+		p_ellipse.setDouble("distortion", 0.);
+		p_ellipse.setDouble("skew", 0.);
+
+		p_box.setInt("regular", 0);
+		p_box.setInt("peripheries", 1);
+		p_box.setInt("sides", 4);
+		p_box.setDouble("orientation", 0.);
+		p_box.setDouble("distortion", 0.);
+		p_box.setDouble("skew", 0.);
+
+		poly_fns.setPtr("initfn", function(shapes__c.class, "poly_init"));
+		poly_fns.setPtr("freefn", function(shapes__c.class, "poly_free"));
+		poly_fns.setPtr("portfn", function(shapes__c.class, "poly_port"));
+		poly_fns.setPtr("insidefn", function(shapes__c.class, "poly_inside"));
+		poly_fns.setPtr("pboxfn", function(shapes__c.class, "poly_path"));
+		poly_fns.setPtr("codefn", function(shapes__c.class, "poly_gencode"));
+
+		Ag_mainedge_id_disc.key = 0;
+		Ag_mainedge_id_disc.size = 0;
+		Ag_mainedge_id_disc.link = OFFSET.create(ST_Agedge_s.class, "id_link").toInt(); // id_link is the second
+																						// field in Agedge_t
+		Ag_mainedge_id_disc.makef = null;
+		Ag_mainedge_id_disc.freef = null;
+		Ag_mainedge_id_disc.comparf = function(edge__c.class, "agedgeidcmpf");
+		Ag_mainedge_id_disc.hashf = null;
+		Ag_mainedge_id_disc.memoryf = function(utils__c.class, "agdictobjmem");
+		Ag_mainedge_id_disc.eventf = null;
+
+		Agdirected.directed = 1;
+		Agdirected.strict = 0;
+		Agdirected.no_loop = 0;
+		Agdirected.maingraph = 1;
+
+		sinfo.setPtr("swapEnds", function(dotsplines__c.class, "swap_ends_p"));
+		sinfo.setPtr("splineMerge", function(dotsplines__c.class, "spline_merge"));
+
+	}
+
+}